@@ -2,7 +2,8 @@ package ai.driftkit.audio.converter;
 
 import ai.driftkit.audio.core.config.CoreAudioConfig;
 import ai.driftkit.audio.core.AudioFormatType;
-import lombok.AllArgsConstructor;
+import ai.driftkit.audio.core.AudioFormatType.ConversionMethod;
+import ai.driftkit.audio.core.PcmFormat;
 import lombok.extern.slf4j.Slf4j;
 
 import ws.schild.jave.*;
@@ -10,24 +11,56 @@ import ws.schild.jave.encode.AudioAttributes;
 import ws.schild.jave.encode.EncodingAttributes;
 
 import javax.sound.sampled.*;
-import javax.sound.sampled.AudioFormat.Encoding;
 import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.List;
 
 /**
  * Service for converting audio formats using Java libraries and FFmpeg fallback
  */
 @Slf4j
-@AllArgsConstructor
-public class AudioConverter {
+public class AudioConverter implements AutoCloseable {
     
     private final CoreAudioConfig config;
+    private final FFmpegWorkerPool ffmpegPool;
+    private final ConversionCache conversionCache;
+    private volatile ConverterCapabilities capabilities;
+    
+    public AudioConverter(CoreAudioConfig config) {
+        this.config = config;
+        this.ffmpegPool = new FFmpegWorkerPool(config.getConverter());
+        this.conversionCache = config.getConverter().isCacheEnabled()
+                ? new ConversionCache(config.getConverter().getCacheMaxBytes())
+                : null;
+        
+        if (config.getConverter().isProbeOnStartup()) {
+            getCapabilities();
+        }
+    }
+    
+    /**
+     * Get the probed conversion capabilities, running the probe on first use.
+     */
+    public ConverterCapabilities getCapabilities() {
+        ConverterCapabilities result = capabilities;
+        if (result == null) {
+            synchronized (this) {
+                result = capabilities;
+                if (result == null) {
+                    result = ConverterCapabilities.probe(config.getConverter(), config.getSampleRate(), this::probeWith);
+                    capabilities = result;
+                    warmUpConfiguredFormats(result);
+                }
+            }
+        }
+        return result;
+    }
     
     /**
-     * Convert raw PCM audio data to MP3 format using ffmpeg
+     * Convert raw PCM audio data (in the configured input format) to MP3 format using ffmpeg
      */
     public File convertRawToMp3WithFfmpeg(byte[] rawPcmData, String sessionPrefix) throws IOException, InterruptedException {
         File debugDir = new File(config.getDebug().getOutputPath());
@@ -38,80 +71,125 @@ public class AudioConverter {
         SimpleDateFormat sdf = new SimpleDateFormat("yyyyMMdd_HHmmss");
         String timestamp = sdf.format(new Date());
         
-        File rawFile = new File(debugDir, sessionPrefix + "temp_raw_" + timestamp + ".pcm");
         File mp3File = new File(debugDir, sessionPrefix + "audio_" + timestamp + ".mp3");
         
-        // Write raw PCM data to file
-        try (FileOutputStream fos = new FileOutputStream(rawFile)) {
-            fos.write(rawPcmData);
-        }
-
-        // Build ffmpeg command
-        ProcessBuilder pb = new ProcessBuilder(
-            "ffmpeg", "-y",
-            "-f", "s16be",
-            "-ar", String.valueOf(config.getSampleRate()),
-            "-ac", "1",
-            "-i", rawFile.getAbsolutePath(),
+        PcmFormat pcmFormat = config.getPcmFormat();
+        byte[] mp3Data = ffmpegPool.convert(List.of(
+            "-f", pcmFormat.getFfmpegSampleFormat(),
+            "-ar", String.valueOf(pcmFormat.getSampleRate()),
+            "-ac", String.valueOf(pcmFormat.getChannels()),
+            "-i", "pipe:0",
             "-codec:a", "mp3",
             "-b:a", "64k",  // 64 kbps for smaller file size
             "-ar", "16000", // Keep same sample rate
-            mp3File.getAbsolutePath()
-        );
-        
-        Process process = pb.start();
-        int exitCode = process.waitFor();
-        
-        // Clean up raw file
-        if (!rawFile.delete()) {
-            // Log warning if needed
-        }
+            "-f", "mp3",
+            "pipe:1"
+        ), rawPcmData);
         
-        if (exitCode == 0 && mp3File.exists()) {
-            return mp3File;
-        } else {
-            throw new IOException("ffmpeg conversion failed with exit code: " + exitCode);
+        try (FileOutputStream fos = new FileOutputStream(mp3File)) {
+            fos.write(mp3Data);
         }
+        return mp3File;
     }
     
     /**
-     * Convert raw PCM audio data to specified format using Java libraries.
-     * Falls back to FFmpeg if Java conversion fails.
+     * Convert 16-bit little-endian mono PCM audio data to specified format.
      * 
      * @param rawPcmData Raw PCM audio data
      * @param sampleRate Sample rate of the audio
      * @param audioFormat Target format enum
      * @return Converted audio data
+     * @throws UnsupportedOperationException if no working converter was detected for the format
      */
     public byte[] convertToFormat(byte[] rawPcmData, int sampleRate, AudioFormatType audioFormat)
             throws IOException, InterruptedException {
+        return convertToFormat(rawPcmData, PcmFormat.linear16(sampleRate), audioFormat);
+    }
+    
+    /**
+     * Convert raw PCM audio data to specified format.
+     * The input is read in its own byte order, so callers never need to swap it beforehand.
+     * Uses the fastest method detected at startup and falls back to the next working one.
+     * When the conversion cache is enabled, repeated conversions of the same payload are served from it.
+     * 
+     * @param rawPcmData Raw PCM audio data
+     * @param pcmFormat Layout of the raw PCM data
+     * @param audioFormat Target format enum
+     * @return Converted audio data
+     * @throws UnsupportedOperationException if no working converter was detected for the format
+     */
+    public byte[] convertToFormat(byte[] rawPcmData, PcmFormat pcmFormat, AudioFormatType audioFormat)
+            throws IOException, InterruptedException {
         
-        log.debug("Converting audio to {} format using {}", audioFormat.getDisplayName(), audioFormat.getPreferredMethod());
+        List<ConversionMethod> route = getCapabilities().getRoute(audioFormat);
+        if (route.isEmpty()) {
+            throw new UnsupportedOperationException(
+                "No working converter detected for format: " + audioFormat.getDisplayName());
+        }
         
-        try {
-            // Try optimal conversion method based on format
-            return switch (audioFormat.getPreferredMethod()) {
-                case JAVA_SOUND -> convertWithJavaSound(rawPcmData, sampleRate, audioFormat);
-                case JAVE -> convertWithJave(rawPcmData, sampleRate, audioFormat);
-                case FFMPEG -> convertWithFFmpeg(rawPcmData, sampleRate, audioFormat);
-            };
-        } catch (Exception e) {
-            log.warn("Primary conversion method failed, falling back to FFmpeg", e);
-            // Fallback to FFmpeg
-            return convertWithFFmpeg(rawPcmData, sampleRate, audioFormat);
+        ConversionCache.Key cacheKey = null;
+        if (conversionCache != null) {
+            cacheKey = ConversionCache.key(rawPcmData, pcmFormat, audioFormat);
+            byte[] cached = conversionCache.get(cacheKey);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        
+        log.debug("Converting audio to {} format using {}", audioFormat.getDisplayName(), route.get(0));
+        
+        Exception lastFailure = null;
+        for (ConversionMethod method : route) {
+            try {
+                byte[] converted = convertWith(method, rawPcmData, pcmFormat, audioFormat);
+                if (cacheKey != null) {
+                    conversionCache.put(cacheKey, converted);
+                }
+                return converted;
+            } catch (IOException | RuntimeException e) {
+                log.warn("{} conversion to {} failed: {}", method, audioFormat.getDisplayName(), e.getMessage());
+                lastFailure = e;
+            }
         }
+        
+        throw new IOException("All conversion methods failed for format: " + audioFormat.getDisplayName(), lastFailure);
+    }
+    
+    /**
+     * Probe conversion. ffmpeg runs outside the worker pool so that probing every format
+     * does not leave idle workers behind for formats that are never used.
+     */
+    private byte[] probeWith(ConversionMethod method, byte[] rawPcmData, int sampleRate, AudioFormatType audioFormat)
+            throws IOException, InterruptedException {
+        
+        PcmFormat pcmFormat = PcmFormat.linear16(sampleRate);
+        if (method == ConversionMethod.FFMPEG) {
+            return ffmpegPool.convertOnce(buildFFmpegArguments(pcmFormat, audioFormat), rawPcmData);
+        }
+        return convertWith(method, rawPcmData, pcmFormat, audioFormat);
+    }
+    
+    private byte[] convertWith(ConversionMethod method, byte[] rawPcmData, PcmFormat pcmFormat, AudioFormatType audioFormat)
+            throws IOException, InterruptedException {
+        
+        return switch (method) {
+            case JAVA_SOUND -> convertWithJavaSound(rawPcmData, pcmFormat, audioFormat);
+            case JAVE -> convertWithJave(rawPcmData, pcmFormat, audioFormat);
+            case FFMPEG -> convertWithFFmpeg(rawPcmData, pcmFormat, audioFormat);
+        };
     }
     
     /**
      * Convert audio using Java Sound API.
+     * The file writers reorder bytes as required by the container while writing.
      */
-    private byte[] convertWithJavaSound(byte[] rawPcmData, int sampleRate, AudioFormatType audioFormat)
+    private byte[] convertWithJavaSound(byte[] rawPcmData, PcmFormat pcmFormat, AudioFormatType audioFormat)
             throws IOException {
         
         return switch (audioFormat) {
-            case WAV -> convertToWav(rawPcmData, sampleRate);
-            case AU -> convertToAu(rawPcmData, sampleRate);
-            case AIFF -> convertToAiff(rawPcmData, sampleRate);
+            case WAV -> writeWithJavaSound(rawPcmData, pcmFormat, AudioFileFormat.Type.WAVE);
+            case AU -> writeWithJavaSound(rawPcmData, pcmFormat, AudioFileFormat.Type.AU);
+            case AIFF -> writeWithJavaSound(rawPcmData, pcmFormat, AudioFileFormat.Type.AIFF);
             default -> throw new UnsupportedOperationException(
                 "Java Sound API not supported for format: " + audioFormat.getDisplayName());
         };
@@ -120,7 +198,7 @@ public class AudioConverter {
     /**
      * Convert audio using JAVE library.
      */
-    private byte[] convertWithJave(byte[] rawPcmData, int sampleRate, AudioFormatType audioFormat)
+    private byte[] convertWithJave(byte[] rawPcmData, PcmFormat pcmFormat, AudioFormatType audioFormat)
             throws IOException {
         
         String extension = audioFormat.getExtension();
@@ -130,7 +208,7 @@ public class AudioConverter {
         
         try {
             // First convert raw PCM to WAV (JAVE input format)
-            byte[] wavData = convertToWav(rawPcmData, sampleRate);
+            byte[] wavData = writeWithJavaSound(rawPcmData, pcmFormat, AudioFileFormat.Type.WAVE);
             Files.write(inputWav, wavData);
             
             // Set up JAVE conversion
@@ -138,7 +216,7 @@ public class AudioConverter {
             
             // Configure audio attributes based on format
             AudioAttributes audioAttributes = new AudioAttributes();
-            audioAttributes.setSamplingRate(sampleRate);
+            audioAttributes.setSamplingRate(pcmFormat.getSampleRate());
             audioAttributes.setChannels(1); // Mono
             
             switch (audioFormat) {
@@ -193,193 +271,145 @@ public class AudioConverter {
     }
     
     /**
-     * Convert raw PCM to WAV format using Java Sound API.
+     * Wrap raw PCM into an audio file using Java Sound API.
+     * The input is labelled with its actual format, so the writer produces correct samples for any byte order.
      */
-    private byte[] convertToWav(byte[] rawPcmData, int sampleRate) throws IOException {
-        // Create audio format
-        AudioFormat audioFormat = new AudioFormat(
-            Encoding.PCM_SIGNED,
-            sampleRate,
-            16,  // bits per sample
-            1,   // channels (mono)
-            2,   // frame size (16 bits = 2 bytes)
-            sampleRate,
-            false // little endian
-        );
+    private byte[] writeWithJavaSound(byte[] rawPcmData, PcmFormat pcmFormat, AudioFileFormat.Type fileType)
+            throws IOException {
+        AudioFormat audioFormat = pcmFormat.toAudioFormat();
         
         // Create audio input stream from raw data
         ByteArrayInputStream rawInputStream = new ByteArrayInputStream(rawPcmData);
         AudioInputStream audioInputStream = new AudioInputStream(
             rawInputStream, audioFormat, rawPcmData.length / audioFormat.getFrameSize());
         
-        // Convert to WAV format
-        ByteArrayOutputStream wavOutputStream = new ByteArrayOutputStream();
-        AudioSystem.write(audioInputStream, AudioFileFormat.Type.WAVE, wavOutputStream);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        AudioSystem.write(audioInputStream, fileType, outputStream);
         
         audioInputStream.close();
         
-        return wavOutputStream.toByteArray();
+        return outputStream.toByteArray();
     }
     
     /**
-     * Convert raw PCM to AU format using Java Sound API.
+     * Fallback conversion using FFmpeg for formats not supported by Java.
+     * PCM is streamed to a pre-started ffmpeg worker over stdin and the encoded
+     * audio is read back from stdout, so no temporary files are involved.
      */
-    private byte[] convertToAu(byte[] rawPcmData, int sampleRate) throws IOException {
-        AudioFormat audioFormat = new AudioFormat(
-            AudioFormat.Encoding.PCM_SIGNED,
-            sampleRate, 16, 1, 2, sampleRate, true // big endian for AU
-        );
-        
-        ByteArrayInputStream rawInputStream = new ByteArrayInputStream(rawPcmData);
-        AudioInputStream audioInputStream = new AudioInputStream(
-            rawInputStream, audioFormat, rawPcmData.length / audioFormat.getFrameSize());
-        
-        ByteArrayOutputStream auOutputStream = new ByteArrayOutputStream();
-        AudioSystem.write(audioInputStream, AudioFileFormat.Type.AU, auOutputStream);
-        
-        audioInputStream.close();
+    private byte[] convertWithFFmpeg(byte[] rawPcmData, PcmFormat pcmFormat, AudioFormatType audioFormat)
+            throws IOException, InterruptedException {
         
-        return auOutputStream.toByteArray();
+        return ffmpegPool.convert(buildFFmpegArguments(pcmFormat, audioFormat), rawPcmData);
     }
     
     /**
-     * Convert raw PCM to AIFF format using Java Sound API.
+     * Pre-start ffmpeg workers for a target format so the first conversion does not pay process startup.
      */
-    private byte[] convertToAiff(byte[] rawPcmData, int sampleRate) throws IOException {
-        AudioFormat audioFormat = new AudioFormat(
-            AudioFormat.Encoding.PCM_SIGNED,
-            sampleRate, 16, 1, 2, sampleRate, true // big endian for AIFF
-        );
-        
-        ByteArrayInputStream rawInputStream = new ByteArrayInputStream(rawPcmData);
-        AudioInputStream audioInputStream = new AudioInputStream(
-            rawInputStream, audioFormat, rawPcmData.length / audioFormat.getFrameSize());
-        
-        ByteArrayOutputStream aiffOutputStream = new ByteArrayOutputStream();
-        AudioSystem.write(audioInputStream, AudioFileFormat.Type.AIFF, aiffOutputStream);
-        
-        audioInputStream.close();
-        
-        return aiffOutputStream.toByteArray();
+    public void warmUp(int sampleRate, AudioFormatType audioFormat) {
+        ffmpegPool.warmUp(buildFFmpegArguments(PcmFormat.linear16(sampleRate), audioFormat));
     }
     
     /**
-     * Fallback conversion using FFmpeg for formats not supported by Java.
+     * Pre-start ffmpeg workers for the configured warm formats whose preferred route is ffmpeg.
      */
-    private byte[] convertWithFFmpeg(byte[] rawPcmData, int sampleRate, AudioFormatType audioFormat)
-            throws IOException, InterruptedException {
-        
-        String extension = audioFormat.getExtension();
-        Path tempDir = Files.createTempDirectory("audio-conversion");
-        Path rawFile = tempDir.resolve("input.pcm");
-        Path convertedFile = tempDir.resolve("output." + extension);
-        
-        try {
-            // Write raw PCM data to temporary file
-            Files.write(rawFile, rawPcmData);
-            
-            // Build ffmpeg command based on format
-            ProcessBuilder pb = buildFFmpegCommand(
-                rawFile.toString(), 
-                convertedFile.toString(), 
-                sampleRate, 
-                audioFormat
-            );
-            
-            Process process = pb.start();
-            int exitCode = process.waitFor();
-            
-            if (exitCode != 0) {
-                throw new IOException("FFmpeg conversion failed with exit code: " + exitCode);
-            }
-            
-            if (!Files.exists(convertedFile)) {
-                throw new IOException("Converted audio file was not created");
-            }
-            
-            return Files.readAllBytes(convertedFile);
-            
-        } finally {
-            // Clean up temporary files
-            try {
-                Files.deleteIfExists(rawFile);
-                Files.deleteIfExists(convertedFile);
-                Files.deleteIfExists(tempDir);
-            } catch (IOException e) {
-                log.warn("Failed to clean up temporary files", e);
+    private void warmUpConfiguredFormats(ConverterCapabilities capabilities) {
+        for (AudioFormatType format : config.getConverter().getFfmpegWarmFormats()) {
+            List<ConversionMethod> route = capabilities.getRoute(format);
+            if (!route.isEmpty() && route.get(0) == ConversionMethod.FFMPEG) {
+                warmUp(config.getSampleRate(), format);
             }
         }
     }
     
-    private ProcessBuilder buildFFmpegCommand(
-            String inputFile, 
-            String outputFile, 
-            int sampleRate, 
-            AudioFormatType audioFormat) {
+    /**
+     * Get statistics of the ffmpeg worker pool.
+     */
+    public FFmpegWorkerPool.PoolStats getFFmpegPoolStats() {
+        return ffmpegPool.getStats();
+    }
+    
+    /**
+     * Get statistics of the conversion cache, or null if the cache is disabled.
+     */
+    public ConversionCache.CacheStats getCacheStats() {
+        return conversionCache != null ? conversionCache.getStats() : null;
+    }
+    
+    @Override
+    public void close() {
+        ffmpegPool.close();
+        if (conversionCache != null) {
+            conversionCache.clear();
+        }
+    }
+    
+    private List<String> buildFFmpegArguments(PcmFormat pcmFormat, AudioFormatType audioFormat) {
+        String input = pcmFormat.getFfmpegSampleFormat();
+        String rate = String.valueOf(pcmFormat.getSampleRate());
+        String channels = String.valueOf(pcmFormat.getChannels());
         
         return switch (audioFormat) {
-            case WAV -> new ProcessBuilder(
-                "ffmpeg", "-y",
-                "-f", "s16le",  // Little-endian 16-bit PCM
-                "-ar", String.valueOf(sampleRate),
-                "-ac", "1",     // Mono
-                "-i", inputFile,
+            case WAV -> List.of(
+                "-f", input,    // 16-bit PCM in the input byte order
+                "-ar", rate,
+                "-ac", channels,
+                "-i", "pipe:0",
                 "-f", "wav",
-                outputFile
+                "pipe:1"
             );
             
-            case MP3 -> new ProcessBuilder(
-                "ffmpeg", "-y",
-                "-f", "s16le",
-                "-ar", String.valueOf(sampleRate),
-                "-ac", "1",
-                "-i", inputFile,
+            case MP3 -> List.of(
+                "-f", input,
+                "-ar", rate,
+                "-ac", channels,
+                "-i", "pipe:0",
                 "-codec:a", "mp3",
                 "-b:a", "64k",
-                outputFile
+                "-f", "mp3",
+                "pipe:1"
             );
             
-            case FLAC -> new ProcessBuilder(
-                "ffmpeg", "-y",
-                "-f", "s16le",
-                "-ar", String.valueOf(sampleRate),
-                "-ac", "1",
-                "-i", inputFile,
+            case FLAC -> List.of(
+                "-f", input,
+                "-ar", rate,
+                "-ac", channels,
+                "-i", "pipe:0",
                 "-codec:a", "flac",
-                outputFile
+                "-f", "flac",
+                "pipe:1"
             );
             
-            case OGG -> new ProcessBuilder(
-                "ffmpeg", "-y",
-                "-f", "s16le",
-                "-ar", String.valueOf(sampleRate),
-                "-ac", "1",
-                "-i", inputFile,
+            case OGG -> List.of(
+                "-f", input,
+                "-ar", rate,
+                "-ac", channels,
+                "-i", "pipe:0",
                 "-codec:a", "libvorbis",
                 "-b:a", "128k",
-                outputFile
+                "-f", "ogg",
+                "pipe:1"
             );
             
-            case AAC -> new ProcessBuilder(
-                "ffmpeg", "-y",
-                "-f", "s16le",
-                "-ar", String.valueOf(sampleRate),
-                "-ac", "1",
-                "-i", inputFile,
+            case AAC -> List.of(
+                "-f", input,
+                "-ar", rate,
+                "-ac", channels,
+                "-i", "pipe:0",
                 "-codec:a", "aac",
                 "-b:a", "128k",
-                outputFile
+                "-f", "adts",   // Raw AAC stream, no seeking required
+                "pipe:1"
             );
             
-            case M4A -> new ProcessBuilder(
-                "ffmpeg", "-y",
-                "-f", "s16le",
-                "-ar", String.valueOf(sampleRate),
-                "-ac", "1",
-                "-i", inputFile,
+            case M4A -> List.of(
+                "-f", input,
+                "-ar", rate,
+                "-ac", channels,
+                "-i", "pipe:0",
                 "-codec:a", "aac",
+                "-movflags", "frag_keyframe+empty_moov", // MP4 on a pipe must be fragmented
                 "-f", "mp4",
-                outputFile
+                "pipe:1"
             );
             
             default -> throw new IllegalArgumentException("Unsupported audio format for FFmpeg: " + audioFormat.getDisplayName());
@@ -387,28 +417,35 @@ public class AudioConverter {
     }
     
     /**
-     * Get available conversion methods for a format.
+     * Get available conversion methods for a format, as detected by the startup probe.
      * 
      * @param format Audio format
      * @return Information about conversion method
      */
     public ConversionInfo getConversionInfo(String format) {
         String formatLower = format.toLowerCase();
+        AudioFormatType formatType = findFormat(formatLower);
         
-        boolean javaSupported = switch (formatLower) {
-            case "wav", "au", "aiff" -> true; // Java Sound API
-            case "mp3", "ogg", "flac" -> true; // JAVE library
-            default -> false;
-        };
+        if (formatType == null) {
+            return new ConversionInfo(formatLower, false, false);
+        }
         
-        boolean ffmpegSupported = switch (formatLower) {
-            case "wav", "mp3", "flac", "ogg", "aac", "m4a" -> true;
-            default -> false;
-        };
+        ConverterCapabilities caps = getCapabilities();
+        boolean javaSupported = caps.isSupported(formatType, ConversionMethod.JAVA_SOUND)
+                || caps.isSupported(formatType, ConversionMethod.JAVE);
+        boolean ffmpegSupported = caps.isSupported(formatType, ConversionMethod.FFMPEG);
         
         return new ConversionInfo(formatLower, javaSupported, ffmpegSupported);
     }
     
+    private static AudioFormatType findFormat(String format) {
+        try {
+            return AudioFormatType.fromExtension(format);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
     /**
      * Information about conversion capabilities for a format.
      */
@@ -447,7 +484,7 @@ public class AudioConverter {
      */
     public byte[] convertToWavFast(byte[] rawPcmData, int sampleRate) {
         try {
-            return convertToWav(rawPcmData, sampleRate);
+            return writeWithJavaSound(rawPcmData, PcmFormat.linear16(sampleRate), AudioFileFormat.Type.WAVE);
         } catch (IOException e) {
             log.error("Fast WAV conversion failed", e);
             throw new RuntimeException("WAV conversion failed", e);
@@ -458,30 +495,31 @@ public class AudioConverter {
      * Check if a format can be converted purely in Java without external dependencies.
      */
     public boolean isPureJavaSupported(String format) {
-        return switch (format.toLowerCase()) {
-            case "wav", "au", "aiff" -> true; // Pure Java Sound API
-            default -> false; // JAVE and FFmpeg require native binaries
-        };
+        AudioFormatType formatType = findFormat(format.toLowerCase());
+        return formatType != null && getCapabilities().isSupported(formatType, ConversionMethod.JAVA_SOUND);
     }
     
     /**
-     * Get performance characteristics for a conversion method.
+     * Get measured performance characteristics of the preferred conversion method for a format.
      */
     public PerformanceInfo getPerformanceInfo(String format) {
-        ConversionInfo conversionInfo = getConversionInfo(format);
-        
-        if (conversionInfo.isJavaSupported()) {
-            boolean pureJava = isPureJavaSupported(format);
-            return new PerformanceInfo(
-                pureJava ? "Fastest" : "Fast", 
-                pureJava ? "Very Low" : "Low",
-                pureJava ? "None" : "Native libraries required"
-            );
-        } else if (conversionInfo.isFFmpegSupported()) {
-            return new PerformanceInfo("Slower", "High", "FFmpeg binary required");
-        } else {
+        AudioFormatType formatType = findFormat(format.toLowerCase());
+        List<ConversionMethod> route = formatType != null ? getCapabilities().getRoute(formatType) : List.of();
+        
+        if (route.isEmpty()) {
             return new PerformanceInfo("Not supported", "N/A", "Format not supported");
         }
+        
+        ConversionMethod method = route.get(0);
+        Long latencyMs = getCapabilities().getMeasuredLatencyMs(formatType, method);
+        String speed = String.format("%d ms per probe clip (%s)", latencyMs, method);
+        
+        return switch (method) {
+            case JAVA_SOUND -> new PerformanceInfo(speed, "In-process", "None", latencyMs);
+            case JAVE -> new PerformanceInfo(speed, "External process", "JAVE native binary", latencyMs);
+            case FFMPEG -> new PerformanceInfo(speed, "External process (pooled)",
+                "FFmpeg binary: " + config.getConverter().getFfmpegPath(), latencyMs);
+        };
     }
     
     /**
@@ -491,16 +529,23 @@ public class AudioConverter {
         private final String speed;
         private final String resourceUsage;
         private final String dependencies;
+        private final Long measuredLatencyMs;
         
         public PerformanceInfo(String speed, String resourceUsage, String dependencies) {
+            this(speed, resourceUsage, dependencies, null);
+        }
+        
+        public PerformanceInfo(String speed, String resourceUsage, String dependencies, Long measuredLatencyMs) {
             this.speed = speed;
             this.resourceUsage = resourceUsage;
             this.dependencies = dependencies;
+            this.measuredLatencyMs = measuredLatencyMs;
         }
         
         public String getSpeed() { return speed; }
         public String getResourceUsage() { return resourceUsage; }
         public String getDependencies() { return dependencies; }
+        public Long getMeasuredLatencyMs() { return measuredLatencyMs; }
         
         @Override
         public String toString() {
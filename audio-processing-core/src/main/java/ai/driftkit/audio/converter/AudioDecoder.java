@@ -0,0 +1,398 @@
+package ai.driftkit.audio.converter;
+
+import ai.driftkit.audio.core.PcmFormat;
+import ai.driftkit.audio.core.config.CoreAudioConfig;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioFormat.Encoding;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Streaming decoder for compressed or containerized audio input.
+ * <p>
+ * Decodes any format readable by Java Sound (WAV, AU, AIFF and MP3 through mp3spi) and
+ * falls back to ffmpeg for everything else. Output is 16-bit signed mono PCM in the requested
+ * {@link PcmFormat} (little-endian unless stated otherwise), delivered in fixed-size chunks so that memory use does
+ * not depend on the length of the input.
+ */
+@Slf4j
+public class AudioDecoder {
+
+    private static final int READ_BUFFER_BYTES = 16 * 1024;
+    private static final int MARK_LIMIT_BYTES = 1024 * 1024;
+
+    private final CoreAudioConfig config;
+
+    public AudioDecoder(CoreAudioConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Decode a file into PCM chunks.
+     *
+     * @param file             Input audio file
+     * @param targetSampleRate Sample rate of the produced PCM
+     * @param chunkSizeBytes   Size of each delivered chunk (the last one may be shorter)
+     * @param chunkConsumer    Receives each chunk; every chunk is a new array
+     * @return Total number of PCM bytes produced
+     */
+    public long decode(Path file, int targetSampleRate, int chunkSizeBytes, Consumer<byte[]> chunkConsumer)
+            throws IOException, InterruptedException {
+        return decode(file, PcmFormat.linear16(targetSampleRate), chunkSizeBytes, chunkConsumer);
+    }
+
+    /**
+     * Decode a file into PCM chunks of the given format.
+     *
+     * @param file           Input audio file
+     * @param targetFormat   Format of the produced PCM (rate and byte order)
+     * @param chunkSizeBytes Size of each delivered chunk (the last one may be shorter)
+     * @param chunkConsumer  Receives each chunk; every chunk is a new array
+     * @return Total number of PCM bytes produced
+     */
+    public long decode(Path file, PcmFormat targetFormat, int chunkSizeBytes, Consumer<byte[]> chunkConsumer)
+            throws IOException, InterruptedException {
+
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(file))) {
+            return decodeWithJavaSound(input, targetFormat, chunkSizeBytes, chunkConsumer);
+        } catch (UnsupportedAudioFileException e) {
+            log.debug("Java Sound cannot read {}, decoding with ffmpeg", file);
+        }
+
+        try (InputStream input = Files.newInputStream(file)) {
+            return decodeWithFFmpeg(input, targetFormat, chunkSizeBytes, chunkConsumer);
+        }
+    }
+
+    /**
+     * Decode a stream into PCM chunks. The stream is not closed.
+     *
+     * @param input            Input audio stream
+     * @param targetSampleRate Sample rate of the produced PCM
+     * @param chunkSizeBytes   Size of each delivered chunk (the last one may be shorter)
+     * @param chunkConsumer    Receives each chunk; every chunk is a new array
+     * @return Total number of PCM bytes produced
+     */
+    public long decode(InputStream input, int targetSampleRate, int chunkSizeBytes, Consumer<byte[]> chunkConsumer)
+            throws IOException, InterruptedException {
+        return decode(input, PcmFormat.linear16(targetSampleRate), chunkSizeBytes, chunkConsumer);
+    }
+
+    /**
+     * Decode a stream into PCM chunks of the given format. The stream is not closed.
+     *
+     * @param input          Input audio stream
+     * @param targetFormat   Format of the produced PCM (rate and byte order)
+     * @param chunkSizeBytes Size of each delivered chunk (the last one may be shorter)
+     * @param chunkConsumer  Receives each chunk; every chunk is a new array
+     * @return Total number of PCM bytes produced
+     */
+    public long decode(InputStream input, PcmFormat targetFormat, int chunkSizeBytes, Consumer<byte[]> chunkConsumer)
+            throws IOException, InterruptedException {
+
+        InputStream markable = input.markSupported() ? input : new BufferedInputStream(input, READ_BUFFER_BYTES);
+        markable.mark(MARK_LIMIT_BYTES);
+        try {
+            return decodeWithJavaSound(markable, targetFormat, chunkSizeBytes, chunkConsumer);
+        } catch (UnsupportedAudioFileException e) {
+            log.debug("Java Sound cannot read stream, decoding with ffmpeg");
+            markable.reset();
+            return decodeWithFFmpeg(markable, targetFormat, chunkSizeBytes, chunkConsumer);
+        }
+    }
+
+    private long decodeWithJavaSound(InputStream input, PcmFormat targetFormat, int chunkSizeBytes,
+                                     Consumer<byte[]> chunkConsumer) throws IOException, UnsupportedAudioFileException {
+
+        AudioInputStream source = AudioSystem.getAudioInputStream(input);
+        AudioFormat sourceFormat = source.getFormat();
+
+        // Decode compressed encodings (e.g. MP3) to 16-bit PCM at the source rate and channel count
+        AudioFormat pcmFormat = new AudioFormat(
+            Encoding.PCM_SIGNED,
+            sourceFormat.getSampleRate(),
+            16,
+            sourceFormat.getChannels(),
+            sourceFormat.getChannels() * 2,
+            sourceFormat.getSampleRate(),
+            false
+        );
+        AudioInputStream pcm = sourceFormat.matches(pcmFormat) ? source : AudioSystem.getAudioInputStream(pcmFormat, source);
+
+        log.debug("Decoding {} ({} Hz, {} ch) to {}",
+            sourceFormat.getEncoding(), sourceFormat.getSampleRate(), sourceFormat.getChannels(), targetFormat);
+
+        ChunkWriter writer = new ChunkWriter(chunkSizeBytes, targetFormat.isBigEndian(), chunkConsumer);
+        Resampler resampler = new Resampler(Math.round(pcmFormat.getSampleRate()), targetFormat.getSampleRate());
+        int channels = pcmFormat.getChannels();
+        int frameSize = channels * 2;
+        byte[] buffer = new byte[(READ_BUFFER_BYTES / frameSize) * frameSize];
+        int pending = 0;
+
+        try (AudioInputStream stream = pcm) {
+            int read;
+            while ((read = stream.read(buffer, pending, buffer.length - pending)) != -1) {
+                int available = pending + read;
+                int frames = available / frameSize;
+
+                for (int frame = 0; frame < frames; frame++) {
+                    int offset = frame * frameSize;
+                    int sum = 0;
+                    for (int channel = 0; channel < channels; channel++) {
+                        int index = offset + channel * 2;
+                        sum += (short) ((buffer[index] & 0xFF) | (buffer[index + 1] << 8));
+                    }
+                    resampler.accept((short) (sum / channels), writer);
+                }
+
+                // Keep a partial frame for the next read
+                pending = available - frames * frameSize;
+                System.arraycopy(buffer, frames * frameSize, buffer, 0, pending);
+            }
+        }
+
+        resampler.finish(writer);
+        return writer.finish();
+    }
+
+    private long decodeWithFFmpeg(InputStream input, PcmFormat targetFormat, int chunkSizeBytes,
+                                  Consumer<byte[]> chunkConsumer) throws IOException, InterruptedException {
+
+        List<String> command = List.of(
+            config.getConverter().getFfmpegPath(),
+            "-hide_banner", "-loglevel", "error",
+            "-i", "pipe:0",
+            "-f", targetFormat.getFfmpegSampleFormat(),
+            "-ar", String.valueOf(targetFormat.getSampleRate()),
+            "-ac", "1",
+            "pipe:1"
+        );
+
+        Process process = new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+
+        // Feed stdin from a separate thread so that stdout never backs up
+        Thread feeder = new Thread(() -> {
+            try (OutputStream stdin = process.getOutputStream()) {
+                input.transferTo(stdin);
+            } catch (IOException e) {
+                log.debug("ffmpeg decoder input closed: {}", e.getMessage());
+            }
+        }, "ffmpeg-decoder-input");
+        feeder.setDaemon(true);
+        feeder.start();
+
+        ChunkWriter writer = new ChunkWriter(chunkSizeBytes, targetFormat.isBigEndian(), chunkConsumer);
+        try (InputStream stdout = process.getInputStream()) {
+            byte[] chunk = new byte[chunkSizeBytes];
+            int filled;
+            while ((filled = stdout.readNBytes(chunk, 0, chunk.length)) > 0) {
+                writer.writeChunk(chunk, filled);
+                if (filled < chunk.length) {
+                    break;
+                }
+            }
+
+            if (!process.waitFor(config.getConverter().getFfmpegTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                throw new IOException("ffmpeg decoder did not exit");
+            }
+            if (process.exitValue() != 0) {
+                throw new IOException("ffmpeg decoding failed with exit code: " + process.exitValue());
+            }
+        } finally {
+            if (process.isAlive()) {
+                process.destroyForcibly();
+            }
+            feeder.join(config.getConverter().getFfmpegTimeoutMs());
+        }
+
+        return writer.finish();
+    }
+
+    /**
+     * Accumulates 16-bit samples into fixed-size chunks in the target byte order.
+     */
+    private static class ChunkWriter {
+        private final Consumer<byte[]> consumer;
+        private final boolean bigEndian;
+        private byte[] chunk;
+        private int position = 0;
+        private long total = 0;
+
+        ChunkWriter(int chunkSizeBytes, boolean bigEndian, Consumer<byte[]> consumer) {
+            this.consumer = consumer;
+            this.bigEndian = bigEndian;
+            this.chunk = new byte[chunkSizeBytes - (chunkSizeBytes % 2)];
+        }
+
+        void writeSample(short sample) {
+            if (bigEndian) {
+                chunk[position++] = (byte) (sample >> 8);
+                chunk[position++] = (byte) sample;
+            } else {
+                chunk[position++] = (byte) sample;
+                chunk[position++] = (byte) (sample >> 8);
+            }
+            if (position == chunk.length) {
+                emit(chunk.length);
+            }
+        }
+
+        void writeChunk(byte[] data, int length) {
+            consumer.accept(length == data.length ? data.clone() : Arrays.copyOf(data, length));
+            total += length;
+        }
+
+        long finish() {
+            if (position > 0) {
+                emit(position);
+            }
+            return total;
+        }
+
+        private void emit(int length) {
+            byte[] out = length == chunk.length ? chunk : Arrays.copyOf(chunk, length);
+            consumer.accept(out);
+            total += length;
+            chunk = new byte[chunk.length];
+            position = 0;
+        }
+    }
+
+    /**
+     * Streaming resampler for mono 16-bit samples: linear interpolation, preceded when downsampling
+     * by a windowed-sinc low-pass filter at the target Nyquist frequency so higher frequencies
+     * are removed instead of aliased into the speech band.
+     */
+    private static class Resampler {
+        // Passband edge as a fraction of the target Nyquist frequency; the Blackman transition band lies above it
+        private static final double CUTOFF = 0.85;
+        // Sinc zero crossings on each side of the filter centre
+        private static final int ZERO_CROSSINGS = 8;
+
+        private final double step;
+        private final boolean passthrough;
+        private final double[] taps;
+        private final double[] history;
+        private int head = 0;
+        private long received = 0;
+        private double position = 0;
+        private double previous = 0;
+        private boolean hasPrevious = false;
+
+        Resampler(int sourceRate, int targetRate) {
+            this.step = (double) sourceRate / targetRate;
+            this.passthrough = sourceRate == targetRate;
+            this.taps = sourceRate > targetRate ? lowPass(CUTOFF * 0.5 / step) : null;
+            this.history = taps != null ? new double[taps.length] : null;
+        }
+
+        /**
+         * Blackman-windowed sinc with the given cutoff in cycles per source sample, normalized to unity gain.
+         */
+        private static double[] lowPass(double cutoff) {
+            int half = (int) Math.ceil(ZERO_CROSSINGS / (2 * cutoff));
+            double[] taps = new double[2 * half + 1];
+            double sum = 0;
+            for (int i = 0; i < taps.length; i++) {
+                int n = i - half;
+                double sinc = n == 0 ? 2 * cutoff : Math.sin(2 * Math.PI * cutoff * n) / (Math.PI * n);
+                double phase = 2 * Math.PI * i / (taps.length - 1);
+                double window = 0.42 - 0.5 * Math.cos(phase) + 0.08 * Math.cos(2 * phase);
+                taps[i] = sinc * window;
+                sum += taps[i];
+            }
+            for (int i = 0; i < taps.length; i++) {
+                taps[i] /= sum;
+            }
+            return taps;
+        }
+
+        void accept(short sample, ChunkWriter writer) {
+            if (passthrough) {
+                writer.writeSample(sample);
+                return;
+            }
+            if (taps == null) {
+                interpolate(sample, writer);
+                return;
+            }
+            if (received == 0) {
+                // The signal is extended backwards with its first sample, so a constant input stays constant
+                Arrays.fill(history, sample);
+            }
+            push(sample);
+            // The filter output is centred half the filter length behind the newest sample
+            if (++received > taps.length / 2) {
+                interpolate(filter(), writer);
+            }
+        }
+
+        /**
+         * Emit the samples still held back by the filter delay, extending the signal with its last sample.
+         */
+        void finish(ChunkWriter writer) {
+            if (taps == null || received == 0) {
+                return;
+            }
+            double last = history[(head + history.length - 1) % history.length];
+            for (int i = 0; i < taps.length / 2; i++) {
+                push(last);
+                if (++received > taps.length / 2) {
+                    interpolate(filter(), writer);
+                }
+            }
+        }
+
+        private void push(double sample) {
+            history[head] = sample;
+            head = (head + 1) % history.length;
+        }
+
+        private double filter() {
+            // The filter is symmetric, so the order in which history is walked does not matter
+            double acc = 0;
+            int index = head;
+            for (double tap : taps) {
+                acc += tap * history[index];
+                if (++index == history.length) {
+                    index = 0;
+                }
+            }
+            return acc;
+        }
+
+        private void interpolate(double sample, ChunkWriter writer) {
+            if (!hasPrevious) {
+                previous = sample;
+                hasPrevious = true;
+                return;
+            }
+            // Emit every output sample that falls between the previous and current input sample
+            while (position < 1.0) {
+                writer.writeSample(clip(previous + (sample - previous) * position));
+                position += step;
+            }
+            position -= 1.0;
+            previous = sample;
+        }
+
+        private static short clip(double sample) {
+            return (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, Math.round(sample)));
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package ai.driftkit.audio.converter;
+
+import ai.driftkit.audio.core.AudioFormatType;
+import ai.driftkit.audio.core.PcmFormat;
+import ai.driftkit.audio.util.AudioFingerprint;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Content-addressed cache of converted audio.
+ * Keyed by a fingerprint of the PCM payload, its PCM layout and the target format.
+ * Bounded by the total size of cached outputs with least-recently-used eviction.
+ */
+public class ConversionCache {
+
+    private final long maxBytes;
+    private final LinkedHashMap<Key, byte[]> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final Object lock = new Object();
+    private long currentBytes = 0;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public ConversionCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Build the cache key for a conversion of 16-bit little-endian mono PCM.
+     */
+    public static Key key(byte[] rawPcmData, int sampleRate, AudioFormatType format) {
+        return key(rawPcmData, PcmFormat.linear16(sampleRate), format);
+    }
+    
+    /**
+     * Build the cache key for a conversion.
+     */
+    public static Key key(byte[] rawPcmData, PcmFormat pcmFormat, AudioFormatType format) {
+        return new Key(AudioFingerprint.of(rawPcmData), pcmFormat, format);
+    }
+
+    /**
+     * Look up a converted payload. Returns a copy, or null on a miss.
+     */
+    public byte[] get(Key key) {
+        byte[] cached;
+        synchronized (lock) {
+            cached = entries.get(key);
+        }
+        if (cached == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return cached.clone();
+    }
+
+    /**
+     * Store a converted payload, evicting least recently used entries to stay within the byte budget.
+     */
+    public void put(Key key, byte[] converted) {
+        if (converted.length > maxBytes) {
+            return;
+        }
+        byte[] copy = converted.clone();
+        synchronized (lock) {
+            byte[] previous = entries.put(key, copy);
+            if (previous != null) {
+                currentBytes -= previous.length;
+            }
+            currentBytes += copy.length;
+
+            Iterator<Map.Entry<Key, byte[]>> it = entries.entrySet().iterator();
+            while (currentBytes > maxBytes && it.hasNext()) {
+                Map.Entry<Key, byte[]> eldest = it.next();
+                currentBytes -= eldest.getValue().length;
+                it.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (lock) {
+            entries.clear();
+            currentBytes = 0;
+        }
+    }
+
+    /**
+     * Get cache statistics.
+     */
+    public CacheStats getStats() {
+        synchronized (lock) {
+            return new CacheStats(hits.get(), misses.get(), evictions.get(), entries.size(), currentBytes, maxBytes);
+        }
+    }
+
+    /**
+     * Cache key: payload fingerprint, PCM layout and target format.
+     */
+    public static final class Key {
+        private final AudioFingerprint fingerprint;
+        private final PcmFormat pcmFormat;
+        private final AudioFormatType format;
+
+        Key(AudioFingerprint fingerprint, PcmFormat pcmFormat, AudioFormatType format) {
+            this.fingerprint = fingerprint;
+            this.pcmFormat = pcmFormat;
+            this.format = format;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return format == key.format && pcmFormat.equals(key.pcmFormat) && fingerprint.equals(key.fingerprint);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(fingerprint, pcmFormat, format);
+        }
+    }
+
+    /**
+     * Statistics of the conversion cache.
+     */
+    public static class CacheStats {
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final int entries;
+        private final long bytes;
+        private final long maxBytes;
+
+        public CacheStats(long hits, long misses, long evictions, int entries, long bytes, long maxBytes) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.entries = entries;
+            this.bytes = bytes;
+            this.maxBytes = maxBytes;
+        }
+
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        public long getEvictions() { return evictions; }
+        public int getEntries() { return entries; }
+        public long getBytes() { return bytes; }
+        public long getMaxBytes() { return maxBytes; }
+
+        public double getHitRatio() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("ConversionCache{hits=%d, misses=%d, evictions=%d, entries=%d, bytes=%d/%d}",
+                hits, misses, evictions, entries, bytes, maxBytes);
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package ai.driftkit.audio.converter;
+
+import ai.driftkit.audio.core.AudioFormatType;
+import ai.driftkit.audio.core.AudioFormatType.ConversionMethod;
+import ai.driftkit.audio.core.config.ConverterConfig;
+import lombok.extern.slf4j.Slf4j;
+import ws.schild.jave.process.ffmpeg.DefaultFFMPEGLocator;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioSystem;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion capabilities detected once at startup.
+ * <p>
+ * The probe checks which Java Sound file types are available, whether the JAVE native
+ * binary can be located and which encoders the JAVE binary and the system ffmpeg provide.
+ * From that it builds a routing table per {@link AudioFormatType}: an ordered list of
+ * methods that are known to work, each with a measured latency for a short probe clip.
+ */
+@Slf4j
+public class ConverterCapabilities {
+
+    private static final int PROBE_DURATION_MS = 250;
+    private static final long PROCESS_TIMEOUT_MS = 5000;
+
+    private final boolean javaSoundAvailable;
+    private final boolean javeAvailable;
+    private final boolean ffmpegAvailable;
+    private final Set<String> javeEncoders;
+    private final Set<String> ffmpegEncoders;
+    private final Map<AudioFormatType, List<ConversionMethod>> routes;
+    private final Map<AudioFormatType, Map<ConversionMethod, Long>> measuredLatencyMs;
+
+    private ConverterCapabilities(
+            boolean javaSoundAvailable,
+            boolean javeAvailable,
+            boolean ffmpegAvailable,
+            Set<String> javeEncoders,
+            Set<String> ffmpegEncoders,
+            Map<AudioFormatType, List<ConversionMethod>> routes,
+            Map<AudioFormatType, Map<ConversionMethod, Long>> measuredLatencyMs) {
+        this.javaSoundAvailable = javaSoundAvailable;
+        this.javeAvailable = javeAvailable;
+        this.ffmpegAvailable = ffmpegAvailable;
+        this.javeEncoders = javeEncoders;
+        this.ffmpegEncoders = ffmpegEncoders;
+        this.routes = routes;
+        this.measuredLatencyMs = measuredLatencyMs;
+    }
+
+    /**
+     * Conversion function used by the probe to measure real conversions.
+     */
+    @FunctionalInterface
+    interface ProbeConversion {
+        byte[] convert(ConversionMethod method, byte[] rawPcmData, int sampleRate, AudioFormatType format)
+                throws Exception;
+    }
+
+    /**
+     * Detect available converters and build the routing table.
+     */
+    static ConverterCapabilities probe(ConverterConfig config, int sampleRate, ProbeConversion conversion) {
+        long started = System.currentTimeMillis();
+
+        boolean javaSound = AudioSystem.isFileTypeSupported(AudioFileFormat.Type.WAVE);
+
+        String javePath = locateJaveBinary();
+        Set<String> javeEncoders = javePath != null ? listEncoders(javePath) : Set.of();
+        boolean jave = !javeEncoders.isEmpty();
+
+        Set<String> ffmpegEncoders = listEncoders(config.getFfmpegPath());
+        boolean ffmpeg = !ffmpegEncoders.isEmpty();
+
+        byte[] probePcm = new byte[sampleRate * 2 * PROBE_DURATION_MS / 1000];
+        Map<AudioFormatType, List<ConversionMethod>> routes = new EnumMap<>(AudioFormatType.class);
+        Map<AudioFormatType, Map<ConversionMethod, Long>> latencies = new EnumMap<>(AudioFormatType.class);
+
+        for (AudioFormatType format : AudioFormatType.values()) {
+            List<ConversionMethod> candidates = new ArrayList<>();
+            if (javaSound && format.isJavaSoundSupported() && isJavaSoundTypeSupported(format)) {
+                candidates.add(ConversionMethod.JAVA_SOUND);
+            }
+            if (jave && format.isJaveSupported() && hasEncoder(javeEncoders, format)) {
+                candidates.add(ConversionMethod.JAVE);
+            }
+            if (ffmpeg && hasEncoder(ffmpegEncoders, format)) {
+                candidates.add(ConversionMethod.FFMPEG);
+            }
+
+            List<ConversionMethod> working = new ArrayList<>();
+            Map<ConversionMethod, Long> formatLatencies = new EnumMap<>(ConversionMethod.class);
+            for (ConversionMethod method : candidates) {
+                long start = System.nanoTime();
+                try {
+                    conversion.convert(method, probePcm, sampleRate, format);
+                    formatLatencies.put(method, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                    working.add(method);
+                } catch (Exception e) {
+                    log.info("Converter probe: {} via {} unavailable: {}",
+                        format.getDisplayName(), method, e.getMessage());
+                }
+            }
+
+            routes.put(format, Collections.unmodifiableList(working));
+            latencies.put(format, formatLatencies);
+        }
+
+        log.info("Converter capabilities probed in {}ms: javaSound={}, jave={}, ffmpeg={}, routes={}",
+            System.currentTimeMillis() - started, javaSound, jave, ffmpeg, routes);
+
+        return new ConverterCapabilities(javaSound, jave, ffmpeg, javeEncoders, ffmpegEncoders, routes, latencies);
+    }
+
+    /**
+     * Ordered list of working conversion methods for a format; empty if none.
+     */
+    public List<ConversionMethod> getRoute(AudioFormatType format) {
+        return routes.getOrDefault(format, List.of());
+    }
+
+    /**
+     * Measured probe latency for a format and method, or null if the method does not work.
+     */
+    public Long getMeasuredLatencyMs(AudioFormatType format, ConversionMethod method) {
+        Map<ConversionMethod, Long> formatLatencies = measuredLatencyMs.get(format);
+        return formatLatencies != null ? formatLatencies.get(method) : null;
+    }
+
+    public boolean isSupported(AudioFormatType format, ConversionMethod method) {
+        return getRoute(format).contains(method);
+    }
+
+    public boolean isJavaSoundAvailable() { return javaSoundAvailable; }
+    public boolean isJaveAvailable() { return javeAvailable; }
+    public boolean isFfmpegAvailable() { return ffmpegAvailable; }
+    public Set<String> getJaveEncoders() { return javeEncoders; }
+    public Set<String> getFfmpegEncoders() { return ffmpegEncoders; }
+
+    @Override
+    public String toString() {
+        return String.format("ConverterCapabilities{javaSound=%s, jave=%s, ffmpeg=%s, routes=%s}",
+            javaSoundAvailable, javeAvailable, ffmpegAvailable, routes);
+    }
+
+    private static boolean isJavaSoundTypeSupported(AudioFormatType format) {
+        return switch (format) {
+            case WAV -> AudioSystem.isFileTypeSupported(AudioFileFormat.Type.WAVE);
+            case AU -> AudioSystem.isFileTypeSupported(AudioFileFormat.Type.AU);
+            case AIFF -> AudioSystem.isFileTypeSupported(AudioFileFormat.Type.AIFF);
+            default -> false;
+        };
+    }
+
+    private static boolean hasEncoder(Set<String> encoders, AudioFormatType format) {
+        return switch (format) {
+            case WAV -> encoders.contains("pcm_s16le");
+            case MP3 -> encoders.contains("libmp3lame");
+            case OGG -> encoders.contains("libvorbis");
+            case FLAC -> encoders.contains("flac");
+            case AAC, M4A -> encoders.contains("aac");
+            default -> false; // No conversion command defined for the remaining formats
+        };
+    }
+
+    private static String locateJaveBinary() {
+        try {
+            String path = new DefaultFFMPEGLocator().getExecutablePath();
+            return path != null && new File(path).canExecute() ? path : null;
+        } catch (Throwable t) {
+            log.info("JAVE native binary not available: {}", t.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Run {@code <binary> -encoders} and collect encoder names. Returns an empty set if the binary is missing.
+     */
+    private static Set<String> listEncoders(String binary) {
+        Process process = null;
+        try {
+            process = new ProcessBuilder(binary, "-hide_banner", "-encoders")
+                    .redirectError(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+
+            String output;
+            try (InputStream stdout = process.getInputStream()) {
+                output = new String(stdout.readAllBytes());
+            }
+            if (!process.waitFor(PROCESS_TIMEOUT_MS, TimeUnit.MILLISECONDS) || process.exitValue() != 0) {
+                return Set.of();
+            }
+
+            Set<String> encoders = new HashSet<>();
+            boolean listStarted = false;
+            for (String line : output.split("\n")) {
+                String trimmed = line.trim();
+                if (trimmed.startsWith("------")) {
+                    listStarted = true;
+                    continue;
+                }
+                String[] tokens = trimmed.split("\\s+");
+                if (listStarted && tokens.length >= 2 && tokens[0].length() == 6) {
+                    encoders.add(tokens[1]);
+                }
+            }
+            return Collections.unmodifiableSet(encoders);
+
+        } catch (IOException e) {
+            log.info("{} not available: {}", binary, e.getMessage());
+            return Set.of();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Set.of();
+        } finally {
+            if (process != null && process.isAlive()) {
+                process.destroyForcibly();
+            }
+        }
+    }
+}
@@ -0,0 +1,364 @@
+package ai.driftkit.audio.converter;
+
+import ai.driftkit.audio.core.config.ConverterConfig;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of pre-started ffmpeg processes that convert audio over stdin/stdout pipes.
+ * <p>
+ * ffmpeg cannot emit several independent containers from one process, so each worker
+ * serves exactly one conversion: it is spawned ahead of time with the full command line
+ * and blocks on stdin until PCM arrives. After a worker is consumed a replacement for
+ * the same command line is started in the background, which keeps process startup off
+ * the critical path. The number of live processes (idle and busy) is bounded by
+ * {@link ConverterConfig#getFfmpegPoolSize()}.
+ */
+@Slf4j
+public class FFmpegWorkerPool implements AutoCloseable {
+
+    private static final long PERMIT_POLL_MS = 10;
+
+    private final ConverterConfig config;
+    private final boolean pooled;
+    private final Semaphore permits;
+    private final Map<List<String>, Deque<FFmpegWorker>> idleWorkers = new ConcurrentHashMap<>();
+    private final ExecutorService ioExecutor;
+    private final ScheduledExecutorService maintenanceExecutor;
+
+    private final AtomicLong conversions = new AtomicLong();
+    private final AtomicLong warmHits = new AtomicLong();
+    private final AtomicLong coldStarts = new AtomicLong();
+    private final AtomicLong restarts = new AtomicLong();
+
+    private volatile boolean closed = false;
+
+    public FFmpegWorkerPool(ConverterConfig config) {
+        this.config = config;
+        this.pooled = config.isFfmpegPoolEnabled() && config.getFfmpegPoolSize() > 0;
+        this.permits = new Semaphore(Math.max(1, config.getFfmpegPoolSize()));
+        this.ioExecutor = Executors.newCachedThreadPool(daemonThreadFactory("ffmpeg-io"));
+        this.maintenanceExecutor = Executors.newSingleThreadScheduledExecutor(daemonThreadFactory("ffmpeg-pool"));
+
+        if (pooled) {
+            long interval = config.getFfmpegHealthCheckIntervalMs();
+            maintenanceExecutor.scheduleWithFixedDelay(this::checkIdleWorkers, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Run a conversion. The arguments must read from {@code pipe:0} and write to {@code pipe:1}.
+     *
+     * @param args  ffmpeg arguments without the executable and logging flags
+     * @param input Bytes written to ffmpeg stdin
+     * @return Bytes produced on ffmpeg stdout
+     */
+    public byte[] convert(List<String> args, byte[] input) throws IOException, InterruptedException {
+        if (closed) {
+            throw new IllegalStateException("FFmpeg worker pool is closed");
+        }
+        conversions.incrementAndGet();
+
+        if (!pooled) {
+            FFmpegWorker worker = spawn(args, false);
+            coldStarts.incrementAndGet();
+            return run(worker, input);
+        }
+
+        FFmpegWorker worker = acquire(args);
+        try {
+            return run(worker, input);
+        } catch (IOException e) {
+            if (!worker.warm) {
+                throw e;
+            }
+            // A warm worker may have died while idle; retry once on a fresh process
+            restarts.incrementAndGet();
+            log.warn("Pre-started ffmpeg worker failed, restarting: {}", e.getMessage());
+            FFmpegWorker fresh = spawnWithPermit(args);
+            return run(fresh, input);
+        } finally {
+            replenish(args);
+        }
+    }
+
+    /**
+     * Run a conversion on a process of its own, outside the pool: it takes no permit, is not
+     * counted in the statistics and leaves no replacement behind. Used to probe command lines
+     * that may never be converted with again.
+     */
+    public byte[] convertOnce(List<String> args, byte[] input) throws IOException, InterruptedException {
+        if (closed) {
+            throw new IllegalStateException("FFmpeg worker pool is closed");
+        }
+        return run(spawn(args, false), input);
+    }
+
+    /**
+     * Pre-start a worker for the given command line so the first conversion is warm.
+     */
+    public void warmUp(List<String> args) {
+        if (pooled && !closed) {
+            replenish(args);
+        }
+    }
+
+    /**
+     * Take an idle worker for the arguments or start one. While the pool is full, the idle queue
+     * is checked again on every poll: the permit may be held by the replacement being pre-started
+     * for these very arguments, which would otherwise never be released to this caller.
+     */
+    private FFmpegWorker acquire(List<String> args) throws IOException, InterruptedException {
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.getFfmpegTimeoutMs());
+        while (true) {
+            FFmpegWorker worker = pollIdle(args);
+            if (worker != null) {
+                warmHits.incrementAndGet();
+                return worker;
+            }
+            if (permits.tryAcquire()) {
+                coldStarts.incrementAndGet();
+                return spawnPermitted(args);
+            }
+            // Workers waiting for other command lines give way
+            evictIdleWorker(args);
+            if (permits.tryAcquire(PERMIT_POLL_MS, TimeUnit.MILLISECONDS)) {
+                coldStarts.incrementAndGet();
+                return spawnPermitted(args);
+            }
+            if (System.nanoTime() - deadlineNanos >= 0) {
+                throw new IOException("No ffmpeg worker available within " + config.getFfmpegTimeoutMs() + "ms");
+            }
+        }
+    }
+
+    private FFmpegWorker pollIdle(List<String> args) {
+        Deque<FFmpegWorker> idle = idleWorkers.get(args);
+        if (idle == null) {
+            return null;
+        }
+        FFmpegWorker worker;
+        while ((worker = idle.pollFirst()) != null) {
+            if (worker.process.isAlive()) {
+                return worker;
+            }
+            discard(worker);
+            restarts.incrementAndGet();
+        }
+        return null;
+    }
+
+    private FFmpegWorker spawnWithPermit(List<String> args) throws IOException, InterruptedException {
+        if (!permits.tryAcquire()) {
+            evictIdleWorker(null);
+            if (!permits.tryAcquire(config.getFfmpegTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                throw new IOException("No ffmpeg worker available within " + config.getFfmpegTimeoutMs() + "ms");
+            }
+        }
+        return spawnPermitted(args);
+    }
+
+    private FFmpegWorker spawnPermitted(List<String> args) throws IOException {
+        try {
+            return spawn(args, true);
+        } catch (IOException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private byte[] run(FFmpegWorker worker, byte[] input) throws IOException, InterruptedException {
+        Process process = worker.process;
+        try {
+            Future<byte[]> output = ioExecutor.submit(() -> process.getInputStream().readAllBytes());
+
+            try (OutputStream stdin = process.getOutputStream()) {
+                stdin.write(input);
+            }
+
+            if (!process.waitFor(config.getFfmpegTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                throw new IOException("FFmpeg conversion timed out after " + config.getFfmpegTimeoutMs() + "ms");
+            }
+
+            byte[] result;
+            try {
+                result = output.get(config.getFfmpegTimeoutMs(), TimeUnit.MILLISECONDS);
+            } catch (ExecutionException | TimeoutException e) {
+                throw new IOException("Failed to read FFmpeg output", e);
+            }
+
+            if (process.exitValue() != 0) {
+                throw new IOException("FFmpeg conversion failed with exit code: " + process.exitValue());
+            }
+            if (result.length == 0) {
+                throw new IOException("FFmpeg produced no output");
+            }
+            return result;
+        } finally {
+            discard(worker);
+        }
+    }
+
+    private void replenish(List<String> args) {
+        if (closed) {
+            return;
+        }
+        maintenanceExecutor.execute(() -> {
+            if (closed || !permits.tryAcquire()) {
+                return;
+            }
+            try {
+                FFmpegWorker worker = spawn(args, true);
+                worker.warm = true;
+                idleWorkers.computeIfAbsent(args, k -> new ConcurrentLinkedDeque<>()).addLast(worker);
+            } catch (IOException e) {
+                permits.release();
+                log.warn("Failed to pre-start ffmpeg worker: {}", e.getMessage());
+            }
+        });
+    }
+
+    private void checkIdleWorkers() {
+        idleWorkers.forEach((args, idle) -> {
+            for (FFmpegWorker worker : idle) {
+                if (!worker.process.isAlive() && idle.remove(worker)) {
+                    log.warn("Idle ffmpeg worker exited with code {}, restarting", worker.process.exitValue());
+                    discard(worker);
+                    restarts.incrementAndGet();
+                    replenish(args);
+                }
+            }
+        });
+    }
+
+    /**
+     * Stop one idle worker to free its permit, sparing those for {@code keep} (null spares none).
+     */
+    private void evictIdleWorker(List<String> keep) {
+        for (Map.Entry<List<String>, Deque<FFmpegWorker>> entry : idleWorkers.entrySet()) {
+            if (entry.getKey().equals(keep)) {
+                continue;
+            }
+            FFmpegWorker worker = entry.getValue().pollFirst();
+            if (worker != null) {
+                discard(worker);
+                return;
+            }
+        }
+    }
+
+    private FFmpegWorker spawn(List<String> args, boolean holdsPermit) throws IOException {
+        List<String> command = new ArrayList<>(args.size() + 4);
+        command.add(config.getFfmpegPath());
+        command.add("-hide_banner");
+        command.add("-loglevel");
+        command.add("error");
+        command.addAll(args);
+
+        Process process = new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        return new FFmpegWorker(process, holdsPermit);
+    }
+
+    private void discard(FFmpegWorker worker) {
+        if (worker.process.isAlive()) {
+            worker.process.destroyForcibly();
+        }
+        if (worker.holdsPermit) {
+            worker.holdsPermit = false;
+            permits.release();
+        }
+    }
+
+    /**
+     * Get pool statistics.
+     */
+    public PoolStats getStats() {
+        int idle = idleWorkers.values().stream().mapToInt(Deque::size).sum();
+        return new PoolStats(conversions.get(), warmHits.get(), coldStarts.get(), restarts.get(), idle);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        maintenanceExecutor.shutdownNow();
+        idleWorkers.values().forEach(idle -> {
+            FFmpegWorker worker;
+            while ((worker = idle.pollFirst()) != null) {
+                discard(worker);
+            }
+        });
+        ioExecutor.shutdown();
+    }
+
+    static ThreadFactory daemonThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static class FFmpegWorker {
+        private final Process process;
+        private volatile boolean holdsPermit;
+        private volatile boolean warm = false;
+
+        FFmpegWorker(Process process, boolean holdsPermit) {
+            this.process = process;
+            this.holdsPermit = holdsPermit;
+        }
+    }
+
+    /**
+     * Statistics of the ffmpeg worker pool.
+     */
+    public static class PoolStats {
+        private final long conversions;
+        private final long warmHits;
+        private final long coldStarts;
+        private final long restarts;
+        private final int idleWorkers;
+
+        public PoolStats(long conversions, long warmHits, long coldStarts, long restarts, int idleWorkers) {
+            this.conversions = conversions;
+            this.warmHits = warmHits;
+            this.coldStarts = coldStarts;
+            this.restarts = restarts;
+            this.idleWorkers = idleWorkers;
+        }
+
+        public long getConversions() { return conversions; }
+        public long getWarmHits() { return warmHits; }
+        public long getColdStarts() { return coldStarts; }
+        public long getRestarts() { return restarts; }
+        public int getIdleWorkers() { return idleWorkers; }
+
+        @Override
+        public String toString() {
+            return String.format("FFmpegPool{conversions=%d, warm=%d, cold=%d, restarts=%d, idle=%d}",
+                conversions, warmHits, coldStarts, restarts, idleWorkers);
+        }
+    }
+}
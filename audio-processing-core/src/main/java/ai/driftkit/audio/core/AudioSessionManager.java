@@ -1,15 +1,21 @@
 package ai.driftkit.audio.core;
 
 import ai.driftkit.audio.converter.AudioConverter;
+import ai.driftkit.audio.converter.AudioDecoder;
 import ai.driftkit.audio.core.config.CoreAudioConfig;
 import ai.driftkit.audio.engine.TranscriptionEngine;
 import ai.driftkit.audio.engine.TranscriptionEngineFactory;
 import ai.driftkit.audio.model.TranscriptionResult;
 import ai.driftkit.audio.processor.AudioAnalyzer;
 import ai.driftkit.audio.processor.BatchAudioProcessor;
+import ai.driftkit.audio.processor.StreamingVadGate;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.function.Consumer;
@@ -24,6 +30,7 @@ public class AudioSessionManager {
     private final CoreAudioConfig config;
     private final TranscriptionEngine engine;
     private final AudioConverter audioConverter;
+    private final AudioDecoder audioDecoder;
 
     // For batch mode processing
     private final ConcurrentMap<String, BatchAudioProcessor> batchProcessors = new ConcurrentHashMap<>();
@@ -31,6 +38,12 @@ public class AudioSessionManager {
     // For streaming mode - callbacks are managed by the engine
     private final ConcurrentMap<String, Consumer<TranscriptionResult>> streamingCallbacks = new ConcurrentHashMap<>();
 
+    // Optional local VAD gates in front of streaming sessions
+    private final ConcurrentMap<String, StreamingVadGate> streamingGates = new ConcurrentHashMap<>();
+
+    // PCM format of the audio fed into each session
+    private final ConcurrentMap<String, PcmFormat> sessionFormats = new ConcurrentHashMap<>();
+
     public AudioSessionManager(
             CoreAudioConfig config,
             TranscriptionEngineFactory engineFactory,
@@ -38,6 +51,7 @@ public class AudioSessionManager {
 
         this.config = config;
         this.audioConverter = audioConverter;
+        this.audioDecoder = new AudioDecoder(config);
 
         // Create engine based on configuration
         this.engine = engineFactory.createEngine();
@@ -46,51 +60,89 @@ public class AudioSessionManager {
                 engine.getName(), config.getProcessingMode());
     }
 
+    /**
+     * Create a new audio processing session for audio in the configured PCM format.
+     *
+     * @param sessionId      Unique session identifier
+     * @param resultCallback Callback for transcription results
+     * @return future completed when the session is ready
+     */
+    public CompletableFuture<Void> createSession(String sessionId, Consumer<TranscriptionResult> resultCallback) {
+        return createSession(sessionId, config.getPcmFormat(), resultCallback);
+    }
+
     /**
      * Create a new audio processing session.
      *
      * @param sessionId      Unique session identifier
+     * @param format         PCM format of the audio that will be fed into the session; must be mono
      * @param resultCallback Callback for transcription results
+     * @return future completed when the session is ready; streaming sessions complete it once connected,
+     *         but audio may be processed immediately and is buffered until then
      */
-    public void createSession(String sessionId, Consumer<TranscriptionResult> resultCallback) {
+    public CompletableFuture<Void> createSession(String sessionId, PcmFormat format, Consumer<TranscriptionResult> resultCallback) {
         if (hasSession(sessionId)) {
             throw new IllegalArgumentException("Session already exists: " + sessionId);
         }
+        if (format.getChannels() != 1) {
+            // Engines are only told the sample rate and expect mono audio
+            throw new IllegalArgumentException("Sessions take mono PCM only, got " + format);
+        }
+        sessionFormats.put(sessionId, format);
 
         switch (config.getProcessingMode()) {
             case STREAMING:
                 // For streaming mode, start a streaming session with the engine
                 streamingCallbacks.put(sessionId, resultCallback);
-                engine.startStreamingSession(
+                CompletableFuture<Void> ready = engine.startStreamingSession(
                         sessionId,
-                        config.getSampleRate(),
+                        format.getSampleRate(),
                         getLanguageCode(),
                         resultCallback
                 );
-                log.debug("Created streaming session: {}", sessionId);
-                break;
+                if (config.getStreamingGate().isEnabled() || config.getStreamingGate().isFinalizeOnEndpoint()) {
+                    // The gate sees audio after the byte order is normalized for the engine
+                    PcmFormat engineFormat = format.withEndianness(PcmFormat.Endianness.LITTLE_ENDIAN);
+                    streamingGates.put(sessionId, new StreamingVadGate(sessionId, config.getStreamingGate(),
+                            engineFormat, new AudioAnalyzer(config, engineFormat), engine));
+                }
+                log.debug("Created streaming session: {} ({})", sessionId, format);
+                return ready;
             case BATCH:
                 // For batch mode, create a batch processor with its own AudioAnalyzer
-                AudioAnalyzer sessionAnalyzer = new AudioAnalyzer(config);
+                AudioAnalyzer sessionAnalyzer = new AudioAnalyzer(config, format);
                 BatchAudioProcessor processor = new BatchAudioProcessor(
-                        sessionId, config, sessionAnalyzer, audioConverter, engine, resultCallback);
+                        sessionId, config, format, sessionAnalyzer, audioConverter, engine, resultCallback);
                 batchProcessors.put(sessionId, processor);
                 log.debug("Created batch session: {}", sessionId);
                 break;
         }
+        return CompletableFuture.completedFuture(null);
     }
 
     /**
      * Process audio chunk for a session.
+     * Sessions may keep a reference to the array (batch segments and streaming replay buffers
+     * hold chunks by reference), so the caller must not modify it afterwards. The array itself
+     * is never modified; big-endian input is swapped into a copy.
      *
      * @param sessionId Session identifier
-     * @param audioData Audio data to process
+     * @param audioData Audio data to process, in the session's PCM format
      */
     public void processAudioChunk(String sessionId, byte[] audioData) {
         switch (config.getProcessingMode()) {
             case STREAMING:
                 // For streaming mode, send directly to engine
-                engine.sendStreamingAudio(sessionId, audioData);
+                PcmFormat format = sessionFormats.get(sessionId);
+                if (format != null && format.isBigEndian()) {
+                    audioData = PcmFormat.swapByteOrder(audioData);
+                }
+                StreamingVadGate gate = streamingGates.get(sessionId);
+                if (gate != null) {
+                    gate.processAudioChunk(audioData);
+                } else {
+                    engine.sendStreamingAudio(sessionId, audioData);
+                }
                 break;
             case BATCH:
                 // For batch mode, use the batch processor
@@ -103,6 +155,53 @@ public class AudioSessionManager {
         }
     }
 
+    /**
+     * Decode an audio file (WAV, MP3, OGG, ...) and feed it into a session chunk by chunk.
+     * Memory use is bounded by the chunk size regardless of the file length.
+     *
+     * @param sessionId Session identifier
+     * @param file      Audio file to process
+     * @return Number of PCM bytes fed into the session
+     */
+    public long processAudioFile(String sessionId, Path file) throws IOException, InterruptedException {
+        PcmFormat format = getSessionFormat(sessionId);
+        return audioDecoder.decode(file, format, getDecodeChunkSize(format),
+                chunk -> processAudioChunk(sessionId, chunk));
+    }
+
+    /**
+     * Decode an audio stream (WAV, MP3, OGG, ...) and feed it into a session chunk by chunk.
+     * The stream is not closed.
+     *
+     * @param sessionId Session identifier
+     * @param input     Encoded audio stream
+     * @return Number of PCM bytes fed into the session
+     */
+    public long processAudioStream(String sessionId, InputStream input) throws IOException, InterruptedException {
+        PcmFormat format = getSessionFormat(sessionId);
+        return audioDecoder.decode(input, format, getDecodeChunkSize(format),
+                chunk -> processAudioChunk(sessionId, chunk));
+    }
+
+    private int getDecodeChunkSize(PcmFormat format) {
+        // One chunk per configured buffer duration
+        return Math.max(format.getFrameSize(), format.getBytesPerSecond() * config.getBufferSizeMs() / 1000);
+    }
+
+    /**
+     * Get the PCM format of the audio fed into a session.
+     *
+     * @param sessionId Session identifier
+     * @return PCM format of the session
+     */
+    public PcmFormat getSessionFormat(String sessionId) {
+        PcmFormat format = sessionFormats.get(sessionId);
+        if (format == null) {
+            throw new IllegalArgumentException("No active session found: " + sessionId);
+        }
+        return format;
+    }
+
     /**
      * Check if a session exists.
      *
@@ -120,6 +219,9 @@ public class AudioSessionManager {
      * @param sessionId Session identifier
      */
     public void closeSession(String sessionId) {
+        sessionFormats.remove(sessionId);
+        streamingGates.remove(sessionId);
+
         // Close streaming session if exists
         if (engine.isStreamingSessionActive(sessionId)) {
             engine.stopStreamingSession(sessionId);
@@ -158,6 +260,8 @@ public class AudioSessionManager {
         // Close all streaming sessions
         streamingCallbacks.keySet().forEach(engine::stopStreamingSession);
         streamingCallbacks.clear();
+        streamingGates.clear();
+        sessionFormats.clear();
 
         log.info("All audio sessions closed");
     }
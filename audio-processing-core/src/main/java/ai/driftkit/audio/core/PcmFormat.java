@@ -0,0 +1,152 @@
+package ai.driftkit.audio.core;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import javax.sound.sampled.AudioFormat;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Describes the layout of raw PCM audio flowing through the pipeline.
+ * Attached to sessions so that every stage reads samples in the actual byte order
+ * instead of assuming one. Big-endian audio headed for a raw PCM engine is swapped into
+ * a copy once where it enters the session (per chunk for streaming and pipelined uploads,
+ * per segment otherwise); the caller's arrays are never modified, and converters read
+ * the original order directly.
+ */
+@Getter
+@EqualsAndHashCode
+public final class PcmFormat {
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final long LOW_BYTES = 0x00FF00FF00FF00FFL;
+
+    /**
+     * 16-bit signed little-endian mono, the format expected by transcription engines ("linear16").
+     */
+    public static PcmFormat linear16(int sampleRate) {
+        return new PcmFormat(Encoding.PCM_SIGNED, Endianness.LITTLE_ENDIAN, 16, 1, sampleRate);
+    }
+
+    private final Encoding encoding;
+    private final Endianness endianness;
+    private final int bitsPerSample;
+    private final int channels;
+    private final int sampleRate;
+
+    public PcmFormat(Encoding encoding, Endianness endianness, int bitsPerSample, int channels, int sampleRate) {
+        if (encoding != Encoding.PCM_SIGNED || bitsPerSample != 16) {
+            throw new IllegalArgumentException("Only 16-bit signed PCM is supported, got "
+                + bitsPerSample + "-bit " + encoding);
+        }
+        if (channels < 1 || sampleRate <= 0) {
+            throw new IllegalArgumentException("Invalid channels/sample rate: " + channels + "/" + sampleRate);
+        }
+        this.encoding = encoding;
+        this.endianness = endianness;
+        this.bitsPerSample = bitsPerSample;
+        this.channels = channels;
+        this.sampleRate = sampleRate;
+    }
+
+    public boolean isBigEndian() {
+        return endianness == Endianness.BIG_ENDIAN;
+    }
+
+    public int getFrameSize() {
+        return channels * bitsPerSample / 8;
+    }
+
+    public int getBytesPerSecond() {
+        return getFrameSize() * sampleRate;
+    }
+
+    public PcmFormat withSampleRate(int sampleRate) {
+        return new PcmFormat(encoding, endianness, bitsPerSample, channels, sampleRate);
+    }
+
+    public PcmFormat withEndianness(Endianness endianness) {
+        return new PcmFormat(encoding, endianness, bitsPerSample, channels, sampleRate);
+    }
+
+    /**
+     * Read the 16-bit sample starting at the given byte offset.
+     */
+    public short readSample(byte[] data, int offset) {
+        return isBigEndian()
+            ? (short) ((data[offset] << 8) | (data[offset + 1] & 0xFF))
+            : (short) ((data[offset + 1] << 8) | (data[offset] & 0xFF));
+    }
+
+    /**
+     * Java Sound representation of this format.
+     */
+    public AudioFormat toAudioFormat() {
+        return new AudioFormat(
+            AudioFormat.Encoding.PCM_SIGNED,
+            sampleRate,
+            bitsPerSample,
+            channels,
+            getFrameSize(),
+            sampleRate,
+            isBigEndian()
+        );
+    }
+
+    /**
+     * ffmpeg raw sample format name ({@code -f} argument).
+     */
+    public String getFfmpegSampleFormat() {
+        return isBigEndian() ? "s16be" : "s16le";
+    }
+
+    /**
+     * Copy of 16-bit samples with the byte order swapped; the input is left untouched.
+     */
+    public static byte[] swapByteOrder(byte[] data) {
+        byte[] swapped = data.clone();
+        swapByteOrderInPlace(swapped, 0, swapped.length);
+        return swapped;
+    }
+
+    /**
+     * Swap the byte order of 16-bit samples in place.
+     * Works on 64-bit words (four samples at a time) so the loop can be vectorized by the JIT.
+     */
+    public static void swapByteOrderInPlace(byte[] data, int offset, int length) {
+        int end = offset + (length & ~1);
+        int i = offset;
+        for (; i + 8 <= end; i += 8) {
+            long word = (long) LONGS.get(data, i);
+            LONGS.set(data, i, ((word & LOW_BYTES) << 8) | ((word >>> 8) & LOW_BYTES));
+        }
+        for (; i < end; i += 2) {
+            byte tmp = data[i];
+            data[i] = data[i + 1];
+            data[i + 1] = tmp;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PcmFormat{%s, %d-bit, %s, %d ch, %d Hz}",
+            encoding, bitsPerSample, endianness, channels, sampleRate);
+    }
+
+    /**
+     * Sample encoding.
+     */
+    public enum Encoding {
+        PCM_SIGNED
+    }
+
+    /**
+     * Byte order of multi-byte samples.
+     */
+    public enum Endianness {
+        LITTLE_ENDIAN,
+        BIG_ENDIAN
+    }
+}
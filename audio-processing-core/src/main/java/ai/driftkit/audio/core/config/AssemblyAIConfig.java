@@ -12,9 +12,45 @@ public class AssemblyAIConfig {
      */
     private String apiKey;
     
+    /**
+     * Real-time streaming WebSocket endpoint.
+     * Default: "wss://streaming.assemblyai.com/v3/ws"
+     */
+    private String streamingUrl = "wss://streaming.assemblyai.com/v3/ws";
+    
     /**
      * Language code for transcription.
      * Default: ENGLISH
      */
     private LanguageCode languageCode = LanguageCode.ENGLISH;
-}
\ No newline at end of file
+    
+    /**
+     * Executor for blocking transcription requests.
+     * Default: bounded platform pool of 8 threads
+     */
+    private EngineExecutorConfig executor = new EngineExecutorConfig();
+    
+    /**
+     * Shortest interval between status checks of a submitted transcript (milliseconds).
+     * Default: 500ms
+     */
+    private long pollMinIntervalMs = 500;
+    
+    /**
+     * Longest interval between status checks of a submitted transcript (milliseconds).
+     * Default: 5000ms
+     */
+    private long pollMaxIntervalMs = 5000;
+    
+    /**
+     * How long a submitted transcript is polled before the request fails (milliseconds).
+     * Default: 600000ms (10 minutes)
+     */
+    private long pollTimeoutMs = 600000;
+    
+    /**
+     * Real-time streaming session settings.
+     * Default: 30s reconnect buffer, 100ms frames, BLOCK backpressure, 5s drain
+     */
+    private StreamingSessionConfig streaming = new StreamingSessionConfig();
+}
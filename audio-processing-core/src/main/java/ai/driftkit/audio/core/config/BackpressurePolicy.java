@@ -0,0 +1,21 @@
+package ai.driftkit.audio.core.config;
+
+/**
+ * What a streaming session does with audio while its outbound socket queue is over the limit.
+ */
+public enum BackpressurePolicy {
+    /**
+     * Block the caller until the queue drains, up to the configured timeout; then drop.
+     */
+    BLOCK,
+    
+    /**
+     * Drop the audio frame.
+     */
+    DROP,
+    
+    /**
+     * Send anyway and report the congestion to the result callback as an error result.
+     */
+    SIGNAL
+}
@@ -0,0 +1,72 @@
+package ai.driftkit.audio.core.config;
+
+import ai.driftkit.audio.core.AudioFormatType;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration for audio format conversion.
+ */
+@Data
+public class ConverterConfig {
+
+    /**
+     * Path to the ffmpeg executable.
+     * Default: "ffmpeg" (resolved from PATH)
+     */
+    private String ffmpegPath = "ffmpeg";
+
+    /**
+     * Probe Java Sound, JAVE and ffmpeg capabilities when the converter is created.
+     * When disabled the probe runs on the first conversion.
+     * Default: true
+     */
+    private boolean probeOnStartup = true;
+
+    /**
+     * Keep pre-started ffmpeg workers waiting on stdin so that
+     * conversions do not pay process startup on the critical path.
+     * Default: true
+     */
+    private boolean ffmpegPoolEnabled = true;
+
+    /**
+     * Maximum number of ffmpeg workers (idle and busy) alive at once.
+     * Default: 4
+     */
+    private int ffmpegPoolSize = 4;
+
+    /**
+     * Target formats whose ffmpeg workers are pre-started once capabilities are probed.
+     * Only formats converted with ffmpeg first are warmed; the probe itself leaves no workers.
+     * Default: none
+     */
+    private List<AudioFormatType> ffmpegWarmFormats = new ArrayList<>();
+
+    /**
+     * Maximum time for a single ffmpeg conversion (milliseconds).
+     * Default: 10000ms
+     */
+    private int ffmpegTimeoutMs = 10000;
+
+    /**
+     * Interval between health checks of idle ffmpeg workers (milliseconds).
+     * Default: 5000ms
+     */
+    private int ffmpegHealthCheckIntervalMs = 5000;
+
+    /**
+     * Cache converted audio keyed by a fingerprint of the PCM payload,
+     * sample rate and target format.
+     * Default: false
+     */
+    private boolean cacheEnabled = false;
+
+    /**
+     * Maximum total size of cached converted audio (bytes).
+     * Default: 64MB
+     */
+    private long cacheMaxBytes = 64L * 1024 * 1024;
+}
@@ -1,5 +1,6 @@
 package ai.driftkit.audio.core.config;
 
+import ai.driftkit.audio.core.PcmFormat;
 import ai.driftkit.audio.core.ProcessingMode;
 import lombok.Data;
 
@@ -26,23 +27,85 @@ public class CoreAudioConfig {
     private AssemblyAIConfig assemblyai = new AssemblyAIConfig();
     private CoreDeepgramConfig deepgram = new CoreDeepgramConfig();
     
+    /**
+     * In-process mock engine for load and offline tests.
+     * Default: 300ms log-normal latency, no failures
+     */
+    private MockEngineConfig mock = new MockEngineConfig();
+    
+    /**
+     * Hedging of slow batch requests to a secondary engine.
+     * Default: disabled
+     */
+    private HedgeConfig hedge = new HedgeConfig();
+    
+    /**
+     * Pool of engines with separate API keys sharing the load.
+     * Default: disabled
+     */
+    private EnginePoolConfig pool = new EnginePoolConfig();
+    
+    /**
+     * Cache of batch results for repeated audio, in memory and optionally on disk.
+     * Default: disabled
+     */
+    private TranscriptCacheConfig transcriptCache = new TranscriptCacheConfig();
+    
     // Audio Format Settings
     private int sampleRate = 16000;
     private int bufferSize = 4096;
     private int bufferSizeMs = 100;
     
+    /**
+     * Byte order of incoming 16-bit PCM audio.
+     * Default: LITTLE_ENDIAN
+     */
+    private PcmFormat.Endianness endianness = PcmFormat.Endianness.LITTLE_ENDIAN;
+    
     // Chunk Duration Settings
     private int maxChunkDurationSeconds = 60;
     private int minChunkDurationSeconds = 2;
     
+    /**
+     * Upload batch segments while the speaker is still talking, for engines that support it.
+     * The request is opened at speech onset and its body is closed at end of speech.
+     * Default: false
+     */
+    private boolean pipelinedUpload = false;
+    
     // Voice Activity Detection
     private VadConfig vad = new VadConfig();
     
+    /**
+     * Local VAD gate withholding silence from streaming sessions.
+     * Default: disabled
+     */
+    private StreamingGateConfig streamingGate = new StreamingGateConfig();
+    
+    /**
+     * How transcription results carry engine metadata: EAGER, LAZY or NONE.
+     * Default: LAZY
+     */
+    private MetadataMode resultMetadata = MetadataMode.LAZY;
+    
     // Debug Settings
     private DebugConfig debug = new DebugConfig();
     
+    // Format Conversion Settings
+    private ConverterConfig converter = new ConverterConfig();
+    
+    // HTTP Transport Settings (shared by engines)
+    private HttpTransportConfig http = new HttpTransportConfig();
+    
     // Performance and Resource Settings
     private int maxChunkSizeKb = 1024;
     private int maxBufferSizeMb = 10;
     private int processingTimeoutMs = 30000;
+    
+    /**
+     * PCM format of incoming audio as described by this configuration (16-bit signed mono).
+     */
+    public PcmFormat getPcmFormat() {
+        return PcmFormat.linear16(sampleRate).withEndianness(endianness);
+    }
 }
\ No newline at end of file
@@ -6,13 +6,25 @@ import lombok.Data;
  * Core configuration for Deepgram transcription service without Spring dependencies.
  */
 @Data
-public class CoreDeepgramConfig {
+public class CoreDeepgramConfig implements StreamingSettings {
     
     /**
      * Deepgram API key.
      */
     private String apiKey;
     
+    /**
+     * Batch transcription endpoint. Point it at a local stand-in for offline tests.
+     * Default: "https://api.deepgram.com/v1/listen"
+     */
+    private String apiUrl = "https://api.deepgram.com/v1/listen";
+    
+    /**
+     * Streaming WebSocket endpoint.
+     * Default: "wss://api.deepgram.com/v1/listen"
+     */
+    private String streamingUrl = "wss://api.deepgram.com/v1/listen";
+    
     /**
      * Language code for transcription.
      * Default: ENGLISH
@@ -73,4 +85,95 @@ public class CoreDeepgramConfig {
      * Default: false
      */
     private boolean smartFormat = false;
+    
+    /**
+     * Executor for blocking transcription requests.
+     * Default: bounded platform pool of 8 threads
+     */
+    private EngineExecutorConfig executor = new EngineExecutorConfig();
+    
+    /**
+     * Journal of raw streaming messages kept per session for replay and debugging.
+     * Default: last 256 messages up to 1 MB, no spill file
+     */
+    private MessageJournalConfig journal = new MessageJournalConfig();
+    
+    /**
+     * Audio kept while a streaming session is not connected, during the initial handshake or a reconnection,
+     * and replayed once the connection opens (milliseconds). Older audio is dropped when the wait lasts longer.
+     * 0 disables buffering.
+     * Default: 30000ms
+     */
+    private long reconnectBufferMs = 30000;
+    
+    /**
+     * Pace of replaying buffered audio relative to real time.
+     * Default: 4.0
+     */
+    private double replaySpeed = 4.0;
+    
+    /**
+     * How long a closing streaming session waits for the final results after CloseStream (milliseconds).
+     * Default: 5000ms
+     */
+    private long drainTimeoutMs = 5000;
+    
+    /**
+     * Number of open streaming connections kept idle per sample rate, language and model,
+     * so new sessions skip the connection handshake. 0 disables the pool.
+     * Default: 0
+     */
+    private int warmConnections = 0;
+    
+    /**
+     * Interval of KeepAlive messages on idle warm connections (milliseconds).
+     * Deepgram closes connections that receive nothing for about 10 seconds.
+     * Default: 4000ms
+     */
+    private long keepAliveIntervalMs = 4000;
+    
+    /**
+     * Coalesce streaming audio into frames of the engine's recommended buffer size instead of
+     * sending one WebSocket frame per input chunk.
+     * Default: true
+     */
+    private boolean coalesceFrames = true;
+    
+    /**
+     * Outbound WebSocket queue size above which the backpressure policy applies (bytes).
+     * Default: 1048576 (1 MB)
+     */
+    private long maxQueuedBytes = 1024 * 1024;
+    
+    /**
+     * What to do with audio while the outbound queue is over maxQueuedBytes: BLOCK, DROP or SIGNAL.
+     * Default: BLOCK
+     */
+    private BackpressurePolicy backpressurePolicy = BackpressurePolicy.BLOCK;
+    
+    /**
+     * Longest time a BLOCK policy holds the caller before dropping the frame (milliseconds).
+     * Default: 1000ms
+     */
+    private long backpressureTimeoutMs = 1000;
+    
+    /**
+     * Silence Deepgram waits for before it ends an utterance with speech_final (milliseconds).
+     * Null keeps the server default (10ms).
+     * Default: null
+     */
+    private Integer endpointingMs;
+    
+    /**
+     * Gap between words after which Deepgram sends an UtteranceEnd message (milliseconds, at least 1000).
+     * Requires interim results. Null disables it.
+     * Default: null
+     */
+    private Integer utteranceEndMs;
+    
+    /**
+     * Reconnection policy of streaming sessions.
+     * Default: jittered backoff up to 30s, 5 attempts, 4 concurrent reconnects, breaker after 5 failures
+     */
+    private ReconnectConfig reconnect = new ReconnectConfig();
 }
\ No newline at end of file
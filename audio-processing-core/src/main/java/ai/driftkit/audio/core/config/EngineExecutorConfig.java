@@ -0,0 +1,41 @@
+package ai.driftkit.audio.core.config;
+
+import lombok.Data;
+
+/**
+ * Configuration of the executor that runs blocking I/O of a transcription engine.
+ */
+@Data
+public class EngineExecutorConfig {
+
+    /**
+     * Executor model.
+     * PLATFORM: bounded pool of platform threads.
+     * VIRTUAL: one virtual thread per request (Java 21+, falls back to PLATFORM).
+     * Default: PLATFORM
+     */
+    private ExecutorType type = ExecutorType.PLATFORM;
+
+    /**
+     * Number of platform threads running engine requests.
+     * Default: 8
+     */
+    private int poolSize = 8;
+
+    /**
+     * Number of requests that may wait for a platform thread before new ones are rejected.
+     * Default: 64
+     */
+    private int queueCapacity = 64;
+
+    /**
+     * Maximum number of requests running at once on virtual threads (0 = unlimited).
+     * Default: 0
+     */
+    private int maxConcurrentRequests = 0;
+
+    public enum ExecutorType {
+        PLATFORM,
+        VIRTUAL
+    }
+}
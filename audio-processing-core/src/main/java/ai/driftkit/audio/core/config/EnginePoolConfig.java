@@ -0,0 +1,62 @@
+package ai.driftkit.audio.core.config;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration of a pool of engines spreading requests over several API keys and engine types.
+ * A member answering 429 Too Many Requests is taken out of rotation until its Retry-After passes.
+ */
+@Data
+public class EnginePoolConfig {
+
+    /**
+     * Whether requests are spread over the pool members instead of the single configured engine.
+     * Default: false
+     */
+    private boolean enabled = false;
+
+    /**
+     * How a member is picked: ROUND_ROBIN or LEAST_LOAD.
+     * Default: LEAST_LOAD
+     */
+    private LoadBalancing strategy = LoadBalancing.LEAST_LOAD;
+
+    /**
+     * Engines of the pool; each uses the engine settings of the main configuration with its own API key.
+     * Engine types may be mixed only if all take raw PCM (Deepgram, mock) or all take converted audio (AssemblyAI).
+     * Default: empty
+     */
+    private List<Member> members = new ArrayList<>();
+
+    /**
+     * How long a rate-limited member is drained when the server sends no Retry-After (milliseconds).
+     * Default: 10000ms
+     */
+    private long defaultRetryAfterMs = 10000;
+
+    /**
+     * Longest drain of a rate-limited member, whatever the server asks for (milliseconds).
+     * Default: 300000ms (5 minutes)
+     */
+    private long maxRetryAfterMs = 300000;
+
+    /**
+     * One engine of the pool.
+     */
+    @Data
+    public static class Member {
+
+        /**
+         * Engine type of this member.
+         */
+        private EngineType engine;
+
+        /**
+         * API key of this member.
+         */
+        private String apiKey;
+    }
+}
@@ -5,7 +5,8 @@ package ai.driftkit.audio.core.config;
  */
 public enum EngineType {
     ASSEMBLYAI("assemblyai"),
-    DEEPGRAM("deepgram");
+    DEEPGRAM("deepgram"),
+    MOCK("mock");
     
     private final String value;
     
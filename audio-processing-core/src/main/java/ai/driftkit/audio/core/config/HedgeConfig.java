@@ -0,0 +1,67 @@
+package ai.driftkit.audio.core.config;
+
+import lombok.Data;
+
+/**
+ * Configuration of hedged batch requests: a segment the primary engine has not answered
+ * within the hedge delay is also sent to a secondary engine, and the first success wins.
+ */
+@Data
+public class HedgeConfig {
+
+    /**
+     * Whether batch requests are hedged.
+     * Default: false
+     */
+    private boolean enabled = false;
+
+    /**
+     * Engine receiving the hedge requests. Must differ from the primary engine and take audio
+     * in the same form: Deepgram and mock take raw PCM, AssemblyAI takes converted audio.
+     * Default: null
+     */
+    private EngineType secondary;
+
+    /**
+     * Fixed wait for the primary engine before the hedge fires (milliseconds).
+     * 0 learns the delay from recent primary latencies instead.
+     * Default: 0
+     */
+    private long delayMs = 0;
+
+    /**
+     * Percentile of recent primary latencies used as the learned delay.
+     * Default: 0.95
+     */
+    private double percentile = 0.95;
+
+    /**
+     * Number of recent primary latencies the learned delay is computed from.
+     * Default: 200
+     */
+    private int windowSize = 200;
+
+    /**
+     * Latencies needed before the learned delay is used; initialDelayMs applies until then.
+     * Default: 20
+     */
+    private int minSamples = 20;
+
+    /**
+     * Delay used while too few latencies are known (milliseconds).
+     * Default: 2000ms
+     */
+    private long initialDelayMs = 2000;
+
+    /**
+     * Lower bound of the learned delay, so a fast streak does not hedge every request (milliseconds).
+     * Default: 200ms
+     */
+    private long minDelayMs = 200;
+
+    /**
+     * Upper bound of the learned delay (milliseconds).
+     * Default: 10000ms
+     */
+    private long maxDelayMs = 10000;
+}
@@ -0,0 +1,65 @@
+package ai.driftkit.audio.core.config;
+
+import lombok.Data;
+
+/**
+ * HTTP transport configuration shared by transcription engines.
+ * Engines with equal settings share one client, dispatcher and connection pool.
+ */
+@Data
+public class HttpTransportConfig {
+
+    /**
+     * Maximum number of concurrent requests across all hosts.
+     * Default: 128
+     */
+    private int maxRequests = 128;
+
+    /**
+     * Maximum number of concurrent requests to a single host.
+     * Default: 64
+     */
+    private int maxRequestsPerHost = 64;
+
+    /**
+     * Maximum number of idle connections kept in the pool.
+     * Default: 16
+     */
+    private int maxIdleConnections = 16;
+
+    /**
+     * How long idle connections are kept alive (milliseconds).
+     * Default: 300000ms (5 minutes)
+     */
+    private long keepAliveMs = 300000;
+
+    /**
+     * Prefer HTTP/2 when the server supports it, multiplexing requests over one connection.
+     * Default: true
+     */
+    private boolean preferHttp2 = true;
+
+    /**
+     * Connect timeout (milliseconds).
+     * Default: 10000ms
+     */
+    private long connectTimeoutMs = 10000;
+
+    /**
+     * Read timeout (milliseconds).
+     * Default: 30000ms
+     */
+    private long readTimeoutMs = 30000;
+
+    /**
+     * Write timeout (milliseconds).
+     * Default: 30000ms
+     */
+    private long writeTimeoutMs = 30000;
+
+    /**
+     * Open a connection to the engine API at initialization so the first request skips DNS and TLS setup.
+     * Default: true
+     */
+    private boolean preconnect = true;
+}
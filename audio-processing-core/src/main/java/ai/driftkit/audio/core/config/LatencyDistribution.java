@@ -0,0 +1,26 @@
+package ai.driftkit.audio.core.config;
+
+/**
+ * Shape of the simulated response latency of the mock engine.
+ */
+public enum LatencyDistribution {
+    /**
+     * Always the configured latency.
+     */
+    FIXED,
+    
+    /**
+     * Uniform within the latency plus or minus the jitter.
+     */
+    UNIFORM,
+    
+    /**
+     * Normal around the latency with the jitter as standard deviation, never below zero.
+     */
+    NORMAL,
+    
+    /**
+     * Log-normal with the latency as median; the jitter sets the spread of the long tail.
+     */
+    LOG_NORMAL
+}
@@ -0,0 +1,16 @@
+package ai.driftkit.audio.core.config;
+
+/**
+ * How a pooled engine picks the member engine for a new request or streaming session.
+ */
+public enum LoadBalancing {
+    /**
+     * Take available members in turn.
+     */
+    ROUND_ROBIN,
+    
+    /**
+     * Take the available member with the fewest requests and sessions in flight.
+     */
+    LEAST_LOAD
+}
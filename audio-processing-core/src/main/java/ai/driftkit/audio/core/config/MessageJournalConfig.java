@@ -0,0 +1,36 @@
+package ai.driftkit.audio.core.config;
+
+import lombok.Data;
+
+/**
+ * Configuration of the per-session journal of raw streaming messages.
+ * The journal keeps the most recent messages in memory for replay and debugging.
+ */
+@Data
+public class MessageJournalConfig {
+
+    /**
+     * Whether raw streaming messages are journaled.
+     * Default: true
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of messages kept in memory per session.
+     * Default: 256
+     */
+    private int maxMessages = 256;
+
+    /**
+     * Maximum total size of messages kept in memory per session (UTF-8 bytes).
+     * Default: 1048576 (1 MB)
+     */
+    private long maxBytes = 1024 * 1024;
+
+    /**
+     * Directory for append-only spill files, one per session. Every message is written
+     * there before it can be evicted from memory. Null disables spilling.
+     * Default: null
+     */
+    private String spillDirectory;
+}
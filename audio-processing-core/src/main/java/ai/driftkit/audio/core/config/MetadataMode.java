@@ -0,0 +1,21 @@
+package ai.driftkit.audio.core.config;
+
+/**
+ * How transcription results carry engine metadata.
+ */
+public enum MetadataMode {
+    /**
+     * Build the metadata map when the result is created.
+     */
+    EAGER,
+    
+    /**
+     * Keep the raw engine payload and decode the map on first access.
+     */
+    LAZY,
+    
+    /**
+     * Drop metadata; results carry no map and retain no engine payload.
+     */
+    NONE
+}
@@ -0,0 +1,83 @@
+package ai.driftkit.audio.core.config;
+
+import lombok.Data;
+
+/**
+ * Configuration of the in-process mock engine used for load tests and offline regression tests.
+ * It answers without any network access, with simulated latency, failures and rate limiting.
+ */
+@Data
+public class MockEngineConfig {
+
+    /**
+     * Shape of the simulated latency: FIXED, UNIFORM, NORMAL or LOG_NORMAL.
+     * Default: LOG_NORMAL
+     */
+    private LatencyDistribution latencyDistribution = LatencyDistribution.LOG_NORMAL;
+
+    /**
+     * Typical latency of a batch request or a streaming result (milliseconds).
+     * Default: 300ms
+     */
+    private long latencyMs = 300;
+
+    /**
+     * Spread of the latency (milliseconds).
+     * Default: 100ms
+     */
+    private long latencyJitterMs = 100;
+
+    /**
+     * Extra batch latency per second of audio (milliseconds).
+     * Default: 0
+     */
+    private long latencyPerAudioSecondMs = 0;
+
+    /**
+     * Fraction of batch requests answered with an error result.
+     * Default: 0.0
+     */
+    private double failureRate = 0.0;
+
+    /**
+     * Fraction of batch requests rejected as rate limited, carrying retryAfterMs.
+     * Default: 0.0
+     */
+    private double rateLimitRate = 0.0;
+
+    /**
+     * Retry-After reported with simulated rate limiting (milliseconds).
+     * Default: 1000ms
+     */
+    private long retryAfterMs = 1000;
+
+    /**
+     * Text returned by batch requests; streaming sessions emit its words in a loop.
+     * Default: "the quick brown fox jumps over the lazy dog"
+     */
+    private String transcript = "the quick brown fox jumps over the lazy dog";
+
+    /**
+     * Audio per streamed word (milliseconds).
+     * Default: 400ms
+     */
+    private long wordDurationMs = 400;
+
+    /**
+     * Audio between interim results of a streaming session (milliseconds).
+     * Default: 500ms
+     */
+    private long interimIntervalMs = 500;
+
+    /**
+     * Words after which a streaming utterance is finalized without an explicit finalize.
+     * Default: 8
+     */
+    private int utteranceWords = 8;
+
+    /**
+     * Seed of the random source, for reproducible runs. Null seeds randomly.
+     * Default: null
+     */
+    private Long seed;
+}
@@ -0,0 +1,54 @@
+package ai.driftkit.audio.core.config;
+
+import lombok.Data;
+
+/**
+ * Reconnection policy of streaming sessions: jittered backoff, a limit on concurrent
+ * reconnection attempts, and a circuit breaker per engine.
+ */
+@Data
+public class ReconnectConfig {
+
+    /**
+     * Upper bound of the first backoff delay (milliseconds). The bound doubles with each attempt
+     * and the actual delay is drawn uniformly below it.
+     * Default: 1000ms
+     */
+    private long baseDelayMs = 1000;
+
+    /**
+     * Largest backoff bound (milliseconds).
+     * Default: 30000ms
+     */
+    private long maxDelayMs = 30000;
+
+    /**
+     * Reconnection attempts per disconnection before the session gives up.
+     * Default: 5
+     */
+    private int maxAttempts = 5;
+
+    /**
+     * Reconnection attempts of one engine allowed in flight at the same time.
+     * Default: 4
+     */
+    private int maxConcurrentReconnects = 4;
+
+    /**
+     * How long an attempt may take to report its outcome before it counts as failed (milliseconds).
+     * Default: 30000ms
+     */
+    private long attemptTimeoutMs = 30000;
+
+    /**
+     * Consecutive failed attempts that open the circuit breaker.
+     * Default: 5
+     */
+    private int breakerFailureThreshold = 5;
+
+    /**
+     * How long an open breaker holds all attempts before letting a single probe through (milliseconds).
+     * Default: 30000ms
+     */
+    private long breakerOpenMs = 30000;
+}
@@ -0,0 +1,43 @@
+package ai.driftkit.audio.core.config;
+
+import lombok.Data;
+
+/**
+ * Local voice activity gate for streaming sessions.
+ * Silent audio can be withheld from the engine, which keeps its connection alive instead,
+ * and the engine can be asked to finalize as soon as the local VAD sees the end of speech.
+ */
+@Data
+public class StreamingGateConfig {
+
+    /**
+     * Whether silent audio is withheld from streaming sessions.
+     * Default: false
+     */
+    private boolean enabled = false;
+
+    /**
+     * Audio sent ahead of detected speech so word onsets are not clipped (milliseconds).
+     * Default: 300ms
+     */
+    private int preRollMs = 300;
+
+    /**
+     * Silence kept flowing after speech before the gate closes (milliseconds).
+     * Default: 800ms
+     */
+    private int hangoverMs = 800;
+
+    /**
+     * Ask the engine to finalize the current utterance when local VAD detects end of speech,
+     * instead of waiting for the engine's own endpointing.
+     * Default: false
+     */
+    private boolean finalizeOnEndpoint = false;
+
+    /**
+     * Silence after speech that counts as end of speech for finalization (milliseconds).
+     * Default: 300ms
+     */
+    private int endpointSilenceMs = 300;
+}
@@ -0,0 +1,72 @@
+package ai.driftkit.audio.core.config;
+
+import lombok.Data;
+
+/**
+ * Streaming session settings of engines that have no streaming options of their own.
+ */
+@Data
+public class StreamingSessionConfig implements StreamingSettings {
+
+    /**
+     * Audio kept while a streaming session is not connected, during the initial handshake or a reconnection,
+     * and replayed once the connection opens (milliseconds). 0 disables buffering.
+     * Default: 30000ms
+     */
+    private long reconnectBufferMs = 30000;
+
+    /**
+     * Pace of replaying buffered audio relative to real time.
+     * Default: 4.0
+     */
+    private double replaySpeed = 4.0;
+
+    /**
+     * How long a closing streaming session waits for the final results (milliseconds).
+     * Default: 5000ms
+     */
+    private long drainTimeoutMs = 5000;
+
+    /**
+     * Longest time without audio on an open connection; skipped audio is sent as silence
+     * when the engine has no keep-alive message (milliseconds).
+     * Default: 4000ms
+     */
+    private long keepAliveIntervalMs = 4000;
+
+    /**
+     * Coalesce streaming audio into frames of the engine's recommended buffer size.
+     * Default: true
+     */
+    private boolean coalesceFrames = true;
+
+    /**
+     * Outbound WebSocket queue size above which the backpressure policy applies (bytes).
+     * Default: 1048576 (1 MB)
+     */
+    private long maxQueuedBytes = 1024 * 1024;
+
+    /**
+     * What to do with audio while the outbound queue is over maxQueuedBytes: BLOCK, DROP or SIGNAL.
+     * Default: BLOCK
+     */
+    private BackpressurePolicy backpressurePolicy = BackpressurePolicy.BLOCK;
+
+    /**
+     * Longest time a BLOCK policy holds the caller before dropping the frame (milliseconds).
+     * Default: 1000ms
+     */
+    private long backpressureTimeoutMs = 1000;
+
+    /**
+     * Reconnection policy of streaming sessions.
+     * Default: jittered backoff up to 30s, 5 attempts, 4 concurrent reconnects, breaker after 5 failures
+     */
+    private ReconnectConfig reconnect = new ReconnectConfig();
+
+    /**
+     * Journal of raw streaming messages kept per session.
+     * Default: last 256 messages up to 1 MB, no spill file
+     */
+    private MessageJournalConfig journal = new MessageJournalConfig();
+}
@@ -0,0 +1,28 @@
+package ai.driftkit.audio.core.config;
+
+/**
+ * Settings of WebSocket streaming sessions common to all streaming engines:
+ * buffering across reconnections, framing, backpressure, draining and journaling.
+ */
+public interface StreamingSettings {
+
+    long getReconnectBufferMs();
+
+    double getReplaySpeed();
+
+    long getDrainTimeoutMs();
+
+    long getKeepAliveIntervalMs();
+
+    boolean isCoalesceFrames();
+
+    long getMaxQueuedBytes();
+
+    BackpressurePolicy getBackpressurePolicy();
+
+    long getBackpressureTimeoutMs();
+
+    ReconnectConfig getReconnect();
+
+    MessageJournalConfig getJournal();
+}
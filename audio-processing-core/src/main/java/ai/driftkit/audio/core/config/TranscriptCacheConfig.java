@@ -0,0 +1,39 @@
+package ai.driftkit.audio.core.config;
+
+import lombok.Data;
+
+/**
+ * Configuration of the batch transcript cache: results are keyed by a SHA-256 digest of the
+ * PCM payload, its sample rate, the language and the engine model, so identical audio
+ * is transcribed once.
+ */
+@Data
+public class TranscriptCacheConfig {
+
+    /**
+     * Whether batch results are cached. Ignored behind hedging or a pool mixing engine types,
+     * where a result could come from an engine other than the one its key describes.
+     * Default: false
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum size of the in-memory tier (bytes of encoded results).
+     * Default: 16MB
+     */
+    private long memoryMaxBytes = 16L * 1024 * 1024;
+
+    /**
+     * Directory of the memory-mapped on-disk tier, which survives restarts.
+     * Null keeps the cache in memory only.
+     * Default: null
+     */
+    private String directory;
+
+    /**
+     * Size of the on-disk tier file (bytes); the oldest results are overwritten when it is full.
+     * At most 2GB.
+     * Default: 256MB
+     */
+    private long diskMaxBytes = 256L * 1024 * 1024;
+}
@@ -1,13 +1,17 @@
 package ai.driftkit.audio.engine;
 
 import ai.driftkit.audio.core.config.CoreAudioConfig;
+import ai.driftkit.audio.core.config.EngineExecutorConfig;
 import lombok.extern.slf4j.Slf4j;
+import ai.driftkit.audio.model.AudioSegmentBuffer;
+import ai.driftkit.audio.model.LazyMetadata;
 import ai.driftkit.audio.model.TranscriptionResult;
 
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Abstract base class for transcription engines providing common functionality.
@@ -18,8 +22,22 @@ public abstract class AbstractTranscriptionEngine implements TranscriptionEngine
     protected final CoreAudioConfig config;
     protected final Map<String, StreamingSession> streamingSessions = new ConcurrentHashMap<>();
     
-    protected AbstractTranscriptionEngine(CoreAudioConfig config) {
+    /**
+     * Executor for blocking I/O of this engine; never use the common pool for it.
+     */
+    protected final EngineExecutor executor;
+    
+    /**
+     * @param name engine name for the executor threads; passed in because {@link #getName()}
+     *             cannot be called on a subclass that is not constructed yet
+     */
+    protected AbstractTranscriptionEngine(String name, CoreAudioConfig config) {
+        this(name, config, new EngineExecutorConfig());
+    }
+    
+    protected AbstractTranscriptionEngine(String name, CoreAudioConfig config, EngineExecutorConfig executorConfig) {
         this.config = config;
+        this.executor = new EngineExecutor(name, executorConfig);
     }
     
     @Override
@@ -37,7 +55,21 @@ public abstract class AbstractTranscriptionEngine implements TranscriptionEngine
     }
     
     @Override
-    public void startStreamingSession(
+    public CompletableFuture<TranscriptionResult> transcribeBatch(
+            AudioSegmentBuffer segment,
+            int sampleRate,
+            String languageCode) {
+        
+        if (!supportsBatchMode()) {
+            throw new UnsupportedOperationException(
+                getName() + " does not support batch transcription mode");
+        }
+        
+        return doTranscribeBatch(segment, sampleRate, languageCode);
+    }
+    
+    @Override
+    public CompletableFuture<Void> startStreamingSession(
             String sessionId,
             int sampleRate,
             String languageCode,
@@ -58,6 +90,7 @@ public abstract class AbstractTranscriptionEngine implements TranscriptionEngine
         streamingSessions.put(sessionId, session);
         
         log.debug("Started streaming session {} for engine {}", sessionId, getName());
+        return session.ready();
     }
     
     @Override
@@ -76,6 +109,25 @@ public abstract class AbstractTranscriptionEngine implements TranscriptionEngine
         session.sendAudio(audioData);
     }
     
+    @Override
+    public void skipStreamingAudio(String sessionId, int byteCount) {
+        StreamingSession session = streamingSessions.get(sessionId);
+        if (session == null) {
+            throw new IllegalStateException(
+                "No active streaming session found: " + sessionId);
+        }
+        
+        session.skipAudio(byteCount);
+    }
+    
+    @Override
+    public void finalizeStreaming(String sessionId) {
+        StreamingSession session = streamingSessions.get(sessionId);
+        if (session != null) {
+            session.finalizeUtterance();
+        }
+    }
+    
     @Override
     public void stopStreamingSession(String sessionId) {
         if (!supportsStreamingMode()) {
@@ -103,15 +155,56 @@ public abstract class AbstractTranscriptionEngine implements TranscriptionEngine
         streamingSessions.clear();
         
         doShutdown();
+        executor.close();
         log.info("{} engine shut down", getName());
     }
     
+    /**
+     * Get the lifecycle state of a streaming session.
+     * 
+     * @return the state, or CLOSED if the session does not exist
+     */
+    public StreamingSessionState getStreamingSessionState(String sessionId) {
+        StreamingSession session = streamingSessions.get(sessionId);
+        return session != null ? session.getState() : StreamingSessionState.CLOSED;
+    }
+    
+    /**
+     * Get statistics of the executor running blocking engine I/O.
+     */
+    public EngineExecutor.ExecutorStats getExecutorStats() {
+        return executor.getStats();
+    }
+    
+    /**
+     * Build result metadata according to the configured metadata mode.
+     * The decoder should capture the raw engine payload rather than a decoded object graph.
+     * 
+     * @return the decoded map, a lazily decoded map, or null when metadata is dropped
+     */
+    protected Map<String, Object> resultMetadata(Supplier<Map<String, Object>> decoder) {
+        return switch (config.getResultMetadata()) {
+            case EAGER -> decoder.get();
+            case LAZY -> new LazyMetadata(decoder);
+            case NONE -> null;
+        };
+    }
+    
     /**
      * Perform batch transcription implementation.
      */
     protected abstract CompletableFuture<TranscriptionResult> doTranscribeBatch(
             byte[] audioData, int sampleRate, String languageCode);
     
+    /**
+     * Perform batch transcription of a buffered segment.
+     * By default the segment is flattened into a single array.
+     */
+    protected CompletableFuture<TranscriptionResult> doTranscribeBatch(
+            AudioSegmentBuffer segment, int sampleRate, String languageCode) {
+        return doTranscribeBatch(segment.toByteArray(), sampleRate, languageCode);
+    }
+    
     /**
      * Create a new streaming session implementation.
      */
@@ -133,5 +226,29 @@ public abstract class AbstractTranscriptionEngine implements TranscriptionEngine
         void sendAudio(byte[] audioData);
         void close();
         boolean isActive();
+        
+        /**
+         * Account for audio that is not sent. By default it is sent as silence.
+         */
+        default void skipAudio(int byteCount) {
+            sendAudio(new byte[byteCount]);
+        }
+        
+        /**
+         * Finalize the current utterance now. No-op by default.
+         */
+        default void finalizeUtterance() {
+        }
+        
+        /**
+         * Future completed when the session is connected and audio flows to the engine.
+         */
+        default CompletableFuture<Void> ready() {
+            return CompletableFuture.completedFuture(null);
+        }
+        
+        default StreamingSessionState getState() {
+            return isActive() ? StreamingSessionState.OPEN : StreamingSessionState.CLOSED;
+        }
     }
 }
\ No newline at end of file
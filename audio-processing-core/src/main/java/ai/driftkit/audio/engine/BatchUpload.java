@@ -0,0 +1,31 @@
+package ai.driftkit.audio.engine;
+
+import ai.driftkit.audio.model.TranscriptionResult;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Batch transcription request whose audio is uploaded while it is still being captured.
+ * Opened at speech onset; audio is written as it arrives and the request body is
+ * closed at end of speech, leaving only server recognition time on the critical path.
+ */
+public interface BatchUpload {
+
+    /**
+     * Append raw 16-bit little-endian audio to the request body.
+     *
+     * @throws IOException if the request already failed or the upload cannot keep up
+     */
+    void write(byte[] audioData) throws IOException;
+
+    /**
+     * Close the request body and return the transcription of everything written.
+     */
+    CompletableFuture<TranscriptionResult> complete();
+
+    /**
+     * Cancel the request, e.g. when the segment turns out to be too short.
+     */
+    void abort();
+}
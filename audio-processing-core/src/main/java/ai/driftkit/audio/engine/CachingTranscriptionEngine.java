@@ -0,0 +1,147 @@
+package ai.driftkit.audio.engine;
+
+import ai.driftkit.audio.model.AudioSegmentBuffer;
+import ai.driftkit.audio.model.TranscriptionResult;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Engine answering repeated batch audio from a {@link TranscriptCache} and sending only
+ * unseen audio to the wrapped engine, whose successful results are then cached.
+ * Streaming is passed through uncached.
+ */
+@Slf4j
+public class CachingTranscriptionEngine implements TranscriptionEngine {
+
+    private final TranscriptionEngine delegate;
+    private final TranscriptCache cache;
+    private final String model;
+
+    /**
+     * @param model identifies the wrapped engine and the settings that change its output;
+     *              part of every cache key
+     */
+    public CachingTranscriptionEngine(TranscriptionEngine delegate, TranscriptCache cache, String model) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.model = model;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public boolean supportsBatchMode() {
+        return delegate.supportsBatchMode();
+    }
+
+    @Override
+    public boolean supportsStreamingMode() {
+        return delegate.supportsStreamingMode();
+    }
+
+    /**
+     * The cache key covers the whole segment, so batch audio is not uploaded while it is captured.
+     */
+    @Override
+    public boolean supportsPipelinedUpload() {
+        return false;
+    }
+
+    @Override
+    public void initialize() {
+        delegate.initialize();
+        log.info("Caching {} batch results ({})", delegate.getName(), cache.getStats());
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+        cache.close();
+    }
+
+    @Override
+    public CompletableFuture<TranscriptionResult> transcribeBatch(byte[] audioData, int sampleRate, String languageCode) {
+        TranscriptCache.Key key = TranscriptCache.key(audioData, sampleRate, languageCode, model);
+        TranscriptionResult cached = cache.get(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return store(key, delegate.transcribeBatch(audioData, sampleRate, languageCode));
+    }
+
+    @Override
+    public CompletableFuture<TranscriptionResult> transcribeBatch(AudioSegmentBuffer segment, int sampleRate, String languageCode) {
+        TranscriptCache.Key key = TranscriptCache.key(segment, sampleRate, languageCode, model);
+        TranscriptionResult cached = cache.get(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        // On a miss the wrapped engine still streams the segment chunk by chunk
+        return store(key, delegate.transcribeBatch(segment, sampleRate, languageCode));
+    }
+
+    /**
+     * Cache the result once it arrives. The wrapped engine's future is returned as is,
+     * so cancelling it still cancels the request.
+     */
+    private CompletableFuture<TranscriptionResult> store(TranscriptCache.Key key,
+                                                         CompletableFuture<TranscriptionResult> future) {
+        future.thenAccept(result -> {
+            try {
+                cache.put(key, result);
+            } catch (RuntimeException e) {
+                log.warn("Failed to cache transcription result", e);
+            }
+        });
+        return future;
+    }
+
+    @Override
+    public CompletableFuture<Void> startStreamingSession(String sessionId, int sampleRate, String languageCode,
+                                                         Consumer<TranscriptionResult> resultCallback) {
+        return delegate.startStreamingSession(sessionId, sampleRate, languageCode, resultCallback);
+    }
+
+    @Override
+    public void sendStreamingAudio(String sessionId, byte[] audioData) {
+        delegate.sendStreamingAudio(sessionId, audioData);
+    }
+
+    @Override
+    public void skipStreamingAudio(String sessionId, int byteCount) {
+        delegate.skipStreamingAudio(sessionId, byteCount);
+    }
+
+    @Override
+    public void finalizeStreaming(String sessionId) {
+        delegate.finalizeStreaming(sessionId);
+    }
+
+    @Override
+    public void stopStreamingSession(String sessionId) {
+        delegate.stopStreamingSession(sessionId);
+    }
+
+    @Override
+    public boolean isStreamingSessionActive(String sessionId) {
+        return delegate.isStreamingSessionActive(sessionId);
+    }
+
+    @Override
+    public EngineConfiguration getConfiguration() {
+        return delegate.getConfiguration();
+    }
+
+    public TranscriptionEngine getDelegate() {
+        return delegate;
+    }
+
+    public TranscriptCache.CacheStats getStats() {
+        return cache.getStats();
+    }
+}
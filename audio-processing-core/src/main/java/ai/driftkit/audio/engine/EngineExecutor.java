@@ -0,0 +1,181 @@
+package ai.driftkit.audio.engine;
+
+import ai.driftkit.audio.core.config.EngineExecutorConfig;
+import ai.driftkit.audio.core.config.EngineExecutorConfig.ExecutorType;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Executor for blocking engine I/O (HTTP calls, transcript polling).
+ * Keeps slow transcriptions off {@code ForkJoinPool.commonPool()} and reports saturation.
+ */
+@Slf4j
+public class EngineExecutor implements Executor, AutoCloseable {
+
+    private final String name;
+    private final ExecutorType type;
+    private final ExecutorService delegate;
+    private final ThreadPoolExecutor platformPool;
+    private final Semaphore concurrencyLimit;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public EngineExecutor(String name, EngineExecutorConfig config) {
+        this.name = name;
+
+        ExecutorService virtual = config.getType() == ExecutorType.VIRTUAL ? createVirtualThreadExecutor() : null;
+        if (virtual != null) {
+            this.type = ExecutorType.VIRTUAL;
+            this.delegate = virtual;
+            this.platformPool = null;
+            this.concurrencyLimit = config.getMaxConcurrentRequests() > 0
+                    ? new Semaphore(config.getMaxConcurrentRequests())
+                    : null;
+        } else {
+            if (config.getType() == ExecutorType.VIRTUAL) {
+                log.warn("Virtual threads are not available on this JVM, {} engine uses a platform thread pool", name);
+            }
+            AtomicInteger counter = new AtomicInteger();
+            this.type = ExecutorType.PLATFORM;
+            this.platformPool = new ThreadPoolExecutor(
+                    config.getPoolSize(), config.getPoolSize(),
+                    60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(Math.max(1, config.getQueueCapacity())),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, name.toLowerCase() + "-io-" + counter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            this.platformPool.allowCoreThreadTimeOut(true);
+            this.delegate = platformPool;
+            this.concurrencyLimit = null;
+        }
+
+        log.debug("{} engine executor: {}", name, type);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (concurrencyLimit != null && !concurrencyLimit.tryAcquire()) {
+            reject();
+        }
+        try {
+            delegate.execute(() -> {
+                active.incrementAndGet();
+                try {
+                    command.run();
+                } finally {
+                    active.decrementAndGet();
+                    completed.incrementAndGet();
+                    if (concurrencyLimit != null) {
+                        concurrencyLimit.release();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            if (concurrencyLimit != null) {
+                concurrencyLimit.release();
+            }
+            reject();
+        }
+    }
+
+    /**
+     * Run a blocking task. A saturated executor yields a failed future instead of throwing.
+     */
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, this);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void reject() {
+        long count = rejected.incrementAndGet();
+        // Log the first rejection and then every 100th to avoid flooding the log while saturated
+        if (count == 1 || count % 100 == 0) {
+            log.warn("{} engine executor saturated, {} requests rejected so far: {}", name, count, getStats());
+        }
+        throw new RejectedExecutionException(name + " engine executor is saturated");
+    }
+
+    /**
+     * Get executor statistics.
+     */
+    public ExecutorStats getStats() {
+        int queued = platformPool != null ? platformPool.getQueue().size() : 0;
+        int capacity = platformPool != null ? platformPool.getMaximumPoolSize() : -1;
+        return new ExecutorStats(type, active.get(), queued, capacity, completed.get(), rejected.get());
+    }
+
+    @Override
+    public void close() {
+        delegate.shutdown();
+    }
+
+    private static ExecutorService createVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Statistics of an engine executor.
+     */
+    public static class ExecutorStats {
+        private final ExecutorType type;
+        private final int active;
+        private final int queued;
+        private final int poolSize;
+        private final long completed;
+        private final long rejected;
+
+        public ExecutorStats(ExecutorType type, int active, int queued, int poolSize, long completed, long rejected) {
+            this.type = type;
+            this.active = active;
+            this.queued = queued;
+            this.poolSize = poolSize;
+            this.completed = completed;
+            this.rejected = rejected;
+        }
+
+        public ExecutorType getType() { return type; }
+        public int getActive() { return active; }
+        public int getQueued() { return queued; }
+        public int getPoolSize() { return poolSize; }
+        public long getCompleted() { return completed; }
+        public long getRejected() { return rejected; }
+
+        /**
+         * Whether every platform thread is busy and requests are waiting.
+         */
+        public boolean isSaturated() {
+            return poolSize > 0 && active >= poolSize && queued > 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("EngineExecutor{type=%s, active=%d, queued=%d, poolSize=%d, completed=%d, rejected=%d}",
+                type, active, queued, poolSize, completed, rejected);
+        }
+    }
+}
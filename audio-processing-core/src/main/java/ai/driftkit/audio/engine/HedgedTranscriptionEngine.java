@@ -0,0 +1,412 @@
+package ai.driftkit.audio.engine;
+
+import ai.driftkit.audio.core.config.HedgeConfig;
+import ai.driftkit.audio.model.AudioSegmentBuffer;
+import ai.driftkit.audio.model.TranscriptionResult;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Engine sending batch requests to a primary engine and hedging slow ones to a secondary engine.
+ * If the primary has not answered within the hedge delay, or fails, the segment is also sent to
+ * the secondary; the first successful result wins and the other request is cancelled. The delay is
+ * either fixed or a percentile of recent primary latencies. Streaming goes to the primary only.
+ * Both engines must take audio in the same form, raw PCM or converted.
+ */
+@Slf4j
+public class HedgedTranscriptionEngine implements TranscriptionEngine {
+
+    private final TranscriptionEngine primary;
+    private final TranscriptionEngine secondary;
+    private final HedgeConfig config;
+    private final ScheduledExecutorService scheduler;
+
+    // Ring of recent primary latencies (milliseconds), guarded by this
+    private final long[] latencies;
+    private int latencyCount = 0;
+    private int latencyNext = 0;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong hedgesFired = new AtomicLong();
+    private final AtomicLong hedgesWon = new AtomicLong();
+    private final AtomicLong primaryFailures = new AtomicLong();
+
+    public HedgedTranscriptionEngine(TranscriptionEngine primary, TranscriptionEngine secondary, HedgeConfig config) {
+        if (!secondary.supportsBatchMode()) {
+            throw new IllegalArgumentException(secondary.getName() + " cannot take hedged batch requests");
+        }
+        // Callers prepare audio for the primary, and the hedge resends the same audio
+        if (secondary.getConfiguration().isRequiresConversion() != primary.getConfiguration().isRequiresConversion()) {
+            throw new IllegalArgumentException(String.format(
+                "%s cannot hedge %s: one takes raw PCM, the other converted audio",
+                secondary.getName(), primary.getName()));
+        }
+        this.primary = primary;
+        this.secondary = secondary;
+        this.config = config;
+        this.latencies = new long[Math.max(1, config.getWindowSize())];
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "hedge-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public String getName() {
+        return primary.getName() + "+" + secondary.getName();
+    }
+
+    @Override
+    public boolean supportsBatchMode() {
+        return primary.supportsBatchMode();
+    }
+
+    @Override
+    public boolean supportsStreamingMode() {
+        return primary.supportsStreamingMode();
+    }
+
+    /**
+     * A hedge resends the whole segment, so batch audio is not uploaded while it is captured.
+     */
+    @Override
+    public boolean supportsPipelinedUpload() {
+        return false;
+    }
+
+    @Override
+    public void initialize() {
+        primary.initialize();
+        secondary.initialize();
+        log.info("Hedging {} batch requests to {}", primary.getName(), secondary.getName());
+    }
+
+    @Override
+    public void shutdown() {
+        scheduler.shutdownNow();
+        primary.shutdown();
+        secondary.shutdown();
+    }
+
+    @Override
+    public CompletableFuture<TranscriptionResult> transcribeBatch(byte[] audioData, int sampleRate, String languageCode) {
+        return hedge(() -> primary.transcribeBatch(audioData, sampleRate, languageCode),
+                () -> secondary.transcribeBatch(audioData, sampleRate, languageCode));
+    }
+
+    @Override
+    public CompletableFuture<TranscriptionResult> transcribeBatch(AudioSegmentBuffer segment, int sampleRate, String languageCode) {
+        return hedge(() -> primary.transcribeBatch(segment, sampleRate, languageCode),
+                () -> secondary.transcribeBatch(segment, sampleRate, languageCode));
+    }
+
+    @Override
+    public CompletableFuture<Void> startStreamingSession(String sessionId, int sampleRate, String languageCode,
+                                                         Consumer<TranscriptionResult> resultCallback) {
+        return primary.startStreamingSession(sessionId, sampleRate, languageCode, resultCallback);
+    }
+
+    @Override
+    public void sendStreamingAudio(String sessionId, byte[] audioData) {
+        primary.sendStreamingAudio(sessionId, audioData);
+    }
+
+    @Override
+    public void skipStreamingAudio(String sessionId, int byteCount) {
+        primary.skipStreamingAudio(sessionId, byteCount);
+    }
+
+    @Override
+    public void finalizeStreaming(String sessionId) {
+        primary.finalizeStreaming(sessionId);
+    }
+
+    @Override
+    public void stopStreamingSession(String sessionId) {
+        primary.stopStreamingSession(sessionId);
+    }
+
+    @Override
+    public boolean isStreamingSessionActive(String sessionId) {
+        return primary.isStreamingSessionActive(sessionId);
+    }
+
+    @Override
+    public EngineConfiguration getConfiguration() {
+        return primary.getConfiguration();
+    }
+
+    public TranscriptionEngine getPrimary() {
+        return primary;
+    }
+
+    public TranscriptionEngine getSecondary() {
+        return secondary;
+    }
+
+    /**
+     * Get how long the primary engine currently gets before a request is hedged (milliseconds).
+     */
+    public synchronized long getHedgeDelayMs() {
+        if (config.getDelayMs() > 0) {
+            return config.getDelayMs();
+        }
+        if (latencyCount < Math.max(1, config.getMinSamples())) {
+            return config.getInitialDelayMs();
+        }
+        long[] sorted = Arrays.copyOf(latencies, latencyCount);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(config.getPercentile() * latencyCount) - 1;
+        long delay = sorted[Math.max(0, Math.min(latencyCount - 1, index))];
+        return Math.max(config.getMinDelayMs(), Math.min(config.getMaxDelayMs(), delay));
+    }
+
+    public HedgeStats getStats() {
+        return new HedgeStats(requests.get(), hedgesFired.get(), hedgesWon.get(), primaryFailures.get(), getHedgeDelayMs());
+    }
+
+    private synchronized void recordLatency(long latencyMs) {
+        latencies[latencyNext] = latencyMs;
+        latencyNext = (latencyNext + 1) % latencies.length;
+        if (latencyCount < latencies.length) {
+            latencyCount++;
+        }
+    }
+
+    private CompletableFuture<TranscriptionResult> hedge(Supplier<CompletableFuture<TranscriptionResult>> primaryCall,
+                                                         Supplier<CompletableFuture<TranscriptionResult>> secondaryCall) {
+        requests.incrementAndGet();
+        Race race = new Race(secondaryCall);
+        race.start(primaryCall);
+        return race.result;
+    }
+
+    private static CompletableFuture<TranscriptionResult> call(Supplier<CompletableFuture<TranscriptionResult>> call) {
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static boolean isSuccess(TranscriptionResult result, Throwable throwable) {
+        return throwable == null && result != null && !result.isError();
+    }
+
+    /**
+     * One hedged request: the primary call, the hedge timer and, once fired, the secondary call.
+     */
+    private class Race {
+
+        private final CompletableFuture<TranscriptionResult> result = new CompletableFuture<>();
+        private final Supplier<CompletableFuture<TranscriptionResult>> secondaryCall;
+        private final long startNanos = System.nanoTime();
+        private final AtomicBoolean settled = new AtomicBoolean();
+
+        // Guarded by this
+        private CompletableFuture<TranscriptionResult> primaryFuture;
+        private CompletableFuture<TranscriptionResult> secondaryFuture;
+        private ScheduledFuture<?> timer;
+        private boolean primaryFailed = false;
+        private boolean secondaryFailed = false;
+        // Outcome of the primary, reported if both requests fail
+        private TranscriptionResult primaryResult;
+        private Throwable primaryError;
+
+        Race(Supplier<CompletableFuture<TranscriptionResult>> secondaryCall) {
+            this.secondaryCall = secondaryCall;
+        }
+
+        void start(Supplier<CompletableFuture<TranscriptionResult>> primaryCall) {
+            CompletableFuture<TranscriptionResult> future = call(primaryCall);
+            synchronized (this) {
+                primaryFuture = future;
+                if (!future.isDone()) {
+                    timer = scheduler.schedule(this::fireHedge, getHedgeDelayMs(), TimeUnit.MILLISECONDS);
+                }
+            }
+            future.whenComplete(this::onPrimary);
+
+            // A caller giving up cancels whatever is still running
+            result.whenComplete((r, t) -> {
+                if (result.isCancelled()) {
+                    cancelAll();
+                }
+            });
+        }
+
+        private void fireHedge() {
+            synchronized (this) {
+                if (result.isDone() || secondaryFuture != null) {
+                    return;
+                }
+                hedgesFired.incrementAndGet();
+                secondaryFuture = new CompletableFuture<>();
+            }
+            log.debug("Hedging request to {} after {}ms", secondary.getName(), elapsedMs());
+
+            CompletableFuture<TranscriptionResult> future = call(secondaryCall);
+            synchronized (this) {
+                secondaryFuture = future;
+                if (result.isDone()) {
+                    future.cancel(true);
+                    return;
+                }
+            }
+            future.whenComplete(this::onSecondary);
+        }
+
+        private void onPrimary(TranscriptionResult r, Throwable t) {
+            if (isSuccess(r, t)) {
+                recordLatency(elapsedMs());
+                cancel(timer());
+                if (settle(r, false)) {
+                    cancel(secondary());
+                }
+                return;
+            }
+
+            boolean hedgeNow;
+            synchronized (this) {
+                if (result.isDone()) {
+                    return;
+                }
+                primaryFailures.incrementAndGet();
+                primaryFailed = true;
+                primaryResult = r;
+                primaryError = t;
+                hedgeNow = secondaryFuture == null;
+            }
+            if (hedgeNow) {
+                // No reason to wait for the timer once the primary has failed
+                cancel(timer());
+                fireHedge();
+            } else {
+                completeIfBothFailed();
+            }
+        }
+
+        private void onSecondary(TranscriptionResult r, Throwable t) {
+            if (isSuccess(r, t)) {
+                if (settle(r, true)) {
+                    CompletableFuture<TranscriptionResult> primaryCall = primary();
+                    if (!primaryCall.isDone()) {
+                        // The primary took at least this long; keep it in the window so slow spells raise the delay
+                        recordLatency(elapsedMs());
+                        primaryCall.cancel(true);
+                    }
+                }
+                return;
+            }
+            synchronized (this) {
+                secondaryFailed = true;
+            }
+            completeIfBothFailed();
+        }
+
+        private void completeIfBothFailed() {
+            TranscriptionResult failure;
+            Throwable error;
+            synchronized (this) {
+                if (!primaryFailed || !secondaryFailed) {
+                    return;
+                }
+                failure = primaryResult;
+                error = primaryError;
+            }
+            if (!settled.compareAndSet(false, true)) {
+                return;
+            }
+            if (failure != null) {
+                result.complete(failure);
+            } else {
+                result.completeExceptionally(error);
+            }
+        }
+
+        /**
+         * Complete the request with a successful result unless it is already decided.
+         */
+        private boolean settle(TranscriptionResult r, boolean byHedge) {
+            if (!settled.compareAndSet(false, true)) {
+                return false;
+            }
+            if (byHedge) {
+                // Counted before completion so callers see it once they have the result
+                hedgesWon.incrementAndGet();
+            }
+            return result.complete(r);
+        }
+
+        private synchronized CompletableFuture<TranscriptionResult> primary() {
+            return primaryFuture;
+        }
+
+        private synchronized CompletableFuture<TranscriptionResult> secondary() {
+            return secondaryFuture;
+        }
+
+        private synchronized ScheduledFuture<?> timer() {
+            return timer;
+        }
+
+        private void cancelAll() {
+            cancel(timer());
+            cancel(primary());
+            cancel(secondary());
+        }
+
+        private void cancel(Future<?> future) {
+            if (future != null) {
+                future.cancel(true);
+            }
+        }
+
+        private long elapsedMs() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Statistics of hedged requests.
+     */
+    public static class HedgeStats {
+        private final long requests;
+        private final long hedgesFired;
+        private final long hedgesWon;
+        private final long primaryFailures;
+        private final long hedgeDelayMs;
+
+        public HedgeStats(long requests, long hedgesFired, long hedgesWon, long primaryFailures, long hedgeDelayMs) {
+            this.requests = requests;
+            this.hedgesFired = hedgesFired;
+            this.hedgesWon = hedgesWon;
+            this.primaryFailures = primaryFailures;
+            this.hedgeDelayMs = hedgeDelayMs;
+        }
+
+        public long getRequests() { return requests; }
+        public long getHedgesFired() { return hedgesFired; }
+        public long getHedgesWon() { return hedgesWon; }
+        public long getPrimaryFailures() { return primaryFailures; }
+        public long getHedgeDelayMs() { return hedgeDelayMs; }
+
+        @Override
+        public String toString() {
+            return String.format("Hedge{requests=%d, fired=%d, won=%d, primaryFailures=%d, delay=%dms}",
+                requests, hedgesFired, hedgesWon, primaryFailures, hedgeDelayMs);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package ai.driftkit.audio.engine;
+
+import ai.driftkit.audio.core.config.HttpTransportConfig;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared HTTP client for transcription engines.
+ * Engines configured with equal transport settings share one dispatcher and connection pool;
+ * the client is shut down when the last engine releases it.
+ */
+@Slf4j
+public class HttpTransport {
+
+    private static final Map<List<Object>, HttpTransport> SHARED = new HashMap<>();
+
+    private final List<Object> key;
+    private final OkHttpClient client;
+    private int references = 0;
+
+    private HttpTransport(List<Object> key, HttpTransportConfig config) {
+        this.key = key;
+
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(config.getMaxRequests());
+        dispatcher.setMaxRequestsPerHost(config.getMaxRequestsPerHost());
+
+        this.client = new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(
+                        config.getMaxIdleConnections(), config.getKeepAliveMs(), TimeUnit.MILLISECONDS))
+                .protocols(config.isPreferHttp2()
+                        ? List.of(Protocol.HTTP_2, Protocol.HTTP_1_1)
+                        : List.of(Protocol.HTTP_1_1))
+                .connectTimeout(config.getConnectTimeoutMs(), TimeUnit.MILLISECONDS)
+                .readTimeout(config.getReadTimeoutMs(), TimeUnit.MILLISECONDS)
+                .writeTimeout(config.getWriteTimeoutMs(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    /**
+     * Get the shared transport for the given settings. Every call must be paired with {@link #release()}.
+     */
+    public static HttpTransport acquire(HttpTransportConfig config) {
+        List<Object> key = List.of(
+                config.getMaxRequests(), config.getMaxRequestsPerHost(),
+                config.getMaxIdleConnections(), config.getKeepAliveMs(), config.isPreferHttp2(),
+                config.getConnectTimeoutMs(), config.getReadTimeoutMs(), config.getWriteTimeoutMs());
+
+        synchronized (SHARED) {
+            HttpTransport transport = SHARED.computeIfAbsent(key, k -> new HttpTransport(k, config));
+            transport.references++;
+            return transport;
+        }
+    }
+
+    public OkHttpClient client() {
+        return client;
+    }
+
+    /**
+     * Open a connection to the host of the given URL in the background.
+     * The connection is left in the pool for the first real request.
+     */
+    public void preconnect(String url) {
+        Request request = new Request.Builder().url(url).head().build();
+        client.newCall(request).enqueue(new Callback() {
+            @Override
+            public void onResponse(Call call, Response response) {
+                response.close();
+                log.debug("Pre-connected to {} over {}", call.request().url().host(), response.protocol());
+            }
+
+            @Override
+            public void onFailure(Call call, IOException e) {
+                log.debug("Pre-connect to {} failed: {}", call.request().url().host(), e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Parse a Retry-After header given either in seconds or as an HTTP date.
+     *
+     * @return the wait in milliseconds, or 0 if the header is missing or malformed
+     */
+    public static long parseRetryAfter(String header) {
+        if (header == null || header.isBlank()) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Long.parseLong(header.trim()) * 1000);
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime date = ZonedDateTime.parse(header.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Math.max(0, date.toInstant().toEpochMilli() - System.currentTimeMillis());
+            } catch (DateTimeParseException ignored) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Release this transport; the last release shuts the client down.
+     */
+    public void release() {
+        synchronized (SHARED) {
+            if (--references > 0) {
+                return;
+            }
+            SHARED.remove(key);
+        }
+        client.dispatcher().executorService().shutdown();
+        client.connectionPool().evictAll();
+    }
+
+    /**
+     * Get dispatcher and connection pool statistics.
+     */
+    public TransportStats getStats() {
+        return new TransportStats(
+                client.dispatcher().runningCallsCount(), client.dispatcher().queuedCallsCount(),
+                client.connectionPool().connectionCount(), client.connectionPool().idleConnectionCount());
+    }
+
+    /**
+     * Statistics of a shared HTTP transport.
+     */
+    public static class TransportStats {
+        private final int runningCalls;
+        private final int queuedCalls;
+        private final int connections;
+        private final int idleConnections;
+
+        public TransportStats(int runningCalls, int queuedCalls, int connections, int idleConnections) {
+            this.runningCalls = runningCalls;
+            this.queuedCalls = queuedCalls;
+            this.connections = connections;
+            this.idleConnections = idleConnections;
+        }
+
+        public int getRunningCalls() { return runningCalls; }
+        public int getQueuedCalls() { return queuedCalls; }
+        public int getConnections() { return connections; }
+        public int getIdleConnections() { return idleConnections; }
+
+        @Override
+        public String toString() {
+            return String.format("HttpTransport{running=%d, queued=%d, connections=%d, idle=%d}",
+                runningCalls, queuedCalls, connections, idleConnections);
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package ai.driftkit.audio.engine;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * Fixed-size memory-mapped file of key/value records written as a ring: when the end of the
+ * file is reached, writing wraps to the start and overwrites the oldest records.
+ * The index lives in memory and is rebuilt by scanning the file when it is opened.
+ *
+ * <p>Layout: a header (magic, version, capacity, write position, tail position) followed by
+ * records of {@code magic, key length, value length, key, value, CRC32 of key and value}.
+ * Records from the write position up to the tail position were overwritten; records between
+ * the tail position and the end marker written at the last wrap are the previous lap.
+ * A record cut short by a crash fails its checksum and ends the scan.
+ */
+@Slf4j
+class MappedTranscriptStore implements Closeable {
+
+    private static final int FILE_MAGIC = 0x444B5443; // "DKTC"
+    private static final int VERSION = 1;
+    private static final int RECORD_MAGIC = 0x52454331; // "REC1"
+    private static final int HEADER_SIZE = 32;
+    private static final int RECORD_OVERHEAD = 16;
+    private static final int WRITE_POS_OFFSET = 16;
+    private static final int TAIL_POS_OFFSET = 24;
+
+    private final FileChannel channel;
+    private final FileLock fileLock;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+
+    // Key -> offset of its newest record, and offset -> key of every live record
+    private final Map<ByteBuffer, Integer> index = new HashMap<>();
+    private final TreeMap<Integer, ByteBuffer> records = new TreeMap<>();
+    private int writePos;
+    private int tailPos;
+    private long liveBytes;
+
+    private MappedTranscriptStore(FileChannel channel, FileLock fileLock, MappedByteBuffer buffer, int capacity) {
+        this.channel = channel;
+        this.fileLock = fileLock;
+        this.buffer = buffer;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Open or create the store file. An existing file of another size or format is reset.
+     *
+     * @return the store, or null if the file is locked by another process or another store in this JVM
+     */
+    static MappedTranscriptStore open(Path file, long maxBytes) throws IOException {
+        int capacity = (int) Math.min(Integer.MAX_VALUE, Math.max(maxBytes, HEADER_SIZE * 2L));
+        Files.createDirectories(file.toAbsolutePath().getParent());
+
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            FileLock lock;
+            try {
+                lock = channel.tryLock();
+            } catch (OverlappingFileLockException e) {
+                // Held by another store in this JVM
+                lock = null;
+            }
+            if (lock == null) {
+                channel.close();
+                return null;
+            }
+            boolean fresh = channel.size() != capacity;
+            if (fresh) {
+                channel.truncate(0);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            MappedTranscriptStore store = new MappedTranscriptStore(channel, lock, buffer, capacity);
+            if (fresh || !store.recover()) {
+                store.reset();
+            }
+            return store;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Read the value of a key, or null if absent.
+     */
+    synchronized byte[] get(byte[] key) {
+        Integer offset = index.get(ByteBuffer.wrap(key));
+        if (offset == null) {
+            return null;
+        }
+        int keyLength = buffer.getInt(offset + 4);
+        byte[] value = new byte[buffer.getInt(offset + 8)];
+        buffer.get(offset + 12 + keyLength, value);
+        return value;
+    }
+
+    /**
+     * Append a record, overwriting the oldest records it needs space from.
+     * Values too large for a quarter of the file are not stored.
+     */
+    synchronized void put(byte[] key, byte[] value) {
+        int size = RECORD_OVERHEAD + key.length + value.length;
+        if (size > (capacity - HEADER_SIZE) / 4) {
+            return;
+        }
+
+        if (writePos + size > capacity) {
+            // End the lap: the remaining tail is dropped so the file stays oldest-first
+            evict(writePos, capacity);
+            if (writePos + 4 <= capacity) {
+                buffer.putInt(writePos, 0);
+            }
+            writePos = HEADER_SIZE;
+        }
+        evict(writePos, writePos + size);
+
+        CRC32 crc = new CRC32();
+        crc.update(key);
+        crc.update(value);
+        buffer.putInt(writePos, RECORD_MAGIC);
+        buffer.putInt(writePos + 4, key.length);
+        buffer.putInt(writePos + 8, value.length);
+        buffer.put(writePos + 12, key);
+        buffer.put(writePos + 12 + key.length, value);
+        buffer.putInt(writePos + 12 + key.length + value.length, (int) crc.getValue());
+
+        index(ByteBuffer.wrap(key.clone()), writePos, size);
+        writePos += size;
+        updateTailPos();
+        writeHeader();
+    }
+
+    synchronized int size() {
+        return index.size();
+    }
+
+    /**
+     * Bytes taken by live records.
+     */
+    synchronized long bytes() {
+        return liveBytes;
+    }
+
+    long capacity() {
+        return capacity;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        fileLock.release();
+        channel.close();
+    }
+
+    private void index(ByteBuffer key, int offset, int size) {
+        Integer previous = index.put(key, offset);
+        if (previous != null) {
+            // The older copy stays in the file but is no longer reachable
+            records.remove(previous);
+            liveBytes -= recordSize(previous);
+        }
+        records.put(offset, key);
+        liveBytes += size;
+    }
+
+    /**
+     * Drop the records starting in [from, to).
+     */
+    private void evict(int from, int to) {
+        Map<Integer, ByteBuffer> overwritten = records.subMap(from, to);
+        for (Map.Entry<Integer, ByteBuffer> entry : overwritten.entrySet()) {
+            index.remove(entry.getValue());
+            liveBytes -= recordSize(entry.getKey());
+        }
+        overwritten.clear();
+    }
+
+    private int recordSize(int offset) {
+        return RECORD_OVERHEAD + buffer.getInt(offset + 4) + buffer.getInt(offset + 8);
+    }
+
+    private void reset() {
+        index.clear();
+        records.clear();
+        liveBytes = 0;
+        writePos = HEADER_SIZE;
+        tailPos = capacity;
+        buffer.putInt(0, FILE_MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putLong(8, capacity);
+        buffer.putInt(HEADER_SIZE, 0);
+        writeHeader();
+    }
+
+    /**
+     * The tail is the oldest live record of the previous lap; the capacity if there is none.
+     */
+    private void updateTailPos() {
+        Integer tail = records.ceilingKey(writePos);
+        tailPos = tail != null ? tail : capacity;
+    }
+
+    private void writeHeader() {
+        buffer.putLong(WRITE_POS_OFFSET, writePos);
+        buffer.putLong(TAIL_POS_OFFSET, tailPos);
+    }
+
+    /**
+     * Rebuild the index: the previous lap from the tail position first, then the current lap.
+     *
+     * @return false if the header is not valid
+     */
+    private boolean recover() {
+        if (buffer.getInt(0) != FILE_MAGIC || buffer.getInt(4) != VERSION || buffer.getLong(8) != capacity) {
+            return false;
+        }
+        long storedWritePos = buffer.getLong(WRITE_POS_OFFSET);
+        long storedTailPos = buffer.getLong(TAIL_POS_OFFSET);
+        if (storedWritePos < HEADER_SIZE || storedWritePos > capacity
+                || storedTailPos < storedWritePos || storedTailPos > capacity) {
+            return false;
+        }
+
+        scan((int) storedTailPos, capacity);
+        // A torn last write ends the current lap early
+        writePos = scan(HEADER_SIZE, (int) storedWritePos);
+        updateTailPos();
+        writeHeader();
+        log.info("Transcript store recovered {} entries ({} bytes)", index.size(), liveBytes);
+        return true;
+    }
+
+    /**
+     * Index valid records from the given position until an invalid one or the limit.
+     *
+     * @return position after the last valid record
+     */
+    private int scan(int position, int limit) {
+        while (position + 12 <= limit && buffer.getInt(position) == RECORD_MAGIC) {
+            int keyLength = buffer.getInt(position + 4);
+            int valueLength = buffer.getInt(position + 8);
+            if (keyLength <= 0 || valueLength < 0
+                    || (long) position + RECORD_OVERHEAD + keyLength + valueLength > limit) {
+                break;
+            }
+            byte[] key = new byte[keyLength];
+            byte[] value = new byte[valueLength];
+            buffer.get(position + 12, key);
+            buffer.get(position + 12 + keyLength, value);
+
+            CRC32 crc = new CRC32();
+            crc.update(key);
+            crc.update(value);
+            if (buffer.getInt(position + 12 + keyLength + valueLength) != (int) crc.getValue()) {
+                break;
+            }
+
+            int size = RECORD_OVERHEAD + keyLength + valueLength;
+            index(ByteBuffer.wrap(key), position, size);
+            position += size;
+        }
+        return position;
+    }
+}
@@ -0,0 +1,241 @@
+package ai.driftkit.audio.engine;
+
+import ai.driftkit.audio.core.config.MessageJournalConfig;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Bounded journal of raw messages received by a streaming session.
+ * Keeps the most recent messages in a ring limited by both message count and total size,
+ * so a long-lived session holds a fixed amount of memory. Optionally every message is also
+ * appended to a spill file, one line per message, prefixed with its receive time.
+ */
+@Slf4j
+public class MessageJournal implements AutoCloseable {
+
+    private static final Pattern UNSAFE_FILE_NAME_CHARS = Pattern.compile("[^A-Za-z0-9._-]");
+
+    private final int maxMessages;
+    private final long maxBytes;
+    private final ArrayDeque<String> messages;
+    private long bytes = 0;
+    private long appended = 0;
+    private long evicted = 0;
+
+    private BufferedWriter spill;
+    private long spilledMessages = 0;
+
+    /**
+     * @param maxMessages maximum number of messages kept in memory
+     * @param maxBytes maximum total size of messages kept in memory (UTF-8 bytes)
+     * @param spillFile append-only file receiving every message, or null
+     */
+    public MessageJournal(int maxMessages, long maxBytes, Path spillFile) {
+        if (maxMessages <= 0 || maxBytes <= 0) {
+            throw new IllegalArgumentException("Journal limits must be positive");
+        }
+        this.maxMessages = maxMessages;
+        this.maxBytes = maxBytes;
+        this.messages = new ArrayDeque<>(Math.min(maxMessages, 1024));
+
+        if (spillFile != null) {
+            try {
+                Path parent = spillFile.getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+                this.spill = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+            } catch (IOException e) {
+                log.warn("Cannot open journal spill file {}: {}", spillFile, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Create a journal from configuration, spilling to {@code fileName} in the spill directory if one is set.
+     * The file name may carry caller-supplied ids, so it is reduced to a safe single path element.
+     *
+     * @return the journal, or null if journaling is disabled
+     */
+    public static MessageJournal create(MessageJournalConfig config, String fileName) {
+        if (config == null || !config.isEnabled()) {
+            return null;
+        }
+        Path spillFile = null;
+        if (config.getSpillDirectory() != null) {
+            Path directory = Path.of(config.getSpillDirectory()).toAbsolutePath().normalize();
+            spillFile = directory.resolve(safeFileName(fileName)).normalize();
+            if (!spillFile.startsWith(directory) || spillFile.equals(directory)) {
+                throw new IllegalArgumentException("Journal spill file escapes its directory: " + fileName);
+            }
+        }
+        return new MessageJournal(config.getMaxMessages(), config.getMaxBytes(), spillFile);
+    }
+
+    /**
+     * Keep only {@code [A-Za-z0-9._-]}. Names that had to be changed get a hash of the original
+     * appended so that distinct ids keep distinct files.
+     */
+    static String safeFileName(String fileName) {
+        String safe = UNSAFE_FILE_NAME_CHARS.matcher(fileName).replaceAll("_");
+        if (safe.equals(fileName) && !safe.startsWith(".")) {
+            return safe;
+        }
+        return safe.replace('.', '_') + "-" + Integer.toHexString(fileName.hashCode());
+    }
+
+    /**
+     * Record a message, evicting the oldest ones once a limit is exceeded.
+     * A single message larger than the size limit is only kept until the next one arrives.
+     */
+    public synchronized void append(String message) {
+        messages.addLast(message);
+        bytes += utf8Length(message);
+        appended++;
+
+        while (messages.size() > 1 && (messages.size() > maxMessages || bytes > maxBytes)) {
+            bytes -= utf8Length(messages.removeFirst());
+            evicted++;
+        }
+
+        if (spill != null) {
+            writeSpill(message);
+        }
+    }
+
+    /**
+     * Encoded UTF-8 size of a string, counted without encoding it.
+     */
+    static int utf8Length(String value) {
+        int length = value.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x800) {
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    // A surrogate pair is two chars and four bytes
+                    bytes += 2;
+                    i++;
+                } else {
+                    bytes += 2;
+                }
+            } else if (c >= 0x80) {
+                bytes += 1;
+            }
+        }
+        return bytes;
+    }
+
+    private void writeSpill(String message) {
+        try {
+            spill.write(Long.toString(System.currentTimeMillis()));
+            spill.write('\t');
+            // Messages are single-line JSON; guard the line format anyway
+            spill.write(message.indexOf('\n') < 0 ? message : message.replace('\n', ' '));
+            spill.write('\n');
+            spilledMessages++;
+        } catch (IOException e) {
+            log.warn("Journal spill failed, disabling it: {}", e.getMessage());
+            closeSpill();
+        }
+    }
+
+    /**
+     * Get all messages currently held in memory, oldest first.
+     */
+    public synchronized List<String> snapshot() {
+        return new ArrayList<>(messages);
+    }
+
+    /**
+     * Get up to the last {@code count} messages held in memory, oldest first.
+     */
+    public synchronized List<String> last(int count) {
+        int n = Math.min(Math.max(count, 0), messages.size());
+        String[] result = new String[n];
+        Iterator<String> it = messages.descendingIterator();
+        for (int i = n - 1; i >= 0; i--) {
+            result[i] = it.next();
+        }
+        return List.of(result);
+    }
+
+    /**
+     * Flush the spill file, if any.
+     */
+    public synchronized void flush() {
+        if (spill != null) {
+            try {
+                spill.flush();
+            } catch (IOException e) {
+                log.warn("Journal spill flush failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    public synchronized JournalStats getStats() {
+        return new JournalStats(messages.size(), bytes, appended, evicted, spilledMessages);
+    }
+
+    /**
+     * Close the spill file. Messages in memory stay readable.
+     */
+    @Override
+    public synchronized void close() {
+        closeSpill();
+    }
+
+    private void closeSpill() {
+        if (spill != null) {
+            try {
+                spill.close();
+            } catch (IOException e) {
+                log.warn("Failed to close journal spill file: {}", e.getMessage());
+            }
+            spill = null;
+        }
+    }
+
+    /**
+     * Statistics of a message journal.
+     */
+    public static class JournalStats {
+        private final int messages;
+        private final long bytes;
+        private final long appended;
+        private final long evicted;
+        private final long spilled;
+
+        public JournalStats(int messages, long bytes, long appended, long evicted, long spilled) {
+            this.messages = messages;
+            this.bytes = bytes;
+            this.appended = appended;
+            this.evicted = evicted;
+            this.spilled = spilled;
+        }
+
+        public int getMessages() { return messages; }
+        public long getBytes() { return bytes; }
+        public long getAppended() { return appended; }
+        public long getEvicted() { return evicted; }
+        public long getSpilled() { return spilled; }
+
+        @Override
+        public String toString() {
+            return String.format("MessageJournal{messages=%d, bytes=%d, appended=%d, evicted=%d, spilled=%d}",
+                messages, bytes, appended, evicted, spilled);
+        }
+    }
+}
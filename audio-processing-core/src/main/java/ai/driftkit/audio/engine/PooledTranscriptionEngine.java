@@ -0,0 +1,403 @@
+package ai.driftkit.audio.engine;
+
+import ai.driftkit.audio.core.config.EnginePoolConfig;
+import ai.driftkit.audio.core.config.LoadBalancing;
+import ai.driftkit.audio.model.AudioSegmentBuffer;
+import ai.driftkit.audio.model.TranscriptionResult;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Engine spreading requests over several member engines, each with its own API key and quota.
+ * Batch requests and new streaming sessions go to a member picked round-robin or by least load;
+ * a streaming session stays on its member. A member rejecting a request for rate limiting is
+ * drained until its Retry-After passes, and the batch request is retried on another member.
+ * Members may be of different engine types as long as they all take audio in the same form.
+ */
+@Slf4j
+public class PooledTranscriptionEngine implements TranscriptionEngine {
+
+    private final List<Member> members;
+    private final EnginePoolConfig config;
+    private final AtomicInteger cursor = new AtomicInteger();
+    private final Map<String, Member> sessions = new ConcurrentHashMap<>();
+
+    public PooledTranscriptionEngine(List<TranscriptionEngine> engines, EnginePoolConfig config) {
+        if (engines.isEmpty()) {
+            throw new IllegalArgumentException("Engine pool has no members");
+        }
+        // Callers prepare audio for the pool as a whole, so every member must take it in the same form
+        boolean requiresConversion = engines.get(0).getConfiguration().isRequiresConversion();
+        for (TranscriptionEngine engine : engines) {
+            if (engine.getConfiguration().isRequiresConversion() != requiresConversion) {
+                throw new IllegalArgumentException(String.format(
+                    "Engine pool cannot mix %s and %s: one takes raw PCM, the other converted audio",
+                    engines.get(0).getName(), engine.getName()));
+            }
+        }
+        this.members = new ArrayList<>();
+        for (int i = 0; i < engines.size(); i++) {
+            members.add(new Member(engines.get(i), engines.get(i).getName() + "#" + i));
+        }
+        this.config = config;
+    }
+
+    @Override
+    public String getName() {
+        return members.stream().map(member -> member.name).collect(Collectors.joining(",", "Pool[", "]"));
+    }
+
+    @Override
+    public boolean supportsBatchMode() {
+        return members.stream().anyMatch(member -> member.engine.supportsBatchMode());
+    }
+
+    @Override
+    public boolean supportsStreamingMode() {
+        return members.stream().anyMatch(member -> member.engine.supportsStreamingMode());
+    }
+
+    @Override
+    public boolean supportsPipelinedUpload() {
+        return members.stream().allMatch(member -> member.engine.supportsPipelinedUpload());
+    }
+
+    @Override
+    public void initialize() {
+        members.forEach(member -> member.engine.initialize());
+        log.info("Engine pool initialized with {} members, {} balancing", members.size(), config.getStrategy());
+    }
+
+    @Override
+    public void shutdown() {
+        sessions.clear();
+        members.forEach(member -> member.engine.shutdown());
+    }
+
+    @Override
+    public CompletableFuture<TranscriptionResult> transcribeBatch(byte[] audioData, int sampleRate, String languageCode) {
+        return transcribeBatch(engine -> engine.transcribeBatch(audioData, sampleRate, languageCode));
+    }
+
+    @Override
+    public CompletableFuture<TranscriptionResult> transcribeBatch(AudioSegmentBuffer segment, int sampleRate, String languageCode) {
+        return transcribeBatch(engine -> engine.transcribeBatch(segment, sampleRate, languageCode));
+    }
+
+    private CompletableFuture<TranscriptionResult> transcribeBatch(
+            Function<TranscriptionEngine, CompletableFuture<TranscriptionResult>> request) {
+
+        CompletableFuture<TranscriptionResult> result = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<TranscriptionResult>> current = new AtomicReference<>();
+        // Cancelling the request cancels the member call in flight
+        result.whenComplete((r, t) -> {
+            CompletableFuture<TranscriptionResult> call = current.get();
+            if (result.isCancelled() && call != null) {
+                call.cancel(true);
+            }
+        });
+        attempt(request, new HashSet<>(), result, current);
+        return result;
+    }
+
+    /**
+     * Send a batch request to a member, retrying on another member while the chosen ones are rate limited.
+     */
+    private void attempt(Function<TranscriptionEngine, CompletableFuture<TranscriptionResult>> request, Set<Member> tried,
+                         CompletableFuture<TranscriptionResult> result,
+                         AtomicReference<CompletableFuture<TranscriptionResult>> current) {
+
+        Member member = pick(candidate -> candidate.engine.supportsBatchMode() && !tried.contains(candidate));
+        if (member == null) {
+            result.complete(TranscriptionResult.error("No pool member can take batch requests"));
+            return;
+        }
+        tried.add(member);
+
+        member.acquire();
+        CompletableFuture<TranscriptionResult> call;
+        try {
+            call = request.apply(member.engine);
+        } catch (RuntimeException e) {
+            member.release();
+            result.completeExceptionally(e);
+            return;
+        }
+        current.set(call);
+        if (result.isCancelled()) {
+            call.cancel(true);
+        }
+
+        call.whenComplete((r, t) -> {
+            member.release();
+            if (t != null) {
+                result.completeExceptionally(t);
+                return;
+            }
+            if (r != null && r.getRetryAfterMs() != null) {
+                drain(member, r.getRetryAfterMs());
+                if (!result.isDone() && hasAvailable(candidate -> !tried.contains(candidate))) {
+                    attempt(request, tried, result, current);
+                    return;
+                }
+            }
+            result.complete(r);
+        });
+    }
+
+    @Override
+    public BatchUpload openBatchUpload(int sampleRate, String languageCode) {
+        Member member = pick(candidate -> candidate.engine.supportsPipelinedUpload());
+        if (member == null) {
+            throw new UnsupportedOperationException(getName() + " has no member supporting pipelined batch upload");
+        }
+
+        member.acquire();
+        BatchUpload upload;
+        try {
+            upload = member.engine.openBatchUpload(sampleRate, languageCode);
+        } catch (RuntimeException e) {
+            member.release();
+            throw e;
+        }
+
+        // The audio is consumed while it is uploaded, so a rate-limited upload drains the member but is not retried
+        AtomicBoolean released = new AtomicBoolean();
+        return new BatchUpload() {
+            @Override
+            public void write(byte[] audioData) throws IOException {
+                upload.write(audioData);
+            }
+
+            @Override
+            public CompletableFuture<TranscriptionResult> complete() {
+                return upload.complete().whenComplete((result, throwable) -> {
+                    if (released.compareAndSet(false, true)) {
+                        member.release();
+                    }
+                    if (result != null && result.getRetryAfterMs() != null) {
+                        drain(member, result.getRetryAfterMs());
+                    }
+                });
+            }
+
+            @Override
+            public void abort() {
+                upload.abort();
+                if (released.compareAndSet(false, true)) {
+                    member.release();
+                }
+            }
+        };
+    }
+
+    @Override
+    public CompletableFuture<Void> startStreamingSession(String sessionId, int sampleRate, String languageCode,
+                                                         Consumer<TranscriptionResult> resultCallback) {
+        Member member = pick(candidate -> candidate.engine.supportsStreamingMode());
+        if (member == null) {
+            throw new UnsupportedOperationException(getName() + " has no member supporting streaming transcription mode");
+        }
+        if (sessions.putIfAbsent(sessionId, member) != null) {
+            throw new IllegalStateException("Streaming session already exists: " + sessionId);
+        }
+
+        member.acquire();
+        try {
+            CompletableFuture<Void> ready = member.engine.startStreamingSession(sessionId, sampleRate, languageCode, resultCallback);
+            log.debug("Streaming session {} assigned to {}", sessionId, member.name);
+            return ready;
+        } catch (RuntimeException e) {
+            sessions.remove(sessionId);
+            member.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public void sendStreamingAudio(String sessionId, byte[] audioData) {
+        sessionMember(sessionId).engine.sendStreamingAudio(sessionId, audioData);
+    }
+
+    @Override
+    public void skipStreamingAudio(String sessionId, int byteCount) {
+        sessionMember(sessionId).engine.skipStreamingAudio(sessionId, byteCount);
+    }
+
+    @Override
+    public void finalizeStreaming(String sessionId) {
+        Member member = sessions.get(sessionId);
+        if (member != null) {
+            member.engine.finalizeStreaming(sessionId);
+        }
+    }
+
+    @Override
+    public void stopStreamingSession(String sessionId) {
+        Member member = sessions.remove(sessionId);
+        if (member != null) {
+            try {
+                member.engine.stopStreamingSession(sessionId);
+            } finally {
+                member.release();
+            }
+        }
+    }
+
+    @Override
+    public boolean isStreamingSessionActive(String sessionId) {
+        Member member = sessions.get(sessionId);
+        return member != null && member.engine.isStreamingSessionActive(sessionId);
+    }
+
+    /**
+     * Members agree on the audio form they take, so the first member describes the pool's input.
+     */
+    @Override
+    public EngineConfiguration getConfiguration() {
+        return members.get(0).engine.getConfiguration();
+    }
+
+    /**
+     * Get per-member load and rate limiting statistics.
+     */
+    public List<MemberStats> getStats() {
+        long now = System.nanoTime();
+        return members.stream()
+                .map(member -> new MemberStats(member.name, member.inFlight.get(), member.requests.get(),
+                        member.rateLimited.get(), TimeUnit.NANOSECONDS.toMillis(Math.max(0, member.drainedUntil - now))))
+                .collect(Collectors.toList());
+    }
+
+    private Member sessionMember(String sessionId) {
+        Member member = sessions.get(sessionId);
+        if (member == null) {
+            throw new IllegalStateException("No active streaming session found: " + sessionId);
+        }
+        return member;
+    }
+
+    private void drain(Member member, long retryAfterMs) {
+        long drainMs = Math.min(config.getMaxRetryAfterMs(),
+                retryAfterMs > 0 ? retryAfterMs : config.getDefaultRetryAfterMs());
+        member.drainedUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(drainMs);
+        member.rateLimited.incrementAndGet();
+        log.warn("Pool member {} rate limited, drained for {}ms", member.name, drainMs);
+    }
+
+    private boolean hasAvailable(Predicate<Member> eligible) {
+        long now = System.nanoTime();
+        return members.stream().anyMatch(member -> eligible.test(member) && member.isAvailable(now));
+    }
+
+    /**
+     * Pick a member among the eligible ones that are not drained. If all eligible members are drained,
+     * the one whose drain ends first is picked rather than failing the request.
+     *
+     * @return the member, or null if none is eligible
+     */
+    private Member pick(Predicate<Member> eligible) {
+        long now = System.nanoTime();
+        int size = members.size();
+        int start = Math.floorMod(cursor.getAndIncrement(), size);
+
+        Member best = null;
+        Member soonest = null;
+        for (int i = 0; i < size; i++) {
+            Member member = members.get((start + i) % size);
+            if (!eligible.test(member)) {
+                continue;
+            }
+            if (!member.isAvailable(now)) {
+                if (soonest == null || member.drainedUntil < soonest.drainedUntil) {
+                    soonest = member;
+                }
+                continue;
+            }
+            if (config.getStrategy() == LoadBalancing.ROUND_ROBIN) {
+                return member;
+            }
+            // Least load; ties go to the first in round-robin order
+            if (best == null || member.inFlight.get() < best.inFlight.get()) {
+                best = member;
+            }
+        }
+        return best != null ? best : soonest;
+    }
+
+    private static class Member {
+        private final TranscriptionEngine engine;
+        private final String name;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong rateLimited = new AtomicLong();
+        // System.nanoTime() until which the member is out of rotation
+        private volatile long drainedUntil = System.nanoTime();
+
+        Member(TranscriptionEngine engine, String name) {
+            this.engine = engine;
+            this.name = name;
+        }
+
+        boolean isAvailable(long now) {
+            return now - drainedUntil >= 0;
+        }
+
+        void acquire() {
+            inFlight.incrementAndGet();
+            requests.incrementAndGet();
+        }
+
+        void release() {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Load and rate limiting statistics of one pool member.
+     */
+    public static class MemberStats {
+        private final String name;
+        private final int inFlight;
+        private final long requests;
+        private final long rateLimited;
+        private final long drainedForMs;
+
+        public MemberStats(String name, int inFlight, long requests, long rateLimited, long drainedForMs) {
+            this.name = name;
+            this.inFlight = inFlight;
+            this.requests = requests;
+            this.rateLimited = rateLimited;
+            this.drainedForMs = drainedForMs;
+        }
+
+        public String getName() { return name; }
+        public int getInFlight() { return inFlight; }
+        public long getRequests() { return requests; }
+        public long getRateLimited() { return rateLimited; }
+        public long getDrainedForMs() { return drainedForMs; }
+
+        @Override
+        public String toString() {
+            return String.format("%s{inFlight=%d, requests=%d, rateLimited=%d, drainedFor=%dms}",
+                name, inFlight, requests, rateLimited, drainedForMs);
+        }
+    }
+}
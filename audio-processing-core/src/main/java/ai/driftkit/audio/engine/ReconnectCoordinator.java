@@ -0,0 +1,241 @@
+package ai.driftkit.audio.engine;
+
+import ai.driftkit.audio.core.config.ReconnectConfig;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Schedules reconnection attempts for all streaming sessions of an engine.
+ * Delays use full-jitter exponential backoff so sessions dropped together do not reconnect together,
+ * a semaphore bounds the attempts in flight, and a circuit breaker stops attempts while the endpoint
+ * keeps failing, letting one probe through after a cool-down before reopening.
+ */
+@Slf4j
+public class ReconnectCoordinator {
+
+    /**
+     * Circuit breaker state.
+     */
+    public enum BreakerState {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    // Retry delay when all permits are taken or a probe is in flight
+    private static final long BUSY_RETRY_MS = 200;
+
+    private final String name;
+    private final ReconnectConfig config;
+    private final ScheduledExecutorService scheduler;
+    private final Semaphore permits;
+
+    // Guarded by this
+    private BreakerState breakerState = BreakerState.CLOSED;
+    private int consecutiveFailures = 0;
+    private long openedAtNanos;
+    private boolean probeInFlight = false;
+
+    private final AtomicLong attemptsStarted = new AtomicLong();
+    private final AtomicLong attemptsFailed = new AtomicLong();
+
+    public ReconnectCoordinator(String name, ReconnectConfig config, ScheduledExecutorService scheduler) {
+        this.name = name;
+        this.config = config;
+        this.scheduler = scheduler;
+        this.permits = new Semaphore(Math.max(1, config.getMaxConcurrentReconnects()));
+    }
+
+    /**
+     * Schedule reconnection attempt number {@code attempt} (starting at 1) after a jittered backoff.
+     * When it may run, {@code connect} receives an {@link Attempt} whose outcome it must report.
+     */
+    public void schedule(int attempt, Consumer<Attempt> connect) {
+        long bound = Math.min(config.getMaxDelayMs(), config.getBaseDelayMs() << Math.min(attempt - 1, 30));
+        long delay = ThreadLocalRandom.current().nextLong(Math.max(1, bound) + 1);
+        scheduleAt(delay, connect);
+    }
+
+    private void scheduleAt(long delayMs, Consumer<Attempt> connect) {
+        if (scheduler.isShutdown()) {
+            return;
+        }
+        scheduler.schedule(() -> tryStart(connect), delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void tryStart(Consumer<Attempt> connect) {
+        boolean probe;
+        synchronized (this) {
+            long wait = breakerWaitMs();
+            if (wait > 0) {
+                scheduleAt(wait, connect);
+                return;
+            }
+            probe = breakerState == BreakerState.HALF_OPEN;
+            if (probe && probeInFlight) {
+                scheduleAt(jitter(BUSY_RETRY_MS), connect);
+                return;
+            }
+            if (!permits.tryAcquire()) {
+                scheduleAt(jitter(BUSY_RETRY_MS), connect);
+                return;
+            }
+            if (probe) {
+                probeInFlight = true;
+                log.info("{} reconnect breaker half-open, sending a probe", name);
+            }
+        }
+
+        attemptsStarted.incrementAndGet();
+        Attempt attempt = new Attempt(probe);
+        attempt.timeout = scheduler.schedule(attempt::failed, config.getAttemptTimeoutMs(), TimeUnit.MILLISECONDS);
+        try {
+            connect.accept(attempt);
+        } catch (RuntimeException e) {
+            log.warn("{} reconnect attempt threw: {}", name, e.getMessage());
+            attempt.failed();
+        }
+    }
+
+    /**
+     * Remaining time the breaker holds attempts back, moving it to half-open once the cool-down has passed.
+     */
+    private long breakerWaitMs() {
+        if (breakerState != BreakerState.OPEN) {
+            return 0;
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - openedAtNanos);
+        if (elapsedMs < config.getBreakerOpenMs()) {
+            // Spread waiting sessions over a short window after the cool-down
+            return config.getBreakerOpenMs() - elapsedMs + jitter(BUSY_RETRY_MS);
+        }
+        breakerState = BreakerState.HALF_OPEN;
+        return 0;
+    }
+
+    private static long jitter(long boundMs) {
+        return ThreadLocalRandom.current().nextLong(boundMs) + 1;
+    }
+
+    /**
+     * Record a connection that succeeded outside a coordinated attempt, e.g. a session start.
+     */
+    public synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        if (breakerState != BreakerState.CLOSED) {
+            log.info("{} reconnect breaker closed", name);
+        }
+        breakerState = BreakerState.CLOSED;
+    }
+
+    private synchronized void recordFailure(boolean probe) {
+        attemptsFailed.incrementAndGet();
+        consecutiveFailures++;
+        if (probe || (breakerState == BreakerState.CLOSED && consecutiveFailures >= config.getBreakerFailureThreshold())) {
+            if (breakerState != BreakerState.OPEN) {
+                log.warn("{} reconnect breaker open after {} consecutive failures, holding attempts for {}ms",
+                        name, consecutiveFailures, config.getBreakerOpenMs());
+            }
+            breakerState = BreakerState.OPEN;
+            openedAtNanos = System.nanoTime();
+        }
+    }
+
+    public synchronized BreakerState getBreakerState() {
+        return breakerState;
+    }
+
+    public ReconnectStats getStats() {
+        synchronized (this) {
+            return new ReconnectStats(breakerState, consecutiveFailures,
+                    config.getMaxConcurrentReconnects() - permits.availablePermits(),
+                    attemptsStarted.get(), attemptsFailed.get());
+        }
+    }
+
+    /**
+     * A running reconnection attempt. Exactly one outcome is recorded; later calls are ignored.
+     */
+    public class Attempt {
+        private final boolean probe;
+        private ScheduledFuture<?> timeout;
+        private boolean done = false;
+
+        private Attempt(boolean probe) {
+            this.probe = probe;
+        }
+
+        public void succeeded() {
+            if (finish()) {
+                recordSuccess();
+            }
+        }
+
+        public void failed() {
+            if (finish()) {
+                recordFailure(probe);
+            }
+        }
+
+        /**
+         * Give up the attempt without an outcome, e.g. because the session was closed.
+         */
+        public void abandon() {
+            finish();
+        }
+
+        private boolean finish() {
+            synchronized (ReconnectCoordinator.this) {
+                if (done) {
+                    return false;
+                }
+                done = true;
+                if (probe) {
+                    probeInFlight = false;
+                }
+            }
+            if (timeout != null) {
+                timeout.cancel(false);
+            }
+            permits.release();
+            return true;
+        }
+    }
+
+    /**
+     * Statistics of a reconnect coordinator.
+     */
+    public static class ReconnectStats {
+        private final BreakerState breakerState;
+        private final int consecutiveFailures;
+        private final int inFlight;
+        private final long attemptsStarted;
+        private final long attemptsFailed;
+
+        public ReconnectStats(BreakerState breakerState, int consecutiveFailures, int inFlight,
+                              long attemptsStarted, long attemptsFailed) {
+            this.breakerState = breakerState;
+            this.consecutiveFailures = consecutiveFailures;
+            this.inFlight = inFlight;
+            this.attemptsStarted = attemptsStarted;
+            this.attemptsFailed = attemptsFailed;
+        }
+
+        public BreakerState getBreakerState() { return breakerState; }
+        public int getConsecutiveFailures() { return consecutiveFailures; }
+        public int getInFlight() { return inFlight; }
+        public long getAttemptsStarted() { return attemptsStarted; }
+        public long getAttemptsFailed() { return attemptsFailed; }
+
+        @Override
+        public String toString() {
+            return String.format("Reconnects{breaker=%s, failures=%d, inFlight=%d, started=%d, failed=%d}",
+                breakerState, consecutiveFailures, inFlight, attemptsStarted, attemptsFailed);
+        }
+    }
+}
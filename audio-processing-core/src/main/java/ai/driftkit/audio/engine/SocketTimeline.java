@@ -0,0 +1,64 @@
+package ai.driftkit.audio.engine;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * Maps times reported by a streaming socket onto the session timeline.
+ * The socket only sees the audio actually sent on it, which is the session audio with
+ * gaps removed (audio withheld as silence or dropped under backpressure). Each place
+ * where sending resumes after a gap is kept as a breakpoint. Thread-safe.
+ */
+class SocketTimeline {
+
+    // Words arrive within seconds of their audio, so only recent breakpoints are ever looked up
+    private static final int MAX_BREAKPOINTS = 1024;
+
+    private final int bytesPerSecond;
+    // Pairs of {socket byte position, session byte position}, oldest first
+    private final ArrayDeque<long[]> breakpoints = new ArrayDeque<>();
+
+    SocketTimeline(int bytesPerSecond) {
+        this.bytesPerSecond = bytesPerSecond;
+        breakpoints.add(new long[]{0, 0});
+    }
+
+    /**
+     * Start a new socket whose first byte is at the given session position.
+     */
+    synchronized void reset(long sessionBytes) {
+        breakpoints.clear();
+        breakpoints.add(new long[]{0, sessionBytes});
+    }
+
+    /**
+     * Record that the byte at {@code socketBytes} on the socket is at {@code sessionBytes} in the session.
+     */
+    synchronized void mark(long socketBytes, long sessionBytes) {
+        long[] last = breakpoints.peekLast();
+        if (last != null && sessionBytes - last[1] == socketBytes - last[0]) {
+            return;
+        }
+        breakpoints.addLast(new long[]{socketBytes, sessionBytes});
+        if (breakpoints.size() > MAX_BREAKPOINTS) {
+            breakpoints.removeFirst();
+        }
+    }
+
+    /**
+     * Get how far (seconds) a socket time lies behind its session time.
+     */
+    synchronized double offsetAt(double socketSeconds) {
+        long position = (long) (socketSeconds * bytesPerSecond);
+        Iterator<long[]> it = breakpoints.descendingIterator();
+        long[] breakpoint = breakpoints.peekFirst();
+        while (it.hasNext()) {
+            long[] candidate = it.next();
+            if (candidate[0] <= position) {
+                breakpoint = candidate;
+                break;
+            }
+        }
+        return (double) (breakpoint[1] - breakpoint[0]) / bytesPerSecond;
+    }
+}
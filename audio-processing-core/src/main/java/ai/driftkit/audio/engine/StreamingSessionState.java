@@ -0,0 +1,26 @@
+package ai.driftkit.audio.engine;
+
+/**
+ * Lifecycle state of a streaming transcription session.
+ */
+public enum StreamingSessionState {
+    /**
+     * Connection handshake or reconnection in progress; audio is buffered.
+     */
+    CONNECTING,
+
+    /**
+     * Connected; audio is sent as it arrives.
+     */
+    OPEN,
+
+    /**
+     * Closing; no more audio is accepted while the final results are delivered.
+     */
+    DRAINING,
+
+    /**
+     * Closed; the session will not deliver further results.
+     */
+    CLOSED
+}
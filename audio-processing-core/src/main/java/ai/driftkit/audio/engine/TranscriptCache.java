@@ -0,0 +1,380 @@
+package ai.driftkit.audio.engine;
+
+import ai.driftkit.audio.core.config.TranscriptCacheConfig;
+import ai.driftkit.audio.model.AudioSegmentBuffer;
+import ai.driftkit.audio.model.TranscriptionResult;
+import ai.driftkit.audio.model.WordInfo;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Content-addressed cache of batch transcription results in two tiers: an in-memory LRU
+ * bounded by bytes, and an optional memory-mapped file that survives restarts.
+ * Keyed by a SHA-256 digest of the PCM payload, its sample rate, the language and the model;
+ * a cryptographic digest keeps crafted audio from colliding with another caller's entry.
+ * Only the transcript, confidence, language and words are kept; engine metadata is not.
+ */
+@Slf4j
+public class TranscriptCache implements Closeable {
+
+    private static final String FILE_NAME = "transcripts.cache";
+    private static final int FORMAT_VERSION = 1;
+    private static final int DIGEST_BYTES = 16;
+
+    private final long memoryMaxBytes;
+    private final LinkedHashMap<Key, byte[]> memory = new LinkedHashMap<>(64, 0.75f, true);
+    private final Object lock = new Object();
+    private long memoryBytes = 0;
+    private final MappedTranscriptStore disk;
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public TranscriptCache(TranscriptCacheConfig config) {
+        this.memoryMaxBytes = config.getMemoryMaxBytes();
+        this.disk = config.getDirectory() != null ? openDisk(config) : null;
+    }
+
+    private static MappedTranscriptStore openDisk(TranscriptCacheConfig config) {
+        Path file = Path.of(config.getDirectory(), FILE_NAME);
+        try {
+            MappedTranscriptStore store = MappedTranscriptStore.open(file, config.getDiskMaxBytes());
+            if (store == null) {
+                log.warn("Transcript cache file {} is in use by another cache; caching in memory only", file);
+            }
+            return store;
+        } catch (IOException e) {
+            log.warn("Failed to open transcript cache file {}; caching in memory only", file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Build the cache key for a transcription of 16-bit PCM.
+     *
+     * @param languageCode requested language, or null for the engine default
+     * @param model        identifies the engine and the settings that change its output
+     */
+    public static Key key(byte[] pcmData, int sampleRate, String languageCode, String model) {
+        MessageDigest digest = sha256();
+        digest.update(pcmData);
+        return key(digest, sampleRate, languageCode, model);
+    }
+
+    /**
+     * Build the cache key for a buffered segment, digesting its chunks one by one
+     * without joining them into a single array.
+     */
+    public static Key key(AudioSegmentBuffer segment, int sampleRate, String languageCode, String model) {
+        MessageDigest digest = sha256();
+        try (DigestOutputStream out = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+            segment.writeTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return key(digest, sampleRate, languageCode, model);
+    }
+
+    private static Key key(MessageDigest digest, int sampleRate, String languageCode, String model) {
+        // SHA-256 truncated to 128 bits
+        byte[] hash = Arrays.copyOf(digest.digest(), DIGEST_BYTES);
+        return new Key(hash, sampleRate, languageCode != null ? languageCode : "", model);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Look up a result. Returns a new instance on every hit, or null on a miss.
+     */
+    public TranscriptionResult get(Key key) {
+        byte[] cached;
+        synchronized (lock) {
+            cached = memory.get(key);
+        }
+        if (cached != null) {
+            memoryHits.incrementAndGet();
+            return decode(cached);
+        }
+
+        if (disk != null) {
+            cached = disk.get(key.toBytes());
+            // Entries of an older format are misses and get replaced
+            if (cached != null && cached[0] == FORMAT_VERSION) {
+                diskHits.incrementAndGet();
+                putMemory(key, cached);
+                return decode(cached);
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Store a successful final result in both tiers.
+     */
+    public void put(Key key, TranscriptionResult result) {
+        if (result.isError() || result.isInterim()) {
+            return;
+        }
+        byte[] encoded = encode(result);
+        putMemory(key, encoded);
+        if (disk != null) {
+            disk.put(key.toBytes(), encoded);
+        }
+    }
+
+    private void putMemory(Key key, byte[] encoded) {
+        if (encoded.length > memoryMaxBytes) {
+            return;
+        }
+        synchronized (lock) {
+            byte[] previous = memory.put(key, encoded);
+            if (previous != null) {
+                memoryBytes -= previous.length;
+            }
+            memoryBytes += encoded.length;
+
+            Iterator<Map.Entry<Key, byte[]>> it = memory.entrySet().iterator();
+            while (memoryBytes > memoryMaxBytes && it.hasNext()) {
+                memoryBytes -= it.next().getValue().length;
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Get cache statistics.
+     */
+    public CacheStats getStats() {
+        int memoryEntries;
+        long memoryUsed;
+        synchronized (lock) {
+            memoryEntries = memory.size();
+            memoryUsed = memoryBytes;
+        }
+        return new CacheStats(memoryHits.get(), diskHits.get(), misses.get(), memoryEntries, memoryUsed,
+                disk != null ? disk.size() : 0, disk != null ? disk.bytes() : 0, disk != null ? disk.capacity() : 0);
+    }
+
+    /**
+     * Flush the on-disk tier and release its file.
+     */
+    @Override
+    public void close() {
+        if (disk != null) {
+            try {
+                disk.close();
+            } catch (IOException e) {
+                log.warn("Failed to close transcript cache file", e);
+            }
+        }
+    }
+
+    private static byte[] encode(TranscriptionResult result) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(FORMAT_VERSION);
+            writeString(out, result.getText());
+            out.writeDouble(result.getConfidence() != null ? result.getConfidence() : Double.NaN);
+            writeString(out, result.getLanguage());
+            writeString(out, result.getMergedTranscript());
+
+            List<WordInfo> words = result.getWords();
+            out.writeInt(words != null ? words.size() : -1);
+            if (words != null) {
+                for (WordInfo word : words) {
+                    writeString(out, word.getWord());
+                    writeString(out, word.getPunctuatedWord());
+                    out.writeDouble(word.getStart());
+                    out.writeDouble(word.getEnd());
+                    out.writeDouble(word.getConfidence());
+                    writeString(out, word.getLanguage());
+                }
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static TranscriptionResult decode(byte[] encoded) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(encoded));
+            in.readByte();
+            String text = readString(in);
+            double confidence = in.readDouble();
+            String language = readString(in);
+            String mergedTranscript = readString(in);
+
+            int wordCount = in.readInt();
+            List<WordInfo> words = null;
+            if (wordCount >= 0) {
+                words = new ArrayList<>(wordCount);
+                for (int i = 0; i < wordCount; i++) {
+                    words.add(WordInfo.builder()
+                            .word(readString(in))
+                            .punctuatedWord(readString(in))
+                            .start(in.readDouble())
+                            .end(in.readDouble())
+                            .confidence(in.readDouble())
+                            .language(readString(in))
+                            .build());
+                }
+            }
+
+            return TranscriptionResult.builder()
+                    .text(text)
+                    .confidence(Double.isNaN(confidence) ? null : confidence)
+                    .language(language)
+                    .mergedTranscript(mergedTranscript)
+                    .words(words)
+                    .timestamp(System.currentTimeMillis())
+                    .error(false)
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] utf8 = new byte[length];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Cache key: payload digest, sample rate, language and model.
+     */
+    public static final class Key {
+        private final byte[] digest;
+        private final int sampleRate;
+        private final String language;
+        private final String model;
+
+        Key(byte[] digest, int sampleRate, String language, String model) {
+            this.digest = digest;
+            this.sampleRate = sampleRate;
+            this.language = language;
+            this.model = model;
+        }
+
+        /**
+         * Serialized form used as the on-disk key.
+         */
+        byte[] toBytes() {
+            try {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+                DataOutputStream out = new DataOutputStream(bytes);
+                out.write(digest);
+                out.writeInt(sampleRate);
+                writeString(out, language);
+                writeString(out, model);
+                return bytes.toByteArray();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return sampleRate == key.sampleRate && Arrays.equals(digest, key.digest)
+                    && language.equals(key.language) && model.equals(key.model);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Arrays.hashCode(digest) + Arrays.hashCode(new Object[]{sampleRate, language, model});
+        }
+    }
+
+    /**
+     * Statistics of the transcript cache.
+     */
+    public static class CacheStats {
+        private final long memoryHits;
+        private final long diskHits;
+        private final long misses;
+        private final int memoryEntries;
+        private final long memoryBytes;
+        private final int diskEntries;
+        private final long diskBytes;
+        private final long diskMaxBytes;
+
+        public CacheStats(long memoryHits, long diskHits, long misses, int memoryEntries, long memoryBytes,
+                          int diskEntries, long diskBytes, long diskMaxBytes) {
+            this.memoryHits = memoryHits;
+            this.diskHits = diskHits;
+            this.misses = misses;
+            this.memoryEntries = memoryEntries;
+            this.memoryBytes = memoryBytes;
+            this.diskEntries = diskEntries;
+            this.diskBytes = diskBytes;
+            this.diskMaxBytes = diskMaxBytes;
+        }
+
+        public long getMemoryHits() { return memoryHits; }
+        public long getDiskHits() { return diskHits; }
+        public long getMisses() { return misses; }
+        public int getMemoryEntries() { return memoryEntries; }
+        public long getMemoryBytes() { return memoryBytes; }
+        public int getDiskEntries() { return diskEntries; }
+        public long getDiskBytes() { return diskBytes; }
+        public long getDiskMaxBytes() { return diskMaxBytes; }
+
+        public double getHitRatio() {
+            long total = memoryHits + diskHits + misses;
+            return total == 0 ? 0.0 : (double) (memoryHits + diskHits) / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("TranscriptCache{memoryHits=%d, diskHits=%d, misses=%d, memory=%d entries/%d bytes, disk=%d entries/%d/%d bytes}",
+                memoryHits, diskHits, misses, memoryEntries, memoryBytes, diskEntries, diskBytes, diskMaxBytes);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package ai.driftkit.audio.engine;
 
+import ai.driftkit.audio.model.AudioSegmentBuffer;
 import ai.driftkit.audio.model.TranscriptionResult;
 
 import java.util.concurrent.CompletableFuture;
@@ -29,6 +30,14 @@ public interface TranscriptionEngine {
      */
     boolean supportsStreamingMode();
     
+    /**
+     * Check if this engine can upload batch audio while it is still being captured.
+     * @return true if {@link #openBatchUpload(int, String)} is supported
+     */
+    default boolean supportsPipelinedUpload() {
+        return false;
+    }
+    
     /**
      * Initialize the engine with configuration.
      * Called once when the engine is created.
@@ -54,6 +63,35 @@ public interface TranscriptionEngine {
             int sampleRate, 
             String languageCode);
     
+    /**
+     * Transcribe a buffered speech segment in batch mode.
+     * Engines that can stream the request body override this to avoid flattening the segment.
+     * 
+     * @param segment Buffered raw audio of the segment
+     * @param sampleRate Sample rate of the audio
+     * @param languageCode Language code for transcription
+     * @return CompletableFuture with transcription result
+     * @throws UnsupportedOperationException if batch mode is not supported
+     */
+    default CompletableFuture<TranscriptionResult> transcribeBatch(
+            AudioSegmentBuffer segment,
+            int sampleRate,
+            String languageCode) {
+        return transcribeBatch(segment.toByteArray(), sampleRate, languageCode);
+    }
+    
+    /**
+     * Open a batch request at speech onset and upload raw audio as it arrives.
+     * 
+     * @param sampleRate Sample rate of the audio
+     * @param languageCode Language code for transcription
+     * @return Upload to write the segment audio into
+     * @throws UnsupportedOperationException if pipelined upload is not supported
+     */
+    default BatchUpload openBatchUpload(int sampleRate, String languageCode) {
+        throw new UnsupportedOperationException(getName() + " does not support pipelined batch upload");
+    }
+    
     /**
      * Start a streaming transcription session.
      * 
@@ -61,9 +99,11 @@ public interface TranscriptionEngine {
      * @param sampleRate Sample rate of the audio stream
      * @param languageCode Language code for transcription
      * @param resultCallback Callback for transcription results
+     * @return future completed when the session is connected; audio may be sent before that
+     *         and is buffered by engines that support it
      * @throws UnsupportedOperationException if streaming mode is not supported
      */
-    void startStreamingSession(
+    CompletableFuture<Void> startStreamingSession(
             String sessionId,
             int sampleRate,
             String languageCode,
@@ -79,6 +119,28 @@ public interface TranscriptionEngine {
      */
     void sendStreamingAudio(String sessionId, byte[] audioData);
     
+    /**
+     * Tell a streaming session that audio was withheld, e.g. silence gated out locally.
+     * The session timeline advances by the withheld duration so later word times stay aligned
+     * with the caller's audio. By default the gap is sent as silence.
+     * 
+     * @param sessionId Session identifier
+     * @param byteCount Length of the withheld audio in bytes
+     * @throws IllegalStateException if session doesn't exist
+     */
+    default void skipStreamingAudio(String sessionId, int byteCount) {
+        sendStreamingAudio(sessionId, new byte[byteCount]);
+    }
+    
+    /**
+     * Ask a streaming session to finalize the current utterance now, e.g. when local VAD
+     * detects end of speech. Engines without such a control ignore it.
+     * 
+     * @param sessionId Session identifier
+     */
+    default void finalizeStreaming(String sessionId) {
+    }
+    
     /**
      * Stop a streaming transcription session.
      * 
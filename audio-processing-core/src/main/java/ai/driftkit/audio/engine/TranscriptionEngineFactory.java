@@ -1,13 +1,23 @@
 package ai.driftkit.audio.engine;
 
 import ai.driftkit.audio.core.config.CoreAudioConfig;
+import ai.driftkit.audio.core.config.CoreDeepgramConfig;
+import ai.driftkit.audio.core.config.EnginePoolConfig;
 import ai.driftkit.audio.core.config.EngineType;
+import ai.driftkit.audio.core.config.HedgeConfig;
 import ai.driftkit.audio.engine.impl.AssemblyAIEngine;
 import ai.driftkit.audio.engine.impl.DeepgramEngine;
+import ai.driftkit.audio.engine.impl.MockTranscriptionEngine;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Factory for creating transcription engine instances based on configuration.
@@ -15,6 +25,10 @@ import java.util.Map;
 @Slf4j
 public class TranscriptionEngineFactory {
     
+    // Deep-copies configurations; derived read-only properties are skipped
+    private static final ObjectMapper CONFIG_COPIER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    
     private final CoreAudioConfig config;
     
     public TranscriptionEngineFactory(CoreAudioConfig config) {
@@ -30,16 +44,28 @@ public class TranscriptionEngineFactory {
     public TranscriptionEngine createEngine() {
         EngineType engineType = config.getEngine();
         
-        TranscriptionEngine engine;
-        switch (engineType) {
-            case ASSEMBLYAI:
-                engine = new AssemblyAIEngine(config);
-                break;
-            case DEEPGRAM:
-                engine = new DeepgramEngine(config);
-                break;
-            default:
-                throw new IllegalArgumentException("Unsupported transcription engine: " + engineType);
+        TranscriptionEngine engine = config.getPool().isEnabled()
+                ? newPool(config.getPool())
+                : newEngine(engineType, config);
+        
+        HedgeConfig hedge = config.getHedge();
+        if (hedge.isEnabled()) {
+            if (hedge.getSecondary() == null || hedge.getSecondary() == engineType) {
+                throw new IllegalStateException(
+                    String.format("Hedging needs a secondary engine other than '%s'", engineType.getValue()));
+            }
+            engine = new HedgedTranscriptionEngine(engine, newEngine(hedge.getSecondary(), config), hedge);
+        }
+        
+        if (config.getTranscriptCache().isEnabled()) {
+            // The cache cannot tell which engine answered, so its key must describe the only one that can
+            Set<EngineType> engineTypes = batchEngineTypes();
+            if (engineTypes.size() == 1) {
+                engine = new CachingTranscriptionEngine(engine,
+                        new TranscriptCache(config.getTranscriptCache()), cacheModel(engineTypes.iterator().next()));
+            } else {
+                log.warn("Transcript cache disabled: batch results may come from any of {}", engineTypes);
+            }
         }
         
         // Validate processing mode compatibility
@@ -66,6 +92,87 @@ public class TranscriptionEngineFactory {
         return engine;
     }
     
+    /**
+     * Create an uninitialized engine of the given type.
+     * 
+     * @throws IllegalArgumentException if engine type is not supported
+     */
+    protected TranscriptionEngine newEngine(EngineType engineType, CoreAudioConfig engineConfig) {
+        switch (engineType) {
+            case ASSEMBLYAI:
+                return new AssemblyAIEngine(engineConfig);
+            case DEEPGRAM:
+                return new DeepgramEngine(engineConfig);
+            case MOCK:
+                return new MockTranscriptionEngine(engineConfig);
+            default:
+                throw new IllegalArgumentException("Unsupported transcription engine: " + engineType);
+        }
+    }
+    
+    /**
+     * Get the engine types that may answer a batch request: the pool members or the configured engine,
+     * and the hedge secondary.
+     */
+    private Set<EngineType> batchEngineTypes() {
+        Set<EngineType> engineTypes = EnumSet.noneOf(EngineType.class);
+        if (config.getPool().isEnabled()) {
+            config.getPool().getMembers().forEach(member -> engineTypes.add(member.getEngine()));
+        } else {
+            engineTypes.add(config.getEngine());
+        }
+        if (config.getHedge().isEnabled()) {
+            engineTypes.add(config.getHedge().getSecondary());
+        }
+        return engineTypes;
+    }
+    
+    /**
+     * Describe the engine and the settings that change its transcripts, for transcript cache keys.
+     * Results cached under one description are not served after these settings change.
+     */
+    protected String cacheModel(EngineType engineType) {
+        switch (engineType) {
+            case ASSEMBLYAI:
+                return "assemblyai:" + config.getAssemblyai().getLanguageCode().getValue();
+            case DEEPGRAM:
+                CoreDeepgramConfig deepgram = config.getDeepgram();
+                return String.format("deepgram:%s:%s:punctuate=%b:smart=%b:diarize=%b:profanity=%b:redact=%b",
+                        deepgram.getModel(), deepgram.getLanguage().getValue(), deepgram.isPunctuate(),
+                        deepgram.isSmartFormat(), deepgram.isDiarize(), deepgram.isProfanityFilter(),
+                        deepgram.isRedact());
+            case MOCK:
+                return "mock:" + config.getMock().getTranscript();
+            default:
+                return engineType.getValue();
+        }
+    }
+    
+    /**
+     * Create an uninitialized pool with one engine per member, each configured like the
+     * main configuration but with the member's API key.
+     */
+    protected TranscriptionEngine newPool(EnginePoolConfig pool) {
+        if (pool.getMembers().isEmpty()) {
+            throw new IllegalStateException("Engine pool is enabled but has no members");
+        }
+        
+        List<TranscriptionEngine> engines = new ArrayList<>();
+        for (EnginePoolConfig.Member member : pool.getMembers()) {
+            if (member.getEngine() == null) {
+                throw new IllegalStateException("Engine pool member has no engine type");
+            }
+            CoreAudioConfig memberConfig = CONFIG_COPIER.convertValue(config, CoreAudioConfig.class);
+            switch (member.getEngine()) {
+                case ASSEMBLYAI -> memberConfig.getAssemblyai().setApiKey(member.getApiKey());
+                case DEEPGRAM -> memberConfig.getDeepgram().setApiKey(member.getApiKey());
+                case MOCK -> { }
+            }
+            engines.add(newEngine(member.getEngine(), memberConfig));
+        }
+        return new PooledTranscriptionEngine(engines, pool);
+    }
+    
     /**
      * Get the supported engines and their capabilities.
      * 
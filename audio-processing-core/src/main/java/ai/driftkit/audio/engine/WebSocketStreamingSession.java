@@ -0,0 +1,761 @@
+package ai.driftkit.audio.engine;
+
+import ai.driftkit.audio.core.config.StreamingSettings;
+import ai.driftkit.audio.model.AudioReplayBuffer;
+import ai.driftkit.audio.model.SegmentResult;
+import ai.driftkit.audio.model.TranscriptionResult;
+import ai.driftkit.audio.model.WordBuffer;
+import ai.driftkit.audio.model.WordInfo;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Response;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+import okio.ByteString;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Streaming session over a WebSocket that takes raw 16-bit PCM in binary frames and answers with JSON text messages.
+ * Audio sent while the socket is not open (handshake or reconnection) is buffered and replayed once it opens;
+ * small chunks are coalesced into frames, backpressure is applied on the socket queue, and closing drains the
+ * server's final results before the socket closes. Engines supply the connection and the wire protocol.
+ */
+@Slf4j
+public abstract class WebSocketStreamingSession implements AbstractTranscriptionEngine.StreamingSession {
+
+    private static final long REPLAY_TICK_MS = 50;
+    private static final long BACKPRESSURE_POLL_MS = 10;
+
+    private final AbstractTranscriptionEngine engine;
+    protected final String sessionId;
+    protected final int sampleRate;
+    private final Consumer<TranscriptionResult> resultCallback;
+    private final StreamingSettings settings;
+    private final ReconnectCoordinator reconnects;
+    private final ScheduledExecutorService scheduler;
+
+    private WebSocket webSocket;
+    private volatile StreamingSessionState state = StreamingSessionState.CONNECTING;
+    private final CompletableFuture<Void> ready = new CompletableFuture<>();
+    private final WordBuffer wordBuffer = new WordBuffer();
+    private final MessageJournal journal;
+    private final AtomicInteger reconnectAttempts = new AtomicInteger(0);
+    // Coordinated reconnection attempt whose outcome is not reported yet
+    private volatile ReconnectCoordinator.Attempt pendingAttempt;
+
+    // Audio captured while the socket is not open; null when buffering is disabled
+    private final AudioReplayBuffer replayBuffer;
+    private final int bytesPerSecond;
+    // Guards the socket, state transitions and the order of audio on the wire
+    private final Object sendLock = new Object();
+    // Guarded by sendLock: total audio accepted by the session, and whether live audio must queue behind a replay
+    private long streamBytes = 0;
+    private boolean replaying = false;
+    // Maps word times of the current socket onto the session timeline
+    private final SocketTimeline timeline;
+    // Guarded by sendLock: audio sent on the current socket, and whether a gap precedes the next send
+    private long socketBytes = 0;
+    private boolean gapPending = false;
+    private long lastSendNanos = System.nanoTime();
+
+    // Guarded by sendLock: frame being coalesced from small input chunks
+    private final int frameSize;
+    private final int maxFrameSize;
+    private final long frameNanos;
+    private byte[] frame;
+    private int frameFill = 0;
+    private long frameStartedNanos;
+    private boolean frameFlushScheduled = false;
+    private boolean congested = false;
+    private long droppedFrames = 0;
+    // When a finalize request was sent and its results are still expected; 0 if none
+    private volatile long finalizeSentNanos = 0;
+
+    protected WebSocketStreamingSession(AbstractTranscriptionEngine engine, String sessionId, int sampleRate,
+                                        Consumer<TranscriptionResult> resultCallback, StreamingSettings settings,
+                                        ReconnectCoordinator reconnects, ScheduledExecutorService scheduler) {
+        this.engine = engine;
+        this.sessionId = sessionId;
+        this.sampleRate = sampleRate;
+        this.resultCallback = resultCallback;
+        this.settings = settings;
+        this.reconnects = reconnects;
+        this.scheduler = scheduler;
+        this.journal = MessageJournal.create(settings.getJournal(),
+                engine.getName().toLowerCase() + "-" + sessionId + ".jsonl");
+        this.bytesPerSecond = sampleRate * 2;
+        this.timeline = new SocketTimeline(bytesPerSecond);
+
+        long bufferMs = settings.getReconnectBufferMs();
+        this.replayBuffer = bufferMs > 0 ? new AudioReplayBuffer(bufferMs * bytesPerSecond / 1000) : null;
+
+        // Frames of the recommended duration, capped at the maximum chunk and kept sample-aligned
+        EngineConfiguration engineConfig = engine.getConfiguration();
+        int recommended = engineConfig.getRecommendedBufferSizeMs() * bytesPerSecond / 1000;
+        this.maxFrameSize = engineConfig.getMaxStreamingChunkSize();
+        this.frameSize = Math.max(2, Math.min(recommended, maxFrameSize) & ~1);
+        this.frameNanos = TimeUnit.MILLISECONDS.toNanos(frameSize * 1000L / bytesPerSecond);
+    }
+
+    /**
+     * Open a new socket delivering its events to the listener.
+     */
+    protected abstract WebSocket openSocket(WebSocketListener listener);
+
+    /**
+     * Take an already open socket, if the engine keeps any, and attach the listener to it.
+     *
+     * @return the socket, or null to open a new one
+     */
+    protected WebSocket takeWarmSocket(WebSocketListener listener) {
+        return null;
+    }
+
+    /**
+     * Handle a text message from the server. Called on the socket's reader thread, one message at a time.
+     */
+    protected abstract void onTextMessage(String text) throws Exception;
+
+    /**
+     * Message asking the server to flush its final results and close the stream.
+     */
+    protected abstract String closeStreamMessage();
+
+    /**
+     * Message keeping an idle connection open, or null if the protocol has none;
+     * skipped audio is then sent as silence.
+     */
+    protected String keepAliveMessage() {
+        return null;
+    }
+
+    /**
+     * Message asking the server to end the current utterance now, or null if the protocol has none.
+     */
+    protected String finalizeMessage() {
+        return null;
+    }
+
+    /**
+     * Open the first connection. Called once, after construction.
+     */
+    public void start() {
+        connect();
+    }
+
+    /**
+     * Get the journal of raw messages received by this session, or null if journaling is disabled.
+     */
+    public MessageJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Merge words of a server result into the current segment and deliver the result if the segment has text.
+     * Word times are seconds on the current socket and are moved onto the session timeline.
+     */
+    protected void emit(String transcript, List<WordInfo> words, boolean isFinal, String language,
+                        Supplier<Map<String, Object>> metadata) {
+        for (WordInfo word : words) {
+            double offset = timeline.offsetAt(word.getStart());
+            if (offset != 0) {
+                word.setStart(word.getStart() + offset);
+                word.setEnd(word.getEnd() + offset);
+            }
+        }
+
+        SegmentResult segmentResult = wordBuffer.updateWords(words, isFinal);
+
+        // Create and send result only if we have new content
+        if (StringUtils.isNotBlank(segmentResult.getText())) {
+            resultCallback.accept(TranscriptionResult.builder()
+                    .text(transcript) // Original transcript from this response
+                    .mergedTranscript(segmentResult.getText()) // Current segment only (since last final)
+                    .words(segmentResult.getWords()) // Words for current segment only
+                    .confidence(segmentResult.getConfidence())
+                    .language(language)
+                    .timestamp(System.currentTimeMillis())
+                    .interim(!isFinal)
+                    .error(false)
+                    .metadata(engine.resultMetadata(metadata))
+                    .build());
+        }
+    }
+
+    /**
+     * Record that the server answered the last finalize request.
+     */
+    protected void finalizeAnswered() {
+        long sent = finalizeSentNanos;
+        finalizeSentNanos = 0;
+        if (sent != 0) {
+            log.debug("Finalize of session {} answered in {}ms", sessionId,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sent));
+        }
+    }
+
+    private void connect() {
+        try {
+            WebSocket warmSocket;
+            synchronized (sendLock) {
+                if (state != StreamingSessionState.CONNECTING) {
+                    return;
+                }
+                replaying = false;
+                WebSocketListener listener = new SessionListener();
+
+                // A warm socket is already open; taking it under the lock keeps its events behind this assignment
+                warmSocket = takeWarmSocket(listener);
+                webSocket = warmSocket != null ? warmSocket : openSocket(listener);
+            }
+
+            if (warmSocket != null) {
+                log.debug("{} streaming session {} using a warm connection", engine.getName(), sessionId);
+                onConnectionSuccess(warmSocket);
+            } else {
+                log.debug("{} streaming session {} connecting", engine.getName(), sessionId);
+            }
+
+        } catch (Exception e) {
+            log.error("Failed to start {} streaming session", engine.getName(), e);
+            reportAttempt(false);
+            scheduleReconnect();
+        }
+    }
+
+    private void reportAttempt(boolean success) {
+        ReconnectCoordinator.Attempt attempt = pendingAttempt;
+        pendingAttempt = null;
+        if (attempt != null) {
+            if (success) {
+                attempt.succeeded();
+            } else {
+                attempt.failed();
+            }
+        } else if (success) {
+            reconnects.recordSuccess();
+        }
+    }
+
+    private void scheduleReconnect() {
+        int attempts = reconnectAttempts.incrementAndGet();
+        int maxAttempts = settings.getReconnect().getMaxAttempts();
+
+        if (attempts > maxAttempts) {
+            log.error("Max reconnection attempts ({}) reached for session {}", maxAttempts, sessionId);
+            finish();
+            ready.completeExceptionally(new IllegalStateException(
+                "Streaming session " + sessionId + " could not connect"));
+
+            resultCallback.accept(TranscriptionResult.builder()
+                    .error(true)
+                    .errorMessage("Max reconnection attempts reached")
+                    .timestamp(System.currentTimeMillis())
+                    .build());
+            return;
+        }
+
+        log.info("Scheduling reconnection attempt {} for session {}", attempts, sessionId);
+
+        reconnects.schedule(attempts, attempt -> {
+            if (state != StreamingSessionState.CONNECTING) {
+                attempt.abandon();
+                return;
+            }
+            log.info("Attempting to reconnect session {} (attempt {})", sessionId, attempts);
+            pendingAttempt = attempt;
+            connect();
+        });
+    }
+
+    private void onConnectionSuccess(WebSocket socket) {
+        synchronized (sendLock) {
+            if (socket != webSocket || state != StreamingSessionState.CONNECTING) {
+                socket.cancel();
+                return;
+            }
+            state = StreamingSessionState.OPEN;
+            reconnectAttempts.set(0);
+            reportAttempt(true);
+
+            long buffered = replayBuffer != null ? replayBuffer.size() : 0;
+            timeline.reset(streamBytes - buffered);
+            socketBytes = 0;
+            gapPending = false;
+            replaying = buffered > 0;
+            if (replaying) {
+                log.info("Session {} open, replaying {}ms of buffered audio",
+                    sessionId, buffered * 1000 / bytesPerSecond);
+            } else {
+                log.info("{} streaming session {} open", engine.getName(), sessionId);
+            }
+        }
+
+        ready.complete(null);
+        if (replaying) {
+            scheduler.execute(() -> replayTick(socket));
+        }
+    }
+
+    /**
+     * Send the next slice of buffered audio, paced faster than real time, and reschedule until drained.
+     */
+    private void replayTick(WebSocket socket) {
+        long budget = (long) (bytesPerSecond * settings.getReplaySpeed() * REPLAY_TICK_MS / 1000);
+
+        synchronized (sendLock) {
+            if (socket != webSocket || state != StreamingSessionState.OPEN || !replaying) {
+                // Superseded or closed; what is left stays buffered for the next connection
+                return;
+            }
+            if (socket.queueSize() > settings.getMaxQueuedBytes()) {
+                // Uplink is behind; skip this tick rather than growing the socket queue
+                budget = 0;
+            }
+            if (!sendBuffered(socket, budget)) {
+                return;
+            }
+            if (replayBuffer.isEmpty()) {
+                replaying = false;
+                log.debug("Replay finished for session {}", sessionId);
+                return;
+            }
+        }
+        scheduler.schedule(() -> replayTick(socket), REPLAY_TICK_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Send up to {@code budget} bytes of buffered audio. Must hold sendLock.
+     *
+     * @return false if the socket refused a chunk
+     */
+    private boolean sendBuffered(WebSocket socket, long budget) {
+        long sent = 0;
+        byte[] chunk;
+        while (sent < budget && (chunk = replayBuffer.peek()) != null) {
+            if (!socket.send(ByteString.of(chunk))) {
+                return false;
+            }
+            replayBuffer.poll();
+            sent += chunk.length;
+            socketBytes += chunk.length;
+            lastSendNanos = System.nanoTime();
+        }
+        return true;
+    }
+
+    private void bufferAudio(byte[] audioData) {
+        if (replayBuffer == null) {
+            return;
+        }
+        long dropped = replayBuffer.offer(audioData);
+        if (dropped > 0) {
+            if (replaying) {
+                // A stalled replay skips the dropped audio; the next buffered byte sent lies further into the session
+                timeline.mark(socketBytes, streamBytes - replayBuffer.size());
+            }
+            log.debug("Audio buffer of session {} full, dropped {} bytes", sessionId, dropped);
+        }
+    }
+
+    /**
+     * Handle loss of a socket: reconnect unless the session is closing.
+     */
+    private void onConnectionLost(WebSocket socket, String reason) {
+        synchronized (sendLock) {
+            if (socket != webSocket) {
+                return;
+            }
+            if (state == StreamingSessionState.DRAINING) {
+                finish();
+                return;
+            }
+            if (state == StreamingSessionState.CLOSED) {
+                return;
+            }
+            if (state == StreamingSessionState.CONNECTING) {
+                // The socket of a connection attempt failed before opening
+                reportAttempt(false);
+            }
+            state = StreamingSessionState.CONNECTING;
+            replaying = false;
+        }
+        log.warn("{} connection lost for session {}: {}", engine.getName(), sessionId, reason);
+        scheduleReconnect();
+    }
+
+    @Override
+    public void sendAudio(byte[] audioData) {
+        synchronized (sendLock) {
+            if (state == StreamingSessionState.DRAINING || state == StreamingSessionState.CLOSED) {
+                log.trace("Ignoring audio for {} session {}", state, sessionId);
+                return;
+            }
+            if (!settings.isCoalesceFrames()) {
+                routeFrame(audioData);
+                return;
+            }
+
+            // Chunks that already make a good frame go out as they are
+            if (frameFill == 0 && audioData.length >= frameSize
+                    && audioData.length <= maxFrameSize) {
+                routeFrame(audioData);
+                return;
+            }
+
+            int offset = 0;
+            while (offset < audioData.length) {
+                if (frame == null) {
+                    frame = new byte[frameSize];
+                    frameStartedNanos = System.nanoTime();
+                    frameFlushScheduled = false;
+                }
+                int n = Math.min(frameSize - frameFill, audioData.length - offset);
+                System.arraycopy(audioData, offset, frame, frameFill, n);
+                frameFill += n;
+                offset += n;
+                if (frameFill == frameSize) {
+                    flushFrame();
+                }
+            }
+
+            // Don't hold a partial frame longer than a frame's duration, even if no more audio arrives
+            if (frameFill > 0) {
+                long ageNanos = System.nanoTime() - frameStartedNanos;
+                if (ageNanos >= frameNanos) {
+                    flushFrame();
+                } else if (!frameFlushScheduled) {
+                    scheduleFrameFlush(frameNanos - ageNanos);
+                }
+            }
+        }
+    }
+
+    /**
+     * Flush the current partial frame once it is due, unless it was sent by then. Must hold sendLock.
+     */
+    private void scheduleFrameFlush(long delayNanos) {
+        byte[] pending = frame;
+        frameFlushScheduled = true;
+        try {
+            scheduler.schedule(() -> {
+                synchronized (sendLock) {
+                    if (frame == pending && state != StreamingSessionState.DRAINING
+                            && state != StreamingSessionState.CLOSED) {
+                        flushFrame();
+                    }
+                }
+            }, delayNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            // Scheduler is shut down; the next chunk or close flushes the frame
+            frameFlushScheduled = false;
+        }
+    }
+
+    /**
+     * Route the partially filled frame, if any. Must hold sendLock.
+     */
+    private void flushFrame() {
+        if (frameFill == 0) {
+            return;
+        }
+        byte[] out = frameFill == frame.length ? frame : Arrays.copyOf(frame, frameFill);
+        frame = null;
+        frameFill = 0;
+        routeFrame(out);
+    }
+
+    /**
+     * Buffer or send one frame depending on the connection state. Must hold sendLock.
+     */
+    private void routeFrame(byte[] audioData) {
+        switch (state) {
+            case CONNECTING -> {
+                streamBytes += audioData.length;
+                bufferAudio(audioData);
+            }
+            case OPEN -> {
+                if (replaying) {
+                    // Queue behind the replay
+                    streamBytes += audioData.length;
+                    bufferAudio(audioData);
+                } else {
+                    sendLive(audioData);
+                }
+            }
+            default -> log.trace("Ignoring audio for {} session {}", state, sessionId);
+        }
+    }
+
+    /**
+     * Send a frame on the open socket, applying the backpressure policy when its queue is full.
+     * Must hold sendLock.
+     */
+    private void sendLive(byte[] audioData) {
+        long limit = settings.getMaxQueuedBytes();
+
+        if (webSocket.queueSize() + audioData.length > limit) {
+            switch (settings.getBackpressurePolicy()) {
+                case BLOCK -> {
+                    if (!awaitQueue(limit - audioData.length, settings.getBackpressureTimeoutMs())) {
+                        dropFrame(audioData);
+                        return;
+                    }
+                    if (state != StreamingSessionState.OPEN || replaying) {
+                        // The connection changed while waiting
+                        routeFrame(audioData);
+                        return;
+                    }
+                }
+                case DROP -> {
+                    dropFrame(audioData);
+                    return;
+                }
+                case SIGNAL -> signalCongestion();
+            }
+        } else if (congested && webSocket.queueSize() < limit / 2) {
+            congested = false;
+            log.info("{} uplink of session {} recovered", engine.getName(), sessionId);
+        }
+
+        if (gapPending) {
+            timeline.mark(socketBytes, streamBytes);
+            gapPending = false;
+        }
+        streamBytes += audioData.length;
+        if (webSocket.send(ByteString.of(audioData))) {
+            socketBytes += audioData.length;
+            lastSendNanos = System.nanoTime();
+        } else {
+            // Socket is closing; keep the frame for the reconnection
+            bufferAudio(audioData);
+        }
+    }
+
+    /**
+     * Advance the session timeline over audio that is not sent, keeping the connection alive meanwhile.
+     * While the socket is not open, or a replay is in progress, the gap is buffered as silence instead
+     * so the buffered audio stays contiguous. Protocols without a keep-alive message get the silence too.
+     */
+    @Override
+    public void skipAudio(int byteCount) {
+        if (byteCount <= 0) {
+            return;
+        }
+        synchronized (sendLock) {
+            if (state == StreamingSessionState.DRAINING || state == StreamingSessionState.CLOSED) {
+                return;
+            }
+            flushFrame();
+
+            String keepAlive = keepAliveMessage();
+            if (state != StreamingSessionState.OPEN || replaying || keepAlive == null) {
+                routeFrame(new byte[byteCount]);
+                return;
+            }
+
+            streamBytes += byteCount;
+            gapPending = true;
+
+            long now = System.nanoTime();
+            if (now - lastSendNanos >= TimeUnit.MILLISECONDS.toNanos(settings.getKeepAliveIntervalMs())) {
+                webSocket.send(keepAlive);
+                lastSendNanos = now;
+            }
+        }
+    }
+
+    /**
+     * Wait, releasing sendLock, until the socket queue is at most {@code target} bytes.
+     *
+     * @return false on timeout
+     */
+    private boolean awaitQueue(long target, long timeoutMs) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        while (state == StreamingSessionState.OPEN && webSocket.queueSize() > target) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            try {
+                sendLock.wait(BACKPRESSURE_POLL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Drop a frame, leaving a gap in the audio the server receives.
+     */
+    private void dropFrame(byte[] audioData) {
+        streamBytes += audioData.length;
+        gapPending = true;
+        droppedFrames++;
+        if (!congested) {
+            congested = true;
+            log.warn("{} uplink of session {} congested ({} bytes queued), dropping audio",
+                engine.getName(), sessionId, webSocket.queueSize());
+        }
+        log.debug("Dropped {} bytes of audio for session {} ({} frames so far)",
+            audioData.length, sessionId, droppedFrames);
+    }
+
+    private void signalCongestion() {
+        if (congested) {
+            return;
+        }
+        congested = true;
+        long queued = webSocket.queueSize();
+        log.warn("{} uplink of session {} congested ({} bytes queued)", engine.getName(), sessionId, queued);
+        resultCallback.accept(TranscriptionResult.builder()
+                .error(true)
+                .errorMessage("Streaming uplink congested: " + queued + " bytes queued")
+                .timestamp(System.currentTimeMillis())
+                .build());
+    }
+
+    /**
+     * Ask the server to flush the current utterance as a final result right away.
+     * Ignored while the socket is not open, buffered audio is still being replayed,
+     * or the protocol has no finalize message.
+     */
+    @Override
+    public void finalizeUtterance() {
+        String message = finalizeMessage();
+        if (message == null) {
+            return;
+        }
+        synchronized (sendLock) {
+            if (state != StreamingSessionState.OPEN || replaying) {
+                return;
+            }
+            // The pending partial frame belongs to the utterance being finalized
+            flushFrame();
+            if (webSocket.send(message)) {
+                finalizeSentNanos = System.nanoTime();
+                lastSendNanos = finalizeSentNanos;
+            }
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> ready() {
+        return ready;
+    }
+
+    @Override
+    public StreamingSessionState getState() {
+        return state;
+    }
+
+    /**
+     * Stop accepting audio and let the server flush final results. Buffered audio is sent first,
+     * then the close-stream message; the socket is closed by the server or after the drain timeout.
+     */
+    @Override
+    public void close() {
+        WebSocket socket;
+        synchronized (sendLock) {
+            socket = webSocket;
+            if (state == StreamingSessionState.OPEN) {
+                flushFrame();
+            }
+            if (state != StreamingSessionState.OPEN) {
+                if (state == StreamingSessionState.CONNECTING && socket != null) {
+                    socket.cancel();
+                }
+                finish();
+                return;
+            }
+
+            state = StreamingSessionState.DRAINING;
+            if (replayBuffer != null) {
+                sendBuffered(socket, Long.MAX_VALUE);
+            }
+            socket.send(closeStreamMessage());
+        }
+
+        log.debug("{} streaming session {} draining", engine.getName(), sessionId);
+        scheduler.schedule(() -> {
+            if (state == StreamingSessionState.DRAINING) {
+                log.debug("Drain timeout for session {}, closing socket", sessionId);
+                socket.close(1000, "Session closed");
+                finish();
+            }
+        }, settings.getDrainTimeoutMs(), TimeUnit.MILLISECONDS);
+    }
+
+    private void finish() {
+        synchronized (sendLock) {
+            if (state == StreamingSessionState.CLOSED) {
+                return;
+            }
+            state = StreamingSessionState.CLOSED;
+            replaying = false;
+            if (replayBuffer != null) {
+                replayBuffer.clear();
+            }
+        }
+        ReconnectCoordinator.Attempt attempt = pendingAttempt;
+        pendingAttempt = null;
+        if (attempt != null) {
+            attempt.abandon();
+        }
+        ready.completeExceptionally(new IllegalStateException(
+            "Streaming session " + sessionId + " closed before it opened"));
+        if (journal != null) {
+            journal.close();
+        }
+        log.debug("{} streaming session {} closed", engine.getName(), sessionId);
+    }
+
+    @Override
+    public boolean isActive() {
+        return state != StreamingSessionState.CLOSED;
+    }
+
+    private class SessionListener extends WebSocketListener {
+
+        @Override
+        public void onOpen(WebSocket webSocket, Response response) {
+            log.debug("{} WebSocket opened for session {}", engine.getName(), sessionId);
+            onConnectionSuccess(webSocket);
+        }
+
+        @Override
+        public void onMessage(WebSocket webSocket, String text) {
+            if (journal != null) {
+                journal.append(text);
+            }
+
+            try {
+                onTextMessage(text);
+            } catch (Exception e) {
+                log.error("Error processing {} message", engine.getName(), e);
+            }
+        }
+
+        @Override
+        public void onClosing(WebSocket webSocket, int code, String reason) {
+            webSocket.close(1000, null);
+            onConnectionLost(webSocket, "closed with code " + code + (reason != null ? ": " + reason : ""));
+        }
+
+        @Override
+        public void onFailure(WebSocket webSocket, Throwable t, Response response) {
+            onConnectionLost(webSocket, t.getMessage());
+        }
+    }
+}
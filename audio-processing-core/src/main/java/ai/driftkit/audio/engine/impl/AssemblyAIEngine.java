@@ -3,29 +3,66 @@ package ai.driftkit.audio.engine.impl;
 import com.assemblyai.api.AssemblyAI;
 import com.assemblyai.api.resources.files.types.UploadedFile;
 import com.assemblyai.api.resources.transcripts.types.*;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import ai.driftkit.audio.core.config.CoreAudioConfig;
 import ai.driftkit.audio.engine.AbstractTranscriptionEngine;
 import ai.driftkit.audio.engine.EngineConfiguration;
+import ai.driftkit.audio.engine.HttpTransport;
+import ai.driftkit.audio.engine.MessageJournal;
+import ai.driftkit.audio.engine.ReconnectCoordinator;
+import ai.driftkit.audio.engine.WebSocketStreamingSession;
+import ai.driftkit.audio.model.LazyMetadata;
 import ai.driftkit.audio.model.TranscriptionResult;
+import ai.driftkit.audio.model.WordInfo;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Consumer;
 
 /**
  * AssemblyAI transcription engine implementation.
- * Supports batch transcription mode only.
+ * Supports batch transcription and real-time streaming over the Universal Streaming WebSocket API.
  */
 @Slf4j
 public class AssemblyAIEngine extends AbstractTranscriptionEngine {
     
     private static final String ENGINE_NAME = "AssemblyAI";
+    // Languages of the Universal Streaming models: English, or the multilingual model
+    private static final String STREAMING_ENGLISH = "en";
+    private static final Set<String> STREAMING_MULTILINGUAL = Set.of("en", "es", "fr", "de", "it", "pt");
+    private static final String MULTILINGUAL_MODEL = "universal-streaming-multilingual";
+    private static final TypeReference<List<Map<String, Object>>> WORDS_TYPE = new TypeReference<>() {};
     private AssemblyAI client;
+    private AssemblyAITranscriptPoller<Transcript> poller;
+    private HttpTransport httpTransport;
+    private OkHttpClient httpClient;
+    // SDK words have Optional fields, handled by the Jdk8 module the SDK brings along
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final ScheduledExecutorService reconnectExecutor = Executors.newSingleThreadScheduledExecutor();
+    private final ReconnectCoordinator reconnects;
     
     public AssemblyAIEngine(CoreAudioConfig config) {
-        super(config);
+        super(ENGINE_NAME, config, config.getAssemblyai().getExecutor());
+        this.reconnects = new ReconnectCoordinator(ENGINE_NAME,
+                config.getAssemblyai().getStreaming().getReconnect(), reconnectExecutor);
     }
     
     @Override
@@ -40,7 +77,7 @@ public class AssemblyAIEngine extends AbstractTranscriptionEngine {
     
     @Override
     public boolean supportsStreamingMode() {
-        return false; // AssemblyAI supports real-time streaming, but English only
+        return true;
     }
     
     @Override
@@ -54,6 +91,12 @@ public class AssemblyAIEngine extends AbstractTranscriptionEngine {
         this.client = AssemblyAI.builder()
                 .apiKey(apiKey)
                 .build();
+        this.poller = AssemblyAITranscriptPoller.forTranscripts(
+                id -> client.transcripts().get(id), executor, config.getAssemblyai());
+        
+        // Streaming sockets share the HTTP transport with the other engines
+        this.httpTransport = HttpTransport.acquire(config.getHttp());
+        this.httpClient = httpTransport.client();
         
         log.info("AssemblyAI engine initialized");
     }
@@ -62,32 +105,47 @@ public class AssemblyAIEngine extends AbstractTranscriptionEngine {
     protected CompletableFuture<TranscriptionResult> doTranscribeBatch(
             byte[] audioData, int sampleRate, String languageCode) {
         
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                // Upload audio data directly
-                UploadedFile uploadedFile = client.files().upload(audioData);
-                
-                // Configure transcription  
-                String effectiveLanguage = languageCode != null ? languageCode : config.getAssemblyai().getLanguageCode().getValue();
-                TranscriptOptionalParams params = TranscriptOptionalParams.builder()
-                        .languageCode(TranscriptLanguageCode.valueOf(effectiveLanguage.toUpperCase()))
-                        .build();
-                
-                // Submit transcription and wait for completion
-                Transcript transcript = client.transcripts().transcribe(uploadedFile.getUploadUrl(), params);
-                
-                // Build result
-                return buildTranscriptionResult(transcript);
-                
-            } catch (Exception e) {
-                log.error("AssemblyAI transcription failed", e);
-                return TranscriptionResult.builder()
-                        .error(true)
-                        .errorMessage("Transcription failed: " + e.getMessage())
-                        .timestamp(System.currentTimeMillis())
-                        .build();
+        // Upload and submit are short requests on the executor; waiting for the job is left to the shared poller
+        long audioDurationMs = audioData.length * 1000L / (sampleRate * 2L);
+        
+        CompletableFuture<Transcript> submit = executor.supplyAsync(() -> {
+            UploadedFile uploadedFile = client.files().upload(audioData);
+            
+            String effectiveLanguage = languageCode != null ? languageCode : config.getAssemblyai().getLanguageCode().getValue();
+            TranscriptOptionalParams params = TranscriptOptionalParams.builder()
+                    .languageCode(TranscriptLanguageCode.valueOf(effectiveLanguage.toUpperCase()))
+                    .build();
+            
+            return client.transcripts().submit(uploadedFile.getUploadUrl(), params);
+        });
+        
+        // Completed when the caller cancels; stops the poller even if the job is submitted afterwards
+        CompletableFuture<Void> cancelled = new CompletableFuture<>();
+        CompletableFuture<TranscriptionResult> result = submit
+                .thenCompose(submitted -> {
+                    CompletableFuture<Transcript> job = poller.await(submitted.getId(), audioDurationMs);
+                    cancelled.thenRun(() -> job.cancel(false));
+                    return job;
+                })
+                .thenApply(this::buildTranscriptionResult)
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    log.error("AssemblyAI transcription failed", cause);
+                    return TranscriptionResult.builder()
+                            .error(true)
+                            .errorMessage("Transcription failed: " + cause.getMessage())
+                            .timestamp(System.currentTimeMillis())
+                            .build();
+                });
+        
+        // Cancelling the result (e.g. a losing hedge) must reach the pending upload and the poller
+        result.whenComplete((transcription, throwable) -> {
+            if (result.isCancelled()) {
+                submit.cancel(false);
+                cancelled.complete(null);
             }
         });
+        return result;
     }
     
     @Override
@@ -97,13 +155,50 @@ public class AssemblyAIEngine extends AbstractTranscriptionEngine {
             String languageCode,
             Consumer<TranscriptionResult> resultCallback) {
         
-        throw new UnsupportedOperationException(
-            "AssemblyAI does not support streaming transcription");
+        String language = streamingLanguage(languageCode);
+        AssemblyAIStreamingSession session = new AssemblyAIStreamingSession(sessionId, sampleRate, language, resultCallback);
+        session.start();
+        return session;
+    }
+    
+    /**
+     * Get reconnection and circuit breaker statistics of this engine's streaming sessions.
+     */
+    public ReconnectCoordinator.ReconnectStats getReconnectStats() {
+        return reconnects.getStats();
+    }
+    
+    /**
+     * Get the journal of raw messages received by a streaming session.
+     * 
+     * @return the journal, or null if the session does not exist or journaling is disabled
+     */
+    public MessageJournal getMessageJournal(String sessionId) {
+        StreamingSession session = streamingSessions.get(sessionId);
+        return session instanceof WebSocketStreamingSession webSocketSession ? webSocketSession.getJournal() : null;
     }
     
     @Override
     protected void doShutdown() {
-        // AssemblyAI client doesn't require explicit shutdown
+        // The client itself needs no shutdown; outstanding polls are cancelled
+        if (poller != null) {
+            poller.close();
+            poller = null;
+        }
+        if (httpTransport != null) {
+            httpTransport.release();
+            httpTransport = null;
+        }
+        if (!reconnectExecutor.isShutdown()) {
+            reconnectExecutor.shutdown();
+        }
+    }
+    
+    /**
+     * Get the number of submitted transcripts still being polled.
+     */
+    public int getPendingTranscriptCount() {
+        return poller != null ? poller.getPendingCount() : 0;
     }
     
     @Override
@@ -113,24 +208,29 @@ public class AssemblyAIEngine extends AbstractTranscriptionEngine {
         
         Map<String, String> optionalConfig = new HashMap<>();
         optionalConfig.put("audio.processing.assemblyai.language-code", "Language code (default: en)");
+        optionalConfig.put("audio.processing.assemblyai.executor.type", "Executor for blocking requests: PLATFORM | VIRTUAL (default: PLATFORM)");
+        optionalConfig.put("audio.processing.assemblyai.executor.pool-size", "Platform threads for requests (default: 8)");
+        optionalConfig.put("audio.processing.assemblyai.streaming.reconnect-buffer-ms", "Audio buffered while a streaming session connects (default: 30000)");
         
         return EngineConfiguration.builder()
                 .engineType(ENGINE_NAME)
                 .requiredConfig(requiredConfig)
                 .optionalConfig(optionalConfig)
-                .processingMode(EngineConfiguration.ProcessingMode.BATCH_ONLY)
+                .processingMode(EngineConfiguration.ProcessingMode.BOTH)
                 .supportedFormats(EngineConfiguration.AudioFormat.builder()
                         .supportedSampleRates(new int[]{8000, 16000, 22050, 44100, 48000})
                         .supportedChannels(new int[]{1, 2})
                         .supportedBitsPerSample(new int[]{16})
                         .supportedEncodings(new String[]{"PCM", "WAV", "MP3", "M4A"})
                         .build())
+                .maxStreamingChunkSize(16000) // Streaming frames must be 50-1000ms
+                .recommendedBufferSizeMs(100)
                 .requiresConversion(true)
                 .build();
     }
     
     private TranscriptionResult buildTranscriptionResult(Transcript transcript) {
-        if (transcript.getStatus() == TranscriptStatus.ERROR) {
+        if (TranscriptStatus.ERROR.equals(transcript.getStatus())) {
             return TranscriptionResult.builder()
                     .error(true)
                     .errorMessage(transcript.getError().orElse("Unknown error"))
@@ -144,15 +244,170 @@ public class AssemblyAIEngine extends AbstractTranscriptionEngine {
                 .language(transcript.getLanguageCode().map(Object::toString).orElse("unknown"))
                 .timestamp(System.currentTimeMillis())
                 .error(false)
-                .metadata(buildMetadata(transcript))
+                .metadata(transcriptMetadata(transcript.getId(), transcript.getAudioDuration().orElse(null),
+                        transcript.getWords().orElse(null)))
                 .build();
     }
     
-    private Map<String, Object> buildMetadata(Transcript transcript) {
+    /**
+     * Metadata of a batch transcript. Only the id, the duration and the words as raw JSON are kept
+     * for lazy decoding, so a result never holds on to the SDK transcript.
+     */
+    Map<String, Object> transcriptMetadata(String transcriptId, Integer duration, List<?> words) {
+        return switch (config.getResultMetadata()) {
+            case EAGER -> buildMetadata(transcriptId, duration,
+                    words != null ? objectMapper.convertValue(words, WORDS_TYPE) : null);
+            case LAZY -> {
+                byte[] rawWords = words != null ? encodeWords(words) : null;
+                yield new LazyMetadata(() -> buildMetadata(transcriptId, duration,
+                        rawWords != null ? decodeWords(rawWords) : null));
+            }
+            case NONE -> null;
+        };
+    }
+    
+    private Map<String, Object> buildMetadata(String transcriptId, Integer duration, List<Map<String, Object>> words) {
         Map<String, Object> metadata = new HashMap<>();
-        metadata.put("transcriptId", transcript.getId());
-        metadata.put("duration", transcript.getAudioDuration());
-        metadata.put("words", transcript.getWords());
+        metadata.put("transcriptId", transcriptId);
+        metadata.put("duration", duration);
+        metadata.put("words", words);
         return metadata;
     }
-}
\ No newline at end of file
+    
+    private byte[] encodeWords(List<?> words) {
+        try {
+            return objectMapper.writeValueAsBytes(words);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode AssemblyAI words", e);
+        }
+    }
+    
+    private List<Map<String, Object>> decodeWords(byte[] json) {
+        try {
+            return objectMapper.readValue(json, WORDS_TYPE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode AssemblyAI metadata", e);
+        }
+    }
+    
+    /**
+     * Resolve the language of a streaming session. The streaming API takes no language parameter,
+     * only a model: English, or a multilingual model that detects a few European languages itself.
+     *
+     * @throws IllegalArgumentException if no streaming model covers the language
+     */
+    private String streamingLanguage(String languageCode) {
+        String language = (languageCode != null ? languageCode : config.getAssemblyai().getLanguageCode().getValue())
+                .toLowerCase(Locale.ROOT);
+        // Regional variants such as en-US use the model of their base language
+        String base = language.split("[-_]", 2)[0];
+        if (!STREAMING_MULTILINGUAL.contains(base)) {
+            throw new IllegalArgumentException("AssemblyAI streaming does not support language '" + language
+                    + "'; supported: " + new TreeSet<>(STREAMING_MULTILINGUAL));
+        }
+        return base;
+    }
+    
+    private Request buildStreamingRequest(int sampleRate, String language) {
+        String url = config.getAssemblyai().getStreamingUrl()
+                + "?sample_rate=" + sampleRate
+                + "&encoding=pcm_s16le"
+                + "&format_turns=true";
+        if (!STREAMING_ENGLISH.equals(language)) {
+            url += "&speech_model=" + MULTILINGUAL_MODEL + "&language_detection=true";
+        }
+        return new Request.Builder()
+                .url(url)
+                .header("Authorization", config.getAssemblyai().getApiKey())
+                .build();
+    }
+    
+    private Map<String, Object> decodeMetadata(String json) {
+        try {
+            return objectMapper.readValue(json, new TypeReference<Map<String, Object>>() {});
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode AssemblyAI metadata", e);
+        }
+    }
+    
+    /**
+     * Streaming session on the AssemblyAI Universal Streaming API.
+     * The server sends Turn messages with the words of the current turn; a turn is final once it
+     * has ended and its formatted text arrived. Results carry the language the server detected,
+     * falling back to the requested one.
+     */
+    private class AssemblyAIStreamingSession extends WebSocketStreamingSession {
+        
+        private static final String TERMINATE_MESSAGE = "{\"type\":\"Terminate\"}";
+        private static final String FORCE_ENDPOINT_MESSAGE = "{\"type\":\"ForceEndpoint\"}";
+        
+        private final String language;
+        
+        AssemblyAIStreamingSession(String sessionId, int sampleRate, String language,
+                                   Consumer<TranscriptionResult> resultCallback) {
+            super(AssemblyAIEngine.this, sessionId, sampleRate, resultCallback,
+                    config.getAssemblyai().getStreaming(), reconnects, reconnectExecutor);
+            this.language = language;
+        }
+        
+        @Override
+        protected WebSocket openSocket(WebSocketListener listener) {
+            return httpClient.newWebSocket(buildStreamingRequest(sampleRate, language), listener);
+        }
+        
+        @Override
+        protected String closeStreamMessage() {
+            return TERMINATE_MESSAGE;
+        }
+        
+        @Override
+        protected String finalizeMessage() {
+            return FORCE_ENDPOINT_MESSAGE;
+        }
+        
+        @Override
+        protected void onTextMessage(String text) throws IOException {
+            JsonNode message = objectMapper.readTree(text);
+            String type = message.path("type").asText();
+            
+            switch (type) {
+                case "Turn" -> onTurn(message, text);
+                case "Begin" -> log.debug("AssemblyAI streaming session {} started as {}",
+                        sessionId, message.path("id").asText());
+                case "Termination" -> log.debug("AssemblyAI streaming session {} terminated after {}s of audio",
+                        sessionId, message.path("audio_duration_seconds").asText());
+                default -> {
+                    if (message.has("error")) {
+                        log.warn("AssemblyAI streaming error for session {}: {}",
+                                sessionId, message.path("error").asText());
+                    }
+                }
+            }
+        }
+        
+        private void onTurn(JsonNode message, String text) {
+            boolean endOfTurn = message.path("end_of_turn").asBoolean(false);
+            boolean formatted = message.path("turn_is_formatted").asBoolean(false);
+            // With format_turns an ended turn is sent twice; only the formatted one closes the segment
+            boolean isFinal = endOfTurn && formatted;
+            if (isFinal) {
+                finalizeAnswered();
+            }
+            
+            List<WordInfo> words = new ArrayList<>();
+            for (JsonNode node : message.path("words")) {
+                String word = node.path("text").asText();
+                words.add(WordInfo.builder()
+                        .word(word)
+                        .punctuatedWord(word)
+                        .start(node.path("start").asDouble() / 1000.0)
+                        .end(node.path("end").asDouble() / 1000.0)
+                        .confidence(node.path("confidence").asDouble())
+                        .build());
+            }
+            
+            emit(message.path("transcript").asText(""), words, isFinal,
+                    message.path("language_code").asText(language), () -> decodeMetadata(text));
+        }
+    }
+}
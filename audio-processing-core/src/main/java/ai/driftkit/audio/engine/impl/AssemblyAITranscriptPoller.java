@@ -0,0 +1,150 @@
+package ai.driftkit.audio.engine.impl;
+
+import ai.driftkit.audio.core.config.AssemblyAIConfig;
+import com.assemblyai.api.resources.transcripts.types.Transcript;
+import com.assemblyai.api.resources.transcripts.types.TranscriptStatus;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Polls all outstanding AssemblyAI transcripts of an engine from one scheduler thread.
+ * Every tick the transcripts that are due are checked together as short status requests on the
+ * engine executor; no thread waits on a job. The first check is timed from the expected
+ * processing time of the audio and later checks back off up to the maximum interval.
+ *
+ * @param <T> status returned by a check; SDK transcripts in production
+ */
+@Slf4j
+class AssemblyAITranscriptPoller<T> implements AutoCloseable {
+
+    private static final long TICK_MS = 100;
+    private static final double BACKOFF = 1.5;
+    // AssemblyAI typically finishes in a fraction of the audio duration
+    private static final double EXPECTED_PROCESSING_RATIO = 0.25;
+
+    private final Function<String, T> fetch;
+    private final Predicate<T> finished;
+    private final Executor executor;
+    private final AssemblyAIConfig config;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Poller of SDK transcripts, which are done once completed or failed.
+     */
+    static AssemblyAITranscriptPoller<Transcript> forTranscripts(Function<String, Transcript> fetch, Executor executor,
+                                                               AssemblyAIConfig config) {
+        return new AssemblyAITranscriptPoller<>(fetch, transcript -> {
+            TranscriptStatus status = transcript.getStatus();
+            return TranscriptStatus.COMPLETED.equals(status) || TranscriptStatus.ERROR.equals(status);
+        }, executor, config);
+    }
+
+    /**
+     * @param fetch    status check of a transcript by id, run on the executor
+     * @param finished whether a status ends polling
+     */
+    AssemblyAITranscriptPoller(Function<String, T> fetch, Predicate<T> finished, Executor executor,
+                               AssemblyAIConfig config) {
+        this.fetch = fetch;
+        this.finished = finished;
+        this.executor = executor;
+        this.config = config;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "AssemblyAI-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::pollDue, TICK_MS, TICK_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Wait for a submitted transcript to complete or fail.
+     * Cancelling the returned future stops polling it.
+     *
+     * @param audioDurationMs duration of the submitted audio, used to time the first check
+     */
+    CompletableFuture<T> await(String transcriptId, long audioDurationMs) {
+        long firstDelayMs = Math.max(config.getPollMinIntervalMs(),
+                Math.min(config.getPollMaxIntervalMs(), (long) (audioDurationMs * EXPECTED_PROCESSING_RATIO)));
+        Job job = new Job(transcriptId, firstDelayMs);
+        jobs.put(transcriptId, job);
+        job.future.whenComplete((transcript, error) -> jobs.remove(transcriptId));
+        return job.future;
+    }
+
+    int getPendingCount() {
+        return jobs.size();
+    }
+
+    private void pollDue() {
+        long now = System.nanoTime();
+        for (Job job : jobs.values()) {
+            if (job.inFlight || now < job.nextPollNanos) {
+                continue;
+            }
+            if (now >= job.deadlineNanos) {
+                job.future.completeExceptionally(new TimeoutException(
+                        "Transcript " + job.id + " not completed within " + config.getPollTimeoutMs() + "ms"));
+                continue;
+            }
+            job.inFlight = true;
+            try {
+                executor.execute(() -> check(job));
+            } catch (RejectedExecutionException e) {
+                // Executor is busy; try again on a later tick
+                job.inFlight = false;
+            }
+        }
+    }
+
+    private void check(Job job) {
+        try {
+            T transcript = fetch.apply(job.id);
+            if (finished.test(transcript)) {
+                job.future.complete(transcript);
+                return;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Status check of transcript {} failed: {}", job.id, e.getMessage());
+        }
+        job.intervalMs = Math.min(config.getPollMaxIntervalMs(), (long) (job.intervalMs * BACKOFF));
+        job.nextPollNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(job.intervalMs);
+        job.inFlight = false;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        jobs.values().forEach(job -> job.future.cancel(false));
+        jobs.clear();
+    }
+
+    private class Job {
+        private final String id;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private final long deadlineNanos;
+        private volatile long nextPollNanos;
+        private volatile long intervalMs;
+        private volatile boolean inFlight = false;
+
+        private Job(String id, long firstDelayMs) {
+            this.id = id;
+            long now = System.nanoTime();
+            this.intervalMs = firstDelayMs;
+            this.nextPollNanos = now + TimeUnit.MILLISECONDS.toNanos(firstDelayMs);
+            this.deadlineNanos = now + TimeUnit.MILLISECONDS.toNanos(config.getPollTimeoutMs());
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package ai.driftkit.audio.engine.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+import okio.ByteString;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Pool of open, idle Deepgram streaming connections, kept per stream key.
+ * Idle sockets are held open with KeepAlive messages; a session takes one instead of
+ * performing the TLS and upgrade handshake, and the pool opens a replacement in the background.
+ * Failed connections are replaced after a jittered exponential backoff; a key the server
+ * rejects with a client error is not warmed again.
+ */
+@Slf4j
+class DeepgramConnectionPool {
+
+    static final String KEEP_ALIVE_MESSAGE = "{\"type\":\"KeepAlive\"}";
+    private static final long REFILL_BASE_DELAY_MS = 1000;
+    private static final long REFILL_MAX_DELAY_MS = 60_000;
+
+    private final OkHttpClient httpClient;
+    private final Function<Key, Request> requestFactory;
+    private final ScheduledExecutorService scheduler;
+    private final int connectionsPerKey;
+    private final long keepAliveIntervalMs;
+
+    private final Map<Key, ConcurrentLinkedDeque<PooledConnection>> idle = new ConcurrentHashMap<>();
+    private final Map<Key, AtomicInteger> opening = new ConcurrentHashMap<>();
+    // Consecutive failed connections per key, reset when one opens
+    private final Map<Key, AtomicInteger> failures = new ConcurrentHashMap<>();
+    private final Set<Key> rejected = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed = false;
+
+    DeepgramConnectionPool(OkHttpClient httpClient, Function<Key, Request> requestFactory,
+                           ScheduledExecutorService scheduler, int connectionsPerKey, long keepAliveIntervalMs) {
+        this.httpClient = httpClient;
+        this.requestFactory = requestFactory;
+        this.scheduler = scheduler;
+        this.connectionsPerKey = connectionsPerKey;
+        this.keepAliveIntervalMs = keepAliveIntervalMs;
+    }
+
+    /**
+     * Take an open connection for the key, or null if none is ready.
+     * All further events of the taken socket go to the given listener.
+     * The pool is refilled for the key either way, so the next session finds one.
+     */
+    WebSocket acquire(Key key, WebSocketListener listener) {
+        WebSocket connection = null;
+        ConcurrentLinkedDeque<PooledConnection> connections = idle.get(key);
+        if (connections != null) {
+            PooledConnection candidate;
+            while ((candidate = connections.pollFirst()) != null) {
+                connection = candidate.take(listener);
+                if (connection != null) {
+                    break;
+                }
+            }
+        }
+        warm(key);
+        return connection;
+    }
+
+    /**
+     * Open connections for the key until the configured number is idle or opening.
+     */
+    void warm(Key key) {
+        if (closed || rejected.contains(key)) {
+            return;
+        }
+        ConcurrentLinkedDeque<PooledConnection> connections = idle.computeIfAbsent(key, k -> new ConcurrentLinkedDeque<>());
+        AtomicInteger pending = opening.computeIfAbsent(key, k -> new AtomicInteger());
+
+        while (true) {
+            int current = pending.get();
+            if (connections.size() + current >= connectionsPerKey) {
+                return;
+            }
+            if (pending.compareAndSet(current, current + 1)) {
+                // The socket is kept from onOpen, so it is never seen half-assigned
+                httpClient.newWebSocket(requestFactory.apply(key), new PooledConnection(key));
+            }
+        }
+    }
+
+    int getIdleCount(Key key) {
+        ConcurrentLinkedDeque<PooledConnection> connections = idle.get(key);
+        return connections != null ? connections.size() : 0;
+    }
+
+    void close() {
+        closed = true;
+        idle.values().forEach(connections -> {
+            PooledConnection connection;
+            while ((connection = connections.pollFirst()) != null) {
+                WebSocket socket = connection.take(null);
+                if (socket != null) {
+                    socket.close(1000, "Pool closed");
+                }
+            }
+        });
+    }
+
+    /**
+     * Replace a lost connection after a jittered backoff that doubles with each consecutive failure.
+     */
+    private void refillLater(Key key, boolean failed) {
+        if (closed || scheduler.isShutdown()) {
+            return;
+        }
+        int attempt = failed ? failures.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet() : 1;
+        long bound = Math.min(REFILL_MAX_DELAY_MS, REFILL_BASE_DELAY_MS << Math.min(attempt - 1, 30));
+        long delay = ThreadLocalRandom.current().nextLong(bound) + 1;
+        scheduler.schedule(() -> warm(key), delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stream parameters a connection is opened for; only sessions with the same key can use it.
+     */
+    static final class Key {
+        private final int sampleRate;
+        private final String language;
+        private final String model;
+
+        Key(int sampleRate, String language, String model) {
+            this.sampleRate = sampleRate;
+            this.language = language;
+            this.model = model;
+        }
+
+        int getSampleRate() { return sampleRate; }
+        String getLanguage() { return language; }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return sampleRate == key.sampleRate && Objects.equals(language, key.language) && Objects.equals(model, key.model);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sampleRate, language, model);
+        }
+
+        @Override
+        public String toString() {
+            return sampleRate + "/" + language + "/" + model;
+        }
+    }
+
+    /**
+     * Pooled socket. Until it is taken its events are handled by the pool;
+     * afterwards they are forwarded to the listener it was taken with.
+     */
+    private class PooledConnection extends WebSocketListener {
+        private final Key key;
+        private WebSocket socket;
+        private volatile WebSocketListener target;
+        private volatile boolean opened = false;
+        private boolean taken = false;
+        private ScheduledFuture<?> keepAlive;
+
+        private PooledConnection(Key key) {
+            this.key = key;
+        }
+
+        /**
+         * Take the open socket, or return null if it is not open or already taken.
+         */
+        private synchronized WebSocket take(WebSocketListener listener) {
+            if (taken || !opened) {
+                return null;
+            }
+            taken = true;
+            target = listener;
+            if (keepAlive != null) {
+                keepAlive.cancel(false);
+            }
+            return socket;
+        }
+
+        /**
+         * Get the listener owning the socket, or retire the idle connection if it has none.
+         */
+        private synchronized WebSocketListener ownerOrDiscard() {
+            if (target != null) {
+                return target;
+            }
+            if (!taken) {
+                taken = true;
+                if (keepAlive != null) {
+                    keepAlive.cancel(false);
+                }
+                idle.get(key).remove(this);
+            }
+            return null;
+        }
+
+        @Override
+        public void onOpen(WebSocket webSocket, Response response) {
+            opening.get(key).decrementAndGet();
+            synchronized (this) {
+                if (closed) {
+                    taken = true;
+                    webSocket.close(1000, "Pool closed");
+                    return;
+                }
+                socket = webSocket;
+                opened = true;
+                keepAlive = scheduler.scheduleAtFixedRate(() -> webSocket.send(KEEP_ALIVE_MESSAGE),
+                        keepAliveIntervalMs, keepAliveIntervalMs, TimeUnit.MILLISECONDS);
+            }
+            failures.remove(key);
+            idle.get(key).addLast(this);
+            log.debug("Warm Deepgram connection ready for {}", key);
+        }
+
+        @Override
+        public void onMessage(WebSocket webSocket, String text) {
+            WebSocketListener listener = target;
+            if (listener != null) {
+                listener.onMessage(webSocket, text);
+            }
+        }
+
+        @Override
+        public void onMessage(WebSocket webSocket, ByteString bytes) {
+            WebSocketListener listener = target;
+            if (listener != null) {
+                listener.onMessage(webSocket, bytes);
+            }
+        }
+
+        @Override
+        public void onClosing(WebSocket webSocket, int code, String reason) {
+            WebSocketListener listener = ownerOrDiscard();
+            if (listener != null) {
+                listener.onClosing(webSocket, code, reason);
+                return;
+            }
+            webSocket.close(1000, null);
+            log.debug("Warm Deepgram connection for {} closed by server with code {}", key, code);
+            refillLater(key, false);
+        }
+
+        @Override
+        public void onClosed(WebSocket webSocket, int code, String reason) {
+            WebSocketListener listener = target;
+            if (listener != null) {
+                listener.onClosed(webSocket, code, reason);
+            }
+        }
+
+        @Override
+        public void onFailure(WebSocket webSocket, Throwable t, Response response) {
+            if (!opened) {
+                opening.get(key).decrementAndGet();
+            }
+            WebSocketListener listener = ownerOrDiscard();
+            if (listener != null) {
+                listener.onFailure(webSocket, t, response);
+                return;
+            }
+            int status = response != null ? response.code() : 0;
+            if (status >= 400 && status < 500 && status != 408 && status != 429) {
+                // Bad credentials or parameters will not fix themselves; sessions still connect on their own
+                rejected.add(key);
+                log.warn("Deepgram rejected warm connections for {} with HTTP {}; no longer warming them", key, status);
+                return;
+            }
+            log.debug("Warm Deepgram connection for {} failed: {}", key, t.getMessage());
+            refillLater(key, true);
+        }
+    }
+}
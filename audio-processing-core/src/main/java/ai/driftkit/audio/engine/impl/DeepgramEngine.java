@@ -4,31 +4,31 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import ai.driftkit.audio.core.config.CoreAudioConfig;
 import ai.driftkit.audio.engine.AbstractTranscriptionEngine;
+import ai.driftkit.audio.engine.BatchUpload;
 import ai.driftkit.audio.engine.EngineConfiguration;
+import ai.driftkit.audio.engine.HttpTransport;
+import ai.driftkit.audio.engine.MessageJournal;
+import ai.driftkit.audio.engine.ReconnectCoordinator;
+import ai.driftkit.audio.engine.WebSocketStreamingSession;
+import ai.driftkit.audio.model.AudioSegmentBuffer;
 import ai.driftkit.audio.model.TranscriptionResult;
-import ai.driftkit.audio.model.WordBuffer;
-import ai.driftkit.audio.model.WordInfo;
-import ai.driftkit.audio.model.SegmentResult;
 import ai.driftkit.audio.model.deepgram.DeepgramResponse;
-import ai.driftkit.audio.model.deepgram.DeepgramAlternative;
-import ai.driftkit.audio.model.deepgram.DeepgramWord;
 import okhttp3.*;
-import okio.ByteString;
-import org.apache.commons.lang3.StringUtils;
+import okio.BufferedSink;
+import okio.Okio;
+import okio.Pipe;
 
 import javax.net.ssl.SSLSocketFactory;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.nio.ByteBuffer;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 /**
@@ -39,15 +39,19 @@ import java.util.function.Consumer;
 public class DeepgramEngine extends AbstractTranscriptionEngine {
     
     private static final String ENGINE_NAME = "Deepgram";
-    private static final String DEEPGRAM_API_URL = "https://api.deepgram.com/v1/listen";
-    private static final String DEEPGRAM_WS_URL = "wss://api.deepgram.com/v1/listen";
+    private static final MediaType AUDIO_MEDIA_TYPE = MediaType.parse("audio/wav");
     
+    private HttpTransport httpTransport;
     private OkHttpClient httpClient;
+    private DeepgramConnectionPool connectionPool;
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private final DeepgramMessageParser messageParser = new DeepgramMessageParser(objectMapper.getFactory());
     private final ScheduledExecutorService reconnectExecutor = Executors.newSingleThreadScheduledExecutor();
+    private final ReconnectCoordinator reconnects;
     
     public DeepgramEngine(CoreAudioConfig config) {
-        super(config);
+        super(ENGINE_NAME, config, config.getDeepgram().getExecutor());
+        this.reconnects = new ReconnectCoordinator(ENGINE_NAME, config.getDeepgram().getReconnect(), reconnectExecutor);
     }
     
     @Override
@@ -65,6 +69,11 @@ public class DeepgramEngine extends AbstractTranscriptionEngine {
         return true;
     }
     
+    @Override
+    public boolean supportsPipelinedUpload() {
+        return true;
+    }
+    
     @Override
     public void initialize() {
         String apiKey = config.getDeepgram().getApiKey();
@@ -72,11 +81,21 @@ public class DeepgramEngine extends AbstractTranscriptionEngine {
             throw new IllegalStateException("Deepgram API key is not configured");
         }
         
-        this.httpClient = new OkHttpClient.Builder()
-                .connectTimeout(30, TimeUnit.SECONDS)
-                .readTimeout(30, TimeUnit.SECONDS)
-                .writeTimeout(30, TimeUnit.SECONDS)
-                .build();
+        // Shared client: dispatcher limits, pool and timeouts come from audio.processing.http
+        this.httpTransport = HttpTransport.acquire(config.getHttp());
+        this.httpClient = httpTransport.client();
+        
+        if (config.getHttp().isPreconnect()) {
+            httpTransport.preconnect(config.getDeepgram().getApiUrl());
+        }
+        
+        int warmConnections = config.getDeepgram().getWarmConnections();
+        if (warmConnections > 0) {
+            this.connectionPool = new DeepgramConnectionPool(httpClient,
+                    key -> buildStreamingRequest(key.getSampleRate(), key.getLanguage()),
+                    reconnectExecutor, warmConnections, config.getDeepgram().getKeepAliveIntervalMs());
+            connectionPool.warm(streamKey(config.getSampleRate(), null));
+        }
         
         log.info("Deepgram engine initialized");
     }
@@ -85,40 +104,111 @@ public class DeepgramEngine extends AbstractTranscriptionEngine {
     protected CompletableFuture<TranscriptionResult> doTranscribeBatch(
             byte[] audioData, int sampleRate, String languageCode) {
         
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                String url = buildBatchUrl(sampleRate, languageCode);
-                
-                RequestBody body = RequestBody.create(
-                    audioData, 
-                    MediaType.parse("audio/wav")
-                );
-                
-                Request request = new Request.Builder()
-                        .url(url)
-                        .header("Authorization", "Token " + config.getDeepgram().getApiKey())
-                        .header("Content-Type", "audio/wav")
-                        .post(body)
-                        .build();
-                
-                try (Response response = httpClient.newCall(request).execute()) {
+        return enqueueBatch(RequestBody.create(audioData, AUDIO_MEDIA_TYPE), sampleRate, languageCode);
+    }
+    
+    @Override
+    protected CompletableFuture<TranscriptionResult> doTranscribeBatch(
+            AudioSegmentBuffer segment, int sampleRate, String languageCode) {
+        
+        // Stream the segment chunks straight into the request instead of flattening them
+        RequestBody body = new RequestBody() {
+            @Override
+            public MediaType contentType() {
+                return AUDIO_MEDIA_TYPE;
+            }
+            
+            @Override
+            public long contentLength() {
+                return segment.size();
+            }
+            
+            @Override
+            public void writeTo(BufferedSink sink) throws IOException {
+                segment.writeTo(sink.outputStream());
+            }
+        };
+        
+        return enqueueBatch(body, sampleRate, languageCode);
+    }
+    
+    /**
+     * Send a batch request asynchronously. No caller thread is held while the audio uploads
+     * or the server transcribes; the future is completed from the OkHttp callback.
+     * Cancelling the future cancels the HTTP call.
+     */
+    private CompletableFuture<TranscriptionResult> enqueueBatch(RequestBody body, int sampleRate, String languageCode) {
+        Request request = new Request.Builder()
+                .url(buildBatchUrl(sampleRate, languageCode))
+                .header("Authorization", "Token " + config.getDeepgram().getApiKey())
+                .header("Content-Type", "audio/wav")
+                .post(body)
+                .build();
+        
+        CompletableFuture<TranscriptionResult> future = new CompletableFuture<>();
+        Call call = httpClient.newCall(request);
+        future.whenComplete((result, throwable) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+        
+        call.enqueue(new Callback() {
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (response) {
+                    if (response.code() == 429) {
+                        future.complete(rateLimited(response));
+                        return;
+                    }
                     if (!response.isSuccessful()) {
                         throw new IOException("Unexpected response: " + response);
                     }
                     
-                    String responseBody = response.body().string();
-                    return parseDeepgramResponse(responseBody);
+                    byte[] responseBody = response.body().bytes();
+                    future.complete(parseDeepgramResponse(responseBody));
+                } catch (Exception e) {
+                    onFailure(call, e instanceof IOException ? (IOException) e : new IOException(e));
+                }
+            }
+            
+            @Override
+            public void onFailure(Call call, IOException e) {
+                if (call.isCanceled()) {
+                    return;
                 }
-                
-            } catch (Exception e) {
                 log.error("Deepgram batch transcription failed", e);
-                return TranscriptionResult.builder()
+                future.complete(TranscriptionResult.builder()
                         .error(true)
                         .errorMessage("Transcription failed: " + e.getMessage())
                         .timestamp(System.currentTimeMillis())
-                        .build();
+                        .build());
             }
         });
+        
+        return future;
+    }
+    
+    /**
+     * Error result for a request rejected with 429, carrying the server's Retry-After.
+     */
+    private TranscriptionResult rateLimited(Response response) {
+        long retryAfterMs = HttpTransport.parseRetryAfter(response.header("Retry-After"));
+        log.warn("Deepgram rate limit hit, retry after {}ms", retryAfterMs);
+        return TranscriptionResult.builder()
+                .error(true)
+                .errorMessage("Rate limited: " + response)
+                .retryAfterMs(retryAfterMs)
+                .timestamp(System.currentTimeMillis())
+                .build();
+    }
+    
+    @Override
+    public BatchUpload openBatchUpload(int sampleRate, String languageCode) {
+        if (!supportsBatchMode()) {
+            throw new UnsupportedOperationException(getName() + " does not support batch transcription mode");
+        }
+        return new PipelinedBatchUpload(sampleRate, languageCode);
     }
     
     @Override
@@ -128,14 +218,37 @@ public class DeepgramEngine extends AbstractTranscriptionEngine {
             String languageCode,
             Consumer<TranscriptionResult> resultCallback) {
         
-        return new DeepgramStreamingSession(sessionId, sampleRate, languageCode, resultCallback);
+        DeepgramStreamingSession session = new DeepgramStreamingSession(sessionId, sampleRate, languageCode, resultCallback);
+        session.start();
+        return session;
+    }
+    
+    /**
+     * Get reconnection and circuit breaker statistics of this engine's streaming sessions.
+     */
+    public ReconnectCoordinator.ReconnectStats getReconnectStats() {
+        return reconnects.getStats();
+    }
+    
+    /**
+     * Get the journal of raw messages received by a streaming session.
+     * 
+     * @return the journal, or null if the session does not exist or journaling is disabled
+     */
+    public MessageJournal getMessageJournal(String sessionId) {
+        StreamingSession session = streamingSessions.get(sessionId);
+        return session instanceof WebSocketStreamingSession webSocketSession ? webSocketSession.getJournal() : null;
     }
     
     @Override
     protected void doShutdown() {
-        if (httpClient != null) {
-            httpClient.dispatcher().executorService().shutdown();
-            httpClient.connectionPool().evictAll();
+        if (connectionPool != null) {
+            connectionPool.close();
+            connectionPool = null;
+        }
+        if (httpTransport != null) {
+            httpTransport.release();
+            httpTransport = null;
         }
         if (reconnectExecutor != null && !reconnectExecutor.isShutdown()) {
             reconnectExecutor.shutdown();
@@ -152,6 +265,8 @@ public class DeepgramEngine extends AbstractTranscriptionEngine {
         optionalConfig.put("audio.processing.deepgram.model", "Model to use (default: nova-2)");
         optionalConfig.put("audio.processing.deepgram.punctuate", "Add punctuation (default: true)");
         optionalConfig.put("audio.processing.deepgram.interim-results", "Enable interim results for streaming (default: true)");
+        optionalConfig.put("audio.processing.deepgram.executor.type", "Executor for blocking requests: PLATFORM | VIRTUAL (default: PLATFORM)");
+        optionalConfig.put("audio.processing.deepgram.executor.pool-size", "Platform threads for requests (default: 8)");
         
         return EngineConfiguration.builder()
                 .engineType(ENGINE_NAME)
@@ -171,7 +286,7 @@ public class DeepgramEngine extends AbstractTranscriptionEngine {
     }
     
     private String buildBatchUrl(int sampleRate, String languageCode) {
-        StringBuilder url = new StringBuilder(DEEPGRAM_API_URL);
+        StringBuilder url = new StringBuilder(config.getDeepgram().getApiUrl());
         url.append("?encoding=linear16");
         url.append("&sample_rate=").append(sampleRate);
         
@@ -183,8 +298,20 @@ public class DeepgramEngine extends AbstractTranscriptionEngine {
         return url.toString();
     }
     
+    private DeepgramConnectionPool.Key streamKey(int sampleRate, String languageCode) {
+        String effectiveLanguage = languageCode != null ? languageCode : config.getDeepgram().getLanguage().getValue();
+        return new DeepgramConnectionPool.Key(sampleRate, effectiveLanguage, config.getDeepgram().getModel());
+    }
+    
+    private Request buildStreamingRequest(int sampleRate, String languageCode) {
+        return new Request.Builder()
+                .url(buildStreamingUrl(sampleRate, languageCode))
+                .header("Authorization", "Token " + config.getDeepgram().getApiKey())
+                .build();
+    }
+    
     private String buildStreamingUrl(int sampleRate, String languageCode) {
-        StringBuilder url = new StringBuilder(DEEPGRAM_WS_URL);
+        StringBuilder url = new StringBuilder(config.getDeepgram().getStreamingUrl());
         url.append("?encoding=linear16");
         url.append("&sample_rate=").append(sampleRate);
         
@@ -193,52 +320,45 @@ public class DeepgramEngine extends AbstractTranscriptionEngine {
         url.append("&model=").append(config.getDeepgram().getModel());
         url.append("&punctuate=").append(config.getDeepgram().isPunctuate());
         url.append("&interim_results=").append(config.getDeepgram().isInterimResults());
+        if (config.getDeepgram().getEndpointingMs() != null) {
+            url.append("&endpointing=").append(config.getDeepgram().getEndpointingMs());
+        }
+        if (config.getDeepgram().getUtteranceEndMs() != null) {
+            url.append("&utterance_end_ms=").append(config.getDeepgram().getUtteranceEndMs());
+        }
         
         return url.toString();
     }
     
-    private TranscriptionResult parseDeepgramResponse(String json) {
+    private Map<String, Object> decodeMetadata(String json) {
         try {
-            DeepgramResponse response = objectMapper.readValue(json, DeepgramResponse.class);
-            
-            // Handle streaming response format (has direct channel)
-            if (response.getChannel() != null) {
-                var channel = response.getChannel();
-                if (channel.getAlternatives() != null && !channel.getAlternatives().isEmpty()) {
-                    var alternative = channel.getAlternatives().get(0);
-                    
-                    String transcript = alternative.getTranscript();
-                    Double confidence = alternative.getConfidence();
-                    
-                    return TranscriptionResult.builder()
-                            .text(transcript)
-                            .confidence(confidence)
-                            .language(response.getLanguage() != null ? response.getLanguage() : "en")
-                            .timestamp(System.currentTimeMillis())
-                            .error(false)
-                            .metadata(response.toMap())
-                            .build();
-                }
-            }
-            
-            // Handle batch response format (has results.channels)
-            if (response.getResults() != null && response.getResults().getChannels() != null && !response.getResults().getChannels().isEmpty()) {
-                var channel = response.getResults().getChannels().get(0);
-                if (channel.getAlternatives() != null && !channel.getAlternatives().isEmpty()) {
-                    var alternative = channel.getAlternatives().get(0);
-                    
-                    String transcript = alternative.getTranscript();
-                    Double confidence = alternative.getConfidence();
-                    
-                    return TranscriptionResult.builder()
-                            .text(transcript)
-                            .confidence(confidence)
-                            .language(response.getLanguage() != null ? response.getLanguage() : "en")
-                            .timestamp(System.currentTimeMillis())
-                            .error(false)
-                            .metadata(response.toMap())
-                            .build();
-                }
+            return objectMapper.readValue(json, DeepgramResponse.class).toMap();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode Deepgram metadata", e);
+        }
+    }
+    
+    private Map<String, Object> decodeMetadata(byte[] json) {
+        try {
+            return objectMapper.readValue(json, DeepgramResponse.class).toMap();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode Deepgram metadata", e);
+        }
+    }
+    
+    private TranscriptionResult parseDeepgramResponse(byte[] json) {
+        try {
+            // Read only what the result needs; the full response is bound only if metadata asks for it
+            DeepgramMessageParser.Summary summary = messageParser.parseSummary(json);
+            if (summary != null) {
+                return TranscriptionResult.builder()
+                        .text(summary.getTranscript())
+                        .confidence(summary.getConfidence())
+                        .language(summary.getLanguage() != null ? summary.getLanguage() : "en")
+                        .timestamp(System.currentTimeMillis())
+                        .error(false)
+                        .metadata(resultMetadata(() -> decodeMetadata(json)))
+                        .build();
             }
             
             return TranscriptionResult.builder()
@@ -258,236 +378,135 @@ public class DeepgramEngine extends AbstractTranscriptionEngine {
     }
     
     /**
-     * WebSocket-based streaming session for Deepgram.
+     * Batch request with a chunked-transfer body fed from a pipe while the speaker is talking.
      */
-    private class DeepgramStreamingSession implements StreamingSession {
+    private class PipelinedBatchUpload implements BatchUpload {
         
-        private final String sessionId;
-        private final int sampleRate;
-        private final String languageCode;
-        private final Consumer<TranscriptionResult> resultCallback;
-        private WebSocket webSocket;
-        private volatile boolean active = false;
-        private volatile boolean shouldReconnect = true;
-        private final WordBuffer wordBuffer = new WordBuffer();
-        private final AtomicInteger reconnectAttempts = new AtomicInteger(0);
-        private static final int MAX_RECONNECT_ATTEMPTS = 5;
-        private static final long RECONNECT_DELAY_MS = 1000;
-        private static final long MAX_RECONNECT_DELAY_MS = 30000;
+        private final Pipe pipe;
+        private final BufferedSink pipeSink;
+        private final CompletableFuture<TranscriptionResult> result;
         
-        DeepgramStreamingSession(String sessionId, int sampleRate, String languageCode, 
-                                Consumer<TranscriptionResult> resultCallback) {
-            this.sessionId = sessionId;
-            this.sampleRate = sampleRate;
-            this.languageCode = languageCode;
-            this.resultCallback = resultCallback;
+        PipelinedBatchUpload(int sampleRate, String languageCode) {
+            // Room for a whole segment, so a slow network never blocks the audio thread under normal conditions
+            long maxSegmentBytes = (long) config.getMaxChunkDurationSeconds() * sampleRate * 2;
+            this.pipe = new Pipe(Math.max(maxSegmentBytes, 64 * 1024));
+            this.pipeSink = Okio.buffer(pipe.sink());
+            this.pipeSink.timeout().timeout(config.getProcessingTimeoutMs(), TimeUnit.MILLISECONDS);
             
-            connect();
-        }
-        
-        private void connect() {
-            try {
-                String url = buildStreamingUrl(sampleRate, languageCode);
-                
-                Request request = new Request.Builder()
-                        .url(url)
-                        .header("Authorization", "Token " + config.getDeepgram().getApiKey())
-                        .build();
+            RequestBody body = new RequestBody() {
+                @Override
+                public MediaType contentType() {
+                    return AUDIO_MEDIA_TYPE;
+                }
                 
-                WebSocketListener listener = new DeepgramWebSocketListener();
-                webSocket = httpClient.newWebSocket(request, listener);
-                active = true;
+                @Override
+                public long contentLength() {
+                    return -1; // Chunked transfer encoding
+                }
                 
-                log.debug("Deepgram streaming session {} started", sessionId);
+                @Override
+                public boolean isOneShot() {
+                    return true;
+                }
                 
-            } catch (Exception e) {
-                log.error("Failed to start Deepgram streaming session", e);
-                if (shouldReconnect) {
-                    scheduleReconnect();
-                } else {
-                    throw new RuntimeException("Failed to start streaming session", e);
+                @Override
+                public void writeTo(BufferedSink sink) throws IOException {
+                    sink.writeAll(pipe.source());
                 }
+            };
+            
+            this.result = enqueueBatch(body, sampleRate, languageCode);
+        }
+        
+        @Override
+        public void write(byte[] audioData) throws IOException {
+            if (result.isDone()) {
+                throw new IOException("Batch upload already finished");
             }
+            pipeSink.write(audioData);
+            pipeSink.flush();
         }
         
-        private void scheduleReconnect() {
-            int attempts = reconnectAttempts.incrementAndGet();
-            
-            if (attempts > MAX_RECONNECT_ATTEMPTS) {
-                log.error("Max reconnection attempts ({}) reached for session {}", MAX_RECONNECT_ATTEMPTS, sessionId);
-                active = false;
-                shouldReconnect = false;
-                
-                resultCallback.accept(TranscriptionResult.builder()
-                        .error(true)
-                        .errorMessage("Max reconnection attempts reached")
-                        .timestamp(System.currentTimeMillis())
-                        .build());
-                return;
+        @Override
+        public CompletableFuture<TranscriptionResult> complete() {
+            try {
+                pipeSink.close();
+            } catch (IOException e) {
+                log.warn("Failed to close pipelined upload body: {}", e.getMessage());
             }
-            
-            long delay = Math.min(RECONNECT_DELAY_MS * (1L << (attempts - 1)), MAX_RECONNECT_DELAY_MS);
-            
-            log.info("Scheduling reconnection attempt {} for session {} in {}ms", attempts, sessionId, delay);
-            
-            reconnectExecutor.schedule(() -> {
-                if (shouldReconnect && !active) {
-                    log.info("Attempting to reconnect session {} (attempt {})", sessionId, attempts);
-                    connect();
-                }
-            }, delay, TimeUnit.MILLISECONDS);
+            return result;
         }
         
-        private void onConnectionSuccess() {
-            reconnectAttempts.set(0);
-            log.info("Deepgram streaming session {} reconnected successfully", sessionId);
+        @Override
+        public void abort() {
+            pipe.cancel();
+            result.cancel(true);
         }
+    }
+    
+    /**
+     * WebSocket-based streaming session for Deepgram.
+     */
+    private class DeepgramStreamingSession extends WebSocketStreamingSession {
         
-        private void onConnectionFailure(Throwable t) {
-            active = false;
-            log.error("Deepgram WebSocket connection failed for session {}: {}", sessionId, t.getMessage());
-            
-            if (shouldReconnect) {
-                scheduleReconnect();
-            } else {
-                resultCallback.accept(TranscriptionResult.builder()
-                        .error(true)
-                        .errorMessage("WebSocket connection failed: " + t.getMessage())
-                        .timestamp(System.currentTimeMillis())
-                        .build());
-            }
+        private static final String CLOSE_STREAM_MESSAGE = "{\"type\":\"CloseStream\"}";
+        private static final String FINALIZE_MESSAGE = "{\"type\":\"Finalize\"}";
+        
+        private final String languageCode;
+        // Reused for every message; messages of a session arrive on one socket reader at a time
+        private final DeepgramMessageParser.Message message = new DeepgramMessageParser.Message();
+        
+        DeepgramStreamingSession(String sessionId, int sampleRate, String languageCode, 
+                                Consumer<TranscriptionResult> resultCallback) {
+            super(DeepgramEngine.this, sessionId, sampleRate, resultCallback,
+                    config.getDeepgram(), reconnects, reconnectExecutor);
+            this.languageCode = languageCode;
         }
         
         @Override
-        public void sendAudio(byte[] audioData) {
-            if (webSocket != null && active) {
-                webSocket.send(ByteString.of(audioData));
-            }
+        protected WebSocket openSocket(WebSocketListener listener) {
+            return httpClient.newWebSocket(buildStreamingRequest(sampleRate, languageCode), listener);
         }
         
         @Override
-        public void close() {
-            shouldReconnect = false;
-            active = false;
-            if (webSocket != null) {
-                webSocket.close(1000, "Session closed");
-                log.debug("Deepgram streaming session {} closed", sessionId);
-            }
+        protected WebSocket takeWarmSocket(WebSocketListener listener) {
+            return connectionPool != null
+                    ? connectionPool.acquire(streamKey(sampleRate, languageCode), listener)
+                    : null;
         }
         
         @Override
-        public boolean isActive() {
-            return active;
+        protected String closeStreamMessage() {
+            return CLOSE_STREAM_MESSAGE;
         }
         
-        private class DeepgramWebSocketListener extends WebSocketListener {
-
-            List<String> list = new ArrayList<>();
-            
-            @Override
-            public void onOpen(WebSocket webSocket, Response response) {
-                log.debug("Deepgram WebSocket opened for session {}", sessionId);
-                onConnectionSuccess();
-            }
-            
-            @Override
-            public void onMessage(WebSocket webSocket, String text) {
-                try {
-                    DeepgramResponse response = objectMapper.readValue(text, DeepgramResponse.class);
-                    
-                    // Early exit if no channel or alternatives
-                    if (response.getChannel() == null || response.getChannel().getAlternatives() == null 
-                            || response.getChannel().getAlternatives().isEmpty()) {
-                        return;
-                    }
-                    
-                    // Find the best alternative (highest confidence)
-                    DeepgramAlternative bestAlternative = findBestAlternative(response.getChannel().getAlternatives());
-                    
-                    // Convert words and update buffer
-                    List<WordInfo> words = convertToWordInfoList(bestAlternative);
-                    boolean isFinal = Boolean.TRUE.equals(response.getIsFinal());
-                    SegmentResult segmentResult = wordBuffer.updateWords(words, isFinal);
-                    
-                    // Create and send result only if we have new content
-                    if (StringUtils.isNotBlank(segmentResult.getText())) {
-                        TranscriptionResult result = createTranscriptionResult(response, bestAlternative, segmentResult, isFinal);
-                        list.add(text);
-                        resultCallback.accept(result);
-                    }
-                } catch (Exception e) {
-                    log.error("Error processing Deepgram message", e);
-                }
-            }
-            
-            private DeepgramAlternative findBestAlternative(List<DeepgramAlternative> alternatives) {
-                DeepgramAlternative best = alternatives.get(0);
-                
-                for (DeepgramAlternative alt : alternatives) {
-                    if (alt.getConfidence() == null || best.getConfidence() == null) {
-                        continue;
-                    }
-                    
-                    if (alt.getConfidence() > best.getConfidence()) {
-                        best = alt;
-                    }
-                }
-                
-                return best;
-            }
-            
-            private List<WordInfo> convertToWordInfoList(DeepgramAlternative alternative) {
-                List<WordInfo> words = new ArrayList<>();
-                
-                if (alternative.getWords() == null) {
-                    return words;
-                }
-                
-                for (DeepgramWord word : alternative.getWords()) {
-                    words.add(WordInfo.builder()
-                            .word(word.getWord())
-                            .punctuatedWord(word.getPunctuatedWord())
-                            .start(word.getStart())
-                            .end(word.getEnd())
-                            .confidence(word.getConfidence())
-                            .language(word.getLanguage())
-                            .build());
-                }
-                
-                return words;
-            }
-            
-            private TranscriptionResult createTranscriptionResult(DeepgramResponse response, 
-                    DeepgramAlternative alternative, SegmentResult segmentResult, boolean isFinal) {
-                
-                return TranscriptionResult.builder()
-                        .text(alternative.getTranscript()) // Original transcript from this response
-                        .mergedTranscript(segmentResult.getText()) // Current segment only (since last final)
-                        .words(segmentResult.getWords()) // Words for current segment only
-                        .confidence(segmentResult.getConfidence())
-                        .language(response.getLanguage() != null ? response.getLanguage() : "en")
-                        .timestamp(System.currentTimeMillis())
-                        .interim(!isFinal)
-                        .error(false)
-                        .metadata(response.toMap())
-                        .build();
+        @Override
+        protected String keepAliveMessage() {
+            return DeepgramConnectionPool.KEEP_ALIVE_MESSAGE;
+        }
+        
+        @Override
+        protected String finalizeMessage() {
+            return FINALIZE_MESSAGE;
+        }
+        
+        @Override
+        protected void onTextMessage(String text) throws IOException {
+            // Extract only flags and the best alternative; the full response is bound lazily for metadata
+            if (!messageParser.parse(text, message) || !message.hasAlternative()) {
+                return;
             }
             
-            @Override
-            public void onClosing(WebSocket webSocket, int code, String reason) {
-                webSocket.close(1000, null);
-                active = false;
-                
-                if (shouldReconnect && code != 1000) {
-                    log.warn("Deepgram WebSocket closing unexpectedly for session {} with code {}: {}", sessionId, code, reason);
-                    scheduleReconnect();
-                }
+            if (message.isFromFinalize()) {
+                // Final produced by our Finalize rather than server endpointing
+                finalizeAnswered();
             }
             
-            @Override
-            public void onFailure(WebSocket webSocket, Throwable t, Response response) {
-                onConnectionFailure(t);
-            }
+            // A Finalize response always closes the utterance
+            boolean isFinal = message.isFinal() || message.isFromFinalize();
+            emit(message.getTranscript(), message.getWords(), isFinal,
+                    message.getLanguage() != null ? message.getLanguage() : "en",
+                    () -> decodeMetadata(text));
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,345 @@
+package ai.driftkit.audio.engine.impl;
+
+import ai.driftkit.audio.model.WordInfo;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Token-level parser for Deepgram streaming messages and batch responses.
+ * Reads only the fields needed to produce a result (flags, timing and the best alternative
+ * with its words) into a reusable {@link Message}, skipping everything else without binding it.
+ * A parser is thread-safe; a {@link Message} belongs to one WebSocket listener.
+ */
+class DeepgramMessageParser {
+
+    private final JsonFactory jsonFactory;
+
+    DeepgramMessageParser(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    /**
+     * Parse a message into the given holder, replacing its previous content.
+     *
+     * @return false if the text is not a JSON object
+     */
+    boolean parse(String json, Message message) throws IOException {
+        message.reset();
+
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return false;
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (value == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+
+                switch (field) {
+                    case "type" -> message.type = parser.getValueAsString();
+                    case "is_final" -> message.isFinal = parser.getValueAsBoolean();
+                    case "speech_final" -> message.speechFinal = parser.getValueAsBoolean();
+                    case "from_finalize" -> message.fromFinalize = parser.getValueAsBoolean();
+                    case "start" -> message.start = parser.getValueAsDouble();
+                    case "duration" -> message.duration = parser.getValueAsDouble();
+                    case "language" -> message.language = parser.getValueAsString();
+                    case "channel" -> parseChannel(parser, message);
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Read the transcript, confidence and language of a batch response, taking the first
+     * alternative of the first channel. A streaming-style {@code channel} takes precedence.
+     *
+     * @return null if the response holds no alternative
+     */
+    Summary parseSummary(byte[] json) throws IOException {
+        Summary summary = new Summary();
+
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (value == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+
+                switch (field) {
+                    case "language" -> summary.language = parser.getValueAsString();
+                    case "channel" -> parseSummaryChannel(parser, summary, true);
+                    case "results" -> parseSummaryResults(parser, summary);
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        return summary.present ? summary : null;
+    }
+
+    private void parseSummaryResults(JsonParser parser, Summary summary) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+
+            if ("channels".equals(field) && parser.currentToken() == JsonToken.START_ARRAY) {
+                if (parser.nextToken() != JsonToken.END_ARRAY) {
+                    parseSummaryChannel(parser, summary, false);
+                    skipRest(parser);
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private void parseSummaryChannel(JsonParser parser, Summary summary, boolean override) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+
+            if ("alternatives".equals(field) && parser.currentToken() == JsonToken.START_ARRAY) {
+                if (parser.nextToken() != JsonToken.END_ARRAY) {
+                    if (parser.currentToken() == JsonToken.START_OBJECT && (override || !summary.present)) {
+                        parseSummaryAlternative(parser, summary);
+                    } else {
+                        parser.skipChildren();
+                    }
+                    skipRest(parser);
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private void parseSummaryAlternative(JsonParser parser, Summary summary) throws IOException {
+        summary.present = true;
+        summary.transcript = null;
+        summary.confidence = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
+
+            switch (field) {
+                case "transcript" -> summary.transcript = parser.getValueAsString();
+                case "confidence" -> summary.confidence = parser.getValueAsDouble();
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * Skip the remaining elements of the array whose first element was just read.
+     */
+    private static void skipRest(JsonParser parser) throws IOException {
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            parser.skipChildren();
+        }
+    }
+
+    private void parseChannel(JsonParser parser, Message message) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+
+            if ("alternatives".equals(field) && parser.currentToken() == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    parseAlternative(parser, message.scratch);
+                    message.offerScratch();
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private void parseAlternative(JsonParser parser, Alternative alternative) throws IOException {
+        alternative.reset();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+
+            switch (field) {
+                case "transcript" -> alternative.transcript = parser.getValueAsString();
+                case "confidence" -> {
+                    if (value != JsonToken.VALUE_NULL) {
+                        alternative.confidence = parser.getValueAsDouble();
+                        alternative.hasConfidence = true;
+                    }
+                }
+                case "words" -> {
+                    if (value == JsonToken.START_ARRAY) {
+                        while (parser.nextToken() == JsonToken.START_OBJECT) {
+                            parseWord(parser, alternative.nextWord());
+                        }
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private void parseWord(JsonParser parser, WordInfo word) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
+
+            switch (field) {
+                case "word" -> word.setWord(parser.getValueAsString());
+                case "punctuated_word" -> word.setPunctuatedWord(parser.getValueAsString());
+                case "start" -> word.setStart(parser.getValueAsDouble());
+                case "end" -> word.setEnd(parser.getValueAsDouble());
+                case "confidence" -> word.setConfidence(parser.getValueAsDouble());
+                case "language" -> word.setLanguage(parser.getValueAsString());
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * Fields of a streaming message needed to produce a transcription result.
+     * Instances, including the word objects, are reused from message to message.
+     */
+    static class Message {
+        private String type;
+        private boolean isFinal;
+        private boolean speechFinal;
+        private boolean fromFinalize;
+        private double start;
+        private double duration;
+        private String language;
+
+        private Alternative best = new Alternative();
+        private Alternative scratch = new Alternative();
+
+        void reset() {
+            type = null;
+            isFinal = false;
+            speechFinal = false;
+            fromFinalize = false;
+            start = 0;
+            duration = 0;
+            language = null;
+            best.reset();
+            best.present = false;
+        }
+
+        /**
+         * Keep the alternative just parsed into the scratch slot if it beats the current best.
+         */
+        private void offerScratch() {
+            scratch.present = true;
+            boolean better = !best.present
+                    || (scratch.hasConfidence && best.hasConfidence && scratch.confidence > best.confidence);
+            if (better) {
+                Alternative previous = best;
+                best = scratch;
+                scratch = previous;
+            }
+        }
+
+        String getType() { return type; }
+        boolean isFinal() { return isFinal; }
+        boolean isSpeechFinal() { return speechFinal; }
+        boolean isFromFinalize() { return fromFinalize; }
+        double getStart() { return start; }
+        double getDuration() { return duration; }
+        String getLanguage() { return language; }
+
+        boolean hasAlternative() { return best.present; }
+        String getTranscript() { return best.transcript; }
+
+        /**
+         * Words of the best alternative. Valid until the next message is parsed.
+         */
+        List<WordInfo> getWords() { return best.words.subList(0, best.wordCount); }
+    }
+
+    /**
+     * Fields of a batch response needed to produce a transcription result.
+     */
+    static class Summary {
+        private boolean present;
+        private String transcript;
+        private Double confidence;
+        private String language;
+
+        String getTranscript() { return transcript; }
+        Double getConfidence() { return confidence; }
+        String getLanguage() { return language; }
+    }
+
+    private static class Alternative {
+        private boolean present;
+        private String transcript;
+        private double confidence;
+        private boolean hasConfidence;
+        private final List<WordInfo> words = new ArrayList<>();
+        private int wordCount;
+
+        void reset() {
+            transcript = null;
+            confidence = 0;
+            hasConfidence = false;
+            wordCount = 0;
+        }
+
+        WordInfo nextWord() {
+            WordInfo word;
+            if (wordCount < words.size()) {
+                word = words.get(wordCount);
+                word.setWord(null);
+                word.setPunctuatedWord(null);
+                word.setStart(0);
+                word.setEnd(0);
+                word.setConfidence(0);
+                word.setLanguage(null);
+            } else {
+                word = WordInfo.builder().build();
+                words.add(word);
+            }
+            wordCount++;
+            return word;
+        }
+    }
+}
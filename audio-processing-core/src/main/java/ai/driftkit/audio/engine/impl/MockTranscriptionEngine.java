@@ -0,0 +1,303 @@
+package ai.driftkit.audio.engine.impl;
+
+import ai.driftkit.audio.core.config.CoreAudioConfig;
+import ai.driftkit.audio.core.config.MockEngineConfig;
+import ai.driftkit.audio.engine.AbstractTranscriptionEngine;
+import ai.driftkit.audio.engine.EngineConfiguration;
+import ai.driftkit.audio.model.TranscriptionResult;
+import ai.driftkit.audio.model.WordInfo;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * In-process transcription engine answering with scripted text after a simulated latency.
+ * Batch requests fail or are rate limited at configurable rates; streaming sessions emit the
+ * scripted words as interim and final results paced by the audio they receive.
+ * Lets load tests and regression tests drive the whole pipeline without API keys or network.
+ */
+@Slf4j
+public class MockTranscriptionEngine extends AbstractTranscriptionEngine {
+
+    private static final String ENGINE_NAME = "Mock";
+
+    private final MockEngineConfig mock;
+    private final Random random;
+    private final String[] words;
+    private final ScheduledExecutorService scheduler;
+
+    public MockTranscriptionEngine(CoreAudioConfig config) {
+        super(ENGINE_NAME, config);
+        this.mock = config.getMock();
+        this.random = mock.getSeed() != null ? new Random(mock.getSeed()) : new Random();
+        this.words = mock.getTranscript().trim().split("\\s+");
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "Mock-engine");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public String getName() {
+        return ENGINE_NAME;
+    }
+
+    @Override
+    public boolean supportsBatchMode() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsStreamingMode() {
+        return true;
+    }
+
+    @Override
+    public void initialize() {
+        log.info("Mock engine initialized ({} latency around {}ms, failure rate {}, rate limit rate {})",
+            mock.getLatencyDistribution(), mock.getLatencyMs(), mock.getFailureRate(), mock.getRateLimitRate());
+    }
+
+    @Override
+    protected CompletableFuture<TranscriptionResult> doTranscribeBatch(
+            byte[] audioData, int sampleRate, String languageCode) {
+
+        long audioMs = audioData.length * 1000L / (sampleRate * 2L);
+        long latencyMs = sampleLatencyMs() + mock.getLatencyPerAudioSecondMs() * audioMs / 1000;
+        TranscriptionResult result = batchResult(languageCode);
+
+        CompletableFuture<TranscriptionResult> future = new CompletableFuture<>();
+        ScheduledFuture<?> reply = scheduler.schedule(() -> future.complete(result), latencyMs, TimeUnit.MILLISECONDS);
+        future.whenComplete((r, t) -> {
+            if (future.isCancelled()) {
+                reply.cancel(false);
+            }
+        });
+        return future;
+    }
+
+    private TranscriptionResult batchResult(String languageCode) {
+        double roll = random.nextDouble();
+        if (roll < mock.getRateLimitRate()) {
+            return TranscriptionResult.builder()
+                    .error(true)
+                    .errorMessage("Rate limited (simulated)")
+                    .retryAfterMs(mock.getRetryAfterMs())
+                    .timestamp(System.currentTimeMillis())
+                    .build();
+        }
+        if (roll < mock.getRateLimitRate() + mock.getFailureRate()) {
+            return TranscriptionResult.error("Transcription failed (simulated)");
+        }
+        return TranscriptionResult.success(mock.getTranscript(), 0.99, language(languageCode));
+    }
+
+    private String language(String languageCode) {
+        return languageCode != null ? languageCode : "en";
+    }
+
+    /**
+     * Draw a latency from the configured distribution (milliseconds).
+     */
+    long sampleLatencyMs() {
+        double mean = mock.getLatencyMs();
+        double jitter = mock.getLatencyJitterMs();
+        double latency = switch (mock.getLatencyDistribution()) {
+            case FIXED -> mean;
+            case UNIFORM -> mean + (random.nextDouble() * 2 - 1) * jitter;
+            case NORMAL -> mean + random.nextGaussian() * jitter;
+            // Median at the latency; sigma derived from the jitter relative to it
+            case LOG_NORMAL -> mean > 0 ? mean * Math.exp(random.nextGaussian() * jitter / mean) : 0;
+        };
+        return Math.max(0, Math.round(latency));
+    }
+
+    @Override
+    protected StreamingSession createStreamingSession(
+            String sessionId,
+            int sampleRate,
+            String languageCode,
+            Consumer<TranscriptionResult> resultCallback) {
+
+        return new MockStreamingSession(sampleRate, language(languageCode), resultCallback);
+    }
+
+    @Override
+    protected void doShutdown() {
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public EngineConfiguration getConfiguration() {
+        Map<String, String> optionalConfig = new HashMap<>();
+        optionalConfig.put("audio.processing.mock.latency-distribution", "FIXED | UNIFORM | NORMAL | LOG_NORMAL (default: LOG_NORMAL)");
+        optionalConfig.put("audio.processing.mock.latency-ms", "Typical latency (default: 300)");
+        optionalConfig.put("audio.processing.mock.failure-rate", "Fraction of failed batch requests (default: 0.0)");
+        optionalConfig.put("audio.processing.mock.rate-limit-rate", "Fraction of rate-limited batch requests (default: 0.0)");
+
+        return EngineConfiguration.builder()
+                .engineType(ENGINE_NAME)
+                .requiredConfig(new HashMap<>())
+                .optionalConfig(optionalConfig)
+                .processingMode(EngineConfiguration.ProcessingMode.BOTH)
+                .supportedFormats(EngineConfiguration.AudioFormat.builder()
+                        .supportedSampleRates(new int[]{8000, 16000, 24000, 48000})
+                        .supportedChannels(new int[]{1})
+                        .supportedBitsPerSample(new int[]{16})
+                        .supportedEncodings(new String[]{"linear16"})
+                        .build())
+                .maxStreamingChunkSize(8192)
+                .recommendedBufferSizeMs(100)
+                .requiresConversion(false)
+                .build();
+    }
+
+    /**
+     * Streaming session emitting one scripted word per word duration of received audio.
+     * Skipped audio advances the timeline without producing words. Results keep their order,
+     * as on a real socket: each is delivered no earlier than the one before it.
+     */
+    private class MockStreamingSession implements StreamingSession {
+
+        private final int bytesPerSecond;
+        private final String language;
+        private final Consumer<TranscriptionResult> resultCallback;
+        private boolean active = true;
+        // Session timeline and the audio received for the current utterance (bytes)
+        private long streamBytes = 0;
+        private long utteranceStartBytes = 0;
+        private long utteranceSpeechBytes = 0;
+        private long speechSinceInterim = 0;
+        private int nextWord = 0;
+        private final List<WordInfo> utterance = new ArrayList<>();
+        // Results awaiting delivery and when the last of them is due (System.nanoTime)
+        private final Queue<TranscriptionResult> pending = new ArrayDeque<>();
+        private long lastDeliveryNanos = Long.MIN_VALUE;
+
+        MockStreamingSession(int sampleRate, String language, Consumer<TranscriptionResult> resultCallback) {
+            this.bytesPerSecond = sampleRate * 2;
+            this.language = language;
+            this.resultCallback = resultCallback;
+        }
+
+        @Override
+        public synchronized void sendAudio(byte[] audioData) {
+            if (!active) {
+                return;
+            }
+            streamBytes += audioData.length;
+            utteranceSpeechBytes += audioData.length;
+            speechSinceInterim += audioData.length;
+
+            long wordBytes = Math.max(2, mock.getWordDurationMs() * bytesPerSecond / 1000);
+            while (utterance.size() < utteranceSpeechBytes / wordBytes) {
+                double start = (double) (utteranceStartBytes + utterance.size() * wordBytes) / bytesPerSecond;
+                utterance.add(WordInfo.builder()
+                        .word(words[nextWord])
+                        .punctuatedWord(words[nextWord])
+                        .start(start)
+                        .end(start + (double) wordBytes / bytesPerSecond)
+                        .confidence(0.99)
+                        .language(language)
+                        .build());
+                nextWord = (nextWord + 1) % words.length;
+            }
+
+            if (utterance.size() >= mock.getUtteranceWords()) {
+                emit(true);
+            } else if (speechSinceInterim * 1000 / bytesPerSecond >= mock.getInterimIntervalMs() && !utterance.isEmpty()) {
+                emit(false);
+            }
+        }
+
+        @Override
+        public synchronized void skipAudio(int byteCount) {
+            if (!active) {
+                return;
+            }
+            streamBytes += byteCount;
+            if (utterance.isEmpty()) {
+                utteranceStartBytes = streamBytes;
+                utteranceSpeechBytes = 0;
+            }
+        }
+
+        @Override
+        public synchronized void finalizeUtterance() {
+            if (active && !utterance.isEmpty()) {
+                emit(true);
+            }
+        }
+
+        /**
+         * Deliver the current utterance after a simulated latency. Must hold the session lock.
+         */
+        private void emit(boolean isFinal) {
+            List<WordInfo> snapshot = new ArrayList<>(utterance);
+            String text = String.join(" ", snapshot.stream().map(WordInfo::getWord).toList());
+            TranscriptionResult result = TranscriptionResult.builder()
+                    .text(text)
+                    .mergedTranscript(text)
+                    .words(snapshot)
+                    .confidence(0.99)
+                    .language(language)
+                    .timestamp(System.currentTimeMillis())
+                    .interim(!isFinal)
+                    .error(false)
+                    .build();
+
+            speechSinceInterim = 0;
+            if (isFinal) {
+                utterance.clear();
+                utteranceStartBytes = streamBytes;
+                utteranceSpeechBytes = 0;
+            }
+            long now = System.nanoTime();
+            long delivery = now + TimeUnit.MILLISECONDS.toNanos(sampleLatencyMs());
+            if (lastDeliveryNanos != Long.MIN_VALUE && delivery - lastDeliveryNanos < 0) {
+                delivery = lastDeliveryNanos;
+            }
+            lastDeliveryNanos = delivery;
+            pending.add(result);
+            scheduler.schedule(this::deliverNext, delivery - now, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Deliver the oldest pending result. Deliveries due at the same time may run in any order,
+         * so each takes the head of the queue rather than a result of its own.
+         */
+        private void deliverNext() {
+            TranscriptionResult result;
+            synchronized (this) {
+                result = pending.poll();
+            }
+            if (result != null) {
+                resultCallback.accept(result);
+            }
+        }
+
+        @Override
+        public synchronized void close() {
+            finalizeUtterance();
+            active = false;
+        }
+
+        @Override
+        public synchronized boolean isActive() {
+            return active;
+        }
+    }
+}
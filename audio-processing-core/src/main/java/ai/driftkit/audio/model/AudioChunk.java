@@ -1,5 +1,6 @@
 package ai.driftkit.audio.model;
 
+import ai.driftkit.audio.core.PcmFormat;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -16,6 +17,7 @@ public class AudioChunk {
     private long endTime;
     private String transcription;
     private boolean endedOnSilence;
+    private PcmFormat format;
 
     public AudioChunk(byte[] data, long startTime, long endTime, boolean endedOnSilence) {
         this.data = data;
@@ -23,6 +25,11 @@ public class AudioChunk {
         this.endTime = endTime;
         this.endedOnSilence = endedOnSilence;
     }
+
+    public AudioChunk(byte[] data, PcmFormat format, long startTime, long endTime, boolean endedOnSilence) {
+        this(data, startTime, endTime, endedOnSilence);
+        this.format = format;
+    }
     
     /**
      * Get duration in seconds
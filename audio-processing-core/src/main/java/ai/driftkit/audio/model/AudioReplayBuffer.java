@@ -0,0 +1,81 @@
+package ai.driftkit.audio.model;
+
+import java.util.ArrayDeque;
+
+/**
+ * Bounded FIFO of audio chunks held while a streaming connection is unavailable.
+ * When the byte limit is exceeded the oldest chunks are dropped, so the buffer always
+ * holds the most recent audio. Chunks are kept by reference. Not thread-safe.
+ */
+public class AudioReplayBuffer {
+
+    private final long maxBytes;
+    private final ArrayDeque<byte[]> chunks = new ArrayDeque<>();
+    private long size = 0;
+    private long droppedBytes = 0;
+
+    public AudioReplayBuffer(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Append a chunk, dropping the oldest audio if the buffer is full.
+     * The buffer takes ownership of the array; it must not be modified afterwards.
+     *
+     * @return number of bytes dropped to make room
+     */
+    public long offer(byte[] chunk) {
+        if (chunk.length == 0) {
+            return 0;
+        }
+        chunks.addLast(chunk);
+        size += chunk.length;
+
+        long dropped = 0;
+        while (size > maxBytes && !chunks.isEmpty()) {
+            byte[] oldest = chunks.removeFirst();
+            size -= oldest.length;
+            dropped += oldest.length;
+        }
+        droppedBytes += dropped;
+        return dropped;
+    }
+
+    /**
+     * Get the oldest chunk without removing it, or null if empty.
+     */
+    public byte[] peek() {
+        return chunks.peekFirst();
+    }
+
+    /**
+     * Remove and return the oldest chunk, or null if empty.
+     */
+    public byte[] poll() {
+        byte[] chunk = chunks.pollFirst();
+        if (chunk != null) {
+            size -= chunk.length;
+        }
+        return chunk;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return chunks.isEmpty();
+    }
+
+    /**
+     * Total bytes dropped because the buffer was full.
+     */
+    public long getDroppedBytes() {
+        return droppedBytes;
+    }
+
+    public void clear() {
+        chunks.clear();
+        size = 0;
+    }
+}
@@ -0,0 +1,88 @@
+package ai.driftkit.audio.model;
+
+import ai.driftkit.audio.core.PcmFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Audio of one speech segment kept as the list of chunks it was received in.
+ * Chunks are retained by reference, so buffering a segment copies nothing; the whole
+ * segment can be streamed out chunk by chunk or flattened once when an array is required.
+ */
+public class AudioSegmentBuffer {
+
+    private final List<byte[]> chunks = new ArrayList<>();
+    private long size = 0;
+
+    /**
+     * Append a chunk. The buffer takes ownership of the array; it must not be modified afterwards.
+     */
+    public void append(byte[] chunk) {
+        if (chunk.length == 0) {
+            return;
+        }
+        chunks.add(chunk);
+        size += chunk.length;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getChunkCount() {
+        return chunks.size();
+    }
+
+    /**
+     * Write all chunks in order.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        for (byte[] chunk : chunks) {
+            out.write(chunk);
+        }
+    }
+
+    /**
+     * Copy the segment into a single array.
+     */
+    public byte[] toByteArray() {
+        if (chunks.size() == 1) {
+            return chunks.get(0);
+        }
+        byte[] result = new byte[Math.toIntExact(size)];
+        int position = 0;
+        for (byte[] chunk : chunks) {
+            System.arraycopy(chunk, 0, result, position, chunk.length);
+            position += chunk.length;
+        }
+        return result;
+    }
+
+    /**
+     * Swap the byte order of every 16-bit sample. The buffer switches to swapped copies;
+     * the appended arrays themselves are left untouched.
+     * Chunks are expected to hold whole samples.
+     */
+    public void swapByteOrder() {
+        chunks.replaceAll(PcmFormat::swapByteOrder);
+    }
+
+    /**
+     * Detach the buffered chunks into a new segment and leave this buffer empty.
+     */
+    public AudioSegmentBuffer drain() {
+        AudioSegmentBuffer segment = new AudioSegmentBuffer();
+        segment.chunks.addAll(chunks);
+        segment.size = size;
+        chunks.clear();
+        size = 0;
+        return segment;
+    }
+}
@@ -0,0 +1,58 @@
+package ai.driftkit.audio.model;
+
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Read-only metadata map that is decoded on first access.
+ * Results carry it so that consumers who never read metadata never pay for building it.
+ */
+public class LazyMetadata extends AbstractMap<String, Object> {
+
+    private Supplier<Map<String, Object>> decoder;
+    private volatile Map<String, Object> decoded;
+
+    public LazyMetadata(Supplier<Map<String, Object>> decoder) {
+        this.decoder = decoder;
+    }
+
+    /**
+     * Whether the metadata has been decoded already.
+     */
+    public boolean isDecoded() {
+        return decoded != null;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return decode().entrySet();
+    }
+
+    @Override
+    public Object get(Object key) {
+        return decode().get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return decode().containsKey(key);
+    }
+
+    private Map<String, Object> decode() {
+        Map<String, Object> result = decoded;
+        if (result == null) {
+            synchronized (this) {
+                result = decoded;
+                if (result == null) {
+                    result = decoder.get();
+                    decoded = result;
+                    // Release whatever the decoder captured
+                    decoder = null;
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -23,6 +23,12 @@ public class TranscriptionResult {
     private List<WordInfo> words;
     private String mergedTranscript;
     
+    /**
+     * Set on error results of requests rejected for rate limiting: how long to wait before
+     * retrying (milliseconds), or 0 if the server gave no hint. Null otherwise.
+     */
+    private Long retryAfterMs;
+    
     public static TranscriptionResult success(String text, double confidence, String language) {
         return TranscriptionResult.builder()
             .text(text)
@@ -3,6 +3,7 @@ package ai.driftkit.audio.model.deepgram;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -43,16 +44,18 @@ public class DeepgramResponse {
     private Boolean fromFinalize;
     
     public Map<String, Object> toMap() {
-        return Map.of(
-            "metadata", metadata,
-            "results", results == null ? "" : results,
-            "language", language != null ? language : "en",
-            "is_final", isFinal != null ? isFinal : false,
-            "speech_final", speechFinal != null ? speechFinal : false,
-            "channel_index", channelIndex,
-            "duration", duration,
-            "start", start,
-            "type", type
-        );
+        // Batch and streaming responses fill different fields, so absent values are allowed
+        Map<String, Object> map = new HashMap<>();
+        map.put("metadata", metadata);
+        map.put("results", results == null ? "" : results);
+        map.put("language", language != null ? language : "en");
+        map.put("is_final", isFinal != null ? isFinal : false);
+        map.put("speech_final", speechFinal != null ? speechFinal : false);
+        map.put("from_finalize", fromFinalize != null ? fromFinalize : false);
+        map.put("channel_index", channelIndex);
+        map.put("duration", duration);
+        map.put("start", start);
+        map.put("type", type);
+        return map;
     }
 }
\ No newline at end of file
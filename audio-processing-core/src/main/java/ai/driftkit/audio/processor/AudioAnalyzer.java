@@ -1,5 +1,6 @@
 package ai.driftkit.audio.processor;
 
+import ai.driftkit.audio.core.PcmFormat;
 import ai.driftkit.audio.core.config.CoreAudioConfig;
 import ai.driftkit.audio.model.AudioAnalysis;
 
@@ -9,6 +10,7 @@ import ai.driftkit.audio.model.AudioAnalysis;
 public class AudioAnalyzer {
     
     private final CoreAudioConfig config;
+    private final PcmFormat format;
 
     // Adaptive sensitivity fields
     private volatile long lastVoiceDetectedTime = System.currentTimeMillis();
@@ -27,7 +29,16 @@ public class AudioAnalyzer {
     private boolean isCalibrated = false;
 
     public AudioAnalyzer(CoreAudioConfig config) {
+        this(config, config.getPcmFormat());
+    }
+
+    public AudioAnalyzer(CoreAudioConfig config, PcmFormat format) {
         this.config = config;
+        this.format = format;
+    }
+
+    public PcmFormat getFormat() {
+        return format;
     }
 
     /**
@@ -71,13 +82,20 @@ public class AudioAnalyzer {
      * Analyze audio buffer for voice activity and silence detection
      */
     public AudioAnalysis analyzeBuffer(byte[] buffer, int length) {
-        // Convert bytes to 16-bit samples and calculate RMS (Root Mean Square)
+        return analyzeBuffer(buffer, 0, length);
+    }
+    
+    /**
+     * Analyze a region of an audio buffer for voice activity and silence detection
+     */
+    public AudioAnalysis analyzeBuffer(byte[] buffer, int offset, int length) {
+        // Convert bytes to 16-bit samples in the analyzer's byte order and calculate RMS (Root Mean Square)
         long sum = 0;
         int sampleCount = length / 2; // 16-bit samples
+        int end = offset + length;
         
-        for (int i = 0; i < length - 1; i += 2) {
-            // Convert two bytes to a 16-bit sample (big-endian)
-            short sample = (short)((buffer[i] << 8) | (buffer[i + 1] & 0xFF));
+        for (int i = offset; i < end - 1; i += 2) {
+            short sample = format.readSample(buffer, i);
             sum += sample * sample;
         }
         
@@ -95,7 +113,7 @@ public class AudioAnalyzer {
      */
     public boolean analyzeChunkForVoice(byte[] chunkData) {
         // Analyze the entire chunk in segments to detect voice activity
-        int segmentSize = config.getSampleRate() * 2; // 1 second segments
+        int segmentSize = format.getBytesPerSecond(); // 1 second segments
         int numSegments = chunkData.length / segmentSize;
         int voiceSegments = 0;
         double maxSegmentAmplitude = 0;
@@ -105,10 +123,7 @@ public class AudioAnalyzer {
             int length = Math.min(segmentSize, chunkData.length - start);
             
             if (length > 0) {
-                byte[] segment = new byte[length];
-                System.arraycopy(chunkData, start, segment, 0, length);
-                
-                AudioAnalysis analysis = analyzeBuffer(segment, length);
+                AudioAnalysis analysis = analyzeBuffer(chunkData, start, length);
                 if (analysis.getAmplitude() > maxSegmentAmplitude) {
                     maxSegmentAmplitude = analysis.getAmplitude();
                 }
@@ -127,9 +142,7 @@ public class AudioAnalyzer {
                 int start = i * segmentSize;
                 int length = Math.min(segmentSize, chunkData.length - start);
                 if (length > 0) {
-                    byte[] segment = new byte[length];
-                    System.arraycopy(chunkData, start, segment, 0, length);
-                    AudioAnalysis analysis = analyzeBuffer(segment, length);
+                    AudioAnalysis analysis = analyzeBuffer(chunkData, start, length);
                     totalAmplitude += analysis.getAmplitude();
                 }
             }
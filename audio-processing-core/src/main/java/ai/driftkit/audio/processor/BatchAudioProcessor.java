@@ -2,16 +2,19 @@ package ai.driftkit.audio.processor;
 
 import ai.driftkit.audio.converter.AudioConverter;
 import ai.driftkit.audio.core.AudioFormatType;
+import ai.driftkit.audio.core.PcmFormat;
 import ai.driftkit.audio.core.config.CoreAudioConfig;
 import lombok.extern.slf4j.Slf4j;
+import ai.driftkit.audio.engine.BatchUpload;
 import ai.driftkit.audio.engine.TranscriptionEngine;
 import ai.driftkit.audio.model.AudioAnalysis;
+import ai.driftkit.audio.model.AudioSegmentBuffer;
 import ai.driftkit.audio.model.TranscriptionResult;
 
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
@@ -19,24 +22,31 @@ import java.util.function.Consumer;
 /**
  * Processor for batch mode audio transcription.
  * Accumulates audio chunks based on VAD and sends complete segments for transcription.
+ * Durations are measured on the audio timeline (bytes processed) rather than the wall clock,
+ * so audio decoded from files can be fed faster than real time.
  */
 @Slf4j
 public class BatchAudioProcessor {
     
     private final String sessionId;
     private final CoreAudioConfig config;
+    private final PcmFormat format;
     private final AudioAnalyzer audioAnalyzer;
     private final AudioConverter audioConverter;
     private final TranscriptionEngine engine;
     private final Consumer<TranscriptionResult> resultCallback;
     
-    private final ByteArrayOutputStream audioBuffer = new ByteArrayOutputStream();
+    private final AudioSegmentBuffer audioBuffer = new AudioSegmentBuffer();
     private final AtomicBoolean isProcessing = new AtomicBoolean(true);
     private final AtomicLong lastSpeechTime = new AtomicLong(0);
     private final AtomicLong totalChunksProcessed = new AtomicLong(0);
     
+    private final boolean pipelined;
+    
     private boolean inSpeechSegment = false;
     private long segmentStartTime = 0;
+    private long processedBytes = 0;
+    private BatchUpload upload;
     
     public BatchAudioProcessor(
             String sessionId,
@@ -45,17 +55,32 @@ public class BatchAudioProcessor {
             AudioConverter audioConverter,
             TranscriptionEngine engine,
             Consumer<TranscriptionResult> resultCallback) {
+        this(sessionId, config, audioAnalyzer.getFormat(), audioAnalyzer, audioConverter, engine, resultCallback);
+    }
+    
+    public BatchAudioProcessor(
+            String sessionId,
+            CoreAudioConfig config,
+            PcmFormat format,
+            AudioAnalyzer audioAnalyzer,
+            AudioConverter audioConverter,
+            TranscriptionEngine engine,
+            Consumer<TranscriptionResult> resultCallback) {
         
         this.sessionId = sessionId;
         this.config = config;
+        this.format = format;
         this.audioAnalyzer = audioAnalyzer;
         this.audioConverter = audioConverter;
         this.engine = engine;
         this.resultCallback = resultCallback;
+        this.pipelined = config.isPipelinedUpload()
+                && engine.supportsPipelinedUpload()
+                && !engine.getConfiguration().isRequiresConversion();
     }
     
     /**
-     * Process an audio chunk.
+     * Process an audio chunk. Speech chunks are buffered by reference, so the array must not be reused by the caller.
      */
     public void processAudioChunk(byte[] audioData) {
         if (!isProcessing.get()) {
@@ -64,43 +89,76 @@ public class BatchAudioProcessor {
         }
         
         totalChunksProcessed.incrementAndGet();
+        long chunkStartTime = getAudioTimeMs();
+        processedBytes += audioData.length;
         
         // Analyze audio for voice activity
         AudioAnalysis analysis = audioAnalyzer.analyzeBuffer(audioData, audioData.length);
         
         if (!analysis.isSilent()) {
-            handleSpeechDetected(audioData);
+            handleSpeechDetected(audioData, chunkStartTime);
         } else {
             handleSilenceDetected();
         }
         
+        // Bound the segment length so long monologues or decoded files do not accumulate unbounded audio
+        if (inSpeechSegment && getAudioTimeMs() - segmentStartTime >= config.getMaxChunkDurationSeconds() * 1000L) {
+            log.debug("Segment reached max duration of {}s in session {}", config.getMaxChunkDurationSeconds(), sessionId);
+            finalizeSpeechSegment();
+        }
+        
         // Debug output if enabled
         if (config.getDebug().isEnabled()) {
             saveDebugAudio(audioData);
         }
     }
     
-    private void handleSpeechDetected(byte[] audioData) {
-        lastSpeechTime.set(System.currentTimeMillis());
+    private void handleSpeechDetected(byte[] audioData, long chunkStartTime) {
+        lastSpeechTime.set(getAudioTimeMs());
         
         if (!inSpeechSegment) {
             // Start new speech segment
             inSpeechSegment = true;
-            segmentStartTime = System.currentTimeMillis();
+            segmentStartTime = chunkStartTime;
             log.debug("Speech started in session {}", sessionId);
+            
+            if (pipelined) {
+                startUpload();
+            }
+        }
+        
+        if (pipelined && format.isBigEndian()) {
+            // Pipelined segments are kept in the engine byte order from the start
+            audioData = PcmFormat.swapByteOrder(audioData);
         }
         
-        // Add audio to buffer
+        // Add audio to buffer; the buffer stays the fallback if the pipelined upload fails
+        audioBuffer.append(audioData);
+        
+        if (upload != null) {
+            try {
+                upload.write(audioData);
+            } catch (IOException e) {
+                log.warn("Pipelined upload failed in session {}, uploading at end of speech instead: {}",
+                        sessionId, e.getMessage());
+                upload.abort();
+                upload = null;
+            }
+        }
+    }
+    
+    private void startUpload() {
         try {
-            audioBuffer.write(audioData);
-        } catch (IOException e) {
-            log.error("Failed to buffer audio data", e);
+            upload = engine.openBatchUpload(format.getSampleRate(), getLanguageCode());
+        } catch (RuntimeException e) {
+            log.warn("Failed to open pipelined upload in session {}: {}", sessionId, e.getMessage());
+            upload = null;
         }
     }
     
     private void handleSilenceDetected() {
         if (inSpeechSegment) {
-            long silenceDuration = System.currentTimeMillis() - lastSpeechTime.get();
+            long silenceDuration = getAudioTimeMs() - lastSpeechTime.get();
             
             if (silenceDuration >= config.getVad().getSilenceDurationMs()) {
                 // End of speech segment detected
@@ -111,40 +169,51 @@ public class BatchAudioProcessor {
     
     private void finalizeSpeechSegment() {
         inSpeechSegment = false;
-        byte[] audioData = audioBuffer.toByteArray();
-        audioBuffer.reset();
+        AudioSegmentBuffer segment = audioBuffer.drain();
+        BatchUpload segmentUpload = upload;
+        upload = null;
         
-        long segmentDuration = System.currentTimeMillis() - segmentStartTime;
+        long segmentDuration = getAudioTimeMs() - segmentStartTime;
         log.debug("Speech segment ended in session {} after {}ms", sessionId, segmentDuration);
         
         // Check minimum duration
         if (segmentDuration < config.getMinChunkDurationSeconds() * 1000) {
             log.debug("Segment too short ({}ms), discarding", segmentDuration);
+            if (segmentUpload != null) {
+                segmentUpload.abort();
+            }
             return;
         }
         
-        // Convert audio if needed
-        byte[] processedAudio = audioData;
-        if (engine.getConfiguration().isRequiresConversion()) {
+        // Convert audio if needed; the converter reads the session format directly
+        CompletableFuture<TranscriptionResult> transcription;
+        if (segmentUpload != null) {
+            // Audio is already uploaded; closing the body leaves only server recognition time
+            transcription = segmentUpload.complete();
+        } else if (engine.getConfiguration().isRequiresConversion()) {
+            byte[] processedAudio;
             try {
                 processedAudio = audioConverter.convertToFormat(
-                    audioData,
-                    config.getSampleRate(),
+                    segment.toByteArray(),
+                    format,
                     AudioFormatType.WAV
                 );
             } catch (Exception e) {
                 log.error("Failed to convert audio", e);
                 return;
             }
+            transcription = engine.transcribeBatch(processedAudio, format.getSampleRate(), getLanguageCode());
+        } else {
+            if (format.isBigEndian() && !pipelined) {
+                // Raw engines expect little-endian
+                segment.swapByteOrder();
+            }
+            // Raw segments are handed over as buffered chunks so engines can stream them without flattening
+            transcription = engine.transcribeBatch(segment, format.getSampleRate(), getLanguageCode());
         }
         
         // Send for transcription
-        final byte[] finalAudio = processedAudio;
-        engine.transcribeBatch(
-            finalAudio,
-            config.getSampleRate(),
-            getLanguageCode()
-        ).thenAccept(result -> {
+        transcription.thenAccept(result -> {
             if (resultCallback != null) {
                 resultCallback.accept(result);
             }
@@ -180,6 +249,17 @@ public class BatchAudioProcessor {
                 sessionId, totalChunksProcessed.get());
     }
     
+    /**
+     * Position on the audio timeline in milliseconds.
+     */
+    private long getAudioTimeMs() {
+        return processedBytes * 1000L / format.getBytesPerSecond();
+    }
+    
+    public PcmFormat getFormat() {
+        return format;
+    }
+    
     private String getLanguageCode() {
         switch (config.getEngine()) {
             case ASSEMBLYAI:
@@ -0,0 +1,105 @@
+package ai.driftkit.audio.processor;
+
+import ai.driftkit.audio.core.PcmFormat;
+import ai.driftkit.audio.core.config.StreamingGateConfig;
+import ai.driftkit.audio.engine.TranscriptionEngine;
+import ai.driftkit.audio.model.AudioAnalysis;
+import ai.driftkit.audio.model.AudioReplayBuffer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Voice activity gate in front of a streaming session.
+ * While the speaker is silent, audio is held in a short pre-roll buffer and what falls out of it
+ * is reported to the engine as skipped, so it keeps the connection alive and its timeline in step
+ * without receiving the audio. When speech starts the pre-roll is sent ahead of it; after speech
+ * the gate stays open for a hangover period so the engine still sees the trailing silence.
+ * With withholding disabled all audio passes through and the gate only detects end of speech,
+ * asking the engine to finalize the utterance when configured to.
+ */
+@Slf4j
+public class StreamingVadGate {
+
+    private final String sessionId;
+    private final StreamingGateConfig config;
+    private final PcmFormat format;
+    private final AudioAnalyzer audioAnalyzer;
+    private final TranscriptionEngine engine;
+    private final AudioReplayBuffer preRoll;
+
+    private boolean open = false;
+    private long processedBytes = 0;
+    private long lastSpeechBytes = 0;
+    private long skippedBytes = 0;
+    private boolean inUtterance = false;
+
+    /**
+     * @param audioAnalyzer analyzer for the audio as it is passed to {@link #processAudioChunk}
+     */
+    public StreamingVadGate(String sessionId, StreamingGateConfig config, PcmFormat format,
+                            AudioAnalyzer audioAnalyzer, TranscriptionEngine engine) {
+        this.sessionId = sessionId;
+        this.config = config;
+        this.format = format;
+        this.audioAnalyzer = audioAnalyzer;
+        this.engine = engine;
+        this.preRoll = new AudioReplayBuffer((long) format.getBytesPerSecond() * config.getPreRollMs() / 1000);
+    }
+
+    /**
+     * Pass a chunk through the gate. The chunk is retained by reference while it sits in the pre-roll.
+     */
+    public void processAudioChunk(byte[] audioData) {
+        processedBytes += audioData.length;
+        AudioAnalysis analysis = audioAnalyzer.analyzeBuffer(audioData, audioData.length);
+        if (!analysis.isSilent()) {
+            lastSpeechBytes = processedBytes;
+            inUtterance = true;
+        }
+
+        if (!config.isEnabled()) {
+            engine.sendStreamingAudio(sessionId, audioData);
+        } else if (open) {
+            engine.sendStreamingAudio(sessionId, audioData);
+            if (analysis.isSilent() && toMs(processedBytes - lastSpeechBytes) >= config.getHangoverMs()) {
+                open = false;
+                log.debug("Streaming gate closed for session {}", sessionId);
+            }
+        } else if (!analysis.isSilent()) {
+            open = true;
+            log.debug("Streaming gate opened for session {} ({}ms pre-roll)", sessionId, toMs(preRoll.size()));
+            byte[] chunk;
+            while ((chunk = preRoll.poll()) != null) {
+                engine.sendStreamingAudio(sessionId, chunk);
+            }
+            engine.sendStreamingAudio(sessionId, audioData);
+        } else {
+            long dropped = preRoll.offer(audioData);
+            if (dropped > 0) {
+                skippedBytes += dropped;
+                engine.skipStreamingAudio(sessionId, (int) dropped);
+            }
+        }
+
+        if (config.isFinalizeOnEndpoint() && inUtterance && analysis.isSilent()
+                && toMs(processedBytes - lastSpeechBytes) >= config.getEndpointSilenceMs()) {
+            inUtterance = false;
+            log.debug("End of speech in session {}, finalizing", sessionId);
+            engine.finalizeStreaming(sessionId);
+        }
+    }
+
+    public boolean isOpen() {
+        return open;
+    }
+
+    /**
+     * Total audio withheld from the engine so far (bytes).
+     */
+    public long getSkippedBytes() {
+        return skippedBytes;
+    }
+
+    private long toMs(long bytes) {
+        return bytes * 1000 / format.getBytesPerSecond();
+    }
+}
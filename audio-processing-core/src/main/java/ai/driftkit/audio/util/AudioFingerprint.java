@@ -0,0 +1,96 @@
+package ai.driftkit.audio.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Fast non-cryptographic 128-bit fingerprint of an audio payload.
+ * Used as a content address for caches; reads the payload 8 bytes at a time.
+ */
+public final class AudioFingerprint {
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final long SEED_1 = 0x9E3779B97F4A7C15L;
+    private static final long SEED_2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long PRIME_1 = 0x87C37B91114253D5L;
+    private static final long PRIME_2 = 0x4CF5AD432745937FL;
+
+    private final long high;
+    private final long low;
+    private final int length;
+
+    private AudioFingerprint(long high, long low, int length) {
+        this.high = high;
+        this.low = low;
+        this.length = length;
+    }
+
+    /**
+     * Compute the fingerprint of the whole array.
+     */
+    public static AudioFingerprint of(byte[] data) {
+        return of(data, 0, data.length);
+    }
+
+    /**
+     * Compute the fingerprint of a region of the array.
+     */
+    public static AudioFingerprint of(byte[] data, int offset, int length) {
+        long h1 = SEED_1 ^ length;
+        long h2 = SEED_2 ^ length;
+
+        int end = offset + length;
+        int i = offset;
+        for (; i + 8 <= end; i += 8) {
+            long k = (long) LONGS.get(data, i);
+            h1 = Long.rotateLeft(h1 ^ (k * PRIME_1), 31) * PRIME_2;
+            h2 = (Long.rotateLeft(h2 + (k * PRIME_2), 27) * PRIME_1) ^ h1;
+        }
+
+        if (i < end) {
+            long k = 0;
+            for (int shift = 0; i < end; i++, shift += 8) {
+                k |= (data[i] & 0xFFL) << shift;
+            }
+            h1 = Long.rotateLeft(h1 ^ (k * PRIME_1), 31) * PRIME_2;
+            h2 = (Long.rotateLeft(h2 + (k * PRIME_2), 27) * PRIME_1) ^ h1;
+        }
+
+        h1 = mix(h1 ^ h2);
+        h2 = mix(h2 + h1);
+        return new AudioFingerprint(h1, h2, length);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    public long getHigh() { return high; }
+    public long getLow() { return low; }
+    public int getLength() { return length; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof AudioFingerprint)) return false;
+        AudioFingerprint that = (AudioFingerprint) o;
+        return high == that.high && low == that.low && length == that.length;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (low ^ (low >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%016x%016x", high, low);
+    }
+}
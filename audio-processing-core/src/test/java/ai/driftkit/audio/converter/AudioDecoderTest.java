@@ -0,0 +1,170 @@
+package ai.driftkit.audio.converter;
+
+import ai.driftkit.audio.core.PcmFormat;
+import ai.driftkit.audio.core.config.CoreAudioConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the streaming decoder on WAV input: chunking, downmixing, resampling and byte order.
+ */
+public class AudioDecoderTest {
+
+    @TempDir
+    Path directory;
+
+    private final AudioDecoder decoder = new AudioDecoder(new CoreAudioConfig());
+
+    @Test
+    void testMonoWavIsDeliveredInFixedChunks() throws Exception {
+        short[] samples = new short[1000];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = (short) (i * 30 - 15000);
+        }
+        Path file = directory.resolve("mono.wav");
+        Files.write(file, wav(16000, 1, samples));
+
+        List<byte[]> chunks = new ArrayList<>();
+        long total = decoder.decode(file, 16000, 640, chunks::add);
+
+        assertEquals(2000, total);
+        assertEquals(4, chunks.size());
+        assertEquals(640, chunks.get(0).length);
+        assertEquals(80, chunks.get(3).length);
+        assertArrayEquals(samples, toSamples(join(chunks), false));
+    }
+
+    @Test
+    void testStereoIsDownmixedToMono() throws Exception {
+        short[] interleaved = new short[200];
+        for (int i = 0; i < interleaved.length; i += 2) {
+            interleaved[i] = 1000;
+            interleaved[i + 1] = 3000;
+        }
+
+        List<byte[]> chunks = new ArrayList<>();
+        long total = decoder.decode(new ByteArrayInputStream(wav(16000, 2, interleaved)), 16000, 4096, chunks::add);
+
+        assertEquals(200, total);
+        for (short sample : toSamples(join(chunks), false)) {
+            assertEquals(2000, sample);
+        }
+    }
+
+    @Test
+    void testDownsamplingHalvesTheSampleCount() throws Exception {
+        short[] samples = new short[32000];
+        Arrays.fill(samples, (short) 500);
+
+        List<byte[]> chunks = new ArrayList<>();
+        long total = decoder.decode(new ByteArrayInputStream(wav(32000, 1, samples)), 16000, 3200, chunks::add);
+
+        // One second of audio at the target rate, give or take the final interpolation step
+        assertEquals(16000, total / 2, 1);
+        for (short sample : toSamples(join(chunks), false)) {
+            assertEquals(500, sample);
+        }
+    }
+
+    @Test
+    void testDownsamplingRemovesToneAboveTargetNyquist() throws Exception {
+        // 12 kHz cannot be represented at 16 kHz; unfiltered it would alias to 4 kHz at full level
+        short[] high = decodeTone(48000, 12000, 16000);
+        assertTrue(rms(high) < 100, "aliased rms " + rms(high));
+
+        // Speech frequencies pass at their level
+        short[] low = decodeTone(48000, 1000, 16000);
+        assertEquals(10000 / Math.sqrt(2), rms(low), 300);
+    }
+
+    @Test
+    void testUpsamplingInterpolatesBetweenSamples() throws Exception {
+        short[] samples = {0, 100, 200, 300};
+
+        List<byte[]> chunks = new ArrayList<>();
+        decoder.decode(new ByteArrayInputStream(wav(8000, 1, samples)), 16000, 4096, chunks::add);
+
+        assertArrayEquals(new short[]{0, 50, 100, 150, 200, 250}, toSamples(join(chunks), false));
+    }
+
+    @Test
+    void testBigEndianTarget() throws Exception {
+        short[] samples = {0x0102, -2, 0x7F00};
+
+        List<byte[]> chunks = new ArrayList<>();
+        PcmFormat bigEndian = PcmFormat.linear16(16000).withEndianness(PcmFormat.Endianness.BIG_ENDIAN);
+        decoder.decode(new ByteArrayInputStream(wav(16000, 1, samples)), bigEndian, 4096, chunks::add);
+
+        byte[] pcm = join(chunks);
+        assertEquals(0x01, pcm[0]);
+        assertEquals(0x02, pcm[1]);
+        assertArrayEquals(samples, toSamples(pcm, true));
+    }
+
+    /**
+     * Decode one second of a sine tone at amplitude 10000 and return the resampled samples.
+     */
+    private short[] decodeTone(int sourceRate, int frequency, int targetRate) throws Exception {
+        short[] samples = new short[sourceRate];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = (short) Math.round(10000 * Math.sin(2 * Math.PI * frequency * i / sourceRate));
+        }
+
+        List<byte[]> chunks = new ArrayList<>();
+        long total = decoder.decode(new ByteArrayInputStream(wav(sourceRate, 1, samples)), targetRate, 4096, chunks::add);
+        assertEquals(targetRate, total / 2, 1);
+        return toSamples(join(chunks), false);
+    }
+
+    private static double rms(short[] samples) {
+        double sum = 0;
+        for (short sample : samples) {
+            sum += (double) sample * sample;
+        }
+        return Math.sqrt(sum / samples.length);
+    }
+
+    private static byte[] wav(int sampleRate, int channels, short[] samples) throws IOException {
+        byte[] pcm = new byte[samples.length * 2];
+        for (int i = 0; i < samples.length; i++) {
+            pcm[i * 2] = (byte) samples[i];
+            pcm[i * 2 + 1] = (byte) (samples[i] >> 8);
+        }
+        AudioFormat format = new AudioFormat(sampleRate, 16, channels, true, false);
+        AudioInputStream stream = new AudioInputStream(new ByteArrayInputStream(pcm), format, samples.length / channels);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AudioSystem.write(stream, AudioFileFormat.Type.WAVE, out);
+        return out.toByteArray();
+    }
+
+    private static byte[] join(List<byte[]> chunks) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        chunks.forEach(out::writeBytes);
+        return out.toByteArray();
+    }
+
+    private static short[] toSamples(byte[] pcm, boolean bigEndian) {
+        short[] samples = new short[pcm.length / 2];
+        for (int i = 0; i < samples.length; i++) {
+            int first = pcm[i * 2] & 0xFF;
+            int second = pcm[i * 2 + 1] & 0xFF;
+            samples[i] = (short) (bigEndian ? (first << 8) | second : (second << 8) | first);
+        }
+        return samples;
+    }
+}
@@ -0,0 +1,74 @@
+package ai.driftkit.audio.converter;
+
+import ai.driftkit.audio.core.AudioFormatType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the content-addressed conversion cache.
+ */
+public class ConversionCacheTest {
+
+    @Test
+    void testHitAndMissByContent() {
+        ConversionCache cache = new ConversionCache(1024);
+        byte[] pcm = generatePcm(200, 1);
+
+        ConversionCache.Key key = ConversionCache.key(pcm, 16000, AudioFormatType.WAV);
+        assertNull(cache.get(key));
+
+        cache.put(key, new byte[]{1, 2, 3});
+
+        // Same content in a different array hits the cache
+        byte[] sameContent = pcm.clone();
+        assertArrayEquals(new byte[]{1, 2, 3}, cache.get(ConversionCache.key(sameContent, 16000, AudioFormatType.WAV)));
+
+        // Different sample rate or format misses
+        assertNull(cache.get(ConversionCache.key(pcm, 8000, AudioFormatType.WAV)));
+        assertNull(cache.get(ConversionCache.key(pcm, 16000, AudioFormatType.FLAC)));
+
+        ConversionCache.CacheStats stats = cache.getStats();
+        assertEquals(1, stats.getHits());
+        assertEquals(3, stats.getMisses());
+
+        System.out.println("✓ Conversion cache hit/miss test passed: " + stats);
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsedByBytes() {
+        ConversionCache cache = new ConversionCache(300);
+
+        ConversionCache.Key first = ConversionCache.key(generatePcm(100, 1), 16000, AudioFormatType.WAV);
+        ConversionCache.Key second = ConversionCache.key(generatePcm(100, 2), 16000, AudioFormatType.WAV);
+        ConversionCache.Key third = ConversionCache.key(generatePcm(100, 3), 16000, AudioFormatType.WAV);
+
+        cache.put(first, new byte[100]);
+        cache.put(second, new byte[100]);
+
+        // Touch the first entry so the second becomes least recently used
+        assertNotNull(cache.get(first));
+
+        cache.put(third, new byte[150]);
+
+        assertNotNull(cache.get(first));
+        assertNull(cache.get(second));
+        assertNotNull(cache.get(third));
+
+        ConversionCache.CacheStats stats = cache.getStats();
+        assertEquals(1, stats.getEvictions());
+        assertTrue(stats.getBytes() <= 300);
+
+        System.out.println("✓ Conversion cache eviction test passed: " + stats);
+    }
+
+    private byte[] generatePcm(int samples, int seed) {
+        byte[] audio = new byte[samples * 2];
+        for (int i = 0; i < samples; i++) {
+            short sample = (short) (Math.sin(2 * Math.PI * 440 * seed * i / 16000) * 8000);
+            audio[i * 2] = (byte) (sample & 0xFF);
+            audio[i * 2 + 1] = (byte) ((sample >> 8) & 0xFF);
+        }
+        return audio;
+    }
+}
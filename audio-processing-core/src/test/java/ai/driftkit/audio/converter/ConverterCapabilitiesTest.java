@@ -0,0 +1,110 @@
+package ai.driftkit.audio.converter;
+
+import ai.driftkit.audio.core.AudioFormatType;
+import ai.driftkit.audio.core.AudioFormatType.ConversionMethod;
+import ai.driftkit.audio.core.config.ConverterConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests for the converter capability probe, with a script standing in for {@code ffmpeg -encoders}.
+ */
+public class ConverterCapabilitiesTest {
+
+    @TempDir
+    Path directory;
+
+    private ConverterConfig config;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        assumeTrue(Files.isExecutable(Path.of("/bin/sh")), "needs a POSIX shell");
+        Path script = directory.resolve("fake-ffmpeg");
+        Files.writeString(script, "#!/bin/sh\n"
+                + "cat <<'EOF'\n"
+                + "Encoders:\n"
+                + " V..... = Video\n"
+                + " A..... = Audio\n"
+                + " ------\n"
+                + " A....D flac                 FLAC (Free Lossless Audio Codec)\n"
+                + " A....D libmp3lame           libmp3lame MP3 (MPEG audio layer 3)\n"
+                + " A....D pcm_s16le            PCM signed 16-bit little-endian\n"
+                + "EOF\n");
+        assertTrue(script.toFile().setExecutable(true));
+
+        config = new ConverterConfig();
+        config.setFfmpegPath(script.toString());
+    }
+
+    @Test
+    void testEncodersAreParsedFromTheListing() {
+        ConverterCapabilities capabilities = ConverterCapabilities.probe(config, 16000,
+                (method, pcm, sampleRate, format) -> new byte[0]);
+
+        assertTrue(capabilities.isFfmpegAvailable());
+        assertTrue(capabilities.getFfmpegEncoders().containsAll(List.of("flac", "libmp3lame", "pcm_s16le")));
+        assertFalse(capabilities.getFfmpegEncoders().contains("="));
+        assertFalse(capabilities.getFfmpegEncoders().contains("Video"));
+    }
+
+    @Test
+    void testRoutesFollowEncodersAndProbeResults() {
+        List<AudioFormatType> probedViaFfmpeg = new ArrayList<>();
+        ConverterCapabilities capabilities = ConverterCapabilities.probe(config, 16000, (method, pcm, sampleRate, format) -> {
+            assertEquals(16000 * 2 / 4, pcm.length);
+            if (method == ConversionMethod.FFMPEG) {
+                probedViaFfmpeg.add(format);
+                if (format == AudioFormatType.FLAC) {
+                    throw new IOException("encoder crashed");
+                }
+            }
+            return new byte[0];
+        });
+
+        // Only formats whose encoder is listed are tried
+        assertTrue(probedViaFfmpeg.containsAll(List.of(AudioFormatType.WAV, AudioFormatType.MP3, AudioFormatType.FLAC)));
+        assertFalse(probedViaFfmpeg.contains(AudioFormatType.OGG));
+        assertFalse(probedViaFfmpeg.contains(AudioFormatType.OPUS));
+
+        // A method whose probe conversion fails is left out of the route
+        assertTrue(capabilities.isSupported(AudioFormatType.MP3, ConversionMethod.FFMPEG));
+        assertNotNull(capabilities.getMeasuredLatencyMs(AudioFormatType.MP3, ConversionMethod.FFMPEG));
+        assertFalse(capabilities.isSupported(AudioFormatType.FLAC, ConversionMethod.FFMPEG));
+        assertNull(capabilities.getMeasuredLatencyMs(AudioFormatType.FLAC, ConversionMethod.FFMPEG));
+        assertTrue(capabilities.getRoute(AudioFormatType.OPUS).isEmpty());
+    }
+
+    @Test
+    void testJavaSoundIsPreferredForWav() {
+        ConverterCapabilities capabilities = ConverterCapabilities.probe(config, 16000,
+                (method, pcm, sampleRate, format) -> new byte[0]);
+        assumeTrue(capabilities.isJavaSoundAvailable());
+
+        List<ConversionMethod> route = capabilities.getRoute(AudioFormatType.WAV);
+        assertEquals(ConversionMethod.JAVA_SOUND, route.get(0));
+        assertEquals(ConversionMethod.FFMPEG, route.get(route.size() - 1));
+    }
+
+    @Test
+    void testMissingFfmpegIsReportedUnavailable() {
+        config.setFfmpegPath(directory.resolve("missing-ffmpeg").toString());
+        ConverterCapabilities capabilities = ConverterCapabilities.probe(config, 16000,
+                (method, pcm, sampleRate, format) -> new byte[0]);
+
+        assertFalse(capabilities.isFfmpegAvailable());
+        assertTrue(capabilities.getFfmpegEncoders().isEmpty());
+        for (AudioFormatType format : AudioFormatType.values()) {
+            assertFalse(capabilities.isSupported(format, ConversionMethod.FFMPEG));
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package ai.driftkit.audio.converter;
+
+import ai.driftkit.audio.core.config.ConverterConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests for the pre-started ffmpeg worker pool, run against a shell script standing in for ffmpeg:
+ * it copies stdin to stdout, or reads stdin and exits with code 3 when the arguments contain {@code fail}.
+ */
+public class FFmpegWorkerPoolTest {
+
+    private static final List<String> ARGS = List.of("-f", "s16le", "-i", "pipe:0", "pipe:1");
+
+    @TempDir
+    Path directory;
+
+    private ConverterConfig config;
+    private FFmpegWorkerPool pool;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        assumeTrue(Files.isExecutable(Path.of("/bin/sh")), "needs a POSIX shell");
+        Path script = directory.resolve("fake-ffmpeg");
+        Files.writeString(script, "#!/bin/sh\n"
+                + "for arg in \"$@\"; do [ \"$arg\" = fail ] && { cat > /dev/null; exit 3; }; done\n"
+                + "exec cat\n");
+        assertTrue(script.toFile().setExecutable(true));
+
+        config = new ConverterConfig();
+        config.setFfmpegPath(script.toString());
+        config.setFfmpegPoolSize(2);
+        config.setFfmpegTimeoutMs(5000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    void testWarmWorkerServesConversionAndIsReplaced() throws Exception {
+        pool = new FFmpegWorkerPool(config);
+        pool.warmUp(ARGS);
+        awaitIdle(1);
+
+        byte[] input = {1, 2, 3, 4, 5};
+        assertArrayEquals(input, pool.convert(ARGS, input));
+
+        FFmpegWorkerPool.PoolStats stats = pool.getStats();
+        assertEquals(1, stats.getConversions());
+        assertEquals(1, stats.getWarmHits());
+        assertEquals(0, stats.getColdStarts());
+
+        // The consumed worker is replaced for the next conversion
+        awaitIdle(1);
+        assertArrayEquals(input, pool.convert(ARGS, input));
+        assertEquals(2, pool.getStats().getWarmHits());
+    }
+
+    @Test
+    void testConversionsBeyondPoolSizeReusePermits() throws Exception {
+        config.setFfmpegPoolSize(1);
+        pool = new FFmpegWorkerPool(config);
+
+        for (int i = 0; i < 5; i++) {
+            byte[] input = {(byte) i, 42};
+            assertArrayEquals(input, pool.convert(ARGS, input));
+        }
+        assertEquals(5, pool.getStats().getConversions());
+    }
+
+    @Test
+    void testUnpooledConversionStartsAProcessEachTime() throws Exception {
+        config.setFfmpegPoolEnabled(false);
+        pool = new FFmpegWorkerPool(config);
+        pool.warmUp(ARGS);
+
+        assertArrayEquals(new byte[]{7}, pool.convert(ARGS, new byte[]{7}));
+        assertEquals(1, pool.getStats().getColdStarts());
+        assertEquals(0, pool.getStats().getIdleWorkers());
+    }
+
+    @Test
+    void testConvertOnceLeavesNoWorkerBehind() throws Exception {
+        pool = new FFmpegWorkerPool(config);
+
+        assertArrayEquals(new byte[]{9, 8}, pool.convertOnce(ARGS, new byte[]{9, 8}));
+        Thread.sleep(100);
+        FFmpegWorkerPool.PoolStats stats = pool.getStats();
+        assertEquals(0, stats.getIdleWorkers());
+        assertEquals(0, stats.getConversions());
+
+        // No permit was taken, so the pool can still start all of its workers
+        pool.warmUp(ARGS);
+        pool.warmUp(ARGS);
+        awaitIdle(2);
+    }
+
+    @Test
+    void testFailedConversionReportsExitCode() {
+        pool = new FFmpegWorkerPool(config);
+        List<String> failing = List.of("fail", "pipe:1");
+
+        IOException error = assertThrows(IOException.class, () -> pool.convert(failing, new byte[]{1, 2}));
+        assertTrue(error.getMessage().contains("exit code: 3"), error.getMessage());
+    }
+
+    @Test
+    void testClosedPoolRejectsConversions() {
+        pool = new FFmpegWorkerPool(config);
+        pool.close();
+        assertThrows(IllegalStateException.class, () -> pool.convert(ARGS, new byte[]{1}));
+    }
+
+    private void awaitIdle(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (pool.getStats().getIdleWorkers() < count) {
+            assertTrue(System.nanoTime() < deadline, "worker was not pre-started");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package ai.driftkit.audio.core;
+
+import ai.driftkit.audio.converter.AudioConverter;
+import ai.driftkit.audio.core.config.CoreAudioConfig;
+import ai.driftkit.audio.core.config.EngineType;
+import ai.driftkit.audio.engine.TranscriptionEngine;
+import ai.driftkit.audio.engine.TranscriptionEngineFactory;
+import ai.driftkit.audio.engine.impl.MockTranscriptionEngine;
+import ai.driftkit.audio.model.AudioSegmentBuffer;
+import ai.driftkit.audio.model.TranscriptionResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for feeding big-endian audio through sessions: engines and gates get little-endian
+ * copies and the caller's arrays stay untouched.
+ */
+public class AudioSessionManagerTest {
+
+    private static final PcmFormat BIG_ENDIAN = PcmFormat.linear16(16000).withEndianness(PcmFormat.Endianness.BIG_ENDIAN);
+    private static final int CHUNK_BYTES = BIG_ENDIAN.getBytesPerSecond() / 10;
+
+    private CoreAudioConfig config;
+    private RecordingEngine engine;
+    private AudioConverter converter;
+    private AudioSessionManager manager;
+
+    @BeforeEach
+    void setUp() {
+        config = new CoreAudioConfig();
+        config.setEngine(EngineType.MOCK);
+        // Loud enough that the tone is speech only when read in its real byte order
+        config.getVad().setThreshold(5.0);
+        config.getConverter().setProbeOnStartup(false);
+        engine = new RecordingEngine(config);
+        converter = new AudioConverter(config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.closeAllSessions();
+        converter.close();
+        engine.shutdown();
+    }
+
+    @Test
+    void testStreamingSessionSendsLittleEndianCopy() throws Exception {
+        config.setProcessingMode(ProcessingMode.STREAMING);
+        manager = manager();
+        manager.createSession("session", BIG_ENDIAN, result -> {});
+
+        byte[] chunk = bigEndianTone(CHUNK_BYTES);
+        byte[] original = chunk.clone();
+        manager.processAudioChunk("session", chunk);
+
+        assertEquals(1, engine.streamed.size());
+        assertArrayEquals(PcmFormat.swapByteOrder(original), engine.streamed.get(0));
+        assertArrayEquals(original, chunk);
+    }
+
+    @Test
+    void testStreamingGateSeesLittleEndianAudio() throws Exception {
+        config.setProcessingMode(ProcessingMode.STREAMING);
+        config.getStreamingGate().setEnabled(true);
+        manager = manager();
+        manager.createSession("session", BIG_ENDIAN, result -> {});
+
+        byte[] chunk = bigEndianTone(CHUNK_BYTES);
+        byte[] original = chunk.clone();
+        manager.processAudioChunk("session", chunk);
+
+        // The gate opens only if it reads the tone in the order the engine gets it
+        assertEquals(1, engine.streamed.size());
+        assertArrayEquals(PcmFormat.swapByteOrder(original), engine.streamed.get(0));
+        assertArrayEquals(original, chunk);
+    }
+
+    @Test
+    void testBatchSessionSendsLittleEndianSegment() throws Exception {
+        config.setProcessingMode(ProcessingMode.BATCH);
+        config.setMinChunkDurationSeconds(1);
+        manager = manager();
+        manager.createSession("session", BIG_ENDIAN, result -> {});
+
+        ByteArrayOutputStream fed = new ByteArrayOutputStream();
+        for (int i = 0; i < 15; i++) {
+            byte[] chunk = bigEndianTone(CHUNK_BYTES);
+            fed.write(chunk);
+            manager.processAudioChunk("session", chunk);
+        }
+        manager.closeSession("session");
+
+        assertEquals(1, engine.segments.size());
+        assertArrayEquals(PcmFormat.swapByteOrder(fed.toByteArray()), engine.segments.get(0));
+    }
+
+    private AudioSessionManager manager() {
+        return new AudioSessionManager(config, new TranscriptionEngineFactory(config) {
+            @Override
+            public TranscriptionEngine createEngine() {
+                return engine;
+            }
+        }, converter);
+    }
+
+    /**
+     * 16-bit big-endian square wave at +-4096. Read as little-endian its samples are 16 and 240.
+     */
+    private static byte[] bigEndianTone(int bytes) {
+        byte[] chunk = new byte[bytes];
+        for (int i = 0; i < bytes; i += 2) {
+            short sample = (short) ((i / 2) % 2 == 0 ? 4096 : -4096);
+            chunk[i] = (byte) (sample >> 8);
+            chunk[i + 1] = (byte) sample;
+        }
+        return chunk;
+    }
+
+    private static class RecordingEngine extends MockTranscriptionEngine {
+
+        final List<byte[]> streamed = new CopyOnWriteArrayList<>();
+        final List<byte[]> segments = new CopyOnWriteArrayList<>();
+
+        RecordingEngine(CoreAudioConfig config) {
+            super(config);
+        }
+
+        @Override
+        public void sendStreamingAudio(String sessionId, byte[] audioData) {
+            streamed.add(audioData.clone());
+        }
+
+        @Override
+        public CompletableFuture<TranscriptionResult> transcribeBatch(AudioSegmentBuffer segment, int sampleRate,
+                                                                      String languageCode) {
+            segments.add(segment.toByteArray());
+            return CompletableFuture.completedFuture(TranscriptionResult.success("segment", 1.0, "en"));
+        }
+    }
+}
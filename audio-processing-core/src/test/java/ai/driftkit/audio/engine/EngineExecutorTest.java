@@ -0,0 +1,112 @@
+package ai.driftkit.audio.engine;
+
+import ai.driftkit.audio.core.config.EngineExecutorConfig;
+import ai.driftkit.audio.core.config.EngineExecutorConfig.ExecutorType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the per-engine executor of blocking I/O.
+ */
+public class EngineExecutorTest {
+
+    private EngineExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) {
+            executor.close();
+        }
+    }
+
+    @Test
+    void testPlatformPoolQueuesThenRejects() throws Exception {
+        EngineExecutorConfig config = new EngineExecutorConfig();
+        config.setPoolSize(1);
+        config.setQueueCapacity(1);
+        executor = new EngineExecutor("Test", config);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> running = executor.supplyAsync(() -> {
+            started.countDown();
+            await(release);
+            return Thread.currentThread().getName();
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = executor.supplyAsync(() -> "queued");
+
+        EngineExecutor.ExecutorStats stats = executor.getStats();
+        assertEquals(ExecutorType.PLATFORM, stats.getType());
+        assertEquals(1, stats.getActive());
+        assertEquals(1, stats.getQueued());
+        assertTrue(stats.isSaturated());
+
+        // A saturated executor fails the future instead of throwing at the caller
+        CompletableFuture<String> rejected = executor.supplyAsync(() -> "rejected");
+        ExecutionException error = assertThrows(ExecutionException.class, () -> rejected.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, error.getCause());
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+        assertEquals(2, executor.getStats().getRejected());
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS).startsWith("test-io-"));
+        assertEquals("queued", queued.get(5, TimeUnit.SECONDS));
+        awaitCompleted(2);
+        assertFalse(executor.getStats().isSaturated());
+    }
+
+    @Test
+    void testVirtualExecutorLimitsConcurrencyOrFallsBack() throws Exception {
+        EngineExecutorConfig config = new EngineExecutorConfig();
+        config.setType(ExecutorType.VIRTUAL);
+        config.setPoolSize(1);
+        config.setQueueCapacity(1);
+        config.setMaxConcurrentRequests(1);
+        executor = new EngineExecutor("Test", config);
+
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> first = executor.supplyAsync(() -> {
+            await(release);
+            return null;
+        });
+
+        if (executor.getStats().getType() == ExecutorType.VIRTUAL) {
+            // Only one request may run at once; the next is rejected rather than queued
+            assertTrue(executor.supplyAsync(() -> "second").isCompletedExceptionally());
+            assertEquals(1, executor.getStats().getRejected());
+            release.countDown();
+        } else {
+            // JVMs without virtual threads fall back to the platform pool, whose queue takes the next request
+            assertTrue(Runtime.version().feature() < 21);
+            CompletableFuture<String> second = executor.supplyAsync(() -> "second");
+            release.countDown();
+            assertEquals("second", second.get(5, TimeUnit.SECONDS));
+        }
+        first.get(5, TimeUnit.SECONDS);
+    }
+
+    private void awaitCompleted(long count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.getStats().getCompleted() < count) {
+            assertTrue(System.nanoTime() < deadline, "tasks did not complete");
+            Thread.sleep(10);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
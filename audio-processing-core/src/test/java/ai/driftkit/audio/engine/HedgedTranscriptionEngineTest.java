@@ -0,0 +1,200 @@
+package ai.driftkit.audio.engine;
+
+import ai.driftkit.audio.core.config.CoreAudioConfig;
+import ai.driftkit.audio.core.config.HedgeConfig;
+import ai.driftkit.audio.engine.impl.AssemblyAIEngine;
+import ai.driftkit.audio.engine.impl.DeepgramEngine;
+import ai.driftkit.audio.model.TranscriptionResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for hedging slow batch requests to a secondary engine.
+ */
+public class HedgedTranscriptionEngineTest {
+
+    private final ScriptedEngine primary = new ScriptedEngine();
+    private final ScriptedEngine secondary = new ScriptedEngine();
+    private HedgeConfig config;
+    private HedgedTranscriptionEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        config = new HedgeConfig();
+        config.setEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (engine != null) {
+            engine.shutdown();
+        }
+    }
+
+    @Test
+    void testFastPrimaryIsNotHedged() throws Exception {
+        config.setDelayMs(200);
+        engine = new HedgedTranscriptionEngine(primary, secondary, config);
+
+        CompletableFuture<TranscriptionResult> result = transcribe();
+        primary.nextCall().complete(success("primary"));
+
+        assertEquals("primary", result.get(5, TimeUnit.SECONDS).getText());
+        Thread.sleep(300);
+        assertEquals(0, secondary.getCallCount());
+        assertEquals(0, engine.getStats().getHedgesFired());
+    }
+
+    @Test
+    void testSlowPrimaryIsHedgedAndLoserCancelled() throws Exception {
+        config.setDelayMs(50);
+        engine = new HedgedTranscriptionEngine(primary, secondary, config);
+
+        CompletableFuture<TranscriptionResult> result = transcribe();
+        CompletableFuture<TranscriptionResult> primaryCall = primary.nextCall();
+        secondary.nextCall().complete(success("secondary"));
+
+        assertEquals("secondary", result.get(5, TimeUnit.SECONDS).getText());
+        awaitCancelled(primaryCall);
+        HedgedTranscriptionEngine.HedgeStats stats = engine.getStats();
+        assertEquals(1, stats.getRequests());
+        assertEquals(1, stats.getHedgesFired());
+        assertEquals(1, stats.getHedgesWon());
+    }
+
+    @Test
+    void testPrimaryWinningAfterHedgeCancelsSecondary() throws Exception {
+        config.setDelayMs(50);
+        engine = new HedgedTranscriptionEngine(primary, secondary, config);
+
+        CompletableFuture<TranscriptionResult> result = transcribe();
+        CompletableFuture<TranscriptionResult> primaryCall = primary.nextCall();
+        CompletableFuture<TranscriptionResult> secondaryCall = secondary.nextCall();
+        primaryCall.complete(success("primary"));
+
+        assertEquals("primary", result.get(5, TimeUnit.SECONDS).getText());
+        awaitCancelled(secondaryCall);
+        assertEquals(0, engine.getStats().getHedgesWon());
+    }
+
+    @Test
+    void testPrimaryFailureHedgesAtOnce() throws Exception {
+        config.setDelayMs(10000);
+        engine = new HedgedTranscriptionEngine(primary, secondary, config);
+
+        CompletableFuture<TranscriptionResult> result = transcribe();
+        primary.nextCall().complete(TranscriptionResult.error("primary down"));
+        secondary.nextCall().complete(success("secondary"));
+
+        assertEquals("secondary", result.get(5, TimeUnit.SECONDS).getText());
+        assertEquals(1, engine.getStats().getPrimaryFailures());
+    }
+
+    @Test
+    void testBothFailingReportsPrimaryFailure() throws Exception {
+        config.setDelayMs(10000);
+        engine = new HedgedTranscriptionEngine(primary, secondary, config);
+
+        CompletableFuture<TranscriptionResult> result = transcribe();
+        primary.nextCall().complete(TranscriptionResult.error("primary down"));
+        secondary.nextCall().completeExceptionally(new IllegalStateException("secondary down"));
+
+        TranscriptionResult failure = result.get(5, TimeUnit.SECONDS);
+        assertTrue(failure.isError());
+        assertEquals("primary down", failure.getErrorMessage());
+    }
+
+    @Test
+    void testCallerCancelCancelsBothRequests() throws Exception {
+        config.setDelayMs(50);
+        engine = new HedgedTranscriptionEngine(primary, secondary, config);
+
+        CompletableFuture<TranscriptionResult> result = transcribe();
+        CompletableFuture<TranscriptionResult> primaryCall = primary.nextCall();
+        CompletableFuture<TranscriptionResult> secondaryCall = secondary.nextCall();
+
+        result.cancel(true);
+        awaitCancelled(primaryCall);
+        awaitCancelled(secondaryCall);
+    }
+
+    @Test
+    void testDelayFollowsLatencyPercentile() throws Exception {
+        config.setWindowSize(5);
+        config.setMinSamples(5);
+        config.setPercentile(0.8);
+        config.setInitialDelayMs(2000);
+        config.setMinDelayMs(1);
+        engine = new HedgedTranscriptionEngine(primary, secondary, config);
+
+        for (int i = 0; i < 4; i++) {
+            answer(0);
+            assertEquals(2000, engine.getHedgeDelayMs());
+        }
+
+        // 80th percentile of four fast answers and one slow one is fast
+        answer(150);
+        assertTrue(engine.getHedgeDelayMs() < 100, "delay " + engine.getHedgeDelayMs());
+
+        // A second slow answer pushes the slow latency into the percentile
+        answer(150);
+        assertTrue(engine.getHedgeDelayMs() >= 150, "delay " + engine.getHedgeDelayMs());
+
+        config.setMaxDelayMs(120);
+        assertEquals(120, engine.getHedgeDelayMs());
+    }
+
+    @Test
+    void testSecondaryMustTakeTheSameAudio() {
+        CoreAudioConfig engineConfig = new CoreAudioConfig();
+        DeepgramEngine deepgram = new DeepgramEngine(engineConfig);
+        AssemblyAIEngine assemblyAI = new AssemblyAIEngine(engineConfig);
+        try {
+            // A raw PCM primary would hand AssemblyAI audio it cannot decode
+            IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                    () -> new HedgedTranscriptionEngine(deepgram, assemblyAI, config));
+            assertTrue(error.getMessage().contains("AssemblyAI"), error.getMessage());
+
+            engine = new HedgedTranscriptionEngine(primary, deepgram, config);
+            assertFalse(engine.getConfiguration().isRequiresConversion());
+        } finally {
+            assemblyAI.shutdown();
+        }
+    }
+
+    private CompletableFuture<TranscriptionResult> transcribe() {
+        return engine.transcribeBatch(new byte[3200], 16000, "en");
+    }
+
+    /**
+     * Have the primary answer a request after the given time. Hedges that fire meanwhile never answer.
+     */
+    private void answer(long latencyMs) throws Exception {
+        CompletableFuture<TranscriptionResult> result = transcribe();
+        CompletableFuture<TranscriptionResult> call = primary.nextCall();
+        Thread.sleep(latencyMs);
+        call.complete(success("primary"));
+        assertEquals("primary", result.get(5, TimeUnit.SECONDS).getText());
+    }
+
+    /**
+     * The losing request is cancelled right after the result is completed, possibly on another thread.
+     */
+    private static void awaitCancelled(CompletableFuture<TranscriptionResult> call) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!call.isCancelled()) {
+            assertTrue(System.nanoTime() < deadline, "request was not cancelled");
+            Thread.sleep(5);
+        }
+    }
+
+    private static TranscriptionResult success(String text) {
+        return TranscriptionResult.success(text, 0.9, "en");
+    }
+}
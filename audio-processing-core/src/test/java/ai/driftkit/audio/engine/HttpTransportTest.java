@@ -0,0 +1,89 @@
+package ai.driftkit.audio.engine;
+
+import ai.driftkit.audio.core.config.HttpTransportConfig;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for sharing HTTP clients between engines and reading Retry-After headers.
+ */
+public class HttpTransportTest {
+
+    @Test
+    void testEqualSettingsShareOneClient() {
+        // Settings no other test uses, so no engine holds this transport
+        HttpTransport first = HttpTransport.acquire(config(7));
+        HttpTransport second = HttpTransport.acquire(config(7));
+        HttpTransport other = HttpTransport.acquire(config(8));
+        try {
+            assertSame(first, second);
+            assertSame(first.client(), second.client());
+            assertNotSame(first, other);
+            assertEquals(7, first.client().dispatcher().getMaxRequests());
+        } finally {
+            first.release();
+            second.release();
+            other.release();
+        }
+    }
+
+    @Test
+    void testLastReleaseShutsClientDown() {
+        HttpTransport first = HttpTransport.acquire(config(9));
+        HttpTransport second = HttpTransport.acquire(config(9));
+
+        // One engine going away leaves the client to the other
+        first.release();
+        assertFalse(second.client().dispatcher().executorService().isShutdown());
+
+        second.release();
+        assertTrue(second.client().dispatcher().executorService().isShutdown());
+
+        // The next engine gets a fresh client
+        HttpTransport next = HttpTransport.acquire(config(9));
+        try {
+            assertNotSame(second, next);
+            assertFalse(next.client().dispatcher().executorService().isShutdown());
+        } finally {
+            next.release();
+        }
+    }
+
+    @Test
+    void testRetryAfterInSeconds() {
+        assertEquals(7000, HttpTransport.parseRetryAfter("7"));
+        assertEquals(120000, HttpTransport.parseRetryAfter(" 120 "));
+        assertEquals(0, HttpTransport.parseRetryAfter("-5"));
+    }
+
+    @Test
+    void testRetryAfterAsHttpDate() {
+        ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+
+        // HTTP dates have whole seconds, so up to one second is lost
+        long waitMs = HttpTransport.parseRetryAfter(DateTimeFormatter.RFC_1123_DATE_TIME.format(now.plusSeconds(30)));
+        assertTrue(waitMs > 28000 && waitMs <= 30000, "wait " + waitMs + "ms");
+
+        assertEquals(0, HttpTransport.parseRetryAfter(DateTimeFormatter.RFC_1123_DATE_TIME.format(now.minusMinutes(1))));
+    }
+
+    @Test
+    void testMissingOrMalformedRetryAfter() {
+        assertEquals(0, HttpTransport.parseRetryAfter(null));
+        assertEquals(0, HttpTransport.parseRetryAfter(""));
+        assertEquals(0, HttpTransport.parseRetryAfter("   "));
+        assertEquals(0, HttpTransport.parseRetryAfter("soon"));
+        assertEquals(0, HttpTransport.parseRetryAfter("1.5"));
+    }
+
+    private static HttpTransportConfig config(int maxRequests) {
+        HttpTransportConfig config = new HttpTransportConfig();
+        config.setMaxRequests(maxRequests);
+        return config;
+    }
+}
@@ -0,0 +1,110 @@
+package ai.driftkit.audio.engine;
+
+import ai.driftkit.audio.core.config.MessageJournalConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the bounded streaming message journal.
+ */
+public class MessageJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testOldestMessagesAreEvictedByCount() {
+        MessageJournal journal = new MessageJournal(3, 1024, null);
+        for (int i = 0; i < 5; i++) {
+            journal.append("m" + i);
+        }
+
+        assertEquals(List.of("m2", "m3", "m4"), journal.snapshot());
+        assertEquals(List.of("m3", "m4"), journal.last(2));
+        assertEquals(5, journal.getStats().getAppended());
+        assertEquals(2, journal.getStats().getEvicted());
+    }
+
+    @Test
+    void testSizeLimitCountsUtf8Bytes() {
+        // Each message is 3 characters but 6 bytes
+        MessageJournal journal = new MessageJournal(100, 12, null);
+        journal.append("äöü");
+        journal.append("äöü");
+        assertEquals(12, journal.getStats().getBytes());
+
+        journal.append("äöü");
+        assertEquals(2, journal.getStats().getMessages());
+        assertEquals(12, journal.getStats().getBytes());
+
+        for (String value : List.of("plain", "ä", "€", "😀", "a€😀ä")) {
+            assertEquals(value.getBytes(StandardCharsets.UTF_8).length, MessageJournal.utf8Length(value));
+        }
+    }
+
+    @Test
+    void testOversizedMessageIsKeptUntilTheNextOne() {
+        MessageJournal journal = new MessageJournal(10, 4, null);
+        journal.append("too large");
+        assertEquals(List.of("too large"), journal.snapshot());
+
+        journal.append("ok");
+        assertEquals(List.of("ok"), journal.snapshot());
+    }
+
+    @Test
+    void testSpillFileReceivesEveryMessage() throws Exception {
+        MessageJournalConfig config = new MessageJournalConfig();
+        config.setMaxMessages(1);
+        config.setSpillDirectory(directory.toString());
+
+        MessageJournal journal = MessageJournal.create(config, "engine-session.jsonl");
+        journal.append("{\"a\":1}");
+        journal.append("{\"b\":\n2}");
+        journal.close();
+
+        List<String> lines = Files.readAllLines(directory.resolve("engine-session.jsonl"));
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).endsWith("\t{\"a\":1}"));
+        assertTrue(lines.get(1).endsWith("\t{\"b\": 2}"));
+        assertEquals(2, journal.getStats().getSpilled());
+        assertEquals(List.of("{\"b\":\n2}"), journal.snapshot());
+    }
+
+    @Test
+    void testSpillFileStaysInsideItsDirectory() throws Exception {
+        MessageJournalConfig config = new MessageJournalConfig();
+        config.setSpillDirectory(directory.resolve("spill").toString());
+
+        for (String name : List.of("../../escape.jsonl", "..", "/etc/passwd", "a/../../b")) {
+            MessageJournal journal = MessageJournal.create(config, name);
+            journal.append("{}");
+            journal.close();
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(List.of(directory.resolve("spill")), files.toList());
+        }
+        try (Stream<Path> files = Files.list(directory.resolve("spill"))) {
+            assertEquals(4, files.count());
+        }
+        assertEquals("deepgram-abc_1.jsonl", MessageJournal.safeFileName("deepgram-abc_1.jsonl"));
+        assertNotEquals(MessageJournal.safeFileName("a/b"), MessageJournal.safeFileName("a\\b"));
+    }
+
+    @Test
+    void testDisabledJournalIsNotCreated() {
+        MessageJournalConfig config = new MessageJournalConfig();
+        config.setEnabled(false);
+        assertNull(MessageJournal.create(config, "session.jsonl"));
+        assertThrows(IllegalArgumentException.class, () -> new MessageJournal(0, 10, null));
+    }
+}
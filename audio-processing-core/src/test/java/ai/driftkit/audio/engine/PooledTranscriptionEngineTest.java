@@ -0,0 +1,169 @@
+package ai.driftkit.audio.engine;
+
+import ai.driftkit.audio.core.config.CoreAudioConfig;
+import ai.driftkit.audio.core.config.EnginePoolConfig;
+import ai.driftkit.audio.core.config.LoadBalancing;
+import ai.driftkit.audio.engine.impl.AssemblyAIEngine;
+import ai.driftkit.audio.engine.impl.DeepgramEngine;
+import ai.driftkit.audio.model.TranscriptionResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for spreading batch requests over pool members and draining rate-limited ones.
+ */
+public class PooledTranscriptionEngineTest {
+
+    private final ScriptedEngine first = new ScriptedEngine();
+    private final ScriptedEngine second = new ScriptedEngine();
+    private EnginePoolConfig config;
+    private PooledTranscriptionEngine pool;
+
+    @BeforeEach
+    void setUp() {
+        config = new EnginePoolConfig();
+        config.setEnabled(true);
+        config.setStrategy(LoadBalancing.ROUND_ROBIN);
+        pool = new PooledTranscriptionEngine(List.of(first, second), config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void testRoundRobinAlternatesMembers() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            CompletableFuture<TranscriptionResult> a = transcribe();
+            first.nextCall().complete(success("first"));
+            assertEquals("first", a.get(5, TimeUnit.SECONDS).getText());
+
+            CompletableFuture<TranscriptionResult> b = transcribe();
+            second.nextCall().complete(success("second"));
+            assertEquals("second", b.get(5, TimeUnit.SECONDS).getText());
+        }
+        assertEquals(2, pool.getStats().get(0).getRequests());
+        assertEquals(2, pool.getStats().get(1).getRequests());
+    }
+
+    @Test
+    void testLeastLoadPicksIdleMember() throws Exception {
+        config.setStrategy(LoadBalancing.LEAST_LOAD);
+
+        CompletableFuture<TranscriptionResult> busy = transcribe();
+        CompletableFuture<TranscriptionResult> busyCall = first.nextCall();
+        assertEquals(1, pool.getStats().get(0).getInFlight());
+
+        CompletableFuture<TranscriptionResult> quick = transcribe();
+        second.nextCall().complete(success("second"));
+        quick.get(5, TimeUnit.SECONDS);
+
+        // The cursor points at the busy member again, but the idle one has less load
+        CompletableFuture<TranscriptionResult> next = transcribe();
+        second.nextCall().complete(success("second"));
+        assertEquals("second", next.get(5, TimeUnit.SECONDS).getText());
+        assertEquals(1, first.getCallCount());
+
+        busyCall.complete(success("first"));
+        busy.get(5, TimeUnit.SECONDS);
+        assertEquals(0, pool.getStats().get(0).getInFlight());
+    }
+
+    @Test
+    void testRateLimitedMemberIsDrainedAndRequestRetried() throws Exception {
+        CompletableFuture<TranscriptionResult> result = transcribe();
+        first.nextCall().complete(rateLimited(60000));
+        second.nextCall().complete(success("second"));
+
+        assertEquals("second", result.get(5, TimeUnit.SECONDS).getText());
+        PooledTranscriptionEngine.MemberStats drained = pool.getStats().get(0);
+        assertEquals(1, drained.getRateLimited());
+        assertTrue(drained.getDrainedForMs() > 50000, drained.toString());
+        assertEquals(0, drained.getInFlight());
+
+        // Requests skip the drained member while the other is available
+        for (int i = 0; i < 3; i++) {
+            CompletableFuture<TranscriptionResult> next = transcribe();
+            second.nextCall().complete(success("second"));
+            assertEquals("second", next.get(5, TimeUnit.SECONDS).getText());
+        }
+        assertEquals(1, first.getCallCount());
+    }
+
+    @Test
+    void testAllMembersRateLimitedReturnsRateLimit() throws Exception {
+        config.setDefaultRetryAfterMs(2000);
+        config.setMaxRetryAfterMs(5000);
+
+        CompletableFuture<TranscriptionResult> result = transcribe();
+        first.nextCall().complete(rateLimited(0));
+        second.nextCall().complete(rateLimited(600000));
+
+        // Each member is tried once; the last rate limit goes back to the caller
+        TranscriptionResult limited = result.get(5, TimeUnit.SECONDS);
+        assertTrue(limited.isError());
+        assertEquals(600000, limited.getRetryAfterMs());
+
+        // No Retry-After falls back to the default drain, and long ones are capped
+        List<PooledTranscriptionEngine.MemberStats> stats = pool.getStats();
+        assertTrue(stats.get(0).getDrainedForMs() <= 2000 && stats.get(0).getDrainedForMs() > 1000, stats.toString());
+        assertTrue(stats.get(1).getDrainedForMs() <= 5000 && stats.get(1).getDrainedForMs() > 4000, stats.toString());
+
+        // With every member drained, the one coming back first still takes requests
+        CompletableFuture<TranscriptionResult> next = transcribe();
+        first.nextCall().complete(success("first"));
+        assertEquals("first", next.get(5, TimeUnit.SECONDS).getText());
+    }
+
+    @Test
+    void testCancelReachesMemberCall() throws Exception {
+        CompletableFuture<TranscriptionResult> result = transcribe();
+        CompletableFuture<TranscriptionResult> call = first.nextCall();
+
+        result.cancel(true);
+        assertTrue(call.isCancelled());
+        assertEquals(0, pool.getStats().get(0).getInFlight());
+    }
+
+    @Test
+    void testMixedPoolMustAgreeOnAudioForm() {
+        CoreAudioConfig engineConfig = new CoreAudioConfig();
+        DeepgramEngine deepgram = new DeepgramEngine(engineConfig);
+        AssemblyAIEngine assemblyAI = new AssemblyAIEngine(engineConfig);
+        try {
+            // Deepgram and the mock both take raw PCM
+            PooledTranscriptionEngine raw = new PooledTranscriptionEngine(List.of(first, deepgram), config);
+            assertFalse(raw.getConfiguration().isRequiresConversion());
+
+            // AssemblyAI needs converted audio, which the raw members cannot take
+            IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                    () -> new PooledTranscriptionEngine(List.of(first, assemblyAI), config));
+            assertTrue(error.getMessage().contains("AssemblyAI"), error.getMessage());
+        } finally {
+            deepgram.shutdown();
+            assemblyAI.shutdown();
+        }
+    }
+
+    private CompletableFuture<TranscriptionResult> transcribe() {
+        return pool.transcribeBatch(new byte[3200], 16000, "en");
+    }
+
+    private static TranscriptionResult rateLimited(long retryAfterMs) {
+        TranscriptionResult result = TranscriptionResult.error("HTTP 429");
+        result.setRetryAfterMs(retryAfterMs);
+        return result;
+    }
+
+    private static TranscriptionResult success(String text) {
+        return TranscriptionResult.success(text, 0.9, "en");
+    }
+}
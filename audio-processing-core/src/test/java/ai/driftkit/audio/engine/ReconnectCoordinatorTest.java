@@ -0,0 +1,150 @@
+package ai.driftkit.audio.engine;
+
+import ai.driftkit.audio.core.config.ReconnectConfig;
+import ai.driftkit.audio.engine.ReconnectCoordinator.Attempt;
+import ai.driftkit.audio.engine.ReconnectCoordinator.BreakerState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for reconnect scheduling: the circuit breaker, the concurrency limit and attempt timeouts.
+ */
+public class ReconnectCoordinatorTest {
+
+    private static final long BREAKER_OPEN_MS = 300;
+
+    private final BlockingQueue<Attempt> started = new LinkedBlockingQueue<>();
+    private ScheduledExecutorService scheduler;
+    private ReconnectConfig config;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = Executors.newScheduledThreadPool(2);
+        config = new ReconnectConfig();
+        config.setBaseDelayMs(1);
+        config.setBreakerFailureThreshold(2);
+        config.setBreakerOpenMs(BREAKER_OPEN_MS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void testBreakerOpensThenProbesAfterCoolDown() throws Exception {
+        ReconnectCoordinator coordinator = coordinator();
+
+        start(coordinator).failed();
+        assertEquals(BreakerState.CLOSED, coordinator.getBreakerState());
+        start(coordinator).failed();
+        assertEquals(BreakerState.OPEN, coordinator.getBreakerState());
+        long openedAt = System.nanoTime();
+
+        // The next attempt waits out the cool-down and runs as the half-open probe
+        Attempt probe = start(coordinator);
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - openedAt) >= BREAKER_OPEN_MS - 10);
+        assertEquals(BreakerState.HALF_OPEN, coordinator.getBreakerState());
+
+        // A failed probe reopens the breaker at once
+        probe.failed();
+        assertEquals(BreakerState.OPEN, coordinator.getBreakerState());
+
+        start(coordinator).succeeded();
+        assertEquals(BreakerState.CLOSED, coordinator.getBreakerState());
+        ReconnectCoordinator.ReconnectStats stats = coordinator.getStats();
+        assertEquals(0, stats.getConsecutiveFailures());
+        assertEquals(4, stats.getAttemptsStarted());
+        assertEquals(3, stats.getAttemptsFailed());
+        assertEquals(0, stats.getInFlight());
+    }
+
+    @Test
+    void testSuccessOutsideAttemptClosesBreaker() throws Exception {
+        ReconnectCoordinator coordinator = coordinator();
+        start(coordinator).failed();
+        start(coordinator).failed();
+        assertEquals(BreakerState.OPEN, coordinator.getBreakerState());
+
+        coordinator.recordSuccess();
+        assertEquals(BreakerState.CLOSED, coordinator.getBreakerState());
+        long before = System.nanoTime();
+        start(coordinator).succeeded();
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - before) < BREAKER_OPEN_MS);
+    }
+
+    @Test
+    void testConcurrentAttemptsAreLimited() throws Exception {
+        config.setMaxConcurrentReconnects(1);
+        ReconnectCoordinator coordinator = coordinator();
+
+        Attempt first = start(coordinator);
+        coordinator.schedule(1, started::add);
+        assertNull(started.poll(300, TimeUnit.MILLISECONDS));
+        assertEquals(1, coordinator.getStats().getInFlight());
+
+        first.succeeded();
+        Attempt second = started.poll(5, TimeUnit.SECONDS);
+        assertNotNull(second);
+        second.abandon();
+        assertEquals(0, coordinator.getStats().getInFlight());
+    }
+
+    @Test
+    void testUnreportedAttemptTimesOutOnce() throws Exception {
+        config.setAttemptTimeoutMs(50);
+        ReconnectCoordinator coordinator = coordinator();
+
+        Attempt attempt = start(coordinator);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coordinator.getStats().getAttemptsFailed() == 0) {
+            assertTrue(System.nanoTime() < deadline, "attempt never timed out");
+            Thread.sleep(10);
+        }
+
+        // The timeout was the outcome; a late report changes nothing
+        attempt.succeeded();
+        attempt.failed();
+        ReconnectCoordinator.ReconnectStats stats = coordinator.getStats();
+        assertEquals(1, stats.getConsecutiveFailures());
+        assertEquals(1, stats.getAttemptsFailed());
+        assertEquals(0, stats.getInFlight());
+    }
+
+    @Test
+    void testThrowingConnectCountsAsFailure() throws Exception {
+        ReconnectCoordinator coordinator = coordinator();
+        coordinator.schedule(1, attempt -> {
+            started.add(attempt);
+            throw new IllegalStateException("no route");
+        });
+        assertNotNull(started.poll(5, TimeUnit.SECONDS));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coordinator.getStats().getAttemptsFailed() == 0) {
+            assertTrue(System.nanoTime() < deadline, "failure not recorded");
+            Thread.sleep(10);
+        }
+        assertEquals(0, coordinator.getStats().getInFlight());
+    }
+
+    private ReconnectCoordinator coordinator() {
+        return new ReconnectCoordinator("Test", config, scheduler);
+    }
+
+    private Attempt start(ReconnectCoordinator coordinator) throws InterruptedException {
+        coordinator.schedule(1, started::add);
+        Attempt attempt = started.poll(5, TimeUnit.SECONDS);
+        assertNotNull(attempt, "attempt did not start");
+        return attempt;
+    }
+}
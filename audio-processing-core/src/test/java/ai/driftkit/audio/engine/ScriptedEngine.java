@@ -0,0 +1,49 @@
+package ai.driftkit.audio.engine;
+
+import ai.driftkit.audio.core.config.CoreAudioConfig;
+import ai.driftkit.audio.engine.impl.MockTranscriptionEngine;
+import ai.driftkit.audio.model.TranscriptionResult;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Mock engine whose batch requests stay pending until the test completes them.
+ */
+class ScriptedEngine extends MockTranscriptionEngine {
+
+    private final BlockingQueue<CompletableFuture<TranscriptionResult>> calls = new LinkedBlockingQueue<>();
+    private volatile int callCount;
+
+    ScriptedEngine() {
+        super(new CoreAudioConfig());
+    }
+
+    @Override
+    public CompletableFuture<TranscriptionResult> transcribeBatch(byte[] audioData, int sampleRate, String languageCode) {
+        CompletableFuture<TranscriptionResult> call = new CompletableFuture<>();
+        callCount++;
+        calls.add(call);
+        return call;
+    }
+
+    /**
+     * Wait for the next batch request made to this engine.
+     */
+    CompletableFuture<TranscriptionResult> nextCall() throws InterruptedException {
+        CompletableFuture<TranscriptionResult> call = calls.poll(5, TimeUnit.SECONDS);
+        assertNotNull(call, "no request reached the engine");
+        return call;
+    }
+
+    /**
+     * Number of batch requests made to this engine so far.
+     */
+    int getCallCount() {
+        return callCount;
+    }
+}
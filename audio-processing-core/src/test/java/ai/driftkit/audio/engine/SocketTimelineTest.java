@@ -0,0 +1,63 @@
+package ai.driftkit.audio.engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the mapping of socket times onto the session timeline.
+ */
+public class SocketTimelineTest {
+
+    private static final int BYTES_PER_SECOND = 32000;
+
+    private final SocketTimeline timeline = new SocketTimeline(BYTES_PER_SECOND);
+
+    @Test
+    void testNoGapsMeansNoOffset() {
+        assertEquals(0.0, timeline.offsetAt(0.0), 1e-9);
+        assertEquals(0.0, timeline.offsetAt(12.5), 1e-9);
+
+        // A mark in step with the current breakpoint changes nothing
+        timeline.mark(BYTES_PER_SECOND, BYTES_PER_SECOND);
+        assertEquals(0.0, timeline.offsetAt(5.0), 1e-9);
+    }
+
+    @Test
+    void testGapsShiftLaterTimesOnly() {
+        // 1s sent, 2s withheld, 1s sent, 0.5s withheld
+        timeline.mark(BYTES_PER_SECOND, 3L * BYTES_PER_SECOND);
+        timeline.mark(2L * BYTES_PER_SECOND, 9L * BYTES_PER_SECOND / 2);
+
+        assertEquals(0.0, timeline.offsetAt(0.5), 1e-9);
+        assertEquals(2.0, timeline.offsetAt(1.0), 1e-9);
+        assertEquals(2.0, timeline.offsetAt(1.99), 1e-9);
+        assertEquals(2.5, timeline.offsetAt(2.0), 1e-9);
+        assertEquals(2.5, timeline.offsetAt(60.0), 1e-9);
+    }
+
+    @Test
+    void testResetStartsNewSocketAtSessionPosition() {
+        timeline.mark(BYTES_PER_SECOND, 3L * BYTES_PER_SECOND);
+
+        // A reconnected socket counts from zero again, four seconds into the session
+        timeline.reset(4L * BYTES_PER_SECOND);
+        assertEquals(4.0, timeline.offsetAt(0.0), 1e-9);
+        assertEquals(4.0, timeline.offsetAt(1.5), 1e-9);
+
+        timeline.mark(BYTES_PER_SECOND, 6L * BYTES_PER_SECOND);
+        assertEquals(4.0, timeline.offsetAt(0.5), 1e-9);
+        assertEquals(5.0, timeline.offsetAt(1.0), 1e-9);
+    }
+
+    @Test
+    void testOldBreakpointsAreDropped() {
+        for (int i = 1; i <= 2000; i++) {
+            timeline.mark(i * 100L, i * 200L);
+        }
+
+        // Recent lookups are exact; times older than the retained history use the oldest kept breakpoint
+        assertEquals(2000 * 100.0 / BYTES_PER_SECOND, timeline.offsetAt(2000 * 100.0 / BYTES_PER_SECOND), 1e-9);
+        assertEquals(977 * 100.0 / BYTES_PER_SECOND, timeline.offsetAt(0.0), 1e-9);
+    }
+}
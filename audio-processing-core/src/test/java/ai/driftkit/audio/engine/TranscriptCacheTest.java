@@ -0,0 +1,126 @@
+package ai.driftkit.audio.engine;
+
+import ai.driftkit.audio.core.config.TranscriptCacheConfig;
+import ai.driftkit.audio.model.AudioSegmentBuffer;
+import ai.driftkit.audio.model.TranscriptionResult;
+import ai.driftkit.audio.model.WordInfo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the two-tier transcript cache.
+ */
+public class TranscriptCacheTest {
+
+    @TempDir
+    Path directory;
+
+    private TranscriptCacheConfig config() {
+        TranscriptCacheConfig config = new TranscriptCacheConfig();
+        config.setEnabled(true);
+        config.setDirectory(directory.toString());
+        config.setDiskMaxBytes(64 * 1024);
+        return config;
+    }
+
+    private static TranscriptionResult result(String text) {
+        return TranscriptionResult.builder()
+                .text(text)
+                .confidence(0.9)
+                .language("en")
+                .words(List.of(WordInfo.builder().word(text).start(0.1).end(0.5).confidence(0.9).build()))
+                .error(false)
+                .build();
+    }
+
+    @Test
+    void testKeyCoversAudioLanguageAndModel() {
+        byte[] audio = {1, 2, 3, 4};
+        TranscriptCache.Key key = TranscriptCache.key(audio, 16000, "en", "model");
+
+        assertEquals(key, TranscriptCache.key(audio.clone(), 16000, "en", "model"));
+        assertNotEquals(key, TranscriptCache.key(new byte[]{1, 2, 3, 5}, 16000, "en", "model"));
+        assertNotEquals(key, TranscriptCache.key(audio, 8000, "en", "model"));
+        assertNotEquals(key, TranscriptCache.key(audio, 16000, "de", "model"));
+        assertNotEquals(key, TranscriptCache.key(audio, 16000, "en", "other"));
+    }
+
+    @Test
+    void testSegmentKeyMatchesJoinedAudio() {
+        AudioSegmentBuffer segment = new AudioSegmentBuffer();
+        segment.append(new byte[]{1, 2, 3});
+        segment.append(new byte[]{4, 5, 6, 7, 8});
+
+        assertEquals(TranscriptCache.key(new byte[]{1, 2, 3, 4, 5, 6, 7, 8}, 16000, "en", "model"),
+                TranscriptCache.key(segment, 16000, "en", "model"));
+        assertNotEquals(TranscriptCache.key(new byte[]{1, 2, 3, 4, 5, 6, 7}, 16000, "en", "model"),
+                TranscriptCache.key(segment, 16000, "en", "model"));
+    }
+
+    @Test
+    void testResultsPersistAcrossRestarts() {
+        TranscriptCache.Key key = TranscriptCache.key(new byte[3200], 16000, "en", "model");
+
+        TranscriptCache cache = new TranscriptCache(config());
+        assertNull(cache.get(key));
+        cache.put(key, result("hello"));
+        assertEquals("hello", cache.get(key).getText());
+        assertEquals(1, cache.getStats().getMemoryHits());
+        cache.close();
+
+        TranscriptCache reopened = new TranscriptCache(config());
+        TranscriptionResult cached = reopened.get(key);
+        assertEquals("hello", cached.getText());
+        assertEquals(0.9, cached.getConfidence(), 1e-9);
+        assertEquals(0.5, cached.getWords().get(0).getEnd(), 1e-9);
+        assertEquals(1, reopened.getStats().getDiskHits());
+        reopened.close();
+    }
+
+    @Test
+    void testSecondCacheOnTheSameFileKeepsToMemory() {
+        TranscriptCache.Key key = TranscriptCache.key(new byte[3200], 16000, "en", "model");
+        TranscriptCache first = new TranscriptCache(config());
+
+        // The file is locked by the first cache in this JVM
+        TranscriptCache second = new TranscriptCache(config());
+        second.put(key, result("hello"));
+        assertEquals("hello", second.get(key).getText());
+        assertEquals(0, second.getStats().getDiskMaxBytes());
+        assertNull(first.get(key));
+
+        second.close();
+        first.close();
+    }
+
+    @Test
+    void testErrorsAreNotCached() {
+        TranscriptCache cache = new TranscriptCache(config());
+        TranscriptCache.Key key = TranscriptCache.key(new byte[3200], 16000, "en", "model");
+
+        cache.put(key, TranscriptionResult.error("failed"));
+        assertNull(cache.get(key));
+        cache.close();
+    }
+
+    @Test
+    void testDiskTierStaysWithinItsSize() {
+        TranscriptCache cache = new TranscriptCache(config());
+        for (int i = 0; i < 2000; i++) {
+            byte[] audio = new byte[320];
+            audio[0] = (byte) i;
+            audio[1] = (byte) (i >> 8);
+            cache.put(TranscriptCache.key(audio, 16000, "en", "model"), result("utterance " + i));
+        }
+
+        TranscriptCache.CacheStats stats = cache.getStats();
+        assertTrue(stats.getDiskBytes() <= stats.getDiskMaxBytes());
+        assertTrue(stats.getDiskEntries() < 2000);
+        cache.close();
+    }
+}
@@ -0,0 +1,84 @@
+package ai.driftkit.audio.engine;
+
+import ai.driftkit.audio.core.config.CoreAudioConfig;
+import ai.driftkit.audio.core.config.EnginePoolConfig;
+import ai.driftkit.audio.core.config.EngineType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for how the factory stacks pools, hedging and the transcript cache.
+ */
+public class TranscriptionEngineFactoryTest {
+
+    private CoreAudioConfig config;
+
+    @BeforeEach
+    void setUp() {
+        config = new CoreAudioConfig();
+        config.setEngine(EngineType.MOCK);
+        config.getTranscriptCache().setEnabled(true);
+        config.getDeepgram().setApiKey("test-key");
+        config.getHttp().setPreconnect(false);
+    }
+
+    @Test
+    void testSingleEngineIsCached() {
+        TranscriptionEngine engine = new TranscriptionEngineFactory(config).createEngine();
+        try {
+            assertInstanceOf(CachingTranscriptionEngine.class, engine);
+        } finally {
+            engine.shutdown();
+        }
+    }
+
+    @Test
+    void testPoolOfOneEngineTypeIsCached() {
+        config.getPool().setEnabled(true);
+        config.getPool().getMembers().add(member(EngineType.MOCK));
+        config.getPool().getMembers().add(member(EngineType.MOCK));
+
+        TranscriptionEngine engine = new TranscriptionEngineFactory(config).createEngine();
+        try {
+            assertInstanceOf(CachingTranscriptionEngine.class, engine);
+        } finally {
+            engine.shutdown();
+        }
+    }
+
+    @Test
+    void testMixedPoolIsNotCached() {
+        config.getPool().setEnabled(true);
+        config.getPool().getMembers().add(member(EngineType.MOCK));
+        config.getPool().getMembers().add(member(EngineType.DEEPGRAM));
+
+        TranscriptionEngine engine = new TranscriptionEngineFactory(config).createEngine();
+        try {
+            assertInstanceOf(PooledTranscriptionEngine.class, engine);
+        } finally {
+            engine.shutdown();
+        }
+    }
+
+    @Test
+    void testHedgedEngineIsNotCached() {
+        config.getHedge().setEnabled(true);
+        config.getHedge().setSecondary(EngineType.DEEPGRAM);
+
+        TranscriptionEngine engine = new TranscriptionEngineFactory(config).createEngine();
+        try {
+            assertInstanceOf(HedgedTranscriptionEngine.class, engine);
+        } finally {
+            engine.shutdown();
+        }
+    }
+
+    private static EnginePoolConfig.Member member(EngineType engineType) {
+        EnginePoolConfig.Member member = new EnginePoolConfig.Member();
+        member.setEngine(engineType);
+        member.setApiKey("test-key");
+        return member;
+    }
+}
@@ -0,0 +1,145 @@
+package ai.driftkit.audio.engine.impl;
+
+import ai.driftkit.audio.core.config.AssemblyAIConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for polling submitted AssemblyAI transcripts, with a scripted status check in place of the API.
+ */
+public class AssemblyAITranscriptPollerTest {
+
+    // The poller looks for due checks on a 100ms tick
+    private static final long TICK_MS = 100;
+
+    private final List<Long> checkTimes = new CopyOnWriteArrayList<>();
+    private volatile int checksUntilDone = Integer.MAX_VALUE;
+    private AssemblyAIConfig config;
+    private AssemblyAITranscriptPoller<String> poller;
+
+    @BeforeEach
+    void setUp() {
+        config = new AssemblyAIConfig();
+        config.setPollMinIntervalMs(100);
+        config.setPollMaxIntervalMs(2000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (poller != null) {
+            poller.close();
+        }
+    }
+
+    @Test
+    void testFirstCheckIsTimedFromAudioDuration() throws Exception {
+        checksUntilDone = 1;
+        start(Runnable::run);
+
+        // A quarter of two seconds of audio
+        long started = System.nanoTime();
+        assertEquals("completed", poller.await("long", 2000).get(5, TimeUnit.SECONDS));
+        long firstCheckMs = TimeUnit.NANOSECONDS.toMillis(checkTimes.get(0) - started);
+        assertTrue(firstCheckMs >= 500 && firstCheckMs < 500 + 2 * TICK_MS, "first check after " + firstCheckMs + "ms");
+
+        // Short audio is first checked after the minimum interval
+        checkTimes.clear();
+        started = System.nanoTime();
+        poller.await("short", 40).get(5, TimeUnit.SECONDS);
+        firstCheckMs = TimeUnit.NANOSECONDS.toMillis(checkTimes.get(0) - started);
+        assertTrue(firstCheckMs >= 100 && firstCheckMs < 100 + 2 * TICK_MS, "first check after " + firstCheckMs + "ms");
+    }
+
+    @Test
+    void testChecksBackOffUpToMaxInterval() throws Exception {
+        config.setPollMaxIntervalMs(300);
+        checksUntilDone = 7;
+        start(Runnable::run);
+
+        poller.await("transcript", 0).get(10, TimeUnit.SECONDS);
+
+        // Intervals grow by half from 100ms and stop at 300ms: 150, 225, 300, 300, ...
+        assertEquals(7, checkTimes.size());
+        long[] expected = {150, 225, 300, 300, 300, 300};
+        for (int i = 0; i < expected.length; i++) {
+            long gapMs = TimeUnit.NANOSECONDS.toMillis(checkTimes.get(i + 1) - checkTimes.get(i));
+            assertTrue(gapMs >= expected[i] && gapMs < expected[i] + 2 * TICK_MS,
+                    "gap " + i + " was " + gapMs + "ms, expected " + expected[i] + "ms");
+        }
+    }
+
+    @Test
+    void testUnfinishedTranscriptTimesOut() throws Exception {
+        config.setPollTimeoutMs(400);
+        start(Runnable::run);
+
+        CompletableFuture<String> result = poller.await("transcript", 0);
+        ExecutionException error = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, error.getCause());
+        assertTrue(error.getCause().getMessage().contains("400ms"), error.getCause().getMessage());
+        assertEquals(0, poller.getPendingCount());
+    }
+
+    @Test
+    void testRejectedCheckIsRetriedOnALaterTick() throws Exception {
+        checksUntilDone = 1;
+        AtomicInteger rejections = new AtomicInteger();
+        start(command -> {
+            if (rejections.incrementAndGet() <= 2) {
+                throw new RejectedExecutionException("busy");
+            }
+            command.run();
+        });
+
+        assertEquals("completed", poller.await("transcript", 0).get(5, TimeUnit.SECONDS));
+        assertEquals(3, rejections.get());
+        assertEquals(1, checkTimes.size());
+    }
+
+    @Test
+    void testCancelledTranscriptIsNoLongerChecked() throws Exception {
+        start(Runnable::run);
+
+        CompletableFuture<String> result = poller.await("transcript", 0);
+        awaitChecks(1);
+        result.cancel(false);
+        assertEquals(0, poller.getPendingCount());
+
+        int checks = checkTimes.size();
+        Thread.sleep(5 * TICK_MS);
+        assertEquals(checks, checkTimes.size());
+    }
+
+    private void start(Executor executor) {
+        poller = new AssemblyAITranscriptPoller<>(this::check, "completed"::equals, executor, config);
+    }
+
+    /**
+     * Scripted status check: processing until the configured number of checks is reached.
+     */
+    private String check(String id) {
+        checkTimes.add(System.nanoTime());
+        return checkTimes.size() >= checksUntilDone ? "completed" : "processing";
+    }
+
+    private void awaitChecks(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (checkTimes.size() < count) {
+            assertTrue(System.nanoTime() < deadline, "transcript was not checked");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package ai.driftkit.audio.engine.impl;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the warm Deepgram connection pool against a local WebSocket server.
+ */
+public class DeepgramConnectionPoolTest {
+
+    private static final DeepgramConnectionPool.Key KEY = new DeepgramConnectionPool.Key(16000, "en", "nova");
+
+    private MockWebServer server;
+    private OkHttpClient httpClient;
+    private ScheduledExecutorService scheduler;
+    private DeepgramConnectionPool pool;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        httpClient = new OkHttpClient();
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        pool = new DeepgramConnectionPool(httpClient, key -> new Request.Builder().url(server.url("/listen")).build(),
+                scheduler, 1, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        pool.close();
+        scheduler.shutdownNow();
+        httpClient.dispatcher().executorService().shutdown();
+        server.shutdown();
+    }
+
+    @Test
+    void testAcquireHandsOutAnOpenSocketAndRefills() throws Exception {
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        for (int i = 0; i < 2; i++) {
+            server.enqueue(new MockResponse().withWebSocketUpgrade(new ServerSocket() {
+                @Override
+                public void onMessage(WebSocket webSocket, String text) {
+                    received.add(text);
+                    webSocket.send("echo " + text);
+                }
+            }));
+        }
+
+        pool.warm(KEY);
+        awaitIdle(1);
+
+        BlockingQueue<String> forwarded = new LinkedBlockingQueue<>();
+        WebSocket socket = pool.acquire(KEY, new WebSocketListener() {
+            @Override
+            public void onMessage(WebSocket webSocket, String text) {
+                forwarded.add(text);
+            }
+        });
+        assertNotNull(socket);
+        assertTrue(socket.send("audio"));
+        assertEquals("audio", received.poll(5, TimeUnit.SECONDS));
+        // Events of the taken socket reach the session's listener
+        assertEquals("echo audio", forwarded.poll(5, TimeUnit.SECONDS));
+
+        // A replacement is opened for the next session
+        awaitIdle(1);
+        assertEquals(2, server.getRequestCount());
+        socket.close(1000, null);
+    }
+
+    @Test
+    void testClientErrorStopsWarming() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(401));
+
+        pool.warm(KEY);
+        assertNotNull(server.takeRequest(5, TimeUnit.SECONDS));
+
+        // Neither a backoff retry nor later sessions open another connection
+        Thread.sleep(1500);
+        assertNull(pool.acquire(KEY, new WebSocketListener() {}));
+        assertNull(server.takeRequest(500, TimeUnit.MILLISECONDS));
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    void testServerErrorIsRetried() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().withWebSocketUpgrade(new ServerSocket()));
+
+        pool.warm(KEY);
+        awaitIdle(1);
+        assertEquals(2, server.getRequestCount());
+    }
+
+    /**
+     * Server end of a connection that answers the close handshake.
+     */
+    private static class ServerSocket extends WebSocketListener {
+        @Override
+        public void onClosing(WebSocket webSocket, int code, String reason) {
+            webSocket.close(1000, null);
+        }
+    }
+
+    private void awaitIdle(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (pool.getIdleCount(KEY) < count) {
+            assertTrue(System.nanoTime() < deadline, "pool did not fill");
+            Thread.sleep(10);
+        }
+    }
+}
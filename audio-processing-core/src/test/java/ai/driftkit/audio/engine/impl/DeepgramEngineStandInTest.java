@@ -0,0 +1,327 @@
+package ai.driftkit.audio.engine.impl;
+
+import ai.driftkit.audio.core.config.CoreAudioConfig;
+import ai.driftkit.audio.engine.HttpTransport;
+import ai.driftkit.audio.engine.StreamingSessionState;
+import ai.driftkit.audio.model.TranscriptionResult;
+import ai.driftkit.audio.model.WordInfo;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the Deepgram engine against a local stand-in of the Deepgram API.
+ */
+public class DeepgramEngineStandInTest {
+
+    private static final int SAMPLE_RATE = 16000;
+    private static final int WORD_MS = 100;
+    private static final int WORD_BYTES = SAMPLE_RATE * 2 * WORD_MS / 1000;
+
+    private DeepgramStandIn standIn;
+    private CoreAudioConfig config;
+    private DeepgramEngine engine;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        standIn = new DeepgramStandIn(SAMPLE_RATE, WORD_MS, "hello world", "how are you today");
+
+        config = new CoreAudioConfig();
+        config.getDeepgram().setApiKey("test-key");
+        config.getDeepgram().setApiUrl(standIn.apiUrl());
+        config.getDeepgram().setStreamingUrl(standIn.streamingUrl());
+        config.getDeepgram().getReconnect().setBaseDelayMs(50);
+        engine = new DeepgramEngine(config);
+        engine.initialize();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        engine.shutdown();
+        standIn.close();
+    }
+
+    @Test
+    void testBatchTranscription() throws Exception {
+        TranscriptionResult result = engine.transcribeBatch(new byte[WORD_BYTES * 6], SAMPLE_RATE, "en")
+                .get(5, TimeUnit.SECONDS);
+
+        assertFalse(result.isError(), result.getErrorMessage());
+        assertEquals("hello world how are you today", result.getText());
+
+        assertEquals(1, standIn.getBatchRequests().size());
+        RecordedRequest request = standIn.getBatchRequests().get(0);
+        assertEquals("Token test-key", request.getHeader("Authorization"));
+        assertTrue(request.getPath().contains("sample_rate=16000"));
+        assertEquals(WORD_BYTES * 6, request.getBodySize());
+    }
+
+    @Test
+    void testCancelledBatchCancelsHttpCall() throws Exception {
+        standIn.holdBatches();
+        HttpTransport transport = HttpTransport.acquire(config.getHttp());
+        try {
+            CompletableFuture<TranscriptionResult> result =
+                    engine.transcribeBatch(new byte[WORD_BYTES * 6], SAMPLE_RATE, "en");
+            awaitBatchRequests(1);
+            assertTrue(transport.getStats().getRunningCalls() > 0, transport.getStats().toString());
+
+            // The engine shares the transport, so a cancelled call leaves the dispatcher
+            assertTrue(result.cancel(true));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+            while (transport.getStats().getRunningCalls() > 0) {
+                assertTrue(System.nanoTime() < deadline, "call still running: " + transport.getStats());
+                Thread.sleep(5);
+            }
+        } finally {
+            transport.release();
+        }
+    }
+
+    @Test
+    void testRateLimitedBatchCarriesRetryAfter() throws Exception {
+        standIn.rateLimitBatches("7");
+
+        TranscriptionResult result = engine.transcribeBatch(new byte[WORD_BYTES * 6], SAMPLE_RATE, "en")
+                .get(5, TimeUnit.SECONDS);
+
+        assertTrue(result.isError());
+        assertTrue(result.getErrorMessage().contains("429"), result.getErrorMessage());
+        assertEquals(7000, result.getRetryAfterMs());
+    }
+
+    @Test
+    void testStreamingInterimAndFinalResults() throws Exception {
+        List<TranscriptionResult> results = new CopyOnWriteArrayList<>();
+        CountDownLatch finals = new CountDownLatch(2);
+        engine.startStreamingSession("session", SAMPLE_RATE, "en", result -> {
+            results.add(result);
+            if (!result.isInterim()) {
+                finals.countDown();
+            }
+        }).get(5, TimeUnit.SECONDS);
+
+        for (int i = 0; i < 6; i++) {
+            engine.sendStreamingAudio("session", new byte[WORD_BYTES]);
+        }
+
+        assertTrue(finals.await(5, TimeUnit.SECONDS), "final results not received: " + results);
+        List<String> finalTexts = results.stream()
+                .filter(result -> !result.isInterim())
+                .map(TranscriptionResult::getText)
+                .toList();
+        assertEquals(List.of("hello world", "how are you today"), finalTexts);
+        assertTrue(results.stream().anyMatch(TranscriptionResult::isInterim));
+
+        // Word times continue across utterances on the session timeline
+        TranscriptionResult last = results.get(results.size() - 1);
+        assertEquals(0.6, last.getWords().get(last.getWords().size() - 1).getEnd(), 1e-6);
+
+        engine.stopStreamingSession("session");
+    }
+
+    @Test
+    void testPartialFrameIsFlushedWithoutMoreAudio() throws Exception {
+        engine.startStreamingSession("session", SAMPLE_RATE, "en", result -> {}).get(5, TimeUnit.SECONDS);
+
+        // Half a frame, then the caller goes quiet
+        engine.sendStreamingAudio("session", new byte[WORD_BYTES / 2]);
+
+        awaitStreamedBytes(WORD_BYTES / 2);
+        assertEquals(WORD_BYTES / 2, standIn.getStreamedBytes());
+
+        engine.stopStreamingSession("session");
+    }
+
+    @Test
+    void testAudioSentWhileDisconnectedIsReplayed() throws Exception {
+        engine.startStreamingSession("session", SAMPLE_RATE, "en", result -> {}).get(5, TimeUnit.SECONDS);
+        engine.sendStreamingAudio("session", new byte[WORD_BYTES]);
+        awaitStreamedBytes(WORD_BYTES);
+
+        standIn.dropConnections();
+        awaitState("session", StreamingSessionState.CONNECTING);
+
+        // Buffered while the session reconnects, then replayed on the new socket
+        for (int i = 0; i < 3; i++) {
+            engine.sendStreamingAudio("session", new byte[WORD_BYTES]);
+        }
+        awaitStreamedBytes(WORD_BYTES * 4);
+        assertEquals(WORD_BYTES * 4, standIn.getStreamedBytes());
+        assertEquals(2, standIn.getStreamingConnections());
+        assertEquals(StreamingSessionState.OPEN, engine.getStreamingSessionState("session"));
+
+        engine.stopStreamingSession("session");
+    }
+
+    @Test
+    void testStalledReplayKeepsBufferBounded() throws Exception {
+        // One second of reconnect buffer: ten words
+        config.getDeepgram().setReconnectBufferMs(1000);
+        List<TranscriptionResult> finals = new CopyOnWriteArrayList<>();
+        engine.startStreamingSession("session", SAMPLE_RATE, "en", result -> {
+            if (!result.isInterim()) {
+                finals.add(result);
+            }
+        }).get(5, TimeUnit.SECONDS);
+        engine.sendStreamingAudio("session", new byte[WORD_BYTES]);
+        awaitStreamedBytes(WORD_BYTES);
+
+        standIn.holdUpgrades();
+        standIn.dropConnections();
+        awaitState("session", StreamingSessionState.CONNECTING);
+        engine.sendStreamingAudio("session", new byte[WORD_BYTES]);
+
+        // A queue limit no socket is under stalls the replay, as a congested uplink does
+        config.getDeepgram().setMaxQueuedBytes(-1);
+        standIn.releaseUpgrades();
+        awaitState("session", StreamingSessionState.OPEN);
+        for (int i = 0; i < 20; i++) {
+            engine.sendStreamingAudio("session", new byte[WORD_BYTES]);
+        }
+
+        // Only the newest second is replayed once the uplink recovers
+        config.getDeepgram().setMaxQueuedBytes(1024 * 1024);
+        awaitStreamedBytes(WORD_BYTES * 11);
+        Thread.sleep(200);
+        assertEquals(WORD_BYTES * 11, standIn.getStreamedBytes());
+
+        // Words replayed after the dropped audio keep their place on the session timeline
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (finals.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse(finals.isEmpty(), "no final result after replay");
+        List<WordInfo> words = finals.get(0).getWords();
+        WordInfo last = words.get(words.size() - 1);
+        assertEquals("world", last.getWord());
+        assertEquals(1.4, last.getEnd(), 1e-6);
+
+        engine.stopStreamingSession("session");
+    }
+
+    @Test
+    void testFinalizeClosesUtteranceEarly() throws Exception {
+        List<TranscriptionResult> finals = new CopyOnWriteArrayList<>();
+        CountDownLatch finalized = new CountDownLatch(1);
+        engine.startStreamingSession("session", SAMPLE_RATE, "en", result -> {
+            if (!result.isInterim()) {
+                finals.add(result);
+                finalized.countDown();
+            }
+        }).get(5, TimeUnit.SECONDS);
+
+        // One word into "hello world", then local end of speech
+        engine.sendStreamingAudio("session", new byte[WORD_BYTES]);
+        engine.finalizeStreaming("session");
+
+        assertTrue(finalized.await(5, TimeUnit.SECONDS));
+        assertEquals("hello", finals.get(0).getText());
+        assertTrue(standIn.getControlMessages().stream().anyMatch(message -> message.contains("Finalize")));
+
+        engine.stopStreamingSession("session");
+    }
+
+    @Test
+    void testAudioSentBeforeOpenIsDelivered() throws Exception {
+        CompletableFuture<Void> ready = engine.startStreamingSession("session", SAMPLE_RATE, "en", result -> {});
+        StreamingSessionState initial = engine.getStreamingSessionState("session");
+        assertTrue(initial == StreamingSessionState.CONNECTING || initial == StreamingSessionState.OPEN);
+
+        for (int i = 0; i < 3; i++) {
+            engine.sendStreamingAudio("session", new byte[WORD_BYTES]);
+        }
+        ready.get(5, TimeUnit.SECONDS);
+        assertEquals(StreamingSessionState.OPEN, engine.getStreamingSessionState("session"));
+
+        awaitStreamedBytes(WORD_BYTES * 3);
+        assertEquals(WORD_BYTES * 3, standIn.getStreamedBytes());
+        assertEquals(1, standIn.getStreamingConnections());
+
+        engine.stopStreamingSession("session");
+    }
+
+    @Test
+    void testStopDrainsFinalResultsThenRejectsAudio() throws Exception {
+        List<TranscriptionResult> finals = new CopyOnWriteArrayList<>();
+        CountDownLatch drained = new CountDownLatch(1);
+        engine.startStreamingSession("session", SAMPLE_RATE, "en", result -> {
+            if (!result.isInterim()) {
+                finals.add(result);
+                drained.countDown();
+            }
+        }).get(5, TimeUnit.SECONDS);
+
+        engine.sendStreamingAudio("session", new byte[WORD_BYTES]);
+        engine.stopStreamingSession("session");
+
+        // The server's answer to CloseStream still reaches the callback while the session drains
+        assertTrue(drained.await(5, TimeUnit.SECONDS));
+        assertEquals("hello", finals.get(0).getText());
+        assertEquals(WORD_BYTES, standIn.getStreamedBytes());
+        assertTrue(standIn.getControlMessages().stream().anyMatch(message -> message.contains("CloseStream")));
+
+        assertEquals(StreamingSessionState.CLOSED, engine.getStreamingSessionState("session"));
+        assertFalse(engine.isStreamingSessionActive("session"));
+        assertThrows(IllegalStateException.class, () -> engine.sendStreamingAudio("session", new byte[WORD_BYTES]));
+    }
+
+    @Test
+    void testStopWhileConnectingFailsReady() throws Exception {
+        // A listener that accepts connections but never answers the upgrade
+        try (ServerSocket silent = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            CoreAudioConfig config = new CoreAudioConfig();
+            config.getDeepgram().setApiKey("test-key");
+            config.getDeepgram().setStreamingUrl("ws://127.0.0.1:" + silent.getLocalPort() + "/v1/listen");
+            DeepgramEngine connecting = new DeepgramEngine(config);
+            connecting.initialize();
+            try {
+                CompletableFuture<Void> ready = connecting.startStreamingSession("session", SAMPLE_RATE, "en", result -> {});
+                connecting.sendStreamingAudio("session", new byte[WORD_BYTES]);
+                assertEquals(StreamingSessionState.CONNECTING, connecting.getStreamingSessionState("session"));
+
+                connecting.stopStreamingSession("session");
+                ExecutionException error = assertThrows(ExecutionException.class, () -> ready.get(5, TimeUnit.SECONDS));
+                assertInstanceOf(IllegalStateException.class, error.getCause());
+                assertEquals(StreamingSessionState.CLOSED, connecting.getStreamingSessionState("session"));
+            } finally {
+                connecting.shutdown();
+            }
+        }
+    }
+
+    private void awaitBatchRequests(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (standIn.getBatchRequests().size() < count) {
+            assertTrue(System.nanoTime() < deadline, "batch request never arrived");
+            Thread.sleep(5);
+        }
+    }
+
+    private void awaitStreamedBytes(long bytes) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (standIn.getStreamedBytes() < bytes && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private void awaitState(String sessionId, StreamingSessionState state) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (engine.getStreamingSessionState(sessionId) != state) {
+            assertTrue(System.nanoTime() < deadline, "session never reached " + state);
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package ai.driftkit.audio.engine.impl;
+
+import ai.driftkit.audio.model.WordInfo;
+import com.fasterxml.jackson.core.JsonFactory;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the token-level Deepgram streaming message parser.
+ */
+public class DeepgramMessageParserTest {
+
+    private final DeepgramMessageParser parser = new DeepgramMessageParser(new JsonFactory());
+    private final DeepgramMessageParser.Message message = new DeepgramMessageParser.Message();
+
+    @Test
+    void testResultsMessage() throws Exception {
+        String json = """
+                {"type":"Results","channel_index":[0,1],"duration":1.5,"start":2.25,
+                 "is_final":true,"speech_final":false,"from_finalize":true,
+                 "metadata":{"request_id":"abc","model_info":{"name":"nova","version":"1"}},
+                 "channel":{"alternatives":[{"transcript":"hello world","confidence":0.97,
+                   "words":[{"word":"hello","start":2.25,"end":2.6,"confidence":0.99,"punctuated_word":"Hello"},
+                            {"word":"world","start":2.6,"end":3.0,"confidence":0.95,"punctuated_word":"world.",
+                             "speaker":0,"language":"en"}]}]},
+                 "language":null}
+                """;
+
+        assertTrue(parser.parse(json, message));
+        assertEquals("Results", message.getType());
+        assertTrue(message.isFinal());
+        assertFalse(message.isSpeechFinal());
+        assertTrue(message.isFromFinalize());
+        assertEquals(2.25, message.getStart(), 1e-9);
+        assertEquals(1.5, message.getDuration(), 1e-9);
+        assertNull(message.getLanguage());
+
+        assertTrue(message.hasAlternative());
+        assertEquals("hello world", message.getTranscript());
+        List<WordInfo> words = message.getWords();
+        assertEquals(2, words.size());
+        assertEquals("Hello", words.get(0).getPunctuatedWord());
+        assertEquals(2.6, words.get(0).getEnd(), 1e-9);
+        assertEquals("world", words.get(1).getWord());
+        assertEquals(0.95, words.get(1).getConfidence(), 1e-9);
+        assertEquals("en", words.get(1).getLanguage());
+    }
+
+    @Test
+    void testBestAlternativeByConfidence() throws Exception {
+        String json = """
+                {"type":"Results","channel":{"alternatives":[
+                  {"transcript":"wreck a nice beach","confidence":0.41,"words":[{"word":"wreck"}]},
+                  {"transcript":"recognize speech","confidence":0.88,"words":[{"word":"recognize"},{"word":"speech"}]},
+                  {"transcript":"recognise peach","confidence":0.52}]}}
+                """;
+
+        assertTrue(parser.parse(json, message));
+        assertEquals("recognize speech", message.getTranscript());
+        assertEquals(2, message.getWords().size());
+        assertEquals("speech", message.getWords().get(1).getWord());
+    }
+
+    @Test
+    void testReusedMessageIsResetBetweenParses() throws Exception {
+        parser.parse("""
+                {"type":"Results","is_final":true,"language":"de","channel":{"alternatives":[{"transcript":"a b c",
+                  "words":[{"word":"a","punctuated_word":"A"},{"word":"b"},{"word":"c"}]}]}}
+                """, message);
+        assertEquals(3, message.getWords().size());
+
+        parser.parse("""
+                {"type":"Results","channel":{"alternatives":[{"transcript":"d","words":[{"word":"d","start":0.5}]}]}}
+                """, message);
+        assertFalse(message.isFinal());
+        assertNull(message.getLanguage());
+        assertEquals(1, message.getWords().size());
+        WordInfo word = message.getWords().get(0);
+        assertEquals("d", word.getWord());
+        assertNull(word.getPunctuatedWord());
+        assertEquals(0.5, word.getStart(), 1e-9);
+
+        parser.parse("{\"type\":\"Metadata\",\"request_id\":\"abc\",\"channels\":1}", message);
+        assertEquals("Metadata", message.getType());
+        assertFalse(message.hasAlternative());
+    }
+
+    @Test
+    void testNonObjectIsRejected() throws Exception {
+        assertFalse(parser.parse("[1,2,3]", message));
+        assertFalse(parser.parse("\"text\"", message));
+        assertFalse(message.hasAlternative());
+    }
+
+    @Test
+    void testBatchSummaryTakesFirstChannelAndAlternative() throws Exception {
+        byte[] json = """
+                {"metadata":{"request_id":"abc","duration":2.5,"channels":2},"language":"de",
+                 "results":{"channels":[
+                   {"alternatives":[{"transcript":"guten tag","confidence":0.93,"words":[{"word":"guten"},{"word":"tag"}]},
+                                    {"transcript":"gut an tag","confidence":0.99}]},
+                   {"alternatives":[{"transcript":"second channel","confidence":0.99}]}],
+                  "utterances":[{"transcript":"guten tag"}]}}
+                """.getBytes(StandardCharsets.UTF_8);
+
+        DeepgramMessageParser.Summary summary = parser.parseSummary(json);
+        assertNotNull(summary);
+        assertEquals("guten tag", summary.getTranscript());
+        assertEquals(0.93, summary.getConfidence(), 1e-9);
+        assertEquals("de", summary.getLanguage());
+    }
+
+    @Test
+    void testBatchSummaryPrefersStreamingChannel() throws Exception {
+        byte[] json = """
+                {"channel":{"alternatives":[{"transcript":"streamed","confidence":null}]},
+                 "results":{"channels":[{"alternatives":[{"transcript":"batch","confidence":0.5}]}]}}
+                """.getBytes(StandardCharsets.UTF_8);
+
+        DeepgramMessageParser.Summary summary = parser.parseSummary(json);
+        assertEquals("streamed", summary.getTranscript());
+        assertNull(summary.getConfidence());
+        assertNull(summary.getLanguage());
+    }
+
+    @Test
+    void testBatchSummaryWithoutAlternativeIsNull() throws Exception {
+        assertNull(parser.parseSummary("{\"results\":{\"channels\":[]}}".getBytes(StandardCharsets.UTF_8)));
+        assertNull(parser.parseSummary("{\"results\":{\"channels\":[{\"alternatives\":[]}]}}".getBytes(StandardCharsets.UTF_8)));
+        assertNull(parser.parseSummary("[1]".getBytes(StandardCharsets.UTF_8)));
+    }
+}
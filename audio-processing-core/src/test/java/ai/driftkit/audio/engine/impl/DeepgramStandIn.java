@@ -0,0 +1,287 @@
+package ai.driftkit.audio.engine.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import okhttp3.Response;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.ByteString;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local server speaking Deepgram's batch and streaming protocol with scripted transcripts.
+ * Batch requests are answered with all utterances joined. Streaming sockets get one interim
+ * result per word of audio received and a final result when an utterance is complete,
+ * on Finalize (from_finalize) or on CloseStream, after which the socket is closed.
+ */
+class DeepgramStandIn implements Closeable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final List<String[]> utterances = new ArrayList<>();
+    private final int bytesPerWord;
+    private final double secondsPerWord;
+    private final MockWebServer server = new MockWebServer();
+    private final List<RecordedRequest> batchRequests = new CopyOnWriteArrayList<>();
+    private final List<String> controlMessages = new CopyOnWriteArrayList<>();
+    private final AtomicLong streamedBytes = new AtomicLong();
+    private final List<WebSocket> openSockets = new CopyOnWriteArrayList<>();
+    private final AtomicInteger streamingConnections = new AtomicInteger();
+    private volatile CountDownLatch upgradeGate = new CountDownLatch(0);
+    private volatile CountDownLatch batchGate = new CountDownLatch(0);
+    private volatile String batchRetryAfter;
+
+    /**
+     * @param sampleRate   sample rate of the 16-bit mono audio clients send
+     * @param wordMs       audio needed per scripted word
+     * @param utterances   utterances streamed in turn, words separated by spaces
+     */
+    DeepgramStandIn(int sampleRate, int wordMs, String... utterances) throws IOException {
+        for (String utterance : utterances) {
+            this.utterances.add(utterance.split(" "));
+        }
+        this.bytesPerWord = sampleRate * 2 * wordMs / 1000;
+        this.secondsPerWord = wordMs / 1000.0;
+
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                if ("websocket".equalsIgnoreCase(request.getHeader("Upgrade"))) {
+                    try {
+                        upgradeGate.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    streamingConnections.incrementAndGet();
+                    return new MockResponse().withWebSocketUpgrade(new ScriptedSocket());
+                }
+                if ("POST".equals(request.getMethod())) {
+                    batchRequests.add(request);
+                    try {
+                        batchGate.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    if (batchRetryAfter != null) {
+                        return new MockResponse()
+                                .setResponseCode(429)
+                                .setHeader("Retry-After", batchRetryAfter);
+                    }
+                    return new MockResponse()
+                            .setHeader("Content-Type", "application/json")
+                            .setBody(batchResponse());
+                }
+                // Preconnect HEAD and anything else
+                return new MockResponse();
+            }
+        });
+        server.start();
+    }
+
+    /**
+     * URL of the listen endpoint for batch requests.
+     */
+    String apiUrl() {
+        return server.url("/v1/listen").toString();
+    }
+
+    /**
+     * URL of the listen endpoint for streaming sockets.
+     */
+    String streamingUrl() {
+        return apiUrl().replaceFirst("^http", "ws");
+    }
+
+    List<RecordedRequest> getBatchRequests() {
+        return Collections.unmodifiableList(batchRequests);
+    }
+
+    /**
+     * Text messages clients sent on streaming sockets (Finalize, CloseStream, KeepAlive).
+     */
+    List<String> getControlMessages() {
+        return Collections.unmodifiableList(controlMessages);
+    }
+
+    /**
+     * Audio bytes received on all streaming sockets.
+     */
+    long getStreamedBytes() {
+        return streamedBytes.get();
+    }
+
+    /**
+     * Number of streaming sockets clients have opened.
+     */
+    int getStreamingConnections() {
+        return streamingConnections.get();
+    }
+
+    /**
+     * Close every open streaming socket from the server side, as Deepgram does when it goes away.
+     */
+    void dropConnections() {
+        openSockets.forEach(socket -> socket.close(1011, "Going away"));
+    }
+
+    /**
+     * Hold new streaming sockets in the handshake until {@link #releaseUpgrades()}, keeping clients connecting.
+     */
+    void holdUpgrades() {
+        upgradeGate = new CountDownLatch(1);
+    }
+
+    void releaseUpgrades() {
+        upgradeGate.countDown();
+    }
+
+    /**
+     * Hold batch responses until {@link #releaseBatches()}; requests are recorded as they arrive.
+     */
+    void holdBatches() {
+        batchGate = new CountDownLatch(1);
+    }
+
+    void releaseBatches() {
+        batchGate.countDown();
+    }
+
+    /**
+     * Answer batch requests with 429 Too Many Requests and the given Retry-After header.
+     */
+    void rateLimitBatches(String retryAfter) {
+        batchRetryAfter = retryAfter;
+    }
+
+    @Override
+    public void close() throws IOException {
+        releaseUpgrades();
+        releaseBatches();
+        server.shutdown();
+    }
+
+    private String batchResponse() {
+        List<String> all = new ArrayList<>();
+        utterances.forEach(words -> Collections.addAll(all, words));
+
+        ObjectNode channel = MAPPER.createObjectNode();
+        channel.putArray("alternatives").add(alternative(all, 0));
+        ObjectNode response = MAPPER.createObjectNode();
+        response.putObject("results").putArray("channels").add(channel);
+        return response.toString();
+    }
+
+    private ObjectNode alternative(List<String> words, double start) {
+        ObjectNode alternative = MAPPER.createObjectNode();
+        alternative.put("transcript", String.join(" ", words));
+        alternative.put("confidence", 0.98);
+        ArrayNode wordNodes = alternative.putArray("words");
+        for (int i = 0; i < words.size(); i++) {
+            ObjectNode word = wordNodes.addObject();
+            word.put("word", words.get(i));
+            word.put("punctuated_word", words.get(i));
+            word.put("start", start + i * secondsPerWord);
+            word.put("end", start + (i + 1) * secondsPerWord);
+            word.put("confidence", 0.98);
+        }
+        return alternative;
+    }
+
+    /**
+     * Server side of one streaming socket. OkHttp delivers its callbacks on one reader thread.
+     */
+    private class ScriptedSocket extends WebSocketListener {
+
+        private long receivedBytes = 0;
+        private int wordsSpoken = 0;
+        private int utterance = 0;
+        private double utteranceStart = 0;
+        private final List<String> spoken = new ArrayList<>();
+
+        @Override
+        public void onOpen(WebSocket webSocket, Response response) {
+            openSockets.add(webSocket);
+        }
+
+        @Override
+        public void onClosed(WebSocket webSocket, int code, String reason) {
+            openSockets.remove(webSocket);
+        }
+
+        @Override
+        public void onFailure(WebSocket webSocket, Throwable t, Response response) {
+            openSockets.remove(webSocket);
+        }
+
+        @Override
+        public void onMessage(WebSocket webSocket, ByteString bytes) {
+            receivedBytes += bytes.size();
+            streamedBytes.addAndGet(bytes.size());
+            while (utterance < utterances.size()
+                    && receivedBytes >= (long) (wordsSpoken + 1) * bytesPerWord) {
+                String[] words = utterances.get(utterance);
+                spoken.add(words[spoken.size()]);
+                wordsSpoken++;
+                sendResult(webSocket, spoken.size() == words.length, false);
+            }
+        }
+
+        @Override
+        public void onMessage(WebSocket webSocket, String text) {
+            controlMessages.add(text);
+            String type;
+            try {
+                type = MAPPER.readTree(text).path("type").asText();
+            } catch (IOException e) {
+                webSocket.close(1003, "Invalid JSON");
+                return;
+            }
+            if ("Finalize".equals(type)) {
+                sendResult(webSocket, true, true);
+            } else if ("CloseStream".equals(type)) {
+                if (!spoken.isEmpty()) {
+                    sendResult(webSocket, true, false);
+                }
+                webSocket.close(1000, null);
+            }
+        }
+
+        private void sendResult(WebSocket webSocket, boolean isFinal, boolean fromFinalize) {
+            double duration = spoken.size() * secondsPerWord;
+            ObjectNode message = MAPPER.createObjectNode();
+            message.put("type", "Results");
+            message.putArray("channel_index").add(0).add(1);
+            message.put("start", utteranceStart);
+            message.put("duration", duration);
+            message.put("is_final", isFinal);
+            message.put("speech_final", isFinal);
+            message.put("from_finalize", fromFinalize);
+            message.putObject("channel").putArray("alternatives").add(alternative(spoken, utteranceStart));
+            webSocket.send(message.toString());
+
+            if (isFinal) {
+                // A finalized utterance is over even if the script had more words for it
+                if (!spoken.isEmpty()) {
+                    utterance++;
+                }
+                utteranceStart += duration;
+                spoken.clear();
+            }
+        }
+    }
+}
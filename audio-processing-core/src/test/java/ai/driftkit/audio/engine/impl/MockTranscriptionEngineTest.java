@@ -0,0 +1,168 @@
+package ai.driftkit.audio.engine.impl;
+
+import ai.driftkit.audio.core.config.CoreAudioConfig;
+import ai.driftkit.audio.core.config.LatencyDistribution;
+import ai.driftkit.audio.model.TranscriptionResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the in-process mock transcription engine.
+ */
+public class MockTranscriptionEngineTest {
+
+    private static final int SAMPLE_RATE = 16000;
+
+    private CoreAudioConfig config;
+    private MockTranscriptionEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        config = new CoreAudioConfig();
+        config.getMock().setLatencyDistribution(LatencyDistribution.FIXED);
+        config.getMock().setLatencyMs(10);
+        config.getMock().setSeed(42L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (engine != null) {
+            engine.shutdown();
+        }
+    }
+
+    private MockTranscriptionEngine start() {
+        engine = new MockTranscriptionEngine(config);
+        engine.initialize();
+        return engine;
+    }
+
+    @Test
+    void testBatchReturnsScriptedTranscript() throws Exception {
+        TranscriptionResult result = start().transcribeBatch(new byte[SAMPLE_RATE * 2], SAMPLE_RATE, "en")
+                .get(5, TimeUnit.SECONDS);
+
+        assertFalse(result.isError());
+        assertEquals(config.getMock().getTranscript(), result.getText());
+        assertEquals("en", result.getLanguage());
+    }
+
+    @Test
+    void testFailureAndRateLimitRates() throws Exception {
+        config.getMock().setFailureRate(1.0);
+        TranscriptionResult failed = start().transcribeBatch(new byte[320], SAMPLE_RATE, "en")
+                .get(5, TimeUnit.SECONDS);
+        assertTrue(failed.isError());
+        assertNull(failed.getRetryAfterMs());
+        engine.shutdown();
+
+        config.getMock().setFailureRate(0.0);
+        config.getMock().setRateLimitRate(1.0);
+        TranscriptionResult limited = start().transcribeBatch(new byte[320], SAMPLE_RATE, "en")
+                .get(5, TimeUnit.SECONDS);
+        assertTrue(limited.isError());
+        assertEquals(config.getMock().getRetryAfterMs(), (long) limited.getRetryAfterMs());
+    }
+
+    @Test
+    void testLatencyDistributions() {
+        config.getMock().setLatencyMs(300);
+        config.getMock().setLatencyJitterMs(100);
+
+        for (LatencyDistribution distribution : LatencyDistribution.values()) {
+            config.getMock().setLatencyDistribution(distribution);
+            MockTranscriptionEngine sampler = new MockTranscriptionEngine(config);
+            double sum = 0;
+            for (int i = 0; i < 2000; i++) {
+                long latency = sampler.sampleLatencyMs();
+                assertTrue(latency >= 0);
+                sum += latency;
+            }
+            sampler.shutdown();
+            // Log-normal is skewed above its median; the others center on the latency
+            assertEquals(distribution == LatencyDistribution.LOG_NORMAL ? 317 : 300, sum / 2000, 15, distribution.name());
+        }
+    }
+
+    @Test
+    void testCancellationDropsReply() {
+        config.getMock().setLatencyMs(10000);
+        CompletableFuture<TranscriptionResult> future = start().transcribeBatch(new byte[320], SAMPLE_RATE, "en");
+        assertTrue(future.cancel(true));
+        assertTrue(future.isCancelled());
+    }
+
+    @Test
+    void testStreamingEmitsInterimAndFinalResults() throws Exception {
+        config.getMock().setTranscript("one two three");
+        config.getMock().setWordDurationMs(100);
+        config.getMock().setInterimIntervalMs(100);
+        config.getMock().setUtteranceWords(3);
+
+        List<TranscriptionResult> results = new CopyOnWriteArrayList<>();
+        CountDownLatch finals = new CountDownLatch(2);
+        start().startStreamingSession("session", SAMPLE_RATE, "en", result -> {
+            results.add(result);
+            if (!result.isInterim()) {
+                finals.countDown();
+            }
+        });
+
+        int wordBytes = SAMPLE_RATE * 2 / 10;
+        for (int i = 0; i < 3; i++) {
+            engine.sendStreamingAudio("session", new byte[wordBytes]);
+        }
+        // Withheld silence moves the next utterance along the timeline
+        engine.skipStreamingAudio("session", wordBytes * 5);
+        engine.sendStreamingAudio("session", new byte[wordBytes]);
+        engine.finalizeStreaming("session");
+
+        assertTrue(finals.await(5, TimeUnit.SECONDS));
+        List<TranscriptionResult> finalResults = results.stream().filter(result -> !result.isInterim()).toList();
+        assertEquals("one two three", finalResults.get(0).getText());
+        assertEquals("one", finalResults.get(1).getText());
+        assertEquals(0.8, finalResults.get(1).getWords().get(0).getStart(), 1e-6);
+        assertTrue(results.stream().anyMatch(TranscriptionResult::isInterim));
+
+        engine.stopStreamingSession("session");
+    }
+
+    @Test
+    void testStreamingResultsKeepTheirOrderUnderJitter() throws Exception {
+        config.getMock().setLatencyDistribution(LatencyDistribution.UNIFORM);
+        config.getMock().setLatencyMs(50);
+        config.getMock().setLatencyJitterMs(50);
+        config.getMock().setWordDurationMs(100);
+        config.getMock().setInterimIntervalMs(100);
+        config.getMock().setUtteranceWords(1000);
+
+        List<TranscriptionResult> results = new CopyOnWriteArrayList<>();
+        start().startStreamingSession("session", SAMPLE_RATE, "en", results::add);
+
+        // Every word yields an interim with one word more; jittered latencies would shuffle them
+        int words = 40;
+        for (int i = 0; i < words; i++) {
+            engine.sendStreamingAudio("session", new byte[SAMPLE_RATE * 2 / 10]);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (results.size() < words) {
+            assertTrue(System.nanoTime() < deadline, "only " + results.size() + " results arrived");
+            Thread.sleep(10);
+        }
+        for (int i = 0; i < words; i++) {
+            assertEquals(i + 1, results.get(i).getWords().size());
+        }
+
+        engine.stopStreamingSession("session");
+    }
+}
@@ -0,0 +1,94 @@
+package ai.driftkit.audio.engine.impl;
+
+import ai.driftkit.audio.core.config.CoreAudioConfig;
+import ai.driftkit.audio.core.config.MetadataMode;
+import ai.driftkit.audio.model.LazyMetadata;
+import ai.driftkit.audio.model.TranscriptionResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the EAGER, LAZY and NONE result metadata modes of the Deepgram and AssemblyAI engines.
+ */
+public class ResultMetadataModeTest {
+
+    private static final int SAMPLE_RATE = 16000;
+    private static final int WORD_MS = 100;
+
+    @Test
+    void testDeepgramBatchMetadata() throws Exception {
+        try (DeepgramStandIn standIn = new DeepgramStandIn(SAMPLE_RATE, WORD_MS, "hello world")) {
+            Map<String, Object> eager = deepgramBatch(standIn, MetadataMode.EAGER).getMetadata();
+            assertFalse(eager instanceof LazyMetadata);
+            assertNotNull(eager.get("results"));
+
+            TranscriptionResult lazyResult = deepgramBatch(standIn, MetadataMode.LAZY);
+            assertEquals("hello world", lazyResult.getText());
+            LazyMetadata lazy = assertInstanceOf(LazyMetadata.class, lazyResult.getMetadata());
+            assertFalse(lazy.isDecoded());
+            assertEquals(eager.get("results").toString(), lazy.get("results").toString());
+            assertTrue(lazy.isDecoded());
+
+            TranscriptionResult none = deepgramBatch(standIn, MetadataMode.NONE);
+            assertEquals("hello world", none.getText());
+            assertEquals(0.98, none.getConfidence(), 1e-9);
+            assertNull(none.getMetadata());
+        }
+    }
+
+    @Test
+    void testAssemblyAIBatchMetadata() {
+        List<Map<String, Object>> words = List.of(
+                Map.of("text", "hello", "start", 0, "end", 400, "confidence", 0.9),
+                Map.of("text", "world", "start", 400, "end", 800, "confidence", 0.8));
+
+        Map<String, Object> eager = assemblyAIMetadata(MetadataMode.EAGER, words);
+        assertFalse(eager instanceof LazyMetadata);
+        assertEquals("tx-1", eager.get("transcriptId"));
+        assertEquals(12, eager.get("duration"));
+        assertEquals(words, eager.get("words"));
+
+        LazyMetadata lazy = assertInstanceOf(LazyMetadata.class, assemblyAIMetadata(MetadataMode.LAZY, words));
+        assertFalse(lazy.isDecoded());
+        assertEquals(eager, Map.copyOf(lazy));
+        assertTrue(lazy.isDecoded());
+
+        // A transcript without words keeps a null entry in either mode
+        assertNull(assemblyAIMetadata(MetadataMode.LAZY, null).get("words"));
+        assertNull(assemblyAIMetadata(MetadataMode.NONE, words));
+    }
+
+    private static TranscriptionResult deepgramBatch(DeepgramStandIn standIn, MetadataMode mode) throws Exception {
+        CoreAudioConfig config = new CoreAudioConfig();
+        config.setResultMetadata(mode);
+        config.getDeepgram().setApiKey("test-key");
+        config.getDeepgram().setApiUrl(standIn.apiUrl());
+        config.getDeepgram().setStreamingUrl(standIn.streamingUrl());
+        DeepgramEngine engine = new DeepgramEngine(config);
+        engine.initialize();
+        try {
+            TranscriptionResult result = engine.transcribeBatch(new byte[SAMPLE_RATE * 2 * WORD_MS / 1000 * 2],
+                    SAMPLE_RATE, "en").get(5, TimeUnit.SECONDS);
+            assertFalse(result.isError(), result.getErrorMessage());
+            return result;
+        } finally {
+            engine.shutdown();
+        }
+    }
+
+    private static Map<String, Object> assemblyAIMetadata(MetadataMode mode, List<Map<String, Object>> words) {
+        CoreAudioConfig config = new CoreAudioConfig();
+        config.setResultMetadata(mode);
+        AssemblyAIEngine engine = new AssemblyAIEngine(config);
+        try {
+            return engine.transcriptMetadata("tx-1", 12, words);
+        } finally {
+            engine.shutdown();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package ai.driftkit.audio.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the bounded buffer of audio held across reconnections.
+ */
+public class AudioReplayBufferTest {
+
+    @Test
+    void testChunksComeBackInOrderByReference() {
+        AudioReplayBuffer buffer = new AudioReplayBuffer(100);
+        byte[] first = {1, 2};
+        byte[] second = {3, 4, 5};
+
+        assertEquals(0, buffer.offer(first));
+        assertEquals(0, buffer.offer(second));
+        assertEquals(5, buffer.size());
+
+        assertSame(first, buffer.peek());
+        assertSame(first, buffer.poll());
+        assertSame(second, buffer.poll());
+        assertNull(buffer.poll());
+        assertTrue(buffer.isEmpty());
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void testOldestAudioIsDroppedWhenFull() {
+        AudioReplayBuffer buffer = new AudioReplayBuffer(10);
+        buffer.offer(new byte[4]);
+        buffer.offer(new byte[4]);
+        byte[] newest = new byte[4];
+
+        assertEquals(4, buffer.offer(newest));
+        assertEquals(8, buffer.size());
+        assertEquals(4, buffer.getDroppedBytes());
+
+        // A chunk larger than the whole buffer cannot be kept either
+        assertEquals(8 + 12, buffer.offer(new byte[12]));
+        assertTrue(buffer.isEmpty());
+        assertEquals(24, buffer.getDroppedBytes());
+    }
+
+    @Test
+    void testClearEmptiesTheBuffer() {
+        AudioReplayBuffer buffer = new AudioReplayBuffer(8);
+        buffer.offer(new byte[4]);
+        buffer.offer(new byte[4]);
+        assertEquals(8, buffer.size());
+
+        buffer.clear();
+        assertTrue(buffer.isEmpty());
+        assertEquals(0, buffer.size());
+        assertEquals(0, buffer.offer(new byte[0]));
+    }
+}
@@ -0,0 +1,205 @@
+package ai.driftkit.audio.processor;
+
+import ai.driftkit.audio.core.PcmFormat;
+import ai.driftkit.audio.core.config.CoreAudioConfig;
+import ai.driftkit.audio.core.config.EngineType;
+import ai.driftkit.audio.engine.BatchUpload;
+import ai.driftkit.audio.engine.impl.MockTranscriptionEngine;
+import ai.driftkit.audio.model.AudioSegmentBuffer;
+import ai.driftkit.audio.model.TranscriptionResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for segmenting batch audio and handing it to the engine buffered or as a pipelined upload.
+ */
+public class BatchAudioProcessorTest {
+
+    private static final PcmFormat BIG_ENDIAN = PcmFormat.linear16(16000).withEndianness(PcmFormat.Endianness.BIG_ENDIAN);
+    private static final int CHUNK_BYTES = BIG_ENDIAN.getBytesPerSecond() / 10;
+
+    private CoreAudioConfig config;
+    private RecordingEngine engine;
+    private final List<TranscriptionResult> results = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        config = new CoreAudioConfig();
+        config.setEngine(EngineType.MOCK);
+        // Loud enough that the tone is speech only when read in its real byte order
+        config.getVad().setThreshold(5.0);
+        config.setMinChunkDurationSeconds(1);
+        engine = new RecordingEngine(config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    void testBigEndianSegmentIsSwappedOnce() {
+        BatchAudioProcessor processor = processor(BIG_ENDIAN);
+        byte[] fed = feedTone(processor, 15);
+        processor.flush();
+
+        assertEquals(0, engine.uploads.size());
+        assertEquals(1, engine.segments.size());
+        assertArrayEquals(PcmFormat.swapByteOrder(fed), engine.segments.get(0));
+        assertEquals(1, results.size());
+    }
+
+    @Test
+    void testBigEndianPipelinedUploadIsSwappedOnce() {
+        config.setPipelinedUpload(true);
+        BatchAudioProcessor processor = processor(BIG_ENDIAN);
+        byte[] fed = feedTone(processor, 15);
+        processor.flush();
+
+        // The chunks are swapped as they arrive and the completed upload is not swapped again
+        assertEquals(1, engine.uploads.size());
+        RecordingUpload upload = engine.uploads.get(0);
+        assertTrue(upload.completed);
+        assertArrayEquals(PcmFormat.swapByteOrder(fed), upload.written.toByteArray());
+        assertEquals(0, engine.segments.size());
+        assertEquals(1, results.size());
+    }
+
+    @Test
+    void testShortSegmentAbortsPipelinedUpload() {
+        config.setPipelinedUpload(true);
+        BatchAudioProcessor processor = processor(BIG_ENDIAN);
+        feedTone(processor, 5);
+        processor.flush();
+
+        // Half a second is below the one-second minimum: the open upload is cancelled, nothing is transcribed
+        RecordingUpload upload = engine.uploads.get(0);
+        assertTrue(upload.aborted);
+        assertFalse(upload.completed);
+        assertEquals(0, engine.segments.size());
+        assertTrue(results.isEmpty());
+    }
+
+    @Test
+    void testFailedWriteFallsBackToBufferedSegment() {
+        config.setPipelinedUpload(true);
+        engine.failWritesAfter = 3;
+        BatchAudioProcessor processor = processor(BIG_ENDIAN);
+        byte[] fed = feedTone(processor, 15);
+        processor.flush();
+
+        // The whole segment is sent from the buffer, already swapped once on arrival
+        RecordingUpload upload = engine.uploads.get(0);
+        assertTrue(upload.aborted);
+        assertFalse(upload.completed);
+        assertEquals(1, engine.segments.size());
+        assertArrayEquals(PcmFormat.swapByteOrder(fed), engine.segments.get(0));
+        assertEquals("buffered", results.get(0).getText());
+    }
+
+    private BatchAudioProcessor processor(PcmFormat format) {
+        return new BatchAudioProcessor("session", config, format, new AudioAnalyzer(config, format),
+                null, engine, results::add);
+    }
+
+    /**
+     * Feed 100ms chunks of tone and return everything fed, checking the chunks themselves stay untouched.
+     */
+    private static byte[] feedTone(BatchAudioProcessor processor, int chunks) {
+        ByteArrayOutputStream fed = new ByteArrayOutputStream();
+        List<byte[]> sent = new ArrayList<>();
+        for (int i = 0; i < chunks; i++) {
+            byte[] chunk = bigEndianTone(CHUNK_BYTES);
+            fed.writeBytes(chunk);
+            sent.add(chunk);
+            processor.processAudioChunk(chunk);
+        }
+        byte[] tone = bigEndianTone(CHUNK_BYTES);
+        sent.forEach(chunk -> assertArrayEquals(tone, chunk));
+        return fed.toByteArray();
+    }
+
+    /**
+     * 16-bit big-endian square wave at +-4096. Read as little-endian its samples are 16 and 240.
+     */
+    private static byte[] bigEndianTone(int bytes) {
+        byte[] chunk = new byte[bytes];
+        for (int i = 0; i < bytes; i += 2) {
+            short sample = (short) ((i / 2) % 2 == 0 ? 4096 : -4096);
+            chunk[i] = (byte) (sample >> 8);
+            chunk[i + 1] = (byte) sample;
+        }
+        return chunk;
+    }
+
+    private static class RecordingEngine extends MockTranscriptionEngine {
+
+        final List<byte[]> segments = new ArrayList<>();
+        final List<RecordingUpload> uploads = new ArrayList<>();
+        int failWritesAfter = Integer.MAX_VALUE;
+
+        RecordingEngine(CoreAudioConfig config) {
+            super(config);
+        }
+
+        @Override
+        public boolean supportsPipelinedUpload() {
+            return true;
+        }
+
+        @Override
+        public BatchUpload openBatchUpload(int sampleRate, String languageCode) {
+            RecordingUpload upload = new RecordingUpload(failWritesAfter);
+            uploads.add(upload);
+            return upload;
+        }
+
+        @Override
+        public CompletableFuture<TranscriptionResult> transcribeBatch(AudioSegmentBuffer segment, int sampleRate,
+                                                                      String languageCode) {
+            segments.add(segment.toByteArray());
+            return CompletableFuture.completedFuture(TranscriptionResult.success("buffered", 1.0, "en"));
+        }
+    }
+
+    private static class RecordingUpload implements BatchUpload {
+
+        final ByteArrayOutputStream written = new ByteArrayOutputStream();
+        private final int failWritesAfter;
+        private int writes;
+        boolean completed;
+        boolean aborted;
+
+        RecordingUpload(int failWritesAfter) {
+            this.failWritesAfter = failWritesAfter;
+        }
+
+        @Override
+        public void write(byte[] audioData) throws IOException {
+            if (++writes > failWritesAfter) {
+                throw new IOException("connection reset");
+            }
+            written.writeBytes(audioData);
+        }
+
+        @Override
+        public CompletableFuture<TranscriptionResult> complete() {
+            completed = true;
+            return CompletableFuture.completedFuture(TranscriptionResult.success("uploaded", 1.0, "en"));
+        }
+
+        @Override
+        public void abort() {
+            aborted = true;
+        }
+    }
+}
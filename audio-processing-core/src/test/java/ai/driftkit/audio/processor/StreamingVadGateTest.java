@@ -0,0 +1,168 @@
+package ai.driftkit.audio.processor;
+
+import ai.driftkit.audio.core.PcmFormat;
+import ai.driftkit.audio.core.config.CoreAudioConfig;
+import ai.driftkit.audio.core.config.StreamingGateConfig;
+import ai.driftkit.audio.engine.impl.MockTranscriptionEngine;
+import ai.driftkit.audio.model.AudioAnalysis;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the voice activity gate in front of streaming sessions.
+ */
+public class StreamingVadGateTest {
+
+    private static final PcmFormat FORMAT = PcmFormat.linear16(16000);
+    private static final int CHUNK_MS = 100;
+    private static final int CHUNK_BYTES = FORMAT.getBytesPerSecond() * CHUNK_MS / 1000;
+
+    private StreamingGateConfig config;
+    private RecordingEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        config = new StreamingGateConfig();
+        engine = new RecordingEngine();
+    }
+
+    @Test
+    void testDisabledGatePassesAllAudio() {
+        StreamingVadGate gate = gate();
+        for (int i = 0; i < 5; i++) {
+            gate.processAudioChunk(silence());
+        }
+        gate.processAudioChunk(speech());
+
+        assertEquals(6, engine.sent.size());
+        assertEquals(0, engine.skipped);
+        assertEquals(0, gate.getSkippedBytes());
+        assertFalse(gate.isOpen());
+    }
+
+    @Test
+    void testSilenceIsWithheldAndPreRollSentAheadOfSpeech() {
+        config.setEnabled(true);
+        StreamingVadGate gate = gate();
+
+        // The pre-roll holds 300ms; older silence is reported as skipped
+        for (int i = 0; i < 5; i++) {
+            gate.processAudioChunk(silence());
+        }
+        assertTrue(engine.sent.isEmpty());
+        assertEquals(2 * CHUNK_BYTES, engine.skipped);
+        assertEquals(2 * CHUNK_BYTES, gate.getSkippedBytes());
+
+        byte[] speech = speech();
+        gate.processAudioChunk(speech);
+        assertTrue(gate.isOpen());
+        assertEquals(4, engine.sent.size());
+        assertSame(speech, engine.sent.get(3));
+    }
+
+    @Test
+    void testGateStaysOpenForHangover() {
+        config.setEnabled(true);
+        StreamingVadGate gate = gate();
+        gate.processAudioChunk(speech());
+
+        // 800ms of trailing silence is still sent, then the gate closes
+        for (int i = 0; i < 7; i++) {
+            gate.processAudioChunk(silence());
+            assertTrue(gate.isOpen());
+        }
+        gate.processAudioChunk(silence());
+        assertFalse(gate.isOpen());
+        assertEquals(9, engine.sent.size());
+
+        gate.processAudioChunk(silence());
+        assertEquals(9, engine.sent.size());
+        assertEquals(0, engine.skipped);
+    }
+
+    @Test
+    void testFinalizeOnceAtEndOfSpeech() {
+        config.setFinalizeOnEndpoint(true);
+        StreamingVadGate gate = gate();
+
+        gate.processAudioChunk(silence());
+        gate.processAudioChunk(speech());
+        gate.processAudioChunk(silence());
+        gate.processAudioChunk(silence());
+        assertEquals(0, engine.finalized);
+
+        gate.processAudioChunk(silence());
+        assertEquals(1, engine.finalized);
+
+        // Further silence doesn't finalize again until speech resumes
+        gate.processAudioChunk(silence());
+        gate.processAudioChunk(silence());
+        assertEquals(1, engine.finalized);
+
+        gate.processAudioChunk(speech());
+        for (int i = 0; i < 3; i++) {
+            gate.processAudioChunk(silence());
+        }
+        assertEquals(2, engine.finalized);
+    }
+
+    private StreamingVadGate gate() {
+        return new StreamingVadGate("session", config, FORMAT, new ZeroIsSilence(), engine);
+    }
+
+    private static byte[] silence() {
+        return new byte[CHUNK_BYTES];
+    }
+
+    private static byte[] speech() {
+        byte[] chunk = new byte[CHUNK_BYTES];
+        chunk[0] = 1;
+        return chunk;
+    }
+
+    /**
+     * Treats a chunk as speech when its first byte is set, independent of adaptive thresholds.
+     */
+    private static class ZeroIsSilence extends AudioAnalyzer {
+
+        ZeroIsSilence() {
+            super(new CoreAudioConfig(), FORMAT);
+        }
+
+        @Override
+        public AudioAnalysis analyzeBuffer(byte[] buffer, int length) {
+            return new AudioAnalysis(buffer[0] == 0, buffer[0]);
+        }
+    }
+
+    private static class RecordingEngine extends MockTranscriptionEngine {
+
+        final List<byte[]> sent = new ArrayList<>();
+        long skipped;
+        int finalized;
+
+        RecordingEngine() {
+            super(new CoreAudioConfig());
+        }
+
+        @Override
+        public void sendStreamingAudio(String sessionId, byte[] audioData) {
+            sent.add(audioData);
+        }
+
+        @Override
+        public void skipStreamingAudio(String sessionId, int byteCount) {
+            skipped += byteCount;
+        }
+
+        @Override
+        public void finalizeStreaming(String sessionId) {
+            finalized++;
+        }
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 /**
@@ -31,8 +32,8 @@ public class SpringAudioSessionManager implements DisposableBean {
     }
 
     // Delegate all methods to core implementation
-    public void createSession(String sessionId, Consumer<TranscriptionResult> callback) {
-        sessionManager.createSession(sessionId, callback);
+    public CompletableFuture<Void> createSession(String sessionId, Consumer<TranscriptionResult> callback) {
+        return sessionManager.createSession(sessionId, callback);
     }
 
     public void processAudioChunk(String sessionId, byte[] audioData) {
@@ -302,8 +302,8 @@ public class AudioAnalyzerSessionIsolationTest {
         
         for (int i = 0; i < samples; i++) {
             short sample = (short) (Math.sin(2 * Math.PI * frequency * i / 16000) * amplitude);
-            audio[i * 2] = (byte) (sample >> 8);
-            audio[i * 2 + 1] = (byte) (sample & 0xFF);
+            audio[i * 2] = (byte) (sample & 0xFF);
+            audio[i * 2 + 1] = (byte) ((sample >> 8) & 0xFF);
         }
         
         return audio;
@@ -321,8 +321,8 @@ public class AudioAnalyzerSessionIsolationTest {
                 Math.sin(2 * Math.PI * 400 * t) * 4000 +
                 Math.sin(2 * Math.PI * 800 * t) * 2000
             );
-            audio[i * 2] = (byte) (sample >> 8);
-            audio[i * 2 + 1] = (byte) (sample & 0xFF);
+            audio[i * 2] = (byte) (sample & 0xFF);
+            audio[i * 2 + 1] = (byte) ((sample >> 8) & 0xFF);
         }
         
         return audio;
@@ -335,8 +335,8 @@ public class AudioAnalyzerSessionIsolationTest {
         // Generate very low amplitude audio (background noise)
         for (int i = 0; i < samples; i++) {
             short sample = (short) ((Math.random() - 0.5) * 20); // Very quiet noise
-            audio[i * 2] = (byte) (sample >> 8);
-            audio[i * 2 + 1] = (byte) (sample & 0xFF);
+            audio[i * 2] = (byte) (sample & 0xFF);
+            audio[i * 2 + 1] = (byte) ((sample >> 8) & 0xFF);
         }
         
         return audio;
@@ -364,8 +364,8 @@ public class AudioAnalyzerSessionIsolationTest {
         
         for (int i = 0; i < samples; i++) {
             short sample = (short) (Math.sin(2 * Math.PI * sessionFreq * i / 16000) * sessionAmplitude);
-            audio[i * 2] = (byte) (sample >> 8);
-            audio[i * 2 + 1] = (byte) (sample & 0xFF);
+            audio[i * 2] = (byte) (sample & 0xFF);
+            audio[i * 2 + 1] = (byte) ((sample >> 8) & 0xFF);
         }
         
         return audio;